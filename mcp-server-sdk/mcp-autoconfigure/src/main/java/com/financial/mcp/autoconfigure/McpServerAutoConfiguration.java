@@ -1,27 +1,48 @@
 package com.financial.mcp.autoconfigure;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.audit.AuditExecutor;
+import com.financial.mcp.core.audit.AuditOverflowPolicy;
+import com.financial.mcp.core.audit.AuditParamsHasher;
 import com.financial.mcp.core.audit.AuditRepository;
+import com.financial.mcp.core.audit.AuditRollupAggregator;
+import com.financial.mcp.core.audit.AuditRollupSpillHandler;
 import com.financial.mcp.core.audit.AuditService;
+import com.financial.mcp.core.audit.AuditSpillHandler;
 import com.financial.mcp.core.idempotency.IdempotencyRepository;
 import com.financial.mcp.core.idempotency.IdempotencyService;
+import com.financial.mcp.core.killswitch.AutoKillSwitchProperties;
+import com.financial.mcp.core.killswitch.ClusterMembership;
 import com.financial.mcp.core.killswitch.KillSwitchRepository;
 import com.financial.mcp.core.killswitch.KillSwitchService;
+import com.financial.mcp.core.killswitch.KillSwitchThrottle;
+import com.financial.mcp.core.killswitch.ToolHealthMonitor;
 import com.financial.mcp.core.masking.DataMaskingService;
+import com.financial.mcp.core.policy.PolicyDecisionEngine;
 import com.financial.mcp.core.policy.PolicyRepository;
 import com.financial.mcp.core.policy.PolicyService;
+import com.financial.mcp.core.registry.SnapshotToolRegistryRepository;
 import com.financial.mcp.core.registry.ToolRegistryRepository;
 import com.financial.mcp.core.registry.ToolRegistryService;
 import com.financial.mcp.core.rpc.JsonRpcDispatcher;
 import com.financial.mcp.core.rpc.JsonRpcHandler;
 import com.financial.mcp.core.validation.JsonSchemaValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
-@EnableAsync
+@EnableScheduling
 public class McpServerAutoConfiguration {
 
     @Bean
@@ -36,22 +57,70 @@ public class McpServerAutoConfiguration {
         return new JsonSchemaValidator(objectMapper);
     }
 
+    /**
+     * In-memory registry snapshot, loaded from the database before startup completes.
+     */
+    @Bean(initMethod = "load")
+    @Primary
+    @ConditionalOnProperty(name = "mcp.registry.snapshot.enabled", havingValue = "true")
+    public SnapshotToolRegistryRepository snapshotToolRegistryRepository(
+            @Qualifier("postgresToolRegistryRepository") ToolRegistryRepository source,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${mcp.registry.snapshot.clock-skew-ms:5000}") long clockSkewMs,
+            @Value("${mcp.registry.snapshot.full-reload-interval-ms:600000}") long fullReloadIntervalMs) {
+        return new SnapshotToolRegistryRepository(source, eventPublisher, clockSkewMs, fullReloadIntervalMs);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ToolRegistryService toolRegistryService(ToolRegistryRepository repository) {
         return new ToolRegistryService(repository);
     }
 
+    /**
+     * Role/department rules are off by default: only per-user tool_policy rows decide.
+     */
+    @Bean(initMethod = "refresh")
+    @ConditionalOnMissingBean
+    public PolicyDecisionEngine policyDecisionEngine(
+            PolicyRepository repository,
+            @Value("${mcp.policy.rules.enabled:false}") boolean rulesEnabled) {
+        return new PolicyDecisionEngine(repository, rulesEnabled);
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public PolicyService policyService(PolicyRepository repository) {
-        return new PolicyService(repository);
+    public PolicyService policyService(PolicyRepository repository, PolicyDecisionEngine decisionEngine) {
+        return new PolicyService(repository, decisionEngine);
     }
 
+    /**
+     * Without a ClusterMembership bean every node enforces the full rate of a throttle.
+     */
     @Bean
     @ConditionalOnMissingBean
-    public KillSwitchService killSwitchService(KillSwitchRepository repository) {
-        return new KillSwitchService(repository);
+    public KillSwitchThrottle killSwitchThrottle(ObjectProvider<ClusterMembership> membership) {
+        return new KillSwitchThrottle(membership.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KillSwitchService killSwitchService(KillSwitchRepository repository, KillSwitchThrottle throttle) {
+        return new KillSwitchService(repository, throttle);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConfigurationProperties(prefix = "mcp.killswitch.auto")
+    public AutoKillSwitchProperties autoKillSwitchProperties() {
+        return new AutoKillSwitchProperties();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ToolHealthMonitor toolHealthMonitor(KillSwitchService killSwitchService, AuditService auditService,
+                                               AutoKillSwitchProperties properties) {
+        return new ToolHealthMonitor(killSwitchService, auditService, properties);
     }
 
     @Bean
@@ -60,10 +129,55 @@ public class McpServerAutoConfiguration {
         return new DataMaskingService(objectMapper);
     }
 
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public AuditExecutor auditExecutor(
+            @Value("${mcp.audit.executor.pool-size:2}") int poolSize,
+            @Value("${mcp.audit.executor.queue-capacity:10000}") int queueCapacity,
+            @Value("${mcp.audit.executor.overflow-policy:SPILL}") AuditOverflowPolicy overflowPolicy,
+            @Value("${mcp.audit.executor.block-timeout-ms:50}") long blockTimeoutMs,
+            ObjectProvider<AuditSpillHandler> spillHandler,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AuditExecutor(
+                poolSize,
+                queueCapacity,
+                overflowPolicy,
+                blockTimeoutMs,
+                spillHandler.getIfAvailable(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditParamsHasher auditParamsHasher(ObjectMapper objectMapper) {
+        return new AuditParamsHasher(objectMapper);
+    }
+
+    @Bean(destroyMethod = "flushAll")
+    @ConditionalOnMissingBean
+    public AuditRollupAggregator auditRollupAggregator(
+            AuditRepository repository,
+            ObjectProvider<AuditRollupSpillHandler> spillHandler,
+            @Value("${mcp.audit.rollup.enabled:false}") boolean enabled,
+            @Value("${mcp.audit.rollup.sample-rate:0.01}") double sampleRate,
+            @Value("${mcp.audit.rollup.flush-grace-ms:5000}") long flushGraceMs,
+            @Value("${mcp.audit.rollup.max-pending:10000}") int maxPending) {
+        return new AuditRollupAggregator(
+                repository,
+                spillHandler.getIfAvailable(),
+                enabled,
+                sampleRate,
+                flushGraceMs,
+                maxPending
+        );
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public AuditService auditService(AuditRepository repository, ObjectMapper objectMapper) {
-        return new AuditService(repository, objectMapper);
+    public AuditService auditService(AuditRepository repository, AuditParamsHasher paramsHasher,
+                                     AuditExecutor auditExecutor, AuditRollupAggregator rollupAggregator) {
+        return new AuditService(repository, paramsHasher, auditExecutor, rollupAggregator);
     }
 
     @Bean
@@ -83,7 +197,8 @@ public class McpServerAutoConfiguration {
             AuditService auditService,
             IdempotencyService idempotencyService,
             ObjectMapper objectMapper,
-            JsonRpcHandler handler) {
+            JsonRpcHandler handler,
+            ToolHealthMonitor toolHealthMonitor) {
         return new JsonRpcDispatcher(
                 toolRegistryService,
                 policyService,
@@ -93,7 +208,8 @@ public class McpServerAutoConfiguration {
                 auditService,
                 idempotencyService,
                 objectMapper,
-                handler
+                handler,
+                toolHealthMonitor
         );
     }
 }
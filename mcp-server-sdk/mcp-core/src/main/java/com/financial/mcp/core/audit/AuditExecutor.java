@@ -0,0 +1,194 @@
+package com.financial.mcp.core.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated executor for audit writes.
+ * Uses a fixed pool with a bounded queue so a slow audit backend cannot exhaust the heap;
+ * overflow is handled according to {@link AuditOverflowPolicy}.
+ */
+@Slf4j
+public class AuditExecutor {
+    private static final String METRIC_PREFIX = "mcp.audit.executor";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ThreadPoolExecutor executor;
+    private final BlockingQueue<Runnable> queue;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+    private final AuditSpillHandler spillHandler;
+    private final Timer taskLatency;
+    private final Counter blockedCount;
+    private final Counter spilledCount;
+    private final Counter droppedCount;
+
+    public AuditExecutor(int poolSize, int queueCapacity, AuditOverflowPolicy overflowPolicy,
+                         long blockTimeoutMs, AuditSpillHandler spillHandler, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                queue,
+                new AuditThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.prestartAllCoreThreads();
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.spillHandler = spillHandler;
+
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", queue, BlockingQueue::size)
+                .description("Audit tasks waiting for an audit thread")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Free slots in the audit queue")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Audit threads currently writing")
+                .register(meterRegistry);
+        this.taskLatency = Timer.builder(METRIC_PREFIX + ".task.latency")
+                .description("Time from submission to completion of an audit task")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.blockedCount = rejectionCounter(meterRegistry, "blocked");
+        this.spilledCount = rejectionCounter(meterRegistry, "spilled");
+        this.droppedCount = rejectionCounter(meterRegistry, "dropped");
+    }
+
+    /**
+     * Submit an audit write.
+     *
+     * @param work Audit write to run on an audit thread
+     * @param overflowLog Builds the audit log to spill if the task cannot be queued
+     */
+    public void submit(Runnable work, Supplier<AuditLog> overflowLog) {
+        AuditTask task = new AuditTask(work, overflowLog, System.nanoTime());
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            handleOverflow(task);
+        }
+    }
+
+    /**
+     * Stop accepting tasks and drain the queue.
+     * Tasks still queued after the shutdown timeout are spilled.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                List<Runnable> pending = executor.shutdownNow();
+                log.warn("Audit executor did not drain in time, spilling {} pending tasks", pending.size());
+                pending.forEach(task -> spill((AuditTask) task));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow().forEach(task -> spill((AuditTask) task));
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void handleOverflow(AuditTask task) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                if (offerWithTimeout(task)) {
+                    blockedCount.increment();
+                } else {
+                    spill(task);
+                }
+            }
+            case SPILL -> spill(task);
+            case DROP -> drop(task);
+        }
+    }
+
+    private boolean offerWithTimeout(AuditTask task) {
+        if (executor.isShutdown()) {
+            return false;
+        }
+        try {
+            return queue.offer(task, blockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void spill(AuditTask task) {
+        if (spillHandler == null) {
+            drop(task);
+            return;
+        }
+        try {
+            spillHandler.spill(task.overflowLog.get());
+            spilledCount.increment();
+        } catch (Exception e) {
+            log.error("Failed to spill audit log, dropping it", e);
+            droppedCount.increment();
+        }
+    }
+
+    private void drop(AuditTask task) {
+        droppedCount.increment();
+        log.warn("Audit queue full, dropping audit event");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Audit tasks that did not fit in the audit queue")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private final class AuditTask implements Runnable {
+        private final Runnable work;
+        private final Supplier<AuditLog> overflowLog;
+        private final long submittedAt;
+
+        private AuditTask(Runnable work, Supplier<AuditLog> overflowLog, long submittedAt) {
+            this.work = work;
+            this.overflowLog = overflowLog;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public void run() {
+            try {
+                work.run();
+            } finally {
+                taskLatency.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static final class AuditThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mcp-audit-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
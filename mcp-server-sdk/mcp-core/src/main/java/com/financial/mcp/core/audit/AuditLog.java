@@ -1,11 +1,14 @@
 package com.financial.mcp.core.audit;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -43,4 +46,12 @@ public class AuditLog {
 
     @JsonProperty("dept")
     private String dept;
+
+    /**
+     * Structured context for events that are not tool calls, e.g. the metrics
+     * behind an automatic kill switch trip. Null for ordinary calls.
+     */
+    @JsonProperty("details")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Object> details;
 }
@@ -0,0 +1,21 @@
+package com.financial.mcp.core.audit;
+
+/**
+ * What the audit executor does when its bounded queue is full.
+ */
+public enum AuditOverflowPolicy {
+    /**
+     * Hand the audit log to the {@link AuditSpillHandler} (DLQ) on the caller thread.
+     */
+    SPILL,
+
+    /**
+     * Wait up to the configured block timeout for queue space, then spill.
+     */
+    BLOCK,
+
+    /**
+     * Count the rejection and discard the audit log.
+     */
+    DROP
+}
@@ -0,0 +1,140 @@
+package com.financial.mcp.core.audit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Hashes tool call params for the audit log.
+ * Params are written as canonical JSON (object keys sorted at every level) straight
+ * into a per-thread SHA-256 digest, so no String or byte[] copy of the params is
+ * materialized and the hash does not depend on the key order the client sent.
+ */
+@Component
+public class AuditParamsHasher {
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final ObjectMapper canonicalMapper;
+
+    public AuditParamsHasher(ObjectMapper objectMapper) {
+        this.canonicalMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                .configure(SerializationFeature.INDENT_OUTPUT, false)
+                .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+    }
+
+    /**
+     * @param params Tool call params
+     * @return Base64 SHA-256 of the canonical JSON, or "ERROR" if params cannot be serialized
+     */
+    public String hash(Object params) {
+        try {
+            return Base64.getEncoder().encodeToString(digest(params));
+        } catch (Exception e) {
+            return "ERROR";
+        }
+    }
+
+    public byte[] digest(Object params) throws IOException {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        try (JsonGenerator generator = canonicalMapper.getFactory().createGenerator(new DigestOutputStream(digest))) {
+            writeCanonical(generator, params);
+        }
+        return digest.digest();
+    }
+
+    private void writeCanonical(JsonGenerator generator, Object value) throws IOException {
+        if (value instanceof JsonNode node) {
+            writeNode(generator, node);
+        } else if (value instanceof Map<?, ?> map) {
+            Object[] keys = map.keySet().toArray();
+            Arrays.sort(keys, Comparator.comparing(String::valueOf));
+            generator.writeStartObject();
+            for (Object key : keys) {
+                generator.writeFieldName(String.valueOf(key));
+                writeCanonical(generator, map.get(key));
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Collection<?> collection) {
+            generator.writeStartArray();
+            for (Object item : collection) {
+                writeCanonical(generator, item);
+            }
+            generator.writeEndArray();
+        } else if (value == null || value instanceof CharSequence || value instanceof Number
+                || value instanceof Boolean) {
+            canonicalMapper.writeValue(generator, value);
+        } else {
+            // Beans, records and arrays go through a tree, since the mapper's key ordering
+            // does not reach a JsonNode nested in them
+            writeNode(generator, canonicalMapper.valueToTree(value));
+        }
+    }
+
+    private void writeNode(JsonGenerator generator, JsonNode node) throws IOException {
+        if (node.isObject()) {
+            String[] names = new String[node.size()];
+            Iterator<String> fieldNames = node.fieldNames();
+            for (int i = 0; fieldNames.hasNext(); i++) {
+                names[i] = fieldNames.next();
+            }
+            Arrays.sort(names);
+            generator.writeStartObject();
+            for (String name : names) {
+                generator.writeFieldName(name);
+                writeNode(generator, node.get(name));
+            }
+            generator.writeEndObject();
+        } else if (node.isArray()) {
+            generator.writeStartArray();
+            for (JsonNode item : node) {
+                writeNode(generator, item);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeTree(node);
+        }
+    }
+
+    /**
+     * Feeds the generator's output buffer directly into the digest.
+     */
+    private static final class DigestOutputStream extends OutputStream {
+        private final MessageDigest digest;
+
+        private DigestOutputStream(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(int b) {
+            digest.update((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            digest.update(b, off, len);
+        }
+    }
+}
@@ -1,5 +1,16 @@
 package com.financial.mcp.core.audit;
 
+import java.util.List;
+
 public interface AuditRepository {
     void save(AuditLog log);
+
+    /**
+     * Store success-call rollups. Only used when rollup mode is enabled.
+     * A rollup may be passed again after a failed call; storing it under its
+     * {@code rollupId} keeps the retry from being counted twice.
+     *
+     * @throws RuntimeException if any rollup was not stored; the whole batch is retried
+     */
+    void saveRollups(List<AuditRollup> rollups);
 }
@@ -0,0 +1,55 @@
+package com.financial.mcp.core.audit;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of successful calls for one (tool, user, dept, minute) window.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditRollup {
+    @JsonProperty("rollup_id")
+    private String rollupId; // fixed when the window is closed, reused on retries
+
+    @JsonProperty("tool_id")
+    private String toolId;
+
+    @JsonProperty("user_id")
+    private String userId;
+
+    @JsonProperty("dept")
+    private String dept;
+
+    @JsonProperty("window_start")
+    private long windowStart;
+
+    @JsonProperty("window_end")
+    private long windowEnd;
+
+    @JsonProperty("call_count")
+    private long callCount;
+
+    @JsonProperty("latency_sum_ms")
+    private long latencySumMs;
+
+    @JsonProperty("latency_min_ms")
+    private long latencyMinMs;
+
+    @JsonProperty("latency_max_ms")
+    private long latencyMaxMs;
+
+    @JsonProperty("latency_histogram")
+    private Map<String, Long> latencyHistogram; // "le_<bound ms>" -> count, non-empty buckets only
+
+    @JsonProperty("params_hashes")
+    private List<String> paramsHashes; // one entry per call, in arrival order
+}
@@ -0,0 +1,178 @@
+package com.financial.mcp.core.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aggregates successful calls per (toolId, userId, dept, minute) in memory and
+ * flushes them as compact {@link AuditRollup} documents.
+ * Errors are never rolled up, and a sampled fraction of successes is still written
+ * as individual {@link AuditLog}s. Every call's params hash is kept in the rollup's
+ * digest list.
+ *
+ * <p>Each rollup gets its ID when its window is closed, and a failed flush retries
+ * the same rollups, so a batch that was partly stored before failing overwrites
+ * its earlier copies instead of adding to them. Once more than {@code maxPendingRollups}
+ * are waiting, the oldest are handed to the {@link AuditRollupSpillHandler} (DLQ),
+ * or dropped if there is none.
+ */
+@Slf4j
+public class AuditRollupAggregator {
+    private static final long WINDOW_MS = 60_000;
+    private static final long[] LATENCY_BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+    private static final String SUCCESS = "SUCCESS";
+
+    private final AuditRepository repository;
+    private final AuditRollupSpillHandler spillHandler;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long flushGraceMs;
+    private final int maxPendingRollups;
+    private final ConcurrentHashMap<WindowKey, Window> windows = new ConcurrentHashMap<>();
+    private final Deque<AuditRollup> pending = new ArrayDeque<>();
+
+    public AuditRollupAggregator(AuditRepository repository, AuditRollupSpillHandler spillHandler, boolean enabled,
+                                 double sampleRate, long flushGraceMs, int maxPendingRollups) {
+        this.repository = repository;
+        this.spillHandler = spillHandler;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.flushGraceMs = flushGraceMs;
+        this.maxPendingRollups = maxPendingRollups;
+    }
+
+    /**
+     * @param auditLog Audit log of a finished call
+     * @return true if the call must also be written as an individual audit log
+     */
+    public boolean record(AuditLog auditLog) {
+        if (!enabled || !SUCCESS.equals(auditLog.getResultCode())) {
+            return true;
+        }
+        long windowStart = auditLog.getTimestamp() - (auditLog.getTimestamp() % WINDOW_MS);
+        WindowKey key = new WindowKey(auditLog.getToolId(), auditLog.getUserId(), auditLog.getDept(), windowStart);
+        windows.compute(key, (k, window) -> {
+            Window target = (window != null) ? window : new Window();
+            target.add(auditLog.getLatencyMs(), auditLog.getParamsHash());
+            return target;
+        });
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Flush windows that closed more than the grace period ago.
+     * Rollups the repository fails to store are retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${mcp.audit.rollup.flush-interval-ms:10000}")
+    public void flush() {
+        flush(System.currentTimeMillis() - flushGraceMs);
+    }
+
+    /**
+     * Flush every open window, e.g. on shutdown.
+     */
+    public void flushAll() {
+        flush(Long.MAX_VALUE);
+    }
+
+    private synchronized void flush(long closedBefore) {
+        if (!enabled) {
+            return;
+        }
+        for (WindowKey key : windows.keySet()) {
+            if (key.windowStart() + WINDOW_MS <= closedBefore) {
+                Window window = windows.remove(key);
+                if (window != null) {
+                    pending.addLast(window.toRollup(key));
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<AuditRollup> batch = new ArrayList<>(pending);
+        try {
+            repository.saveRollups(batch);
+            pending.clear();
+        } catch (Exception e) {
+            log.warn("Failed to store {} audit rollups, will retry", batch.size(), e);
+            while (pending.size() > maxPendingRollups) {
+                AuditRollup overflow = pending.removeFirst();
+                if (spillHandler != null) {
+                    spillHandler.spill(overflow);
+                } else {
+                    log.error("Dropping audit rollup for tool {} window {} ({} calls)",
+                            overflow.getToolId(), overflow.getWindowStart(), overflow.getCallCount());
+                }
+            }
+        }
+    }
+
+    private record WindowKey(String toolId, String userId, String dept, long windowStart) {
+    }
+
+    /**
+     * Mutated only inside {@link ConcurrentHashMap#compute}, so plain fields are enough.
+     */
+    private static final class Window {
+        private long count;
+        private long latencySum;
+        private long latencyMin = Long.MAX_VALUE;
+        private long latencyMax;
+        private final long[] buckets = new long[LATENCY_BOUNDS_MS.length + 1];
+        private final List<String> paramsHashes = new ArrayList<>();
+
+        private void add(long latencyMs, String paramsHash) {
+            count++;
+            latencySum += latencyMs;
+            latencyMin = Math.min(latencyMin, latencyMs);
+            latencyMax = Math.max(latencyMax, latencyMs);
+            buckets[bucketOf(latencyMs)]++;
+            paramsHashes.add(paramsHash);
+        }
+
+        private AuditRollup toRollup(WindowKey key) {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] > 0) {
+                    String bound = (i < LATENCY_BOUNDS_MS.length) ? String.valueOf(LATENCY_BOUNDS_MS[i]) : "inf";
+                    histogram.put("le_" + bound, buckets[i]);
+                }
+            }
+            return AuditRollup.builder()
+                    .rollupId(UUID.randomUUID().toString())
+                    .toolId(key.toolId())
+                    .userId(key.userId())
+                    .dept(key.dept())
+                    .windowStart(key.windowStart())
+                    .windowEnd(key.windowStart() + WINDOW_MS)
+                    .callCount(count)
+                    .latencySumMs(latencySum)
+                    .latencyMinMs(latencyMin)
+                    .latencyMaxMs(latencyMax)
+                    .latencyHistogram(histogram)
+                    .paramsHashes(paramsHashes)
+                    .build();
+        }
+
+        private static int bucketOf(long latencyMs) {
+            for (int i = 0; i < LATENCY_BOUNDS_MS.length; i++) {
+                if (latencyMs <= LATENCY_BOUNDS_MS[i]) {
+                    return i;
+                }
+            }
+            return LATENCY_BOUNDS_MS.length;
+        }
+    }
+}
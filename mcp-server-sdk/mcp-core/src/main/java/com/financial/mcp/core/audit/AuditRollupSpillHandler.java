@@ -0,0 +1,9 @@
+package com.financial.mcp.core.audit;
+
+/**
+ * Durable fallback for success-call rollups the audit repository could not store.
+ * Implementations must not block on the audit backend (e.g., write to a local DLQ).
+ */
+public interface AuditRollupSpillHandler {
+    void spill(AuditRollup rollup);
+}
@@ -1,56 +1,98 @@
 package com.financial.mcp.core.audit;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
 import com.financial.mcp.core.meta.McpMeta;
+import com.financial.mcp.core.meta.McpRequestContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.security.MessageDigest;
-import java.util.Base64;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuditService {
+    static final String SYSTEM_USER = "mcp-system";
+
     private final AuditRepository repository;
-    private final ObjectMapper objectMapper;
+    private final AuditParamsHasher paramsHasher;
+    private final AuditExecutor auditExecutor;
+    private final AuditRollupAggregator rollupAggregator;
 
-    @Async
+    /**
+     * Record a tool call on the bounded audit executor.
+     * Params are hashed on the audit thread, not the request thread.
+     * If the audit queue is full, the executor's overflow policy decides
+     * whether the log is spilled to the DLQ, waited for, or dropped.
+     * In rollup mode, successes are folded into per-minute rollups and only
+     * errors and sampled successes are saved individually.
+     * The caller's verified principal is captured on the request thread and, if
+     * present, is recorded as the user and department.
+     */
     public void logCall(McpMeta meta, String toolId, String method, Object params,
                         String resultCode, long latencyMs, String errorMessage) {
-        try {
-            String paramsHash = hashParams(params);
-            
-            AuditLog log = AuditLog.builder()
-                    .traceId(meta.getTraceId())
-                    .userId(meta.getUserId())
-                    .callerId(meta.getCallerId())
-                    .toolId(toolId)
-                    .method(method)
-                    .paramsHash(paramsHash)
-                    .resultCode(resultCode)
-                    .latencyMs(latencyMs)
-                    .timestamp(System.currentTimeMillis())
-                    .errorMessage(errorMessage)
-                    .dept(meta.getDept())
-                    .build();
+        long timestamp = System.currentTimeMillis();
+        AuthenticatedPrincipal principal = McpRequestContext.currentPrincipal();
+        auditExecutor.submit(
+                () -> {
+                    try {
+                        AuditLog auditLog = buildLog(meta, principal, toolId, method, params, resultCode,
+                                latencyMs, errorMessage, timestamp);
+                        if (rollupAggregator.record(auditLog)) {
+                            repository.save(auditLog);
+                        }
+                    } catch (Exception e) {
+                        log.error("Failed to log audit event", e);
+                    }
+                },
+                () -> buildLog(meta, principal, toolId, method, params, resultCode, latencyMs, errorMessage, timestamp)
+        );
+    }
 
-            repository.save(log);
-        } catch (Exception e) {
-            log.error("Failed to log audit event", e);
-        }
+    /**
+     * Record an event the server raised itself rather than a caller, such as an
+     * automatic kill switch transition. It is attributed to the {@value #SYSTEM_USER}
+     * user and never rolled up.
+     *
+     * @param details Metrics and context behind the event, stored as-is
+     */
+    public void logSystemEvent(String toolId, String method, String resultCode, Map<String, Object> details) {
+        AuditLog auditLog = AuditLog.builder()
+                .userId(SYSTEM_USER)
+                .callerId(SYSTEM_USER)
+                .toolId(toolId)
+                .method(method)
+                .resultCode(resultCode)
+                .timestamp(System.currentTimeMillis())
+                .details(details)
+                .build();
+        auditExecutor.submit(
+                () -> {
+                    try {
+                        repository.save(auditLog);
+                    } catch (Exception e) {
+                        log.error("Failed to log audit event", e);
+                    }
+                },
+                () -> auditLog
+        );
     }
 
-    private String hashParams(Object params) {
-        try {
-            String paramsJson = objectMapper.writeValueAsString(params);
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(paramsJson.getBytes());
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (Exception e) {
-            return "ERROR";
-        }
+    private AuditLog buildLog(McpMeta meta, AuthenticatedPrincipal principal, String toolId, String method,
+                              Object params, String resultCode, long latencyMs, String errorMessage, long timestamp) {
+        return AuditLog.builder()
+                .traceId(meta.getTraceId())
+                .userId(principal != null ? principal.userId() : meta.getUserId())
+                .callerId(meta.getCallerId())
+                .toolId(toolId)
+                .method(method)
+                .paramsHash(paramsHasher.hash(params))
+                .resultCode(resultCode)
+                .latencyMs(latencyMs)
+                .timestamp(timestamp)
+                .errorMessage(errorMessage)
+                .dept(principal != null ? principal.dept() : meta.getDept())
+                .build();
     }
 }
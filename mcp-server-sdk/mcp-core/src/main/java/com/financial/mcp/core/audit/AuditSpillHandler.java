@@ -0,0 +1,9 @@
+package com.financial.mcp.core.audit;
+
+/**
+ * Durable fallback for audit logs that cannot be queued for the audit repository.
+ * Implementations must not block on the audit backend (e.g., write to a local DLQ).
+ */
+public interface AuditSpillHandler {
+    void spill(AuditLog log);
+}
@@ -10,4 +10,5 @@ public class McpErrorCode {
     public static final String UNAUTHORIZED = "UNAUTHORIZED";
     public static final String TOOL_NOT_FOUND = "TOOL_NOT_FOUND";
     public static final String DUPLICATE_TX = "DUPLICATE_TX";
+    public static final String TOOL_THROTTLED = "TOOL_THROTTLED";
 }
@@ -37,4 +37,11 @@ public interface IdempotencyRepository {
      * @return IdempotencyState or null if not found
      */
     IdempotencyState getState(String txId);
+
+    /**
+     * Remove the transaction, so a call rejected before it ran can be retried with the same ID.
+     * 
+     * @param txId Transaction ID
+     */
+    void delete(String txId);
 }
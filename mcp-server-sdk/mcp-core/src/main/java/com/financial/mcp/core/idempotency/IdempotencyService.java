@@ -52,4 +52,15 @@ public class IdempotencyService {
         repository.setFailed(txId);
         log.debug("Transaction marked as failed: {}", txId);
     }
+
+    /**
+     * Forget a transaction that was rejected before execution (e.g. throttled),
+     * so the client can retry it with the same tx_id.
+     * 
+     * @param txId Transaction ID
+     */
+    public void release(String txId) {
+        repository.delete(txId);
+        log.debug("Transaction released: {}", txId);
+    }
 }
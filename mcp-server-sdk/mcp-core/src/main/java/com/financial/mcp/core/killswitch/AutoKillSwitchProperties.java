@@ -0,0 +1,62 @@
+package com.financial.mcp.core.killswitch;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for {@link ToolHealthMonitor}, bound from {@code mcp.killswitch.auto}.
+ *
+ * <pre>
+ * mcp.killswitch.auto:
+ *   enabled: true
+ *   defaults:
+ *     error-rate: 0.5
+ *     p99-latency-ms: 2000
+ *   tools:
+ *     loss_projection:
+ *       p99-latency-ms: 5000
+ *     "[fx_rate:2.0.0]":
+ *       trip-action: HALF_OPEN
+ * </pre>
+ *
+ * Tool entries are keyed by tool ID or {@code toolId:version}. A version window
+ * uses its own entry, then its tool's entry, then the defaults. An entry replaces
+ * {@code defaults} as a whole; fields it leaves out keep their built-in values.
+ */
+@Data
+public class AutoKillSwitchProperties {
+    private boolean enabled = false;
+    private long windowMs = 60_000;
+    private int windowBuckets = 12;
+    private long adoptIntervalMs = 30_000; // how often to look for switches left by a restarted or lost node
+    private Thresholds defaults = new Thresholds();
+    private Map<String, Thresholds> tools = new HashMap<>();
+
+    public Thresholds thresholdsFor(String toolId, String version) {
+        Thresholds thresholds = (version != null) ? tools.get(toolId + ":" + version) : null;
+        if (thresholds == null) {
+            thresholds = tools.get(toolId);
+        }
+        return (thresholds != null) ? thresholds : defaults;
+    }
+
+    public enum TripAction {
+        /** Disable the tool, then probe it half-open after {@code open-duration-ms}. */
+        DISABLE,
+        /** Go straight to half-open: admit {@code probe-percent} of calls. */
+        HALF_OPEN
+    }
+
+    @Data
+    public static class Thresholds {
+        private Double errorRate = 0.5; // null: never trip on errors
+        private Long p99LatencyMs; // null: never trip on latency
+        private int minCalls = 20;
+        private TripAction tripAction = TripAction.DISABLE;
+        private long openDurationMs = 30_000;
+        private int probePercent = 10;
+        private int probeMinCalls = 10;
+    }
+}
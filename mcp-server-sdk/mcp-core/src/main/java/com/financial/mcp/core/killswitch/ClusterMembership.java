@@ -0,0 +1,11 @@
+package com.financial.mcp.core.killswitch;
+
+/**
+ * Number of live nodes, used to split cluster-wide rate limits into per-node budgets.
+ */
+public interface ClusterMembership {
+    /**
+     * @return live nodes including this one, at least 1
+     */
+    int activeNodes();
+}
@@ -0,0 +1,10 @@
+package com.financial.mcp.core.killswitch;
+
+/**
+ * Application event for a kill switch change announced over pub/sub,
+ * including changes made through this node.
+ *
+ * @param target Changed kill switch (repository-specific key)
+ */
+public record KillSwitchChangedEvent(String target) {
+}
@@ -0,0 +1,11 @@
+package com.financial.mcp.core.killswitch;
+
+/**
+ * What an engaged kill switch does.
+ */
+public enum KillSwitchMode {
+    /** Reject every call (TOOL_DISABLED). */
+    DISABLE,
+    /** Admit a share of calls and/or a rate, reject the rest as retryable (TOOL_THROTTLED). */
+    THROTTLE
+}
@@ -1,5 +1,7 @@
 package com.financial.mcp.core.killswitch;
 
+import java.util.List;
+
 public interface KillSwitchRepository {
     KillSwitchStatus getToolStatus(String toolId);
     
@@ -27,4 +29,28 @@ public interface KillSwitchRepository {
     void setToolVersionStatus(String toolId, String version, boolean disabled, String reason);
     
     void setGlobalStatus(boolean disabled, String reason);
+
+    /**
+     * Kill switch for every call from a department; null if none (or not supported).
+     */
+    default KillSwitchStatus getDeptStatus(String dept) {
+        return null;
+    }
+
+    /**
+     * Kill switch for every call from a caller application; null if none (or not supported).
+     */
+    default KillSwitchStatus getCallerStatus(String callerId) {
+        return null;
+    }
+
+    /**
+     * Store a kill switch of any scope and mode, replacing the previous one for the same target.
+     */
+    void saveStatus(KillSwitchStatus status);
+
+    /**
+     * Every stored kill switch, with its scope and target set, for building an in-memory snapshot.
+     */
+    List<KillSwitchStatus> findAll();
 }
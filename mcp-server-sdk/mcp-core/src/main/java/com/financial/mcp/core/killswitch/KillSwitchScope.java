@@ -0,0 +1,13 @@
+package com.financial.mcp.core.killswitch;
+
+/**
+ * What a kill switch applies to. DEPT and CALLER switches apply to every tool
+ * called by that department or caller, identified by the status's targetId.
+ */
+public enum KillSwitchScope {
+    GLOBAL,
+    TOOL,
+    TOOL_VERSION,
+    DEPT,
+    CALLER
+}
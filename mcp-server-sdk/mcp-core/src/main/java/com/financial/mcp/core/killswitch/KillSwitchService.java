@@ -2,13 +2,17 @@ package com.financial.mcp.core.killswitch;
 
 import com.financial.mcp.core.error.McpErrorCode;
 import com.financial.mcp.core.error.McpException;
+import com.financial.mcp.core.meta.McpMeta;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class KillSwitchService {
     private final KillSwitchRepository repository;
+    private final KillSwitchThrottle throttle;
 
     public void validateToolNotDisabled(String toolId) {
         KillSwitchStatus status = repository.getToolStatus(toolId);
@@ -51,6 +55,36 @@ public class KillSwitchService {
         }
     }
 
+    /**
+     * Check every kill switch that applies to a call: global, tool, tool version
+     * (if given), department and caller. A disabled switch rejects the call with
+     * TOOL_DISABLED; a throttled switch admits it within its percentage and rate
+     * or rejects it with the retryable TOOL_THROTTLED.
+     *
+     * @param version Resolved tool version, or null for an unversioned call
+     * @throws McpException if the call is disabled or throttled
+     */
+    public void validateAdmission(McpMeta meta, String toolId, String version) {
+        KillSwitchStatus global = repository.getGlobalStatus();
+        KillSwitchStatus tool = repository.getToolStatus(toolId);
+        KillSwitchStatus toolVersion = version != null ? repository.getToolVersionStatus(toolId, version) : null;
+        KillSwitchStatus dept = repository.getDeptStatus(meta.getDept());
+        KillSwitchStatus caller = repository.getCallerStatus(meta.getCallerId());
+
+        rejectIfDisabled(global, "MCP server is globally disabled");
+        rejectIfDisabled(tool, "Tool is disabled by kill switch: " + toolId);
+        rejectIfDisabled(toolVersion, "Tool version is disabled by kill switch: " + toolId + " version: " + version);
+        rejectIfDisabled(dept, "Department is disabled by kill switch: " + meta.getDept());
+        rejectIfDisabled(caller, "Caller is disabled by kill switch: " + meta.getCallerId());
+
+        rejectIfThrottled(global, "GLOBAL", "MCP server is throttled");
+        rejectIfThrottled(tool, "TOOL:" + toolId, "Tool is throttled: " + toolId);
+        rejectIfThrottled(toolVersion, "TOOL_VERSION:" + toolId + ":" + version,
+                "Tool version is throttled: " + toolId + " version: " + version);
+        rejectIfThrottled(dept, "DEPT:" + meta.getDept(), "Department is throttled: " + meta.getDept());
+        rejectIfThrottled(caller, "CALLER:" + meta.getCallerId(), "Caller is throttled: " + meta.getCallerId());
+    }
+
     public void validateGlobalNotDisabled() {
         KillSwitchStatus status = repository.getGlobalStatus();
         if (status != null && status.isDisabled()) {
@@ -91,6 +125,51 @@ public class KillSwitchService {
         repository.setToolVersionStatus(toolId, version, false, null);
     }
 
+    /**
+     * Shed load from a tool instead of disabling it.
+     *
+     * @param admitPercent Share of calls admitted (0-100), or null for no percentage cap
+     * @param rateLimitRps Calls per second across the cluster, or null for no rate cap
+     */
+    public void throttleTool(String toolId, Integer admitPercent, Double rateLimitRps, String reason) {
+        repository.saveStatus(throttled(KillSwitchScope.TOOL, toolId, admitPercent, rateLimitRps, reason)
+                .toolId(toolId)
+                .build());
+    }
+
+    public void throttleToolVersion(String toolId, String version, Integer admitPercent, Double rateLimitRps,
+                                    String reason) {
+        repository.saveStatus(throttled(KillSwitchScope.TOOL_VERSION, toolId + ":" + version,
+                admitPercent, rateLimitRps, reason)
+                .toolId(toolId)
+                .version(version)
+                .build());
+    }
+
+    public void throttleDept(String dept, Integer admitPercent, Double rateLimitRps, String reason) {
+        repository.saveStatus(throttled(KillSwitchScope.DEPT, dept, admitPercent, rateLimitRps, reason).build());
+    }
+
+    public void throttleCaller(String callerId, Integer admitPercent, Double rateLimitRps, String reason) {
+        repository.saveStatus(throttled(KillSwitchScope.CALLER, callerId, admitPercent, rateLimitRps, reason).build());
+    }
+
+    public void disableDept(String dept, String reason) {
+        repository.saveStatus(status(KillSwitchScope.DEPT, dept, true, reason));
+    }
+
+    public void enableDept(String dept) {
+        repository.saveStatus(status(KillSwitchScope.DEPT, dept, false, null));
+    }
+
+    public void disableCaller(String callerId, String reason) {
+        repository.saveStatus(status(KillSwitchScope.CALLER, callerId, true, reason));
+    }
+
+    public void enableCaller(String callerId) {
+        repository.saveStatus(status(KillSwitchScope.CALLER, callerId, false, null));
+    }
+
     public void disableGlobal(String reason) {
         repository.setGlobalStatus(true, reason);
     }
@@ -117,4 +196,56 @@ public class KillSwitchService {
     public KillSwitchStatus getGlobalStatus() {
         return repository.getGlobalStatus();
     }
+
+    /**
+     * Every stored kill switch.
+     */
+    public List<KillSwitchStatus> findAll() {
+        return repository.findAll();
+    }
+
+    private void rejectIfDisabled(KillSwitchStatus status, String message) {
+        if (status != null && status.isDisabled()) {
+            throw new McpException(McpErrorCode.TOOL_DISABLED, message, false);
+        }
+    }
+
+    private void rejectIfThrottled(KillSwitchStatus status, String bucketKey, String message) {
+        if (status != null && status.isThrottled() && !throttle.admit(bucketKey, status)) {
+            throw new McpException(McpErrorCode.TOOL_THROTTLED, message, true);
+        }
+    }
+
+    private static KillSwitchStatus.KillSwitchStatusBuilder throttled(KillSwitchScope scope, String targetId,
+                                                                      Integer admitPercent, Double rateLimitRps,
+                                                                      String reason) {
+        if (admitPercent == null && rateLimitRps == null) {
+            throw new IllegalArgumentException("admitPercent or rateLimitRps is required");
+        }
+        if (admitPercent != null && (admitPercent < 0 || admitPercent > 100)) {
+            throw new IllegalArgumentException("admitPercent must be between 0 and 100");
+        }
+        if (rateLimitRps != null && rateLimitRps < 0) {
+            throw new IllegalArgumentException("rateLimitRps must not be negative");
+        }
+        return KillSwitchStatus.builder()
+                .targetId(targetId)
+                .scope(scope)
+                .mode(KillSwitchMode.THROTTLE)
+                .admitPercent(admitPercent)
+                .rateLimitRps(rateLimitRps)
+                .reason(reason)
+                .disabledAt(System.currentTimeMillis());
+    }
+
+    private static KillSwitchStatus status(KillSwitchScope scope, String targetId, boolean disabled, String reason) {
+        return KillSwitchStatus.builder()
+                .targetId(targetId)
+                .scope(scope)
+                .disabled(disabled)
+                .mode(disabled ? KillSwitchMode.DISABLE : null)
+                .reason(reason)
+                .disabledAt(System.currentTimeMillis())
+                .build();
+    }
 }
@@ -0,0 +1,102 @@
+package com.financial.mcp.core.killswitch;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of every kill switch, indexed by scope.
+ * Statuses without a scope, or without the id their scope is keyed by, are ignored.
+ */
+public final class KillSwitchSnapshot {
+    private static final KillSwitchSnapshot EMPTY =
+            new KillSwitchSnapshot(null, Map.of(), Map.of(), Map.of(), Map.of(), 0);
+
+    private final KillSwitchStatus global;
+    private final Map<String, KillSwitchStatus> byTool;
+    private final Map<Key, KillSwitchStatus> byToolVersion;
+    private final Map<String, KillSwitchStatus> byDept;
+    private final Map<String, KillSwitchStatus> byCaller;
+    private final long loadedAt;
+
+    private KillSwitchSnapshot(KillSwitchStatus global, Map<String, KillSwitchStatus> byTool,
+                               Map<Key, KillSwitchStatus> byToolVersion, Map<String, KillSwitchStatus> byDept,
+                               Map<String, KillSwitchStatus> byCaller, long loadedAt) {
+        this.global = global;
+        this.byTool = byTool;
+        this.byToolVersion = byToolVersion;
+        this.byDept = byDept;
+        this.byCaller = byCaller;
+        this.loadedAt = loadedAt;
+    }
+
+    public static KillSwitchSnapshot of(Collection<KillSwitchStatus> statuses) {
+        KillSwitchStatus global = null;
+        Map<String, KillSwitchStatus> byTool = new HashMap<>();
+        Map<Key, KillSwitchStatus> byToolVersion = new HashMap<>();
+        Map<String, KillSwitchStatus> byDept = new HashMap<>();
+        Map<String, KillSwitchStatus> byCaller = new HashMap<>();
+        for (KillSwitchStatus status : statuses) {
+            if (status.getScope() == null) {
+                continue;
+            }
+            switch (status.getScope()) {
+                case GLOBAL -> global = status;
+                case TOOL -> putIfKeyed(byTool, status.getToolId(), status);
+                case TOOL_VERSION -> {
+                    if (status.getToolId() != null) {
+                        byToolVersion.put(new Key(status.getToolId(), status.getVersion()), status);
+                    }
+                }
+                case DEPT -> putIfKeyed(byDept, status.getTargetId(), status);
+                case CALLER -> putIfKeyed(byCaller, status.getTargetId(), status);
+            }
+        }
+        return new KillSwitchSnapshot(global, Map.copyOf(byTool), Map.copyOf(byToolVersion),
+                Map.copyOf(byDept), Map.copyOf(byCaller), System.currentTimeMillis());
+    }
+
+    public static KillSwitchSnapshot empty() {
+        return EMPTY;
+    }
+
+    public KillSwitchStatus getGlobal() {
+        return global;
+    }
+
+    public KillSwitchStatus getTool(String toolId) {
+        return byTool.get(toolId);
+    }
+
+    public KillSwitchStatus getToolVersion(String toolId, String version) {
+        return byToolVersion.get(new Key(toolId, version));
+    }
+
+    public KillSwitchStatus getDept(String dept) {
+        return dept != null ? byDept.get(dept) : null;
+    }
+
+    public KillSwitchStatus getCaller(String callerId) {
+        return callerId != null ? byCaller.get(callerId) : null;
+    }
+
+    public int size() {
+        return (global != null ? 1 : 0) + byTool.size() + byToolVersion.size() + byDept.size() + byCaller.size();
+    }
+
+    /**
+     * @return when this snapshot was read, in epoch millis (0 for the empty snapshot)
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    private static void putIfKeyed(Map<String, KillSwitchStatus> map, String key, KillSwitchStatus status) {
+        if (key != null) {
+            map.put(key, status);
+        }
+    }
+
+    private record Key(String toolId, String version) {
+    }
+}
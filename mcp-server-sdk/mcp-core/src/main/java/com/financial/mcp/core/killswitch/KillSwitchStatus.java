@@ -1,5 +1,6 @@
 package com.financial.mcp.core.killswitch;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,9 +11,23 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class KillSwitchStatus {
-    private String targetId; // tool_id or "GLOBAL"
+    private String targetId; // tool_id, tool_id:version, dept, caller_id or "GLOBAL"
+    private KillSwitchScope scope;
+    private String toolId; // TOOL and TOOL_VERSION only
+    private String version; // TOOL_VERSION only
     private boolean disabled;
+    private KillSwitchMode mode; // null for entries written before modes existed: disabled decides
+    private Integer admitPercent; // THROTTLE: share of calls admitted (0-100)
+    private Double rateLimitRps; // THROTTLE: calls per second across the cluster
     private String reason;
     private long disabledAt;
     private String disabledBy;
+
+    /**
+     * Load shedding is active: calls are admitted only within the percentage and/or rate.
+     */
+    @JsonIgnore
+    public boolean isThrottled() {
+        return !disabled && mode == KillSwitchMode.THROTTLE && (admitPercent != null || rateLimitRps != null);
+    }
 }
@@ -0,0 +1,72 @@
+package com.financial.mcp.core.killswitch;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local enforcement of THROTTLE kill switches.
+ *
+ * <p>{@code admitPercent} admits each call with that probability.
+ * {@code rateLimitRps} is a cluster-wide rate: each node enforces its share,
+ * {@code rps / activeNodes}, with a token bucket holding up to one second of
+ * its share. The node count comes from {@link ClusterMembership}, so budgets
+ * follow nodes joining and leaving; without one, every node gets the full rate.
+ */
+public class KillSwitchThrottle {
+    private static final int MAX_BUCKETS = 10_000;
+
+    private final ClusterMembership membership;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public KillSwitchThrottle(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    /**
+     * @param bucketKey Identity of the kill switch, so each switch has its own rate budget
+     * @return true if the call may proceed
+     */
+    public boolean admit(String bucketKey, KillSwitchStatus status) {
+        Integer admitPercent = status.getAdmitPercent();
+        if (admitPercent != null && ThreadLocalRandom.current().nextInt(100) >= admitPercent) {
+            return false;
+        }
+        Double rateLimitRps = status.getRateLimitRps();
+        if (rateLimitRps == null) {
+            return true;
+        }
+        double nodeRate = rateLimitRps / Math.max(1, membership != null ? membership.activeNodes() : 1);
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= MAX_BUCKETS) {
+                buckets.clear();
+            }
+            bucket = buckets.computeIfAbsent(bucketKey, key -> new TokenBucket(nodeRate));
+        }
+        return bucket.tryAcquire(nodeRate);
+    }
+
+    static final class TokenBucket {
+        private double rate;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(double rate) {
+            this.rate = rate;
+            this.tokens = Math.max(1, rate);
+        }
+
+        synchronized boolean tryAcquire(double currentRate) {
+            long now = System.nanoTime();
+            rate = currentRate;
+            double capacity = Math.max(1, rate);
+            tokens = Math.min(capacity, tokens + (now - refilledAt) / 1e9 * rate);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
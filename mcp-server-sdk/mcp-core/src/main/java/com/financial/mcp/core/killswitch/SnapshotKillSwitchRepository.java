@@ -0,0 +1,145 @@
+package com.financial.mcp.core.killswitch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Kill switch state served from memory, so checks on the request path do not
+ * read Redis.
+ *
+ * <p>{@link #load()} reads every kill switch before startup completes. The
+ * snapshot is reloaded on each {@link KillSwitchChangedEvent} (pushed over
+ * pub/sub) and by a periodic resync that catches missed messages, so a change
+ * reaches every node within {@code mcp.killswitch.snapshot.resync-interval-ms}
+ * (default 10s) even without pub/sub. Each resync reads every kill switch
+ * (SCAN + MGET), so the interval is kept well above the pub/sub latency. Each reload publishes a new immutable
+ * {@link KillSwitchSnapshot} with a single volatile write.
+ *
+ * <p>If the snapshot is older than {@code maxStalenessMs} because reloads keep
+ * failing, reads go to the source repository again rather than trusting old state.
+ * Writes go to the source repository, which announces them, and reload the snapshot.
+ */
+@Slf4j
+public class SnapshotKillSwitchRepository implements KillSwitchRepository {
+    private final KillSwitchRepository source;
+    private final long maxStalenessMs;
+
+    private volatile KillSwitchSnapshot snapshot = KillSwitchSnapshot.empty();
+
+    /**
+     * @param maxStalenessMs Age after which the snapshot is bypassed
+     */
+    public SnapshotKillSwitchRepository(KillSwitchRepository source, long maxStalenessMs) {
+        this.source = source;
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    /**
+     * Initial load. Fails bean creation, and therefore startup, if kill switches cannot be read.
+     */
+    public void load() {
+        reload();
+        log.info("Loaded {} kill switches", snapshot.size());
+    }
+
+    @Override
+    public KillSwitchStatus getToolStatus(String toolId) {
+        KillSwitchSnapshot current = current();
+        return current != null ? current.getTool(toolId) : source.getToolStatus(toolId);
+    }
+
+    @Override
+    public KillSwitchStatus getToolVersionStatus(String toolId, String version) {
+        KillSwitchSnapshot current = current();
+        return current != null ? current.getToolVersion(toolId, version) : source.getToolVersionStatus(toolId, version);
+    }
+
+    @Override
+    public KillSwitchStatus getGlobalStatus() {
+        KillSwitchSnapshot current = current();
+        return current != null ? current.getGlobal() : source.getGlobalStatus();
+    }
+
+    @Override
+    public KillSwitchStatus getDeptStatus(String dept) {
+        KillSwitchSnapshot current = current();
+        return current != null ? current.getDept(dept) : source.getDeptStatus(dept);
+    }
+
+    @Override
+    public KillSwitchStatus getCallerStatus(String callerId) {
+        KillSwitchSnapshot current = current();
+        return current != null ? current.getCaller(callerId) : source.getCallerStatus(callerId);
+    }
+
+    @Override
+    public void saveStatus(KillSwitchStatus status) {
+        source.saveStatus(status);
+        reloadQuietly(status.getTargetId());
+    }
+
+    @Override
+    public void setToolStatus(String toolId, boolean disabled, String reason) {
+        source.setToolStatus(toolId, disabled, reason);
+        reloadQuietly(toolId);
+    }
+
+    @Override
+    public void setToolVersionStatus(String toolId, String version, boolean disabled, String reason) {
+        source.setToolVersionStatus(toolId, version, disabled, reason);
+        reloadQuietly(toolId + ":" + version);
+    }
+
+    @Override
+    public void setGlobalStatus(boolean disabled, String reason) {
+        source.setGlobalStatus(disabled, reason);
+        reloadQuietly("GLOBAL");
+    }
+
+    @Override
+    public List<KillSwitchStatus> findAll() {
+        return source.findAll();
+    }
+
+    public KillSwitchSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @EventListener
+    public void onKillSwitchChanged(KillSwitchChangedEvent event) {
+        reloadQuietly(event.target());
+    }
+
+    @Scheduled(fixedDelayString = "${mcp.killswitch.snapshot.resync-interval-ms:10000}",
+            initialDelayString = "${mcp.killswitch.snapshot.resync-interval-ms:10000}")
+    public void resync() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Kill switch resync failed, keeping snapshot from {}", snapshot.getLoadedAt(), e);
+        }
+    }
+
+    synchronized void reload() {
+        snapshot = KillSwitchSnapshot.of(source.findAll());
+    }
+
+    private void reloadQuietly(String target) {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Failed to reload kill switches after change to {}, next resync retries", target, e);
+        }
+    }
+
+    private KillSwitchSnapshot current() {
+        KillSwitchSnapshot current = snapshot;
+        if (System.currentTimeMillis() - current.getLoadedAt() > maxStalenessMs) {
+            return null;
+        }
+        return current;
+    }
+}
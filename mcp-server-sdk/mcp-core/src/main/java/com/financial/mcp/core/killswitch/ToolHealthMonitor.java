@@ -0,0 +1,401 @@
+package com.financial.mcp.core.killswitch;
+
+import com.financial.mcp.core.audit.AuditService;
+import com.financial.mcp.core.error.McpErrorCode;
+import com.financial.mcp.core.error.McpException;
+import com.financial.mcp.core.killswitch.AutoKillSwitchProperties.Thresholds;
+import com.financial.mcp.core.killswitch.AutoKillSwitchProperties.TripAction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trips tool kill switches from handler error rate and p99 latency.
+ *
+ * <p>The dispatcher records every handler run into a sliding window per tool and
+ * per tool version ({@code window-ms}, split into {@code window-buckets} buckets).
+ * {@link #evaluate()} checks each window against its thresholds:
+ * <ul>
+ *   <li>CLOSED: once the window holds {@code min-calls} calls and the error rate or
+ *       p99 reaches its threshold, the switch trips to OPEN (disabled) or straight
+ *       to HALF_OPEN, depending on {@code trip-action}.</li>
+ *   <li>OPEN: after {@code open-duration-ms} the switch moves to HALF_OPEN.</li>
+ *   <li>HALF_OPEN: a throttle admits {@code probe-percent} of calls. After
+ *       {@code probe-min-calls} probes the switch is re-enabled if they were healthy,
+ *       and tripped again if not.</li>
+ * </ul>
+ * Every transition is audited with the window's metrics.
+ *
+ * <p>The monitor only moves switches it set itself, recognised by their
+ * {@value #REASON_PREFIX} reason: a switch an operator has set or cleared is left
+ * alone. Each node judges its own traffic, and the node that tripped a switch
+ * drives its recovery.
+ *
+ * <p>A switch whose node restarted or went away would stay disabled, since a
+ * disabled tool gets no calls to judge. Every {@code adopt-interval-ms} (and on the
+ * first evaluation) the monitor lists the stored switches and adopts the ones it
+ * set but holds no breaker for: a disabled switch becomes an OPEN breaker timed
+ * from the switch's {@code disabledAt}, a throttled one a HALF_OPEN breaker. Nodes
+ * that adopt the same switch converge, since each transition is written to the
+ * shared switch and a node drops its breaker once the switch is no longer its own.
+ */
+@Slf4j
+public class ToolHealthMonitor {
+    static final String REASON_PREFIX = "auto-kill-switch: ";
+    static final String AUDIT_METHOD = "killswitch.auto";
+    static final String TRIPPED = "AUTO_TRIPPED";
+    static final String HALF_OPENED = "AUTO_HALF_OPEN";
+    static final String RECOVERED = "AUTO_RECOVERED";
+    private static final long[] LATENCY_BOUNDS_MS =
+            {5, 10, 25, 50, 75, 100, 150, 200, 300, 500, 750, 1000, 1500, 2000, 3000, 5000, 10000, 30000};
+
+    private final KillSwitchService killSwitchService;
+    private final AuditService auditService;
+    private final AutoKillSwitchProperties properties;
+    private final ConcurrentHashMap<Target, Window> windows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Target, Breaker> breakers = new ConcurrentHashMap<>();
+    private long lastAdoptScan;
+
+    public ToolHealthMonitor(KillSwitchService killSwitchService, AuditService auditService,
+                             AutoKillSwitchProperties properties) {
+        this.killSwitchService = killSwitchService;
+        this.auditService = auditService;
+        this.properties = properties;
+    }
+
+    /**
+     * Record one handler run for the tool and, if given, its version.
+     *
+     * @param failure The handler's exception, or null if it succeeded
+     */
+    public void record(String toolId, String version, long latencyMs, Exception failure) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean failed = isToolFault(failure);
+        window(new Target(toolId, null)).record(now, failed, latencyMs);
+        if (version != null) {
+            window(new Target(toolId, version)).record(now, failed, latencyMs);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mcp.killswitch.auto.evaluate-interval-ms:1000}")
+    public void evaluate() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastAdoptScan >= properties.getAdoptIntervalMs()) {
+            lastAdoptScan = now;
+            adoptOrphans(now);
+        }
+        windows.forEach((target, window) -> {
+            try {
+                evaluate(target, window, now);
+            } catch (Exception e) {
+                log.warn("Failed to evaluate auto kill switch for {}", target, e);
+            }
+        });
+    }
+
+    private void adoptOrphans(long now) {
+        List<KillSwitchStatus> statuses;
+        try {
+            statuses = killSwitchService.findAll();
+        } catch (Exception e) {
+            log.warn("Failed to list kill switches for adoption, will retry", e);
+            return;
+        }
+        for (KillSwitchStatus status : statuses) {
+            if (!isOwned(status) || status.getToolId() == null
+                    || (status.getScope() != KillSwitchScope.TOOL && status.getScope() != KillSwitchScope.TOOL_VERSION)) {
+                continue;
+            }
+            Target target = new Target(status.getToolId(),
+                    status.getScope() == KillSwitchScope.TOOL_VERSION ? status.getVersion() : null);
+            BreakerState state = status.isDisabled() ? BreakerState.OPEN : BreakerState.HALF_OPEN;
+            long since = status.getDisabledAt() > 0 ? status.getDisabledAt() : now;
+            if (breakers.putIfAbsent(target, new Breaker(state, since)) == null) {
+                // Evaluation walks the windows, and a disabled tool records none
+                window(target);
+                log.info("Adopted auto kill switch for {} ({})", target, state);
+            }
+        }
+    }
+
+    private void evaluate(Target target, Window window, long now) {
+        Thresholds thresholds = properties.thresholdsFor(target.toolId(), target.version());
+        Stats stats = window.stats(now);
+        Breaker breaker = breakers.get(target);
+
+        if (breaker == null) {
+            String breach = breach(stats, thresholds, thresholds.getMinCalls());
+            if (breach != null && !isSetByOperator(currentStatus(target))) {
+                trip(target, window, stats, thresholds, breach);
+            }
+            return;
+        }
+
+        if (!isOwned(currentStatus(target))) {
+            // An operator has taken over this switch
+            breakers.remove(target);
+            return;
+        }
+
+        if (breaker.state() == BreakerState.OPEN) {
+            if (now - breaker.since() >= thresholds.getOpenDurationMs()) {
+                halfOpen(target, window, stats, thresholds, "open for " + thresholds.getOpenDurationMs() + " ms");
+            }
+            return;
+        }
+
+        // HALF_OPEN: judge the probes once there are enough of them
+        if (stats.calls() < thresholds.getProbeMinCalls()) {
+            return;
+        }
+        String breach = breach(stats, thresholds, thresholds.getProbeMinCalls());
+        if (breach != null) {
+            trip(target, window, stats, thresholds, "probe failed, " + breach);
+        } else {
+            recover(target, window, stats, thresholds);
+        }
+    }
+
+    private void trip(Target target, Window window, Stats stats, Thresholds thresholds, String breach) {
+        if (thresholds.getTripAction() == TripAction.HALF_OPEN) {
+            halfOpen(target, window, stats, thresholds, breach);
+            return;
+        }
+        String reason = REASON_PREFIX + breach;
+        if (target.version() == null) {
+            killSwitchService.disableTool(target.toolId(), reason);
+        } else {
+            killSwitchService.disableToolVersion(target.toolId(), target.version(), reason);
+        }
+        breakers.put(target, new Breaker(BreakerState.OPEN, System.currentTimeMillis()));
+        window.reset();
+        log.warn("Auto kill switch tripped for {}: {}", target, breach);
+        audit(target, TRIPPED, stats, thresholds, reason);
+    }
+
+    private void halfOpen(Target target, Window window, Stats stats, Thresholds thresholds, String cause) {
+        String reason = REASON_PREFIX + "half-open, " + cause;
+        if (target.version() == null) {
+            killSwitchService.throttleTool(target.toolId(), thresholds.getProbePercent(), null, reason);
+        } else {
+            killSwitchService.throttleToolVersion(target.toolId(), target.version(),
+                    thresholds.getProbePercent(), null, reason);
+        }
+        breakers.put(target, new Breaker(BreakerState.HALF_OPEN, System.currentTimeMillis()));
+        window.reset();
+        log.warn("Auto kill switch half-open for {}: {}", target, cause);
+        audit(target, HALF_OPENED, stats, thresholds, reason);
+    }
+
+    private void recover(Target target, Window window, Stats stats, Thresholds thresholds) {
+        if (target.version() == null) {
+            killSwitchService.enableTool(target.toolId());
+        } else {
+            killSwitchService.enableToolVersion(target.toolId(), target.version());
+        }
+        breakers.remove(target);
+        window.reset();
+        log.info("Auto kill switch recovered for {}", target);
+        audit(target, RECOVERED, stats, thresholds, REASON_PREFIX + "probes healthy");
+    }
+
+    private void audit(Target target, String resultCode, Stats stats, Thresholds thresholds, String reason) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("version", target.version());
+        details.put("reason", reason);
+        details.put("window_ms", properties.getWindowMs());
+        details.put("calls", stats.calls());
+        details.put("errors", stats.errors());
+        details.put("error_rate", stats.errorRate());
+        details.put("p99_latency_ms", stats.p99LatencyMs());
+        details.put("error_rate_threshold", thresholds.getErrorRate());
+        details.put("p99_latency_threshold_ms", thresholds.getP99LatencyMs());
+        try {
+            auditService.logSystemEvent(target.toolId(), AUDIT_METHOD, resultCode, details);
+        } catch (Exception e) {
+            log.error("Failed to audit auto kill switch {} for {}", resultCode, target, e);
+        }
+    }
+
+    /**
+     * @return a description of the threshold the window breaches, or null if it is healthy
+     */
+    private static String breach(Stats stats, Thresholds thresholds, int minCalls) {
+        if (stats.calls() == 0 || stats.calls() < minCalls) {
+            return null;
+        }
+        Double maxErrorRate = thresholds.getErrorRate();
+        if (maxErrorRate != null && stats.errorRate() >= maxErrorRate) {
+            return String.format("error rate %.3f >= %.3f over %d calls", stats.errorRate(), maxErrorRate, stats.calls());
+        }
+        Long maxP99 = thresholds.getP99LatencyMs();
+        if (maxP99 != null && stats.p99LatencyMs() >= maxP99) {
+            return String.format("p99 latency %d ms >= %d ms over %d calls", stats.p99LatencyMs(), maxP99, stats.calls());
+        }
+        return null;
+    }
+
+    /**
+     * Business errors (bad params, missing data, denials) say nothing about the
+     * tool's health; only unexpected exceptions, timeouts, internal and
+     * retryable errors count as failures.
+     */
+    private static boolean isToolFault(Exception failure) {
+        if (failure == null) {
+            return false;
+        }
+        if (!(failure instanceof McpException mcpException)) {
+            return true;
+        }
+        return mcpException.isRetryable()
+                || McpErrorCode.MCP_TIMEOUT.equals(mcpException.getCode())
+                || McpErrorCode.MCP_INTERNAL_ERROR.equals(mcpException.getCode());
+    }
+
+    private KillSwitchStatus currentStatus(Target target) {
+        return (target.version() == null)
+                ? killSwitchService.getToolStatus(target.toolId())
+                : killSwitchService.getToolVersionStatus(target.toolId(), target.version());
+    }
+
+    private static boolean isOwned(KillSwitchStatus status) {
+        return status != null && (status.isDisabled() || status.isThrottled())
+                && status.getReason() != null && status.getReason().startsWith(REASON_PREFIX);
+    }
+
+    private static boolean isSetByOperator(KillSwitchStatus status) {
+        return status != null && (status.isDisabled() || status.isThrottled()) && !isOwned(status);
+    }
+
+    private Window window(Target target) {
+        Window window = windows.get(target);
+        if (window == null) {
+            window = windows.computeIfAbsent(target,
+                    key -> new Window(properties.getWindowMs(), properties.getWindowBuckets()));
+        }
+        return window;
+    }
+
+    private record Target(String toolId, String version) {
+        @Override
+        public String toString() {
+            return (version == null) ? toolId : toolId + ":" + version;
+        }
+    }
+
+    private enum BreakerState { OPEN, HALF_OPEN }
+
+    private record Breaker(BreakerState state, long since) {
+    }
+
+    record Stats(long calls, long errors, long p99LatencyMs) {
+        double errorRate() {
+            return (calls == 0) ? 0 : (double) errors / calls;
+        }
+    }
+
+    /**
+     * Ring of time buckets; a bucket is cleared when the ring comes back round to it.
+     * p99 is read from a latency histogram: it is interpolated within the bucket the
+     * 99th percentile falls in and capped at the window's maximum latency (which is
+     * also the answer beyond the last bound), so a threshold equal to a bucket bound
+     * is not reached by calls anywhere in that bucket.
+     */
+    static final class Window {
+        private final long bucketMs;
+        private final long[] bucketStarts;
+        private final long[] calls;
+        private final long[] errors;
+        private final long[][] latencies;
+        private final long[] maxLatencies;
+
+        Window(long windowMs, int buckets) {
+            int count = Math.max(1, buckets);
+            this.bucketMs = Math.max(1, windowMs / count);
+            this.bucketStarts = new long[count];
+            this.calls = new long[count];
+            this.errors = new long[count];
+            this.latencies = new long[count][LATENCY_BOUNDS_MS.length + 1];
+            this.maxLatencies = new long[count];
+            Arrays.fill(bucketStarts, -1);
+        }
+
+        synchronized void record(long now, boolean failed, long latencyMs) {
+            long start = now - (now % bucketMs);
+            int index = (int) ((now / bucketMs) % bucketStarts.length);
+            if (bucketStarts[index] != start) {
+                bucketStarts[index] = start;
+                calls[index] = 0;
+                errors[index] = 0;
+                Arrays.fill(latencies[index], 0);
+                maxLatencies[index] = 0;
+            }
+            calls[index]++;
+            if (failed) {
+                errors[index]++;
+            }
+            latencies[index][bucketOf(latencyMs)]++;
+            maxLatencies[index] = Math.max(maxLatencies[index], latencyMs);
+        }
+
+        synchronized Stats stats(long now) {
+            long oldest = now - (now % bucketMs) - (bucketStarts.length - 1) * bucketMs;
+            long totalCalls = 0;
+            long totalErrors = 0;
+            long maxLatency = 0;
+            long[] histogram = new long[LATENCY_BOUNDS_MS.length + 1];
+            for (int i = 0; i < bucketStarts.length; i++) {
+                if (bucketStarts[i] >= oldest) {
+                    totalCalls += calls[i];
+                    totalErrors += errors[i];
+                    maxLatency = Math.max(maxLatency, maxLatencies[i]);
+                    for (int b = 0; b < histogram.length; b++) {
+                        histogram[b] += latencies[i][b];
+                    }
+                }
+            }
+            return new Stats(totalCalls, totalErrors, percentile(histogram, totalCalls, maxLatency, 0.99));
+        }
+
+        synchronized void reset() {
+            Arrays.fill(bucketStarts, -1);
+        }
+
+        private static long percentile(long[] histogram, long total, long maxLatency, double quantile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int b = 0; b < LATENCY_BOUNDS_MS.length; b++) {
+                if (seen + histogram[b] >= rank) {
+                    long lower = (b == 0) ? 0 : LATENCY_BOUNDS_MS[b - 1];
+                    long estimate = lower + (LATENCY_BOUNDS_MS[b] - lower) * (rank - seen) / histogram[b];
+                    return Math.min(estimate, maxLatency);
+                }
+                seen += histogram[b];
+            }
+            return maxLatency;
+        }
+
+        private static int bucketOf(long latencyMs) {
+            for (int i = 0; i < LATENCY_BOUNDS_MS.length; i++) {
+                if (latencyMs <= LATENCY_BOUNDS_MS[i]) {
+                    return i;
+                }
+            }
+            return LATENCY_BOUNDS_MS.length;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.financial.mcp.core.meta;
+
+import java.util.List;
+
+/**
+ * Identity of the caller, taken from a token the security layer has verified.
+ *
+ * @param roles Never null
+ * @param expiresAt Token expiry in epoch milliseconds
+ */
+public record AuthenticatedPrincipal(String userId, String dept, List<String> roles, String issuer, long expiresAt) {
+    public AuthenticatedPrincipal {
+        roles = (roles != null) ? List.copyOf(roles) : List.of();
+    }
+}
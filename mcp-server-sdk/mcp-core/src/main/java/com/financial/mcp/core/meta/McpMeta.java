@@ -1,11 +1,14 @@
 package com.financial.mcp.core.meta;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -26,6 +29,13 @@ public class McpMeta {
     @JsonProperty("dept")
     private String dept;
 
+    /**
+     * Roles of the authenticated caller, set by the server from the validated token.
+     * Never read from or written to the request body.
+     */
+    @JsonIgnore
+    private List<String> roles;
+
     public void validate() {
         if (userId == null || userId.isBlank()) {
             throw new IllegalArgumentException("meta.user_id is required");
@@ -0,0 +1,46 @@
+package com.financial.mcp.core.meta;
+
+/**
+ * Per-request holder of the {@link AuthenticatedPrincipal}.
+ *
+ * <p>The security layer verifies the token once and sets the principal for the
+ * thread handling the request; it must {@link #clear()} it when the request ends.
+ * Later stages read it from here instead of parsing the token again. Work handed
+ * to other threads (such as audit writes) must capture it before the handoff.
+ */
+public final class McpRequestContext {
+    private static final ThreadLocal<AuthenticatedPrincipal> PRINCIPAL = new ThreadLocal<>();
+
+    private McpRequestContext() {
+    }
+
+    /**
+     * @return the caller's principal, or null if the request was not authenticated by token
+     */
+    public static AuthenticatedPrincipal currentPrincipal() {
+        return PRINCIPAL.get();
+    }
+
+    public static void setPrincipal(AuthenticatedPrincipal principal) {
+        PRINCIPAL.set(principal);
+    }
+
+    public static void clear() {
+        PRINCIPAL.remove();
+    }
+
+    /**
+     * Overwrite the identity fields of {@code meta} with the current principal, so a
+     * request body cannot claim another user, department or role. Without a
+     * principal {@code meta} is left as sent.
+     */
+    public static void applyTo(McpMeta meta) {
+        AuthenticatedPrincipal principal = PRINCIPAL.get();
+        if (principal == null || meta == null) {
+            return;
+        }
+        meta.setUserId(principal.userId());
+        meta.setDept(principal.dept());
+        meta.setRoles(principal.roles());
+    }
+}
@@ -0,0 +1,221 @@
+package com.financial.mcp.core.policy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Authorization decisions from role/department rules compiled in memory.
+ *
+ * <p>Roles and departments named by any {@link PolicyRule} are interned to bit
+ * positions. For each tool, the matching rules are folded into allow and deny
+ * bitsets over roles and departments (rules that constrain both are kept as
+ * role/department mask pairs), computed once per tool and rule set. A decision
+ * is then a handful of {@code BitSet.intersects}/{@code get} calls.
+ *
+ * <p>Order of evaluation:
+ * <ol>
+ *   <li>A per-user {@link ToolPolicy} row is an override and decides alone.</li>
+ *   <li>Any matching DENY rule denies.</li>
+ *   <li>Any matching ALLOW rule allows.</li>
+ *   <li>Otherwise the call is denied.</li>
+ * </ol>
+ * With rules disabled only step 1 applies, which is the per-user behaviour.
+ * Rules are reloaded periodically; a failed reload keeps the previous rules.
+ */
+@Slf4j
+public class PolicyDecisionEngine {
+    private static final int MAX_CACHED_TOOLS = 10_000;
+
+    private final PolicyRepository repository;
+    private final boolean rulesEnabled;
+
+    private volatile CompiledRules compiled = CompiledRules.compile(List.of());
+
+    public PolicyDecisionEngine(PolicyRepository repository, boolean rulesEnabled) {
+        this.repository = repository;
+        this.rulesEnabled = rulesEnabled;
+    }
+
+    /**
+     * @param version Tool version, or null for an unversioned call
+     */
+    public boolean isAllowed(String userId, String dept, Collection<String> roles, String toolId, String version) {
+        ToolPolicy override = version != null
+                ? repository.findPolicyByUserToolAndVersion(userId, toolId, version)
+                : repository.findPolicyByUserAndTool(userId, toolId);
+        if (override != null) {
+            return override.isAllowed();
+        }
+        return rulesEnabled && compiled.evaluate(toolId, dept, roles);
+    }
+
+    @Scheduled(fixedDelayString = "${mcp.policy.rules.refresh-interval-ms:60000}",
+            initialDelayString = "${mcp.policy.rules.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!rulesEnabled) {
+            return;
+        }
+        try {
+            List<PolicyRule> rules = repository.findAllRules();
+            compiled = CompiledRules.compile(rules);
+            log.debug("Compiled {} policy rules", rules.size());
+        } catch (Exception e) {
+            log.warn("Failed to reload policy rules, keeping the previous rules", e);
+        }
+    }
+
+    /**
+     * Immutable compiled rule set with a lazily filled per-tool cache.
+     */
+    static final class CompiledRules {
+        private final Map<String, Integer> roleIds;
+        private final Map<String, Integer> deptIds;
+        private final List<CompiledRule> rules;
+        private final ConcurrentHashMap<String, ToolRules> byTool = new ConcurrentHashMap<>();
+
+        private CompiledRules(Map<String, Integer> roleIds, Map<String, Integer> deptIds, List<CompiledRule> rules) {
+            this.roleIds = roleIds;
+            this.deptIds = deptIds;
+            this.rules = rules;
+        }
+
+        static CompiledRules compile(Collection<PolicyRule> rules) {
+            Map<String, Integer> roleIds = new HashMap<>();
+            Map<String, Integer> deptIds = new HashMap<>();
+            List<CompiledRule> compiled = new ArrayList<>(rules.size());
+            for (PolicyRule rule : rules) {
+                if (rule.getToolPattern() == null || rule.getEffect() == null) {
+                    continue;
+                }
+                compiled.add(new CompiledRule(
+                        globToPattern(rule.getToolPattern()),
+                        intern(rule.getRoles(), roleIds),
+                        intern(rule.getDepts(), deptIds),
+                        rule.getEffect()));
+            }
+            return new CompiledRules(Map.copyOf(roleIds), Map.copyOf(deptIds), List.copyOf(compiled));
+        }
+
+        boolean evaluate(String toolId, String dept, Collection<String> roles) {
+            ToolRules tool = byTool.get(toolId);
+            if (tool == null) {
+                if (byTool.size() >= MAX_CACHED_TOOLS) {
+                    byTool.clear();
+                }
+                tool = byTool.computeIfAbsent(toolId, this::compileTool);
+            }
+            if (tool.isEmpty()) {
+                return false;
+            }
+            BitSet roleBits = new BitSet(roleIds.size());
+            if (roles != null) {
+                for (String role : roles) {
+                    Integer id = roleIds.get(role);
+                    if (id != null) {
+                        roleBits.set(id);
+                    }
+                }
+            }
+            Integer deptId = dept != null ? deptIds.get(dept) : null;
+            int deptBit = deptId != null ? deptId : -1;
+
+            if (tool.deny.matches(roleBits, deptBit)) {
+                return false;
+            }
+            return tool.allow.matches(roleBits, deptBit);
+        }
+
+        private ToolRules compileTool(String toolId) {
+            Masks allow = new Masks();
+            Masks deny = new Masks();
+            for (CompiledRule rule : rules) {
+                if (rule.toolPattern().matcher(toolId).matches()) {
+                    (rule.effect() == PolicyEffect.DENY ? deny : allow).add(rule);
+                }
+            }
+            return new ToolRules(allow, deny);
+        }
+
+        private static BitSet intern(List<String> names, Map<String, Integer> ids) {
+            if (names == null || names.isEmpty()) {
+                return null;
+            }
+            BitSet bits = new BitSet();
+            for (String name : names) {
+                bits.set(ids.computeIfAbsent(name, key -> ids.size()));
+            }
+            return bits;
+        }
+
+        private static Pattern globToPattern(String glob) {
+            StringBuilder regex = new StringBuilder();
+            int start = 0;
+            for (int i = glob.indexOf('*'); i >= 0; i = glob.indexOf('*', start)) {
+                regex.append(Pattern.quote(glob.substring(start, i))).append(".*");
+                start = i + 1;
+            }
+            regex.append(Pattern.quote(glob.substring(start)));
+            return Pattern.compile(regex.toString());
+        }
+    }
+
+    /**
+     * A rule with null masks for "any role" / "any department".
+     */
+    private record CompiledRule(Pattern toolPattern, BitSet roles, BitSet depts, PolicyEffect effect) {
+    }
+
+    private record ToolRules(Masks allow, Masks deny) {
+        boolean isEmpty() {
+            return allow.isEmpty() && deny.isEmpty();
+        }
+    }
+
+    /**
+     * Matching rules of one effect for one tool, folded into bitsets:
+     * rules on roles only, on departments only, on neither, and on both.
+     */
+    private static final class Masks {
+        private boolean everyone;
+        private final BitSet roles = new BitSet();
+        private final BitSet depts = new BitSet();
+        private final List<BitSet[]> rolesAndDepts = new ArrayList<>();
+
+        void add(CompiledRule rule) {
+            if (rule.roles() == null && rule.depts() == null) {
+                everyone = true;
+            } else if (rule.depts() == null) {
+                roles.or(rule.roles());
+            } else if (rule.roles() == null) {
+                depts.or(rule.depts());
+            } else {
+                rolesAndDepts.add(new BitSet[] {rule.roles(), rule.depts()});
+            }
+        }
+
+        boolean matches(BitSet userRoles, int deptBit) {
+            if (everyone || roles.intersects(userRoles) || (deptBit >= 0 && depts.get(deptBit))) {
+                return true;
+            }
+            for (BitSet[] pair : rolesAndDepts) {
+                if (deptBit >= 0 && pair[1].get(deptBit) && pair[0].intersects(userRoles)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isEmpty() {
+            return !everyone && roles.isEmpty() && depts.isEmpty() && rolesAndDepts.isEmpty();
+        }
+    }
+}
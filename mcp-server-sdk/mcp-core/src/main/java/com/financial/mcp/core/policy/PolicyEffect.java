@@ -0,0 +1,9 @@
+package com.financial.mcp.core.policy;
+
+/**
+ * Outcome of a matching {@link PolicyRule}. Deny wins over allow.
+ */
+public enum PolicyEffect {
+    ALLOW,
+    DENY
+}
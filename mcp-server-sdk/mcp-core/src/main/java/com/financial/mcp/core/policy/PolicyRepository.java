@@ -1,5 +1,7 @@
 package com.financial.mcp.core.policy;
 
+import java.util.List;
+
 public interface PolicyRepository {
     ToolPolicy findPolicyByUserAndTool(String userId, String toolId);
     
@@ -27,4 +29,21 @@ public interface PolicyRepository {
     
     void savePolicy(ToolPolicy policy);
     void saveMaskingPolicy(DataMaskingPolicy policy);
+
+    /**
+     * Every tool and masking policy of a user, read together.
+     *
+     * @param userId User ID
+     * @return Bundle, empty if the user has no policies
+     */
+    UserPolicyBundle findUserPolicies(String userId);
+
+    /**
+     * All role/department policy rules. Repositories without rule storage have none.
+     */
+    default List<PolicyRule> findAllRules() {
+        return List.of();
+    }
+
+    void saveRule(PolicyRule rule);
 }
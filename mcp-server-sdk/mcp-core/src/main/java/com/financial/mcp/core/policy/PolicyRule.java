@@ -0,0 +1,29 @@
+package com.financial.mcp.core.policy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Authorization rule for many users at once.
+ * A rule matches a call when the tool id matches {@code toolPattern} ({@code *}
+ * matches any characters, e.g. {@code ifrs17.*}), the caller has one of
+ * {@code roles} and belongs to one of {@code depts}. An empty roles or depts
+ * list matches everyone.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyRule {
+    private String ruleId;
+    private String toolPattern;
+    private List<String> roles;
+    private List<String> depts;
+    private PolicyEffect effect;
+    private long createdAt;
+    private long updatedAt;
+}
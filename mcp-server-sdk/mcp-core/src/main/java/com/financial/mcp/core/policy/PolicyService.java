@@ -2,24 +2,22 @@ package com.financial.mcp.core.policy;
 
 import com.financial.mcp.core.error.McpErrorCode;
 import com.financial.mcp.core.error.McpException;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
 import com.financial.mcp.core.meta.McpMeta;
+import com.financial.mcp.core.meta.McpRequestContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class PolicyService {
     private final PolicyRepository repository;
+    private final PolicyDecisionEngine decisionEngine;
 
     public void validateAuthorization(String userId, String toolId) {
-        ToolPolicy policy = repository.findPolicyByUserAndTool(userId, toolId);
-        if (policy == null || !policy.isAllowed()) {
-            throw new McpException(
-                    McpErrorCode.POLICY_DENIED,
-                    "User not authorized to access tool: " + toolId,
-                    false
-            );
-        }
+        validateAuthorization(userId, null, null, toolId, null);
     }
 
     /**
@@ -32,11 +30,24 @@ public class PolicyService {
      * @throws McpException if not authorized
      */
     public void validateAuthorizationByVersion(String userId, String toolId, String version) {
-        ToolPolicy policy = repository.findPolicyByUserToolAndVersion(userId, toolId, version);
-        if (policy == null || !policy.isAllowed()) {
+        validateAuthorization(userId, null, null, toolId, version);
+    }
+
+    /**
+     * Validate authorization from per-user overrides and role/department rules.
+     * 
+     * @param userId User ID
+     * @param dept Caller department
+     * @param roles Caller roles from the validated token
+     * @param toolId Tool ID (without version)
+     * @param version Tool version, or null
+     * @throws McpException if not authorized
+     */
+    public void validateAuthorization(String userId, String dept, List<String> roles, String toolId, String version) {
+        if (!decisionEngine.isAllowed(userId, dept, roles, toolId, version)) {
             throw new McpException(
                     McpErrorCode.POLICY_DENIED,
-                    "User not authorized to access tool: " + toolId + " version: " + version,
+                    "User not authorized to access tool: " + toolId + (version != null ? " version: " + version : ""),
                     false
             );
         }
@@ -58,8 +69,12 @@ public class PolicyService {
         return repository.findMaskingPolicyByVersion(userId, toolId, version);
     }
 
+    /**
+     * Validate policy for the caller. The verified principal of the request, if
+     * any, takes precedence over the identity in {@code meta}.
+     */
     public void validatePolicy(McpMeta meta, String toolId) {
-        validateAuthorization(meta.getUserId(), toolId);
+        validatePolicyByVersion(meta, toolId, null);
     }
 
     /**
@@ -70,6 +85,11 @@ public class PolicyService {
      * @param version Tool version
      */
     public void validatePolicyByVersion(McpMeta meta, String toolId, String version) {
-        validateAuthorizationByVersion(meta.getUserId(), toolId, version);
+        AuthenticatedPrincipal principal = McpRequestContext.currentPrincipal();
+        if (principal != null) {
+            validateAuthorization(principal.userId(), principal.dept(), principal.roles(), toolId, version);
+        } else {
+            validateAuthorization(meta.getUserId(), meta.getDept(), meta.getRoles(), toolId, version);
+        }
     }
 }
@@ -0,0 +1,92 @@
+package com.financial.mcp.core.policy;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every tool and masking policy of one user, loaded together so that the
+ * checks of a session are local map lookups.
+ *
+ * <p>An unversioned lookup returns the user's policy without a version and
+ * otherwise the version-specific one with the lowest version, which matches
+ * the database lookups ({@code ORDER BY version NULLS FIRST LIMIT 1}).
+ * Instances are immutable; the contained policies must be treated as read-only.
+ */
+public final class UserPolicyBundle {
+    private static final Comparator<String> VERSION_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final String userId;
+    private final List<ToolPolicy> policies;
+    private final List<DataMaskingPolicy> maskingPolicies;
+    private final Map<String, ToolPolicy> policyByTool;
+    private final Map<Key, ToolPolicy> policyByVersion;
+    private final Map<String, DataMaskingPolicy> maskingByTool;
+    private final Map<Key, DataMaskingPolicy> maskingByVersion;
+
+    private UserPolicyBundle(String userId, List<ToolPolicy> policies, List<DataMaskingPolicy> maskingPolicies) {
+        this.userId = userId;
+        this.policies = policies;
+        this.maskingPolicies = maskingPolicies;
+        this.policyByTool = new HashMap<>();
+        this.policyByVersion = new HashMap<>();
+        for (ToolPolicy policy : policies) {
+            policyByVersion.put(new Key(policy.getToolId(), policy.getVersion()), policy);
+            policyByTool.merge(policy.getToolId(), policy, (current, candidate) ->
+                    VERSION_ORDER.compare(candidate.getVersion(), current.getVersion()) < 0 ? candidate : current);
+        }
+        this.maskingByTool = new HashMap<>();
+        this.maskingByVersion = new HashMap<>();
+        for (DataMaskingPolicy policy : maskingPolicies) {
+            maskingByVersion.put(new Key(policy.getToolId(), policy.getVersion()), policy);
+            maskingByTool.merge(policy.getToolId(), policy, (current, candidate) ->
+                    VERSION_ORDER.compare(candidate.getVersion(), current.getVersion()) < 0 ? candidate : current);
+        }
+    }
+
+    public static UserPolicyBundle of(String userId, Collection<ToolPolicy> policies,
+                                      Collection<DataMaskingPolicy> maskingPolicies) {
+        return new UserPolicyBundle(userId, List.copyOf(policies), List.copyOf(maskingPolicies));
+    }
+
+    public static UserPolicyBundle empty(String userId) {
+        return new UserPolicyBundle(userId, List.of(), List.of());
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public ToolPolicy findPolicy(String toolId) {
+        return policyByTool.get(toolId);
+    }
+
+    public ToolPolicy findPolicy(String toolId, String version) {
+        return policyByVersion.get(new Key(toolId, version));
+    }
+
+    public DataMaskingPolicy findMaskingPolicy(String toolId) {
+        return maskingByTool.get(toolId);
+    }
+
+    public DataMaskingPolicy findMaskingPolicy(String toolId, String version) {
+        return maskingByVersion.get(new Key(toolId, version));
+    }
+
+    public List<ToolPolicy> getPolicies() {
+        return policies;
+    }
+
+    public List<DataMaskingPolicy> getMaskingPolicies() {
+        return maskingPolicies;
+    }
+
+    public boolean isEmpty() {
+        return policies.isEmpty() && maskingPolicies.isEmpty();
+    }
+
+    private record Key(String toolId, String version) {
+    }
+}
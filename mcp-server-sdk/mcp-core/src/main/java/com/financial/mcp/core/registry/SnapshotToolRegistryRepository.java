@@ -0,0 +1,146 @@
+package com.financial.mcp.core.registry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Tool registry served entirely from memory.
+ *
+ * <p>{@link #load()} reads every tool version from the source repository before
+ * the application context finishes starting, so the node only reports ready once
+ * the registry is available and lookups never reach Redis or the database.
+ * The snapshot is rebuilt from scratch on a {@link ToolRegistryChangedEvent} and
+ * periodically; in between, a delta poll merges tools whose updatedAt moved.
+ * Each rebuild publishes a new immutable {@link ToolRegistrySnapshot} with a
+ * single volatile write, so readers always see one complete version.
+ *
+ * <p>Writes go to the source repository, reload the snapshot and publish a local
+ * {@link ToolRegistryChangedEvent} so that other nodes can be notified.
+ */
+@Slf4j
+public class SnapshotToolRegistryRepository implements ToolRegistryRepository {
+    private final ToolRegistryRepository source;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long clockSkewMs;
+    private final long fullReloadIntervalMs;
+
+    private volatile ToolRegistrySnapshot snapshot = ToolRegistrySnapshot.empty();
+    private volatile long lastFullReload;
+
+    /**
+     * @param clockSkewMs How far back a delta poll looks before the newest known updatedAt,
+     *                    since updatedAt is set by the writing node's clock
+     * @param fullReloadIntervalMs Minimum time between periodic full reloads, which drop deleted tools
+     */
+    public SnapshotToolRegistryRepository(ToolRegistryRepository source, ApplicationEventPublisher eventPublisher,
+                                          long clockSkewMs, long fullReloadIntervalMs) {
+        this.source = source;
+        this.eventPublisher = eventPublisher;
+        this.clockSkewMs = clockSkewMs;
+        this.fullReloadIntervalMs = fullReloadIntervalMs;
+    }
+
+    /**
+     * Initial load. Fails bean creation, and therefore startup, if the registry cannot be read.
+     */
+    public void load() {
+        reload();
+        log.info("Loaded tool registry snapshot with {} tool versions", snapshot.size());
+    }
+
+    @Override
+    public ToolRegistry findByToolId(String toolId) {
+        return snapshot.find(toolId);
+    }
+
+    @Override
+    public ToolRegistry findByToolIdAndVersion(String toolId, String version) {
+        return snapshot.find(toolId, version);
+    }
+
+    @Override
+    public void save(ToolRegistry tool) {
+        source.save(tool);
+        reload();
+        eventPublisher.publishEvent(new ToolRegistryChangedEvent(tool.getToolId(), false));
+    }
+
+    @Override
+    public void delete(String toolId) {
+        source.delete(toolId);
+        reload();
+        eventPublisher.publishEvent(new ToolRegistryChangedEvent(toolId, false));
+    }
+
+    @Override
+    public List<ToolRegistry> findVersions(String toolId) {
+        ToolVersionIndex index = snapshot.findVersionIndex(toolId);
+        return index != null ? index.versions() : List.of();
+    }
+
+    @Override
+    public ToolVersionIndex findVersionIndex(String toolId) {
+        return snapshot.findVersionIndex(toolId);
+    }
+
+    @Override
+    public List<ToolRegistry> findAll() {
+        return snapshot.tools();
+    }
+
+    @Override
+    public List<ToolRegistry> findUpdatedSince(long updatedAt) {
+        return snapshot.tools().stream().filter(tool -> tool.getUpdatedAt() > updatedAt).toList();
+    }
+
+    public ToolRegistrySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Change announced by another node.
+     */
+    @EventListener
+    public void onRegistryChanged(ToolRegistryChangedEvent event) {
+        if (!event.remote()) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Failed to reload tool registry snapshot after change to {}, keeping current snapshot",
+                    event.toolId(), e);
+        }
+    }
+
+    /**
+     * Delta poll, with a periodic full reload to drop deleted tools.
+     */
+    @Scheduled(fixedDelayString = "${mcp.registry.snapshot.poll-interval-ms:30000}",
+            initialDelayString = "${mcp.registry.snapshot.poll-interval-ms:30000}")
+    public void poll() {
+        try {
+            if (System.currentTimeMillis() - lastFullReload >= fullReloadIntervalMs) {
+                reload();
+            } else {
+                refreshChanged();
+            }
+        } catch (Exception e) {
+            log.warn("Tool registry snapshot poll failed, keeping current snapshot", e);
+        }
+    }
+
+    synchronized void reload() {
+        snapshot = ToolRegistrySnapshot.of(source.findAll());
+        lastFullReload = System.currentTimeMillis();
+    }
+
+    synchronized void refreshChanged() {
+        ToolRegistrySnapshot current = snapshot;
+        snapshot = current.merge(source.findUpdatedSince(Math.max(0, current.getMaxUpdatedAt() - clockSkewMs)));
+    }
+}
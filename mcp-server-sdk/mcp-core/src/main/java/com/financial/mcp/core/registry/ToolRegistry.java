@@ -17,6 +17,7 @@ public class ToolRegistry {
     private String status; // ACTIVE, DISABLED
     private JsonNode inputSchema;
     private String description;
+    private String restPath; // REST route template, e.g. /api/ifrs17/{portfolio}/loss_projection; null for /api/{toolId}
     private long createdAt;
     private long updatedAt;
 
@@ -0,0 +1,11 @@
+package com.financial.mcp.core.registry;
+
+/**
+ * Application event for a tool registry change.
+ *
+ * @param toolId Changed tool
+ * @param remote true when the change was announced by another node (pub/sub),
+ *               false when it was made through this node and still has to be announced
+ */
+public record ToolRegistryChangedEvent(String toolId, boolean remote) {
+}
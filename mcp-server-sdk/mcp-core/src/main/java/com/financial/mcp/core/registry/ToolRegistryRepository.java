@@ -1,6 +1,11 @@
 package com.financial.mcp.core.registry;
 
+import java.util.List;
+
 public interface ToolRegistryRepository {
+    /**
+     * Latest version of a tool (see {@link ToolVersionIndex}).
+     */
     ToolRegistry findByToolId(String toolId);
     
     /**
@@ -14,4 +19,29 @@ public interface ToolRegistryRepository {
     
     void save(ToolRegistry tool);
     void delete(String toolId);
+
+    /**
+     * Every registered version of a tool.
+     */
+    default List<ToolRegistry> findVersions(String toolId) {
+        ToolRegistry tool = findByToolId(toolId);
+        return tool != null ? List.of(tool) : List.of();
+    }
+
+    /**
+     * Version index of a tool, or null if the tool has no versions.
+     */
+    default ToolVersionIndex findVersionIndex(String toolId) {
+        return ToolVersionIndex.of(toolId, findVersions(toolId));
+    }
+
+    /**
+     * Every registered tool version, for loading a {@link ToolRegistrySnapshot}.
+     */
+    List<ToolRegistry> findAll();
+
+    /**
+     * Tool versions with updatedAt strictly after the given time (epoch millis).
+     */
+    List<ToolRegistry> findUpdatedSince(long updatedAt);
 }
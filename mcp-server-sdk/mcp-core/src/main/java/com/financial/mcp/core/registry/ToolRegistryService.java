@@ -51,6 +51,28 @@ public class ToolRegistryService {
         return tool;
     }
 
+    /**
+     * Resolve a version selector ({@code latest}, {@code v1}, {@code v1.2} or a
+     * pinned version) against the tool's version index.
+     * 
+     * @param toolId Tool ID (without version)
+     * @param selector Version selector, null for latest
+     * @return Resolved ToolRegistry
+     * @throws McpException if the tool or a matching version is not found
+     */
+    public ToolRegistry resolveToolVersion(String toolId, String selector) {
+        ToolVersionIndex index = repository.findVersionIndex(toolId);
+        ToolRegistry tool = index != null ? index.resolve(selector) : null;
+        if (tool == null) {
+            throw new McpException(
+                    McpErrorCode.TOOL_NOT_FOUND,
+                    "Tool not found: " + toolId + (selector != null ? " version: " + selector : ""),
+                    false
+            );
+        }
+        return tool;
+    }
+
     public void validateToolExists(String toolId) {
         getToolRegistry(toolId);
     }
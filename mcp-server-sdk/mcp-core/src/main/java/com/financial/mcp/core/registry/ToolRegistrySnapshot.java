@@ -0,0 +1,94 @@
+package com.financial.mcp.core.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory copy of the whole tool registry.
+ * Indexed by (toolId, version) and by toolId with a {@link ToolVersionIndex}
+ * for latest and range lookups. Changes produce a new snapshot; an existing
+ * snapshot is never modified, so readers need no locking.
+ */
+public final class ToolRegistrySnapshot {
+    private static final ToolRegistrySnapshot EMPTY = new ToolRegistrySnapshot(Map.of(), Map.of(), 0);
+
+    private final Map<VersionKey, ToolRegistry> byVersion;
+    private final Map<String, ToolVersionIndex> indexes;
+    private final long maxUpdatedAt;
+
+    private ToolRegistrySnapshot(Map<VersionKey, ToolRegistry> byVersion, Map<String, ToolVersionIndex> indexes,
+                                 long maxUpdatedAt) {
+        this.byVersion = byVersion;
+        this.indexes = indexes;
+        this.maxUpdatedAt = maxUpdatedAt;
+    }
+
+    public static ToolRegistrySnapshot empty() {
+        return EMPTY;
+    }
+
+    public static ToolRegistrySnapshot of(Collection<ToolRegistry> tools) {
+        Map<VersionKey, ToolRegistry> byVersion = new HashMap<>(tools.size() * 2);
+        Map<String, List<ToolRegistry>> versions = new HashMap<>(tools.size() * 2);
+        long maxUpdatedAt = 0;
+        for (ToolRegistry tool : tools) {
+            byVersion.put(new VersionKey(tool.getToolId(), tool.getVersion()), tool);
+            versions.computeIfAbsent(tool.getToolId(), toolId -> new ArrayList<>()).add(tool);
+            maxUpdatedAt = Math.max(maxUpdatedAt, tool.getUpdatedAt());
+        }
+        Map<String, ToolVersionIndex> indexes = new HashMap<>(versions.size() * 2);
+        versions.forEach((toolId, list) -> indexes.put(toolId, ToolVersionIndex.of(toolId, list)));
+        return new ToolRegistrySnapshot(
+                Collections.unmodifiableMap(byVersion), Collections.unmodifiableMap(indexes), maxUpdatedAt);
+    }
+
+    /**
+     * New snapshot with the changed tools added or replaced by (toolId, version).
+     * Deleted tools are only dropped by a full reload.
+     */
+    public ToolRegistrySnapshot merge(Collection<ToolRegistry> changed) {
+        if (changed.isEmpty()) {
+            return this;
+        }
+        Map<VersionKey, ToolRegistry> merged = new HashMap<>(byVersion);
+        for (ToolRegistry tool : changed) {
+            merged.put(new VersionKey(tool.getToolId(), tool.getVersion()), tool);
+        }
+        return of(merged.values());
+    }
+
+    /**
+     * Latest version of a tool, or null.
+     */
+    public ToolRegistry find(String toolId) {
+        ToolVersionIndex index = indexes.get(toolId);
+        return index != null ? index.latest() : null;
+    }
+
+    public ToolRegistry find(String toolId, String version) {
+        return byVersion.get(new VersionKey(toolId, version));
+    }
+
+    public ToolVersionIndex findVersionIndex(String toolId) {
+        return indexes.get(toolId);
+    }
+
+    public List<ToolRegistry> tools() {
+        return new ArrayList<>(byVersion.values());
+    }
+
+    public int size() {
+        return byVersion.size();
+    }
+
+    public long getMaxUpdatedAt() {
+        return maxUpdatedAt;
+    }
+
+    private record VersionKey(String toolId, String version) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.financial.mcp.core.registry;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed semantic version: {@code [v]major[.minor[.patch]][-prerelease][+build]}.
+ * Missing components count as 0; {@link #precision()} records how many were given,
+ * so {@code v1} and {@code 1.2} can be used as ranges. Build metadata is ignored.
+ */
+public record ToolVersion(int major, int minor, int patch, String prerelease, int precision)
+        implements Comparable<ToolVersion> {
+    private static final Pattern PATTERN = Pattern.compile(
+            "v?(\\d+)(?:\\.(\\d+))?(?:\\.(\\d+))?(?:-([0-9A-Za-z.-]+))?(?:\\+[0-9A-Za-z.-]+)?");
+
+    /**
+     * @return Parsed version, or null if the string is not a semantic version
+     */
+    public static ToolVersion parse(String version) {
+        if (version == null) {
+            return null;
+        }
+        Matcher matcher = PATTERN.matcher(version.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            int precision = matcher.group(3) != null ? 3 : matcher.group(2) != null ? 2 : 1;
+            return new ToolVersion(
+                    Integer.parseInt(matcher.group(1)),
+                    matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0,
+                    matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 0,
+                    matcher.group(4),
+                    precision);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public boolean isPrerelease() {
+        return prerelease != null;
+    }
+
+    /**
+     * Same major/minor/patch/prerelease, regardless of how many components were written.
+     */
+    public boolean sameVersion(ToolVersion other) {
+        return compareTo(other) == 0;
+    }
+
+    @Override
+    public int compareTo(ToolVersion other) {
+        int result = Integer.compare(major, other.major);
+        if (result == 0) {
+            result = Integer.compare(minor, other.minor);
+        }
+        if (result == 0) {
+            result = Integer.compare(patch, other.patch);
+        }
+        if (result == 0) {
+            result = comparePrerelease(prerelease, other.prerelease);
+        }
+        return result;
+    }
+
+    /**
+     * A release sorts after its prereleases; prerelease identifiers compare
+     * numerically when both are numbers (semver forbids leading zeros), otherwise lexically.
+     */
+    private static int comparePrerelease(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        String[] left = a.split("\\.");
+        String[] right = b.split("\\.");
+        for (int i = 0; i < Math.min(left.length, right.length); i++) {
+            boolean leftNumeric = left[i].chars().allMatch(Character::isDigit);
+            boolean rightNumeric = right[i].chars().allMatch(Character::isDigit);
+            int result;
+            if (leftNumeric && rightNumeric) {
+                result = left[i].length() != right[i].length()
+                        ? Integer.compare(left[i].length(), right[i].length())
+                        : left[i].compareTo(right[i]);
+            } else if (leftNumeric != rightNumeric) {
+                result = leftNumeric ? -1 : 1;
+            } else {
+                result = left[i].compareTo(right[i]);
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(left.length, right.length);
+    }
+}
@@ -0,0 +1,148 @@
+package com.financial.mcp.core.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, sorted index of the registered versions of one tool.
+ *
+ * <p>Resolves a version selector without touching a repository:
+ * <ul>
+ *   <li>{@code null}, empty or {@code latest}: highest release (highest prerelease if there is no release)</li>
+ *   <li>{@code v1} / {@code 1}: highest 1.x.x release</li>
+ *   <li>{@code v1.2} / {@code 1.2}: highest 1.2.x release</li>
+ *   <li>{@code v1.2.3} / {@code 1.2.3} or any other string: that exact version</li>
+ * </ul>
+ * Ranges use binary search over the sorted releases. Versions that are not
+ * semantic versions can only be resolved exactly, and rank below all others for latest.
+ */
+public final class ToolVersionIndex {
+    public static final String LATEST = "latest";
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing(Entry::version, Comparator.nullsFirst(Comparator.<ToolVersion>naturalOrder()))
+            .thenComparing(entry -> entry.tool().getVersion());
+
+    private final String toolId;
+    private final Entry[] releases;
+    private final ToolRegistry latest;
+    private final Map<String, ToolRegistry> exact;
+
+    private ToolVersionIndex(String toolId, Entry[] releases, ToolRegistry latest, Map<String, ToolRegistry> exact) {
+        this.toolId = toolId;
+        this.releases = releases;
+        this.latest = latest;
+        this.exact = exact;
+    }
+
+    /**
+     * @return Index of the given versions, or null if there are none
+     */
+    public static ToolVersionIndex of(String toolId, Collection<ToolRegistry> versions) {
+        if (versions == null || versions.isEmpty()) {
+            return null;
+        }
+        List<Entry> all = new ArrayList<>(versions.size());
+        Map<String, ToolRegistry> exact = new HashMap<>(versions.size() * 2);
+        for (ToolRegistry tool : versions) {
+            all.add(new Entry(ToolVersion.parse(tool.getVersion()), tool));
+            exact.put(tool.getVersion(), tool);
+        }
+        all.sort(ORDER);
+        Entry[] releases = all.stream()
+                .filter(entry -> entry.version() != null && !entry.version().isPrerelease())
+                .toArray(Entry[]::new);
+        ToolRegistry latest = releases.length > 0
+                ? releases[releases.length - 1].tool()
+                : all.get(all.size() - 1).tool();
+        return new ToolVersionIndex(toolId, releases, latest, Map.copyOf(exact));
+    }
+
+    public String getToolId() {
+        return toolId;
+    }
+
+    public ToolRegistry latest() {
+        return latest;
+    }
+
+    /**
+     * @return Matching tool version, or null
+     */
+    public ToolRegistry resolve(String selector) {
+        if (selector == null || selector.isEmpty() || LATEST.equalsIgnoreCase(selector)) {
+            return latest;
+        }
+        ToolRegistry tool = exact.get(selector);
+        if (tool != null) {
+            return tool;
+        }
+        ToolVersion wanted = ToolVersion.parse(selector);
+        if (wanted == null) {
+            return null;
+        }
+        if (wanted.precision() == 3 || wanted.isPrerelease()) {
+            return findExact(wanted);
+        }
+        // Highest release below the next major (v1 -> < 2.0.0) or next minor (v1.2 -> < 1.3.0)
+        ToolVersion bound = wanted.precision() == 1
+                ? new ToolVersion(wanted.major() + 1, 0, 0, null, 3)
+                : new ToolVersion(wanted.major(), wanted.minor() + 1, 0, null, 3);
+        int index = lowerBound(bound) - 1;
+        if (index < 0) {
+            return null;
+        }
+        ToolVersion candidate = releases[index].version();
+        boolean matches = candidate.major() == wanted.major()
+                && (wanted.precision() == 1 || candidate.minor() == wanted.minor());
+        return matches ? releases[index].tool() : null;
+    }
+
+    public List<ToolRegistry> versions() {
+        return List.copyOf(exact.values());
+    }
+
+    /**
+     * Exact match written differently from the stored string, e.g. {@code v1.2.3} for {@code 1.2.3}.
+     */
+    private ToolRegistry findExact(ToolVersion wanted) {
+        if (!wanted.isPrerelease()) {
+            int index = lowerBound(wanted);
+            if (index < releases.length && releases[index].version().sameVersion(wanted)) {
+                return releases[index].tool();
+            }
+            return null;
+        }
+        for (ToolRegistry tool : exact.values()) {
+            ToolVersion version = ToolVersion.parse(tool.getVersion());
+            if (version != null && version.sameVersion(wanted)) {
+                return tool;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * First release not below the given version.
+     */
+    private int lowerBound(ToolVersion version) {
+        int low = 0;
+        int high = releases.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (releases[mid].version().compareTo(version) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entry(ToolVersion version, ToolRegistry tool) {
+    }
+}
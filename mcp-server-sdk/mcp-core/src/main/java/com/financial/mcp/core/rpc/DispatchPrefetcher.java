@@ -0,0 +1,15 @@
+package com.financial.mcp.core.rpc;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking warm-up of the caches a call will read, run by a reactive transport
+ * before the call is handed to a blocking worker.
+ *
+ * <p>Implementations only fill in-process caches from a non-blocking source and
+ * must not block the calling thread. A failed or empty prefetch only means the
+ * dispatch pipeline loads the entry itself.
+ */
+public interface DispatchPrefetcher {
+    CompletionStage<Void> prefetch(JsonRpcRequest request);
+}
@@ -6,18 +6,25 @@ import com.financial.mcp.core.error.McpErrorCode;
 import com.financial.mcp.core.error.McpException;
 import com.financial.mcp.core.idempotency.IdempotencyService;
 import com.financial.mcp.core.killswitch.KillSwitchService;
+import com.financial.mcp.core.killswitch.ToolHealthMonitor;
 import com.financial.mcp.core.masking.DataMaskingService;
 import com.financial.mcp.core.policy.PolicyService;
 import com.financial.mcp.core.registry.ToolRegistryService;
+import com.financial.mcp.core.registry.ToolVersionIndex;
 import com.financial.mcp.core.validation.JsonSchemaValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class JsonRpcDispatcher {
+    private static final Pattern VERSION_SELECTOR = Pattern.compile("v\\d+|" + ToolVersionIndex.LATEST);
+
     private final ToolRegistryService toolRegistryService;
     private final PolicyService policyService;
     private final KillSwitchService killSwitchService;
@@ -27,6 +34,7 @@ public class JsonRpcDispatcher {
     private final IdempotencyService idempotencyService;
     private final ObjectMapper objectMapper;
     private final JsonRpcHandler handler;
+    private final ToolHealthMonitor toolHealthMonitor;
 
     public JsonRpcResponse dispatch(JsonRpcRequest request) {
         long startTime = System.currentTimeMillis();
@@ -43,25 +51,24 @@ public class JsonRpcDispatcher {
             // 3. Validate global kill switch
             killSwitchService.validateGlobalNotDisabled();
 
-            // 4. Extract tool ID and version from method
-            String toolId = extractToolId(request.getMethod());
-            String version = extractVersion(request.getMethod());
+            // 4. Extract tool ID and version, as resolved by the transport or from the method
+            String toolId = toolIdOf(request);
+            String version = versionOf(request);
 
-            // 5. Validate tool exists (with version if provided)
+            // 5. Validate tool exists, resolving the version selector (v1, latest, pinned) to a concrete version
             var tool = (version != null) 
-                    ? toolRegistryService.getToolRegistryByVersion(toolId, version)
+                    ? toolRegistryService.resolveToolVersion(toolId, version)
                     : toolRegistryService.getToolRegistry(toolId);
-
-            // 6. Validate tool not disabled (with version if provided)
             if (version != null) {
-                killSwitchService.validateToolNotDisabledByVersion(toolId, version);
-            } else {
-                killSwitchService.validateToolNotDisabled(toolId);
+                version = tool.getVersion();
             }
 
+            // 6. Validate tool, version, dept and caller not disabled or throttled
+            killSwitchService.validateAdmission(request.getMeta(), toolId, version);
+
             // 7. Validate authorization (with version if provided)
             if (version != null) {
-                policyService.validateAuthorizationByVersion(request.getMeta().getUserId(), toolId, version);
+                policyService.validatePolicyByVersion(request.getMeta(), toolId, version);
             } else {
                 policyService.validatePolicy(request.getMeta(), toolId);
             }
@@ -69,8 +76,16 @@ public class JsonRpcDispatcher {
             // 8. Validate input schema
             schemaValidator.validate(request.getParams(), tool.getInputSchema());
 
-            // 9. Execute handler
-            Object result = handler.handle(request);
+            // 9. Execute handler, feeding its outcome to the automatic kill switches
+            long handlerStart = System.currentTimeMillis();
+            Object result;
+            try {
+                result = handler.handle(request);
+            } catch (Exception e) {
+                toolHealthMonitor.record(toolId, version, System.currentTimeMillis() - handlerStart, e);
+                throw e;
+            }
+            toolHealthMonitor.record(toolId, version, System.currentTimeMillis() - handlerStart, null);
 
             // 10. Apply data masking (with version if provided)
             var maskingPolicy = (version != null)
@@ -106,9 +121,17 @@ public class JsonRpcDispatcher {
                 } catch (Exception ignored) {
                 }
             }
+
+            // Throttled calls never ran: let the client retry with the same tx_id
+            if (McpErrorCode.TOOL_THROTTLED.equals(e.getCode())) {
+                try {
+                    idempotencyService.release(request.getMeta().getTxId());
+                } catch (Exception ignored) {
+                }
+            }
             
             try {
-                String toolId = extractToolId(request.getMethod());
+                String toolId = toolIdOf(request);
                 auditService.logCall(
                         request.getMeta(),
                         toolId,
@@ -166,16 +189,30 @@ public class JsonRpcDispatcher {
         }
     }
 
+    /**
+     * Tool ID of a request: the one the transport resolved, else parsed from the method.
+     */
+    public static String toolIdOf(JsonRpcRequest request) {
+        return request.getToolId() != null ? request.getToolId() : extractToolId(request.getMethod());
+    }
+
+    /**
+     * Version selector of a request, see {@link #toolIdOf}.
+     */
+    public static String versionOf(JsonRpcRequest request) {
+        return request.getToolId() != null ? request.getToolVersion() : extractVersion(request.getMethod());
+    }
+
     /**
      * Extract tool ID from method name.
      * Supports both versioned and unversioned formats:
      * - Unversioned: namespace.tool_id
-     * - Versioned: namespace.v1.tool_id or namespace.tool_id.v1
+     * - Versioned: namespace.v1.tool_id, namespace.v1.2.3.tool_id or namespace.tool_id.v1
      * 
      * @param method Method name
      * @return Tool ID (without version)
      */
-    private String extractToolId(String method) {
+    public static String extractToolId(String method) {
         if (method == null || !method.contains(".")) {
             throw new IllegalArgumentException("Invalid method format. Expected: namespace.tool_id or namespace.v1.tool_id");
         }
@@ -183,26 +220,39 @@ public class JsonRpcDispatcher {
         if (parts.length < 2) {
             throw new IllegalArgumentException("Invalid method format. Expected: namespace.tool_id");
         }
+        if (parts.length >= 3 && isVersionSelector(parts[1])) {
+            // Versioned prefix: tool_id is the last part
+            return parts[parts.length - 1];
+        }
         // Return second part (tool_id without version)
         return parts[1];
     }
 
     /**
      * Extract version from method name if present.
-     * Supports versioned format: namespace.v1.tool_id
+     * Supports versioned formats: namespace.v1.tool_id, namespace.v1.2.3.tool_id,
+     * namespace.latest.tool_id and namespace.tool_id.v1
      * 
      * @param method Method name
-     * @return Version string or null if not versioned
+     * @return Version selector or null if not versioned
      */
-    private String extractVersion(String method) {
+    public static String extractVersion(String method) {
         if (method == null || !method.contains(".")) {
             return null;
         }
         String[] parts = method.split("\\.");
-        if (parts.length >= 3 && parts[1].startsWith("v")) {
-            // Format: namespace.v1.tool_id
-            return parts[1];
+        if (parts.length >= 3 && isVersionSelector(parts[1])) {
+            // Format: namespace.v1.tool_id or namespace.v1.2.3.tool_id
+            return String.join(".", Arrays.copyOfRange(parts, 1, parts.length - 1));
+        }
+        if (parts.length == 3 && isVersionSelector(parts[2])) {
+            // Format: namespace.tool_id.v1
+            return parts[2];
         }
         return null;
     }
+
+    private static boolean isVersionSelector(String part) {
+        return VERSION_SELECTOR.matcher(part).matches();
+    }
 }
@@ -1,5 +1,6 @@
 package com.financial.mcp.core.rpc;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.financial.mcp.core.meta.McpMeta;
 import lombok.AllArgsConstructor;
@@ -27,6 +28,21 @@ public class JsonRpcRequest {
     @JsonProperty("meta")
     private McpMeta meta;
 
+    /**
+     * Tool already resolved by the transport (a REST route, an MCP tools/call).
+     * When set, the dispatcher uses it and {@link #toolVersion} instead of parsing
+     * {@link #method}, which cannot carry tool IDs that contain dots. Never read
+     * from the request body.
+     */
+    @JsonIgnore
+    private String toolId;
+
+    /**
+     * Version selector for {@link #toolId}, or null for the active version.
+     */
+    @JsonIgnore
+    private String toolVersion;
+
     public void validate() {
         if (!"2.0".equals(jsonrpc)) {
             throw new IllegalArgumentException("jsonrpc must be '2.0'");
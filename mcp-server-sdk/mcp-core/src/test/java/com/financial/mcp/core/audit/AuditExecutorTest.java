@@ -0,0 +1,97 @@
+package com.financial.mcp.core.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditExecutorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<AuditLog> spilled = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AuditExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSubmit_SpillsWhenQueueIsFull() throws Exception {
+        executor = new AuditExecutor(1, 1, AuditOverflowPolicy.SPILL, 0, spilled::add, meterRegistry);
+        fillExecutor();
+
+        executor.submit(() -> { }, () -> AuditLog.builder().traceId("trace-overflow").build());
+
+        assertEquals(1, spilled.size());
+        assertEquals("trace-overflow", spilled.get(0).getTraceId());
+        assertEquals(1.0, rejected("spilled"));
+    }
+
+    @Test
+    void testSubmit_DropsWhenQueueIsFull() throws Exception {
+        executor = new AuditExecutor(1, 1, AuditOverflowPolicy.DROP, 0, spilled::add, meterRegistry);
+        fillExecutor();
+
+        executor.submit(() -> { }, () -> AuditLog.builder().traceId("trace-overflow").build());
+
+        assertTrue(spilled.isEmpty());
+        assertEquals(1.0, rejected("dropped"));
+    }
+
+    @Test
+    void testSubmit_BlockFallsBackToSpillAfterTimeout() throws Exception {
+        executor = new AuditExecutor(1, 1, AuditOverflowPolicy.BLOCK, 10, spilled::add, meterRegistry);
+        fillExecutor();
+
+        executor.submit(() -> { }, () -> AuditLog.builder().traceId("trace-overflow").build());
+
+        assertEquals(1, spilled.size());
+        assertEquals(1.0, rejected("spilled"));
+    }
+
+    @Test
+    void testSubmit_RunsTaskAndRecordsLatency() throws Exception {
+        executor = new AuditExecutor(1, 10, AuditOverflowPolicy.SPILL, 0, spilled::add, meterRegistry);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.submit(done::countDown, () -> AuditLog.builder().build());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(1, meterRegistry.get("mcp.audit.executor.task.latency").timer().count());
+        assertTrue(spilled.isEmpty());
+    }
+
+    private void fillExecutor() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            awaitRelease();
+        }, () -> AuditLog.builder().build());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.submit(this::awaitRelease, () -> AuditLog.builder().build());
+        assertEquals(1, executor.getQueueDepth());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double rejected(String outcome) {
+        return meterRegistry.get("mcp.audit.executor.rejected").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,76 @@
+package com.financial.mcp.core.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditParamsHasherTest {
+    private ObjectMapper objectMapper;
+    private AuditParamsHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        hasher = new AuditParamsHasher(objectMapper);
+    }
+
+    @Test
+    void testHash_IndependentOfKeyOrder() throws Exception {
+        Object first = objectMapper.readValue(
+                "{\"portfolio_value\": 1000, \"nested\": {\"b\": 2, \"a\": [1, {\"y\": 1, \"x\": 2}]}}", Object.class);
+        Object second = objectMapper.readValue(
+                "{\"nested\": {\"a\": [1, {\"x\": 2, \"y\": 1}], \"b\": 2}, \"portfolio_value\": 1000}", Object.class);
+
+        assertEquals(hasher.hash(first), hasher.hash(second));
+    }
+
+    @Test
+    void testHash_SameForMapAndJsonNode() throws Exception {
+        String json = "{\"loss_rate\": 0.05, \"portfolio_value\": 1000}";
+
+        assertEquals(
+                hasher.hash(objectMapper.readValue(json, Map.class)),
+                hasher.hash(objectMapper.readTree(json))
+        );
+    }
+
+    @Test
+    void testHash_JsonNodeInsideBeanIsCanonical() throws Exception {
+        Query first = new Query("P1", objectMapper.readTree("{\"b\": 2, \"a\": {\"y\": 1, \"x\": 2}}"));
+        Query second = new Query("P1", objectMapper.readTree("{\"a\": {\"x\": 2, \"y\": 1}, \"b\": 2}"));
+
+        assertEquals(hasher.hash(first), hasher.hash(second));
+        assertEquals(hasher.hash(first), hasher.hash(Map.of("portfolio", "P1",
+                "filter", Map.of("a", Map.of("x", 2, "y", 1), "b", 2))));
+    }
+
+    @Test
+    void testHash_IsSha256OfCanonicalJson() throws Exception {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("b", List.of(1, 2));
+        params.put("a", "x");
+
+        byte[] expected = MessageDigest.getInstance("SHA-256")
+                .digest("{\"a\":\"x\",\"b\":[1,2]}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Base64.getEncoder().encodeToString(expected), hasher.hash(params));
+    }
+
+    @Test
+    void testHash_DifferentValuesDiffer() {
+        assertNotEquals(hasher.hash(Map.of("a", 1)), hasher.hash(Map.of("a", 2)));
+    }
+
+    record Query(String portfolio, JsonNode filter) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.financial.mcp.core.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRollupAggregatorTest {
+    private final List<AuditRollup> stored = new ArrayList<>();
+    private final List<String> attemptedIds = new ArrayList<>();
+    private final List<AuditRollup> spilled = new ArrayList<>();
+    private boolean failSave;
+
+    private final AuditRepository repository = new AuditRepository() {
+        @Override
+        public void save(AuditLog log) {
+        }
+
+        @Override
+        public void saveRollups(List<AuditRollup> rollups) {
+            rollups.forEach(rollup -> attemptedIds.add(rollup.getRollupId()));
+            if (failSave) {
+                throw new IllegalStateException("unavailable");
+            }
+            stored.addAll(rollups);
+        }
+    };
+
+    @Test
+    void testRecord_ErrorsAreAlwaysWrittenIndividually() {
+        AuditRollupAggregator aggregator = new AuditRollupAggregator(repository, spilled::add, true, 0.0, 0, 100);
+
+        assertTrue(aggregator.record(log("ERROR", 120_000, 10, "h1")));
+        aggregator.flushAll();
+
+        assertTrue(stored.isEmpty());
+    }
+
+    @Test
+    void testFlush_AggregatesSuccessesPerMinute() {
+        AuditRollupAggregator aggregator = new AuditRollupAggregator(repository, spilled::add, true, 0.0, 0, 100);
+
+        assertFalse(aggregator.record(log("SUCCESS", 120_000, 3, "h1")));
+        assertFalse(aggregator.record(log("SUCCESS", 150_000, 40, "h2")));
+        assertFalse(aggregator.record(log("SUCCESS", 180_000, 7, "h3")));
+        aggregator.flushAll();
+
+        assertEquals(2, stored.size());
+        AuditRollup first = stored.stream().filter(r -> r.getWindowStart() == 120_000).findFirst().orElseThrow();
+        assertEquals(2, first.getCallCount());
+        assertEquals(43, first.getLatencySumMs());
+        assertEquals(3, first.getLatencyMinMs());
+        assertEquals(40, first.getLatencyMaxMs());
+        assertEquals(1L, first.getLatencyHistogram().get("le_5"));
+        assertEquals(1L, first.getLatencyHistogram().get("le_50"));
+        assertEquals(List.of("h1", "h2"), first.getParamsHashes());
+    }
+
+    @Test
+    void testFlush_RetriesFailedRollups() {
+        AuditRollupAggregator aggregator = new AuditRollupAggregator(repository, spilled::add, true, 0.0, 0, 100);
+        aggregator.record(log("SUCCESS", 120_000, 3, "h1"));
+
+        failSave = true;
+        aggregator.flushAll();
+        assertTrue(stored.isEmpty());
+
+        failSave = false;
+        aggregator.flushAll();
+        assertEquals(1, stored.size());
+        assertNotNull(stored.get(0).getRollupId());
+        assertEquals(List.of(stored.get(0).getRollupId(), stored.get(0).getRollupId()), attemptedIds);
+    }
+
+    @Test
+    void testFlush_SpillsOldestRollupsBeyondMaxPending() {
+        AuditRollupAggregator aggregator = new AuditRollupAggregator(repository, spilled::add, true, 0.0, 0, 1);
+        failSave = true;
+        aggregator.record(log("SUCCESS", 120_000, 3, "h1"));
+        aggregator.flushAll();
+        assertTrue(spilled.isEmpty());
+
+        aggregator.record(log("SUCCESS", 180_000, 3, "h2"));
+        aggregator.flushAll();
+
+        assertEquals(1, spilled.size());
+        assertEquals(List.of("h1"), spilled.get(0).getParamsHashes());
+
+        failSave = false;
+        aggregator.flushAll();
+        assertEquals(1, stored.size());
+        assertEquals(List.of("h2"), stored.get(0).getParamsHashes());
+    }
+
+    @Test
+    void testRecord_DisabledWritesEverything() {
+        AuditRollupAggregator aggregator = new AuditRollupAggregator(repository, spilled::add, false, 0.0, 0, 100);
+
+        assertTrue(aggregator.record(log("SUCCESS", 120_000, 3, "h1")));
+    }
+
+    private AuditLog log(String resultCode, long timestamp, long latencyMs, String paramsHash) {
+        return AuditLog.builder()
+                .toolId("ifrs17.loss_projection")
+                .userId("user-1")
+                .dept("RISK")
+                .resultCode(resultCode)
+                .timestamp(timestamp)
+                .latencyMs(latencyMs)
+                .paramsHash(paramsHash)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.financial.mcp.core.killswitch;
+
+import com.financial.mcp.core.error.McpErrorCode;
+import com.financial.mcp.core.error.McpException;
+import com.financial.mcp.core.meta.McpMeta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KillSwitchServiceTest {
+    @Mock
+    private KillSwitchRepository repository;
+
+    private int activeNodes = 1;
+    private KillSwitchService service;
+    private McpMeta meta;
+
+    @BeforeEach
+    void setUp() {
+        service = new KillSwitchService(repository, new KillSwitchThrottle(() -> activeNodes));
+        meta = McpMeta.builder()
+                .userId("user1")
+                .callerId("batch-app")
+                .dept("RISK")
+                .build();
+    }
+
+    @Test
+    void testValidateAdmission_DeptDisableRejectsAsNotRetryable() {
+        when(repository.getDeptStatus("RISK")).thenReturn(KillSwitchStatus.builder()
+                .scope(KillSwitchScope.DEPT).targetId("RISK").disabled(true).mode(KillSwitchMode.DISABLE).build());
+
+        McpException exception = assertThrows(McpException.class,
+                () -> service.validateAdmission(meta, "loss_projection", null));
+
+        assertEquals(McpErrorCode.TOOL_DISABLED, exception.getCode());
+        assertFalse(exception.isRetryable());
+    }
+
+    @Test
+    void testValidateAdmission_ZeroPercentThrottleRejectsAsRetryable() {
+        when(repository.getToolVersionStatus("loss_projection", "1.0.0")).thenReturn(throttle(0, null));
+
+        McpException exception = assertThrows(McpException.class,
+                () -> service.validateAdmission(meta, "loss_projection", "1.0.0"));
+
+        assertEquals(McpErrorCode.TOOL_THROTTLED, exception.getCode());
+        assertTrue(exception.isRetryable());
+    }
+
+    @Test
+    void testValidateAdmission_RateLimitSplitsBudgetAcrossNodes() {
+        when(repository.getCallerStatus("batch-app")).thenReturn(throttle(null, 20.0));
+        activeNodes = 4;
+
+        int admitted = 0;
+        for (int i = 0; i < 50; i++) {
+            try {
+                service.validateAdmission(meta, "loss_projection", null);
+                admitted++;
+            } catch (McpException e) {
+                assertEquals(McpErrorCode.TOOL_THROTTLED, e.getCode());
+            }
+        }
+
+        // One second of this node's share (20 rps / 4 nodes)
+        assertTrue(admitted >= 5 && admitted <= 6, "admitted " + admitted);
+    }
+
+    @Test
+    void testValidateAdmission_FullPercentThrottleAdmits() {
+        when(repository.getToolStatus("loss_projection")).thenReturn(throttle(100, null));
+
+        assertDoesNotThrow(() -> service.validateAdmission(meta, "loss_projection", null));
+    }
+
+    @Test
+    void testThrottleTool_SavesThrottleStatus() {
+        service.throttleTool("loss_projection", 25, 100.0, "incident");
+
+        ArgumentCaptor<KillSwitchStatus> saved = ArgumentCaptor.forClass(KillSwitchStatus.class);
+        verify(repository).saveStatus(saved.capture());
+        assertEquals(KillSwitchScope.TOOL, saved.getValue().getScope());
+        assertEquals(KillSwitchMode.THROTTLE, saved.getValue().getMode());
+        assertTrue(saved.getValue().isThrottled());
+        assertFalse(saved.getValue().isDisabled());
+        assertThrows(IllegalArgumentException.class, () -> service.throttleDept("RISK", null, null, "incident"));
+    }
+
+    private KillSwitchStatus throttle(Integer admitPercent, Double rateLimitRps) {
+        return KillSwitchStatus.builder()
+                .scope(KillSwitchScope.TOOL)
+                .mode(KillSwitchMode.THROTTLE)
+                .admitPercent(admitPercent)
+                .rateLimitRps(rateLimitRps)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.financial.mcp.core.killswitch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotKillSwitchRepositoryTest {
+    @Mock
+    private KillSwitchRepository source;
+
+    private SnapshotKillSwitchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SnapshotKillSwitchRepository(source, 60_000);
+    }
+
+    @Test
+    void testLoad_ServesAllScopesFromMemory() {
+        when(source.findAll()).thenReturn(List.of(
+                status(KillSwitchScope.GLOBAL, null, null, false),
+                status(KillSwitchScope.TOOL, "loss_projection", null, true),
+                status(KillSwitchScope.TOOL_VERSION, "fx_rate", "1.0.0", true)));
+
+        repository.load();
+
+        assertFalse(repository.getGlobalStatus().isDisabled());
+        assertTrue(repository.getToolStatus("loss_projection").isDisabled());
+        assertTrue(repository.getToolVersionStatus("fx_rate", "1.0.0").isDisabled());
+        assertNull(repository.getToolVersionStatus("fx_rate", "2.0.0"));
+        assertNull(repository.getToolStatus("unknown"));
+        verify(source, never()).getToolStatus(anyString());
+        verify(source, never()).getGlobalStatus();
+    }
+
+    @Test
+    void testChangeEvent_ReloadsSnapshot() {
+        when(source.findAll()).thenReturn(List.of())
+                .thenReturn(List.of(status(KillSwitchScope.TOOL, "loss_projection", null, true)));
+        repository.load();
+        assertNull(repository.getToolStatus("loss_projection"));
+
+        repository.onKillSwitchChanged(new KillSwitchChangedEvent("kill_switch:tool:loss_projection"));
+
+        assertTrue(repository.getToolStatus("loss_projection").isDisabled());
+    }
+
+    @Test
+    void testWrite_GoesToSourceAndReloads() {
+        when(source.findAll()).thenReturn(List.of())
+                .thenReturn(List.of(status(KillSwitchScope.GLOBAL, null, null, true)));
+        repository.load();
+
+        repository.setGlobalStatus(true, "incident");
+
+        verify(source).setGlobalStatus(true, "incident");
+        assertTrue(repository.getGlobalStatus().isDisabled());
+    }
+
+    @Test
+    void testResyncFailure_KeepsSnapshot() {
+        when(source.findAll()).thenReturn(List.of(status(KillSwitchScope.TOOL, "loss_projection", null, true)))
+                .thenThrow(new IllegalStateException("redis down"));
+        repository.load();
+
+        repository.resync();
+
+        assertTrue(repository.getToolStatus("loss_projection").isDisabled());
+    }
+
+    @Test
+    void testStaleSnapshot_ReadsSource() {
+        SnapshotKillSwitchRepository stale = new SnapshotKillSwitchRepository(source, -1);
+        when(source.findAll()).thenReturn(List.of());
+        when(source.getToolStatus("loss_projection"))
+                .thenReturn(status(KillSwitchScope.TOOL, "loss_projection", null, true));
+        stale.load();
+
+        assertTrue(stale.getToolStatus("loss_projection").isDisabled());
+    }
+
+    private KillSwitchStatus status(KillSwitchScope scope, String toolId, String version, boolean disabled) {
+        return KillSwitchStatus.builder()
+                .scope(scope)
+                .toolId(toolId)
+                .version(version)
+                .disabled(disabled)
+                .build();
+    }
+}
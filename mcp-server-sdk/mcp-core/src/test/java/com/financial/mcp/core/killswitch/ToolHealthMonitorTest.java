@@ -0,0 +1,160 @@
+package com.financial.mcp.core.killswitch;
+
+import com.financial.mcp.core.audit.AuditService;
+import com.financial.mcp.core.error.McpErrorCode;
+import com.financial.mcp.core.error.McpException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ToolHealthMonitorTest {
+    @Mock
+    private KillSwitchService killSwitchService;
+
+    @Mock
+    private AuditService auditService;
+
+    private AutoKillSwitchProperties properties;
+    private ToolHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AutoKillSwitchProperties();
+        properties.setEnabled(true);
+        properties.getDefaults().setMinCalls(10);
+        properties.getDefaults().setOpenDurationMs(0);
+        properties.getDefaults().setProbeMinCalls(5);
+        monitor = new ToolHealthMonitor(killSwitchService, auditService, properties);
+    }
+
+    @Test
+    void testErrorRateBreach_DisablesToolAndAuditsMetrics() {
+        recordCalls("loss_projection", 10, new IllegalStateException("db down"));
+
+        monitor.evaluate();
+
+        verify(killSwitchService).disableTool(eq("loss_projection"), startsWith(ToolHealthMonitor.REASON_PREFIX));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> details = ArgumentCaptor.forClass(Map.class);
+        verify(auditService).logSystemEvent(eq("loss_projection"), eq(ToolHealthMonitor.AUDIT_METHOD),
+                eq(ToolHealthMonitor.TRIPPED), details.capture());
+        assertEquals(10L, details.getValue().get("calls"));
+        assertEquals(1.0, details.getValue().get("error_rate"));
+    }
+
+    @Test
+    void testP99Breach_TripsVersionOnlyWhenConfigured() {
+        AutoKillSwitchProperties.Thresholds slow = new AutoKillSwitchProperties.Thresholds();
+        slow.setErrorRate(null);
+        slow.setP99LatencyMs(1000L);
+        slow.setMinCalls(10);
+        slow.setTripAction(AutoKillSwitchProperties.TripAction.HALF_OPEN);
+        properties.getTools().put("fx_rate:2.0.0", slow);
+
+        for (int i = 0; i < 10; i++) {
+            monitor.record("fx_rate", "2.0.0", 2500, null);
+        }
+        monitor.evaluate();
+
+        verify(killSwitchService).throttleToolVersion(eq("fx_rate"), eq("2.0.0"), eq(10), isNull(),
+                startsWith(ToolHealthMonitor.REASON_PREFIX));
+        verify(killSwitchService, never()).disableTool(anyString(), anyString());
+        verify(killSwitchService, never()).throttleTool(anyString(), any(), any(), anyString());
+    }
+
+    @Test
+    void testP99JustUnderBucketBoundThreshold_DoesNotTrip() {
+        properties.getDefaults().setErrorRate(null);
+        properties.getDefaults().setP99LatencyMs(1000L);
+        // 751 ms shares the (750, 1000] histogram bucket with the threshold
+        for (int i = 0; i < 10; i++) {
+            monitor.record("loss_projection", null, 751, null);
+        }
+
+        monitor.evaluate();
+
+        verify(killSwitchService, never()).disableTool(anyString(), anyString());
+    }
+
+    @Test
+    void testHealthyProbes_RecoverTool() {
+        recordCalls("loss_projection", 10, new IllegalStateException("db down"));
+        monitor.evaluate();
+        when(killSwitchService.getToolStatus("loss_projection")).thenReturn(KillSwitchStatus.builder()
+                .disabled(true).reason(ToolHealthMonitor.REASON_PREFIX + "error rate").build());
+
+        monitor.evaluate();
+        verify(killSwitchService).throttleTool(eq("loss_projection"), eq(10), isNull(), anyString());
+
+        when(killSwitchService.getToolStatus("loss_projection")).thenReturn(KillSwitchStatus.builder()
+                .mode(KillSwitchMode.THROTTLE).admitPercent(10)
+                .reason(ToolHealthMonitor.REASON_PREFIX + "half-open").build());
+        recordCalls("loss_projection", 5, null);
+        monitor.evaluate();
+
+        verify(killSwitchService).enableTool("loss_projection");
+        verify(auditService).logSystemEvent(eq("loss_projection"), anyString(),
+                eq(ToolHealthMonitor.RECOVERED), anyMap());
+    }
+
+    @Test
+    void testRestart_AdoptsOwnSwitchAndProbesIt() {
+        // Tripped by this node before it restarted: no breaker, and a disabled tool records no calls
+        KillSwitchStatus orphan = KillSwitchStatus.builder()
+                .scope(KillSwitchScope.TOOL).toolId("loss_projection").targetId("loss_projection")
+                .disabled(true).mode(KillSwitchMode.DISABLE)
+                .reason(ToolHealthMonitor.REASON_PREFIX + "error rate")
+                .disabledAt(System.currentTimeMillis() - 60_000)
+                .build();
+        KillSwitchStatus manual = KillSwitchStatus.builder()
+                .scope(KillSwitchScope.TOOL).toolId("fx_rate").targetId("fx_rate")
+                .disabled(true).reason("manual maintenance").build();
+        when(killSwitchService.findAll()).thenReturn(List.of(orphan, manual));
+        when(killSwitchService.getToolStatus("loss_projection")).thenReturn(orphan);
+
+        monitor.evaluate();
+
+        verify(killSwitchService).throttleTool(eq("loss_projection"), eq(10), isNull(),
+                startsWith(ToolHealthMonitor.REASON_PREFIX));
+        verify(killSwitchService, never()).throttleTool(eq("fx_rate"), any(), any(), anyString());
+    }
+
+    @Test
+    void testOperatorSwitch_IsLeftAlone() {
+        when(killSwitchService.getToolStatus("loss_projection")).thenReturn(KillSwitchStatus.builder()
+                .disabled(true).reason("manual maintenance").build());
+        recordCalls("loss_projection", 10, new IllegalStateException("db down"));
+
+        monitor.evaluate();
+
+        verify(killSwitchService, never()).disableTool(anyString(), anyString());
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    void testBusinessErrors_DoNotTrip() {
+        recordCalls("loss_projection", 10,
+                new McpException(McpErrorCode.DATA_NOT_FOUND, "no such portfolio", false));
+
+        monitor.evaluate();
+
+        verify(killSwitchService, never()).disableTool(anyString(), anyString());
+    }
+
+    private void recordCalls(String toolId, int count, Exception failure) {
+        for (int i = 0; i < count; i++) {
+            monitor.record(toolId, null, 20, failure);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.financial.mcp.core.policy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyDecisionEngineTest {
+    @Mock
+    private PolicyRepository repository;
+
+    private PolicyDecisionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new PolicyDecisionEngine(repository, true);
+        when(repository.findAllRules()).thenReturn(List.of(
+                rule("ifrs17.*", List.of("ACTUARY"), null, PolicyEffect.ALLOW),
+                rule("ifrs17.*", null, List.of("RISK"), PolicyEffect.ALLOW),
+                rule("ifrs17.admin_*", null, null, PolicyEffect.DENY),
+                rule("fx.rates", List.of("TRADER"), List.of("MARKETS"), PolicyEffect.ALLOW),
+                rule("*", List.of("SUSPENDED"), null, PolicyEffect.DENY)));
+        engine.refresh();
+    }
+
+    @Test
+    void testRoleAndDeptRules_AllowMatchingCallers() {
+        assertTrue(engine.isAllowed("u1", "FINANCE", List.of("ACTUARY"), "ifrs17.loss_projection", null));
+        assertTrue(engine.isAllowed("u2", "RISK", List.of(), "ifrs17.loss_projection", null));
+        assertFalse(engine.isAllowed("u3", "FINANCE", List.of("ANALYST"), "ifrs17.loss_projection", null));
+    }
+
+    @Test
+    void testRuleWithRolesAndDepts_RequiresBoth() {
+        assertTrue(engine.isAllowed("u1", "MARKETS", List.of("TRADER"), "fx.rates", null));
+        assertFalse(engine.isAllowed("u1", "RISK", List.of("TRADER"), "fx.rates", null));
+        assertFalse(engine.isAllowed("u1", "MARKETS", List.of("ANALYST"), "fx.rates", null));
+    }
+
+    @Test
+    void testDenyRules_WinOverAllow() {
+        assertFalse(engine.isAllowed("u1", "RISK", List.of("ACTUARY"), "ifrs17.admin_reset", null));
+        assertFalse(engine.isAllowed("u1", "RISK", List.of("ACTUARY", "SUSPENDED"), "ifrs17.loss_projection", null));
+    }
+
+    @Test
+    void testUserOverride_DecidesAlone() {
+        when(repository.findPolicyByUserAndTool("u1", "ifrs17.admin_reset"))
+                .thenReturn(ToolPolicy.builder().userId("u1").toolId("ifrs17.admin_reset").allowed(true).build());
+        when(repository.findPolicyByUserToolAndVersion("u2", "ifrs17.loss_projection", "1.0.0"))
+                .thenReturn(ToolPolicy.builder().userId("u2").toolId("ifrs17.loss_projection").allowed(false).build());
+
+        assertTrue(engine.isAllowed("u1", "FINANCE", List.of(), "ifrs17.admin_reset", null));
+        assertFalse(engine.isAllowed("u2", "RISK", List.of("ACTUARY"), "ifrs17.loss_projection", "1.0.0"));
+    }
+
+    @Test
+    void testRefreshFailure_KeepsPreviousRules() {
+        when(repository.findAllRules()).thenThrow(new IllegalStateException("database down"));
+
+        engine.refresh();
+
+        assertTrue(engine.isAllowed("u1", "RISK", List.of(), "ifrs17.loss_projection", null));
+    }
+
+    @Test
+    void testRulesDisabled_OnlyOverridesApply() {
+        PolicyDecisionEngine disabled = new PolicyDecisionEngine(repository, false);
+        disabled.refresh();
+
+        assertFalse(disabled.isAllowed("u2", "RISK", List.of(), "ifrs17.loss_projection", null));
+    }
+
+    private PolicyRule rule(String toolPattern, List<String> roles, List<String> depts, PolicyEffect effect) {
+        return PolicyRule.builder()
+                .toolPattern(toolPattern)
+                .roles(roles)
+                .depts(depts)
+                .effect(effect)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.financial.mcp.core.policy;
+
+import com.financial.mcp.core.error.McpException;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.core.meta.McpMeta;
+import com.financial.mcp.core.meta.McpRequestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyServiceTest {
+    @Mock
+    private PolicyRepository repository;
+
+    @Mock
+    private PolicyDecisionEngine decisionEngine;
+
+    private PolicyService policyService;
+
+    @BeforeEach
+    void setUp() {
+        policyService = new PolicyService(repository, decisionEngine);
+    }
+
+    @AfterEach
+    void tearDown() {
+        McpRequestContext.clear();
+    }
+
+    @Test
+    void testValidatePolicy_UsesVerifiedPrincipalOverMeta() {
+        McpRequestContext.setPrincipal(new AuthenticatedPrincipal("user1", "RISK", List.of("ANALYST"), "issuer", 0));
+        McpMeta meta = McpMeta.builder().userId("someone_else").dept("FINANCE").build();
+        when(decisionEngine.isAllowed("user1", "RISK", List.of("ANALYST"), "loss_projection", null)).thenReturn(true);
+
+        assertDoesNotThrow(() -> policyService.validatePolicy(meta, "loss_projection"));
+    }
+
+    @Test
+    void testValidatePolicy_WithoutPrincipalUsesMeta() {
+        McpMeta meta = McpMeta.builder().userId("user1").dept("RISK").build();
+        when(decisionEngine.isAllowed("user1", "RISK", null, "loss_projection", "1.0.0")).thenReturn(false);
+
+        assertThrows(McpException.class, () -> policyService.validatePolicyByVersion(meta, "loss_projection", "1.0.0"));
+    }
+
+    @Test
+    void testApplyTo_OverwritesIdentityFromPrincipal() {
+        McpRequestContext.setPrincipal(new AuthenticatedPrincipal("user1", "RISK", List.of("ANALYST"), "issuer", 0));
+        McpMeta meta = McpMeta.builder().userId("someone_else").dept("FINANCE").callerId("batch-app").build();
+
+        McpRequestContext.applyTo(meta);
+
+        assertEquals("user1", meta.getUserId());
+        assertEquals("RISK", meta.getDept());
+        assertEquals(List.of("ANALYST"), meta.getRoles());
+        assertEquals("batch-app", meta.getCallerId());
+    }
+}
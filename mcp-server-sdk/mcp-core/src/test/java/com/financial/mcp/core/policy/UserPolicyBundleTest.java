@@ -0,0 +1,60 @@
+package com.financial.mcp.core.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPolicyBundleTest {
+
+    @Test
+    void testFindPolicy_UnversionedPrefersPolicyWithoutVersion() {
+        UserPolicyBundle bundle = UserPolicyBundle.of("user1", List.of(
+                policy("loss_projection", "2.0.0", false),
+                policy("loss_projection", null, true),
+                policy("fx_rate", "1.0.0", true)), List.of());
+
+        assertTrue(bundle.findPolicy("loss_projection").isAllowed());
+        assertFalse(bundle.findPolicy("loss_projection", "2.0.0").isAllowed());
+        assertEquals("1.0.0", bundle.findPolicy("fx_rate").getVersion());
+        assertNull(bundle.findPolicy("fx_rate", "2.0.0"));
+        assertNull(bundle.findPolicy("unknown"));
+    }
+
+    @Test
+    void testFindMaskingPolicy_ByToolAndVersion() {
+        DataMaskingPolicy masking = DataMaskingPolicy.builder()
+                .userId("user1")
+                .toolId("loss_projection")
+                .version("1.0.0")
+                .columnMasks(Map.of("account_no", "PARTIAL"))
+                .dataLevel("CONFIDENTIAL")
+                .build();
+        UserPolicyBundle bundle = UserPolicyBundle.of("user1", List.of(), List.of(masking));
+
+        assertSame(masking, bundle.findMaskingPolicy("loss_projection"));
+        assertSame(masking, bundle.findMaskingPolicy("loss_projection", "1.0.0"));
+        assertNull(bundle.findMaskingPolicy("loss_projection", "2.0.0"));
+        assertFalse(bundle.isEmpty());
+    }
+
+    @Test
+    void testEmpty() {
+        UserPolicyBundle bundle = UserPolicyBundle.empty("user1");
+
+        assertTrue(bundle.isEmpty());
+        assertNull(bundle.findPolicy("loss_projection"));
+    }
+
+    private ToolPolicy policy(String toolId, String version, boolean allowed) {
+        return ToolPolicy.builder()
+                .userId("user1")
+                .toolId(toolId)
+                .version(version)
+                .allowed(allowed)
+                .dataLevel("INTERNAL")
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.financial.mcp.core.registry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotToolRegistryRepositoryTest {
+    @Mock
+    private ToolRegistryRepository source;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SnapshotToolRegistryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SnapshotToolRegistryRepository(source, eventPublisher, 1000, 600000);
+    }
+
+    @Test
+    void testLoad_IndexesByVersionAndLatest() {
+        when(source.findAll()).thenReturn(List.of(
+                tool("loss_projection", "1.0.0", 100),
+                tool("loss_projection", "2.0.0", 200),
+                tool("fx_rate", "1.0.0", 150)));
+
+        repository.load();
+
+        assertEquals("2.0.0", repository.findByToolId("loss_projection").getVersion());
+        assertEquals("1.0.0", repository.findByToolIdAndVersion("loss_projection", "1.0.0").getVersion());
+        assertNull(repository.findByToolIdAndVersion("loss_projection", "3.0.0"));
+        assertNull(repository.findByToolId("unknown"));
+        assertEquals(3, repository.getSnapshot().size());
+        verify(source, never()).findByToolId(anyString());
+    }
+
+    @Test
+    void testPoll_MergesChangedToolsWithoutFullReload() {
+        when(source.findAll()).thenReturn(List.of(tool("loss_projection", "1.0.0", 5000)));
+        repository.load();
+        when(source.findUpdatedSince(4000)).thenReturn(List.of(tool("loss_projection", "1.1.0", 6000)));
+
+        ToolRegistrySnapshot before = repository.getSnapshot();
+        repository.poll();
+
+        assertEquals("1.1.0", repository.findByToolId("loss_projection").getVersion());
+        assertNotNull(repository.findByToolIdAndVersion("loss_projection", "1.0.0"));
+        assertNull(before.find("loss_projection", "1.1.0"));
+        verify(source, times(1)).findAll();
+    }
+
+    @Test
+    void testRemoteChange_ReloadsAndDropsDeletedTools() {
+        when(source.findAll())
+                .thenReturn(List.of(tool("loss_projection", "1.0.0", 100)))
+                .thenReturn(List.of());
+        repository.load();
+
+        repository.onRegistryChanged(new ToolRegistryChangedEvent("loss_projection", true));
+
+        assertNull(repository.findByToolId("loss_projection"));
+    }
+
+    @Test
+    void testRemoteChange_KeepsSnapshotWhenReloadFails() {
+        when(source.findAll())
+                .thenReturn(List.of(tool("loss_projection", "1.0.0", 100)))
+                .thenThrow(new IllegalStateException("database down"));
+        repository.load();
+
+        repository.onRegistryChanged(new ToolRegistryChangedEvent("loss_projection", true));
+
+        assertNotNull(repository.findByToolId("loss_projection"));
+    }
+
+    @Test
+    void testSave_WritesThroughAndPublishesLocalChange() {
+        ToolRegistry tool = tool("loss_projection", "1.0.0", 100);
+        when(source.findAll()).thenReturn(List.of()).thenReturn(List.of(tool));
+        repository.load();
+
+        repository.save(tool);
+
+        verify(source).save(tool);
+        assertSame(tool, repository.findByToolId("loss_projection"));
+        verify(eventPublisher).publishEvent(new ToolRegistryChangedEvent("loss_projection", false));
+    }
+
+    private ToolRegistry tool(String toolId, String version, long updatedAt) {
+        return ToolRegistry.builder()
+                .toolId(toolId)
+                .toolName(toolId)
+                .version(version)
+                .status("ACTIVE")
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
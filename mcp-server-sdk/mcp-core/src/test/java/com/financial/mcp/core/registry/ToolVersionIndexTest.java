@@ -0,0 +1,78 @@
+package com.financial.mcp.core.registry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolVersionIndexTest {
+    private ToolVersionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = ToolVersionIndex.of("loss_projection", List.of(
+                tool("1.0.0"),
+                tool("1.10.0"),
+                tool("1.2.5"),
+                tool("2.0.0-rc.1"),
+                tool("0.9.0")));
+    }
+
+    @Test
+    void testResolve_LatestSkipsPrereleases() {
+        assertEquals("1.10.0", index.resolve(null).getVersion());
+        assertEquals("1.10.0", index.resolve("latest").getVersion());
+        assertEquals("1.10.0", index.latest().getVersion());
+    }
+
+    @Test
+    void testResolve_MajorAndMinorRanges() {
+        assertEquals("1.10.0", index.resolve("v1").getVersion());
+        assertEquals("0.9.0", index.resolve("v0").getVersion());
+        assertEquals("1.2.5", index.resolve("v1.2").getVersion());
+        assertEquals("1.2.5", index.resolve("1.2").getVersion());
+        assertNull(index.resolve("v2"));
+        assertNull(index.resolve("v1.3"));
+    }
+
+    @Test
+    void testResolve_PinnedVersions() {
+        assertEquals("1.2.5", index.resolve("1.2.5").getVersion());
+        assertEquals("1.2.5", index.resolve("v1.2.5").getVersion());
+        assertEquals("2.0.0-rc.1", index.resolve("v2.0.0-rc.1").getVersion());
+        assertNull(index.resolve("1.2.4"));
+        assertNull(index.resolve("not-a-version"));
+    }
+
+    @Test
+    void testResolve_NonSemanticVersionsOnlyMatchExactly() {
+        ToolVersionIndex legacy = ToolVersionIndex.of("legacy", List.of(tool("2023-q4"), tool("1.0.0")));
+
+        assertEquals("1.0.0", legacy.resolve("latest").getVersion());
+        assertEquals("2023-q4", legacy.resolve("2023-q4").getVersion());
+    }
+
+    @Test
+    void testOf_EmptyReturnsNull() {
+        assertNull(ToolVersionIndex.of("loss_projection", List.of()));
+    }
+
+    @Test
+    void testToolVersion_PrereleaseOrdering() {
+        assertTrue(ToolVersion.parse("1.0.0-alpha").compareTo(ToolVersion.parse("1.0.0-alpha.1")) < 0);
+        assertTrue(ToolVersion.parse("1.0.0-alpha.2").compareTo(ToolVersion.parse("1.0.0-alpha.10")) < 0);
+        assertTrue(ToolVersion.parse("1.0.0-rc.1").compareTo(ToolVersion.parse("1.0.0")) < 0);
+        assertNull(ToolVersion.parse("latest"));
+    }
+
+    private ToolRegistry tool(String version) {
+        return ToolRegistry.builder()
+                .toolId("loss_projection")
+                .toolName("Loss Projection")
+                .version(version)
+                .status("ACTIVE")
+                .build();
+    }
+}
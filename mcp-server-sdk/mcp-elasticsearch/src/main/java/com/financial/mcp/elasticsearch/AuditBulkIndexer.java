@@ -0,0 +1,95 @@
+package com.financial.mcp.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.financial.mcp.core.audit.AuditLog;
+import com.financial.mcp.core.audit.AuditRollup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indexes audit logs to Elasticsearch with the Bulk API.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditBulkIndexer {
+    private final ElasticsearchClient client;
+    private final AuditIndexManager indexManager;
+
+    /**
+     * Send one _bulk request for the given logs.
+     * Each log is routed to its time-partitioned index. Unless auto ids are enabled
+     * the trace id is the document id, so a replayed log overwrites its earlier copy.
+     *
+     * @param logs Audit logs to index
+     * @return Positions (in {@code logs}) of the documents Elasticsearch rejected
+     * @throws IOException if the bulk request itself failed
+     */
+    public List<Integer> index(List<AuditLog> logs) throws IOException {
+        BulkRequest.Builder request = new BulkRequest.Builder();
+        if (indexManager.isRequireAlias()) {
+            request.requireAlias(true);
+        }
+        boolean autoId = indexManager.isAutoId();
+        for (AuditLog auditLog : logs) {
+            String index = indexManager.indexFor(auditLog.getTimestamp());
+            request.operations(op -> op
+                    .index(idx -> idx
+                            .index(index)
+                            .id(autoId ? null : auditLog.getTraceId())
+                            .document(auditLog)
+                    )
+            );
+        }
+
+        return failedPositions(client.bulk(request.build()));
+    }
+
+    /**
+     * Send one _bulk request for success-call rollups.
+     * The rollup id is the document id, so a retried rollup overwrites its earlier
+     * copy; a window flushed twice (late calls) yields two documents to sum.
+     *
+     * @param rollups Rollups to index
+     * @return Positions (in {@code rollups}) of the documents Elasticsearch rejected
+     * @throws IOException if the bulk request itself failed
+     */
+    public List<Integer> indexRollups(List<AuditRollup> rollups) throws IOException {
+        BulkRequest.Builder request = new BulkRequest.Builder();
+        for (AuditRollup rollup : rollups) {
+            request.operations(op -> op
+                    .index(idx -> idx
+                            .index(indexManager.rollupIndexFor(rollup.getWindowStart()))
+                            .id(rollup.getRollupId())
+                            .document(rollup)
+                    )
+            );
+        }
+        return failedPositions(client.bulk(request.build()));
+    }
+
+    private List<Integer> failedPositions(BulkResponse response) {
+        if (!response.errors()) {
+            return List.of();
+        }
+
+        List<Integer> failed = new ArrayList<>();
+        List<BulkResponseItem> items = response.items();
+        for (int i = 0; i < items.size(); i++) {
+            BulkResponseItem item = items.get(i);
+            if (item.error() != null) {
+                log.debug("Bulk item rejected: {} ({})", item.id(), item.error().reason());
+                failed.add(i);
+            }
+        }
+        return failed;
+    }
+}
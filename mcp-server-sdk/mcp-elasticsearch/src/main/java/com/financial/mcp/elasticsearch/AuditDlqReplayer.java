@@ -0,0 +1,123 @@
+package com.financial.mcp.elasticsearch;
+
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import com.financial.mcp.core.audit.AuditLog;
+import com.financial.mcp.core.audit.AuditRollup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Re-indexes DLQ contents (audit logs and success-call rollups) into Elasticsearch.
+ * Reads batches from the DLQ checkpoint, sends them with the Bulk API and
+ * advances the checkpoint once Elasticsearch has answered. Documents that
+ * Elasticsearch rejects are appended to the DLQ tail with their rejection count
+ * so the checkpoint can still move past them; after {@code max-replay-attempts}
+ * rejections they are parked instead (see {@link AuditDlqService#requeue}).
+ *
+ * <p>Replay pauses during an Elasticsearch outage. After recovery the number of
+ * batches per run starts at one and doubles after every clean run up to
+ * {@code replay-max-batches}, and a run yields as soon as the live bulk writer
+ * has more than {@code replay-yield-backlog} logs waiting.
+ *
+ * <p>Only a failed bulk request counts against Elasticsearch health; an error
+ * reading or acknowledging the local DLQ is logged and the run ends.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditDlqReplayer {
+    private final AuditDlqService auditDlqService;
+    private final AuditBulkIndexer bulkIndexer;
+    private final BulkAuditWriter bulkAuditWriter;
+    private final ElasticsearchHealthMonitor healthMonitor;
+
+    @Value("${mcp.audit.dlq.replay-batch-size:500}")
+    int replayBatchSize;
+
+    @Value("${mcp.audit.dlq.replay-max-batches:20}")
+    int maxBatchesPerRun;
+
+    @Value("${mcp.audit.dlq.replay-yield-backlog:1000}")
+    int yieldBacklog;
+
+    private int batchBudget = 1;
+
+    /**
+     * Scheduled task to resend DLQ logs to Elasticsearch.
+     * Runs every 60 seconds with fixed delay by default.
+     * A failed bulk request leaves the checkpoint untouched for the next run.
+     */
+    @Scheduled(fixedDelayString = "${mcp.audit.dlq.replay-interval-ms:60000}")
+    public void replay() {
+        if (!healthMonitor.isAvailable()) {
+            batchBudget = 1;
+            return;
+        }
+        int replayed = 0;
+        int budget = Math.min(batchBudget, maxBatchesPerRun);
+        boolean exhausted = false;
+        try {
+            for (int i = 0; i < budget; i++) {
+                if (bulkAuditWriter.getBacklog() > yieldBacklog) {
+                    log.debug("Live audit backlog {} above {}, yielding DLQ replay", bulkAuditWriter.getBacklog(), yieldBacklog);
+                    break;
+                }
+                AuditDlqService.DlqBatch batch = auditDlqService.readBatch(replayBatchSize);
+                if (batch.isEmpty()) {
+                    auditDlqService.acknowledge(batch);
+                    exhausted = true;
+                    break;
+                }
+
+                List<AuditLog> logs = batch.logs();
+                List<AuditRollup> rollups = batch.rollups();
+                List<Integer> failed;
+                List<Integer> failedRollups;
+                try {
+                    // Rollups are stored under their id, so re-sending them after a failed run is harmless
+                    failed = logs.isEmpty() ? List.of() : bulkIndexer.index(logs);
+                    failedRollups = rollups.isEmpty() ? List.of() : bulkIndexer.indexRollups(rollups);
+                } catch (IOException | ElasticsearchException e) {
+                    healthMonitor.recordFailure();
+                    batchBudget = 1;
+                    log.warn("DLQ replay bulk request failed, will resume from checkpoint", e);
+                    break;
+                }
+                healthMonitor.recordSuccess();
+                for (int position : failed) {
+                    auditDlqService.requeue(logs.get(position), batch.failedReplays().get(position) + 1);
+                }
+                for (int position : failedRollups) {
+                    auditDlqService.requeue(rollups.get(position), batch.rollupFailedReplays().get(position) + 1);
+                }
+                auditDlqService.acknowledge(batch);
+                replayed += logs.size() - failed.size() + rollups.size() - failedRollups.size();
+
+                if (!failed.isEmpty() || !failedRollups.isEmpty()) {
+                    log.warn("{} DLQ audit records rejected again by Elasticsearch, re-queued or parked",
+                            failed.size() + failedRollups.size());
+                    break;
+                }
+                if (i == budget - 1) {
+                    batchBudget = Math.min(budget * 2, maxBatchesPerRun);
+                }
+            }
+        } catch (Exception e) {
+            // Local DLQ or document encoding error: says nothing about Elasticsearch health
+            batchBudget = 1;
+            log.error("DLQ replay interrupted by a local error, will resume from checkpoint", e);
+        }
+        if (exhausted) {
+            batchBudget = 1;
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} audit records from DLQ to Elasticsearch (next budget: {} batches)", replayed, batchBudget);
+        }
+    }
+}
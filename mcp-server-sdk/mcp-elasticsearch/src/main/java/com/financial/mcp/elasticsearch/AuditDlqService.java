@@ -1,133 +1,851 @@
 package com.financial.mcp.elasticsearch;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.financial.mcp.core.audit.AuditLog;
+import com.financial.mcp.core.audit.AuditRollup;
+import com.financial.mcp.core.audit.AuditRollupSpillHandler;
+import com.financial.mcp.core.audit.AuditSpillHandler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-import java.io.FileWriter;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * Audit Dead Letter Queue Service.
  * Handles fallback storage when Elasticsearch is unavailable.
  * Guarantees zero audit loss through local file persistence.
+ *
+ * <p>The DLQ is an append-only log of preallocated segment files
+ * ({@code audit-<segment id>.dlq}). Audit logs are encoded with Smile and
+ * grouped into Deflate-compressed blocks of up to {@code fsync-every} records;
+ * each block is written as {@code [stored length][crc32][raw length][record count][codec][data]}
+ * and unwritten space is zero. Inside a block each record is
+ * {@code [length][failed replays][smile]}; success-call rollups are stored the same
+ * way with {@code ROLLUP_RECORD} set in the failed-replays field. A block is sealed, written
+ * and fsynced when it is full, on a fixed interval and before replay reads.
+ * Replay reads from a persisted cursor (segment, block offset, record in block)
+ * and deletes segments once they are fully acknowledged.
+ *
+ * <p>A block with an invalid header or checksum (torn write, disk corruption) is
+ * skipped by scanning forward for the next valid block, both during replay and when
+ * a restart looks for the append position, so blocks behind it are neither lost
+ * nor overwritten.
+ *
+ * <p>An optional disk quota caps the total size of segment files; when a new
+ * segment would exceed it, the {@link DlqQuotaPolicy} decides whether incoming
+ * or the oldest records are dropped.
+ *
+ * <p>A record that Elasticsearch has rejected {@code max-replay-attempts} times is
+ * parked: appended as a JSON line to {@code parked.jsonl} in the DLQ directory,
+ * where it no longer takes part in replay or the disk quota.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class AuditDlqService {
+public class AuditDlqService implements AuditSpillHandler, AuditRollupSpillHandler {
     private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper = new SmileMapper();
+
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".dlq";
+    private static final String LEGACY_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "replay.cursor";
+    private static final String PARKED_FILE = "parked.jsonl";
+    private static final int BLOCK_HEADER_BYTES = 20;
+    private static final int CODEC_NONE = 0;
+    private static final int CODEC_DEFLATE = 1;
+    private static final int ROLLUP_RECORD = 1 << 30;
+    private static final int RESYNC_WINDOW_BYTES = 1024 * 1024;
+    private static final long QUOTA_RECHECK_MS = 1000;
 
     @Value("${mcp.audit.dlq.path:/var/log/mcp/audit-dlq}")
-    private String dlqPath;
+    String dlqPath;
+
+    @Value("${mcp.audit.dlq.segment-size-bytes:67108864}")
+    long segmentSizeBytes = 64L * 1024 * 1024;
+
+    @Value("${mcp.audit.dlq.fsync-every:100}")
+    int fsyncEvery = 100;
+
+    @Value("${mcp.audit.dlq.block-size-bytes:262144}")
+    int blockSizeBytes = 256 * 1024;
+
+    @Value("${mcp.audit.dlq.compression-level:1}")
+    int compressionLevel = 1;
+
+    @Value("${mcp.audit.dlq.max-disk-bytes:0}")
+    long maxDiskBytes;
+
+    @Value("${mcp.audit.dlq.quota-policy:DROP_NEWEST}")
+    DlqQuotaPolicy quotaPolicy = DlqQuotaPolicy.DROP_NEWEST;
+
+    @Value("${mcp.audit.dlq.max-replay-attempts:10}")
+    int maxReplayAttempts = 10;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final BlockBuffer block = new BlockBuffer();
+    private final AtomicLong droppedRecords = new AtomicLong();
+    private final AtomicLong parkedRecords = new AtomicLong();
+    private Path dlqDir;
+    private FileChannel activeChannel;
+    private volatile long activeSegmentId = -1;
+    private volatile long writePosition;
+    private int blockRecords;
+    private boolean unsynced;
+    private Deflater deflater;
+    private byte[] compressBuffer = new byte[0];
+    private boolean quotaBlocked;
+    private long lastQuotaCheck;
+    private final Inflater inflater = new Inflater();
 
     /**
-     * Write audit log to DLQ file as JSON line.
-     * File format: audit-YYYYMMDD.log
-     * 
+     * Append audit log to the current DLQ block.
+     *
      * @param auditLog Audit log to persist
      */
     public void writeToDlq(AuditLog auditLog) {
+        writeToDlq(auditLog, 0);
+    }
+
+    /**
+     * Put a replayed audit log that Elasticsearch rejected back at the DLQ tail,
+     * or park it once it has been rejected {@code max-replay-attempts} times.
+     *
+     * @param auditLog Rejected audit log
+     * @param failedReplays Replays rejected so far, including this one
+     */
+    public void requeue(AuditLog auditLog, int failedReplays) {
+        if (failedReplays < maxReplayAttempts) {
+            writeToDlq(auditLog, failedReplays);
+            return;
+        }
         try {
-            // Ensure directory exists
-            Path dlqDir = Paths.get(dlqPath);
-            Files.createDirectories(dlqDir);
-
-            // Generate filename with current date
-            String dateStr = new SimpleDateFormat("yyyyMMdd").format(new Date());
-            String filename = String.format("audit-%s.log", dateStr);
-            Path filePath = dlqDir.resolve(filename);
-
-            // Write as JSON line
-            String jsonLine = objectMapper.writeValueAsString(auditLog) + "\n";
-            
-            synchronized (this) {
-                try (FileWriter writer = new FileWriter(filePath.toFile(), true)) {
-                    writer.write(jsonLine);
-                    writer.flush();
-                }
-            }
+            park(objectMapper.writeValueAsBytes(auditLog));
+            parkedRecords.incrementAndGet();
+            log.error("Audit log rejected by Elasticsearch {} times, parked in {} (trace_id: {})",
+                    failedReplays, PARKED_FILE, auditLog.getTraceId());
+        } catch (IOException e) {
+            log.error("Failed to park audit log, keeping it in the DLQ (trace_id: {})", auditLog.getTraceId(), e);
+            writeToDlq(auditLog, failedReplays);
+        }
+    }
 
-            log.info("Audit log written to DLQ: {} (trace_id: {})", filePath, auditLog.getTraceId());
+    private void writeToDlq(AuditLog auditLog, int failedReplays) {
+        try {
+            append(smileMapper.writeValueAsBytes(auditLog), failedReplays);
+            log.debug("Audit log written to DLQ segment {} (trace_id: {})", activeSegmentId, auditLog.getTraceId());
         } catch (IOException e) {
             log.error("Failed to write audit log to DLQ", e);
         }
     }
 
     /**
-     * Scheduled task to resend DLQ logs to Elasticsearch.
-     * Runs every 60 seconds with fixed delay.
-     * Non-blocking execution to avoid affecting MCP flow.
+     * Append a success-call rollup to the current DLQ block.
+     *
+     * @param rollup Rollup to persist
      */
-    @Scheduled(fixedDelay = 60000)
-    public void resendDlqLogs() {
+    public void writeToDlq(AuditRollup rollup) {
+        writeToDlq(rollup, 0);
+    }
+
+    /**
+     * Rollup counterpart of {@link #requeue(AuditLog, int)}.
+     *
+     * @param rollup Rejected rollup
+     * @param failedReplays Replays rejected so far, including this one
+     */
+    public void requeue(AuditRollup rollup, int failedReplays) {
+        if (failedReplays < maxReplayAttempts) {
+            writeToDlq(rollup, failedReplays);
+            return;
+        }
         try {
-            Path dlqDir = Paths.get(dlqPath);
-            if (!Files.exists(dlqDir)) {
-                return;
-            }
+            park(objectMapper.writeValueAsBytes(rollup));
+            parkedRecords.incrementAndGet();
+            log.error("Audit rollup rejected by Elasticsearch {} times, parked in {} (rollup_id: {})",
+                    failedReplays, PARKED_FILE, rollup.getRollupId());
+        } catch (IOException e) {
+            log.error("Failed to park audit rollup, keeping it in the DLQ (rollup_id: {})", rollup.getRollupId(), e);
+            writeToDlq(rollup, failedReplays);
+        }
+    }
 
-            // Process all DLQ files
-            Files.list(dlqDir)
-                    .filter(path -> path.getFileName().toString().startsWith("audit-"))
-                    .filter(path -> path.getFileName().toString().endsWith(".log"))
-                    .forEach(this::processAndRetryDlqFile);
+    private void writeToDlq(AuditRollup rollup, int failedReplays) {
+        try {
+            append(smileMapper.writeValueAsBytes(rollup), failedReplays | ROLLUP_RECORD);
+            log.debug("Audit rollup written to DLQ segment {} (rollup_id: {})", activeSegmentId, rollup.getRollupId());
+        } catch (IOException e) {
+            log.error("Failed to write audit rollup to DLQ", e);
+        }
+    }
+
+    /**
+     * Spill target for the audit executor when its queue is full.
+     *
+     * @param auditLog Audit log that could not be queued
+     */
+    @Override
+    public void spill(AuditLog auditLog) {
+        writeToDlq(auditLog);
+    }
+
+    /**
+     * Spill target for the rollup aggregator when too many rollups are pending.
+     *
+     * @param rollup Rollup that could not be stored
+     */
+    @Override
+    public void spill(AuditRollup rollup) {
+        writeToDlq(rollup);
+    }
 
+    /**
+     * Seal and fsync the current block.
+     * Bounds the loss window when fewer than {@code fsync-every} records arrive.
+     */
+    @Scheduled(fixedDelayString = "${mcp.audit.dlq.fsync-interval-ms:1000}")
+    public void flush() {
+        writeLock.lock();
+        try {
+            if (activeChannel != null && (blockRecords > 0 || unsynced)) {
+                sealBlock();
+                force();
+            }
         } catch (IOException e) {
-            log.error("Error during DLQ resend scan", e);
+            log.error("Failed to fsync DLQ segment {}", activeSegmentId, e);
+        } finally {
+            writeLock.unlock();
         }
     }
 
     /**
-     * Process a single DLQ file and retry Elasticsearch indexing.
-     * Deletes file on successful processing.
-     * 
-     * @param filePath Path to DLQ file
+     * @return Records dropped because of the disk quota since startup
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    /**
+     * @return Records moved to {@code parked.jsonl} since startup
+     */
+    public long getParkedRecords() {
+        return parkedRecords.get();
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        FunctionCounter.builder("mcp.audit.dlq.dropped", droppedRecords, AtomicLong::get)
+                .description("Audit logs dropped because of the DLQ disk quota")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("mcp.audit.dlq.parked", parkedRecords, AtomicLong::get)
+                .description("Audit logs parked after max-replay-attempts rejections")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Read up to {@code maxRecords} audit logs and rollups starting at the replay cursor.
+     * The cursor does not move until {@link #acknowledge(DlqBatch)} is called.
+     *
+     * @param maxRecords Maximum number of records to read
+     * @return Batch of records and the position right after the last record read
      */
-    private void processAndRetryDlqFile(Path filePath) {
+    public synchronized DlqBatch readBatch(int maxRecords) throws IOException {
+        long activeId;
+        long activeLimit;
+        writeLock.lock();
         try {
-            // Read all lines from file
-            java.util.List<String> lines = Files.readAllLines(filePath);
-            java.util.List<String> failedLines = new java.util.ArrayList<>();
+            ensureOpen();
+            sealBlock();
+            activeId = activeSegmentId;
+            activeLimit = writePosition;
+        } finally {
+            writeLock.unlock();
+        }
 
-            for (String line : lines) {
-                if (line.trim().isEmpty()) {
-                    continue;
+        long[] cursor = loadCheckpoint();
+        List<AuditLog> logs = new ArrayList<>();
+        List<Integer> failedReplays = new ArrayList<>();
+        List<AuditRollup> rollups = new ArrayList<>();
+        List<Integer> rollupFailedReplays = new ArrayList<>();
+        long segmentId = cursor[0];
+        long offset = cursor[1];
+        int record = (int) cursor[2];
+
+        for (long id : listSegments(SEGMENT_SUFFIX)) {
+            if (id < cursor[0]) {
+                continue;
+            }
+            if (id != segmentId) {
+                segmentId = id;
+                offset = 0;
+                record = 0;
+            }
+            Path segment = segmentPath(id, SEGMENT_SUFFIX);
+            long limit = (id == activeId) ? activeLimit : Files.size(segment);
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                while (logs.size() + rollups.size() < maxRecords) {
+                    Block next = readBlock(channel, offset, limit, true);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next.raw() == null) {
+                        long resync = findNextBlock(channel, offset + 1, limit);
+                        record = 0;
+                        if (resync < 0) {
+                            log.warn("Corrupt DLQ block at offset {} in {}, skipping rest of segment", offset, segment);
+                            offset = next.end();
+                            break;
+                        }
+                        log.warn("Corrupt DLQ block at offset {} in {}, resuming at offset {}", offset, segment, resync);
+                        offset = resync;
+                        continue;
+                    }
+                    record = decodeRecords(next, record, maxRecords - logs.size() - rollups.size(),
+                            logs, failedReplays, rollups, rollupFailedReplays);
+                    if (record < next.records()) {
+                        break;
+                    }
+                    offset = next.end();
+                    record = 0;
                 }
+            }
+            if (logs.size() + rollups.size() >= maxRecords || id == activeId) {
+                break;
+            }
+        }
+        return new DlqBatch(logs, failedReplays, rollups, rollupFailedReplays,
+                cursor[0], cursor[1], (int) cursor[2], segmentId, offset, record);
+    }
+
+    /**
+     * Persist the replay cursor after a batch was indexed and delete
+     * segments that lie entirely before it.
+     *
+     * @param batch Batch returned by {@link #readBatch(int)}
+     */
+    public synchronized void acknowledge(DlqBatch batch) throws IOException {
+        if (!batch.advanced()) {
+            return;
+        }
+        Path checkpoint = dlqDir.resolve(CHECKPOINT_FILE);
+        Path tmp = dlqDir.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(tmp, batch.endSegmentId() + " " + batch.endOffset() + " " + batch.endRecord());
+        Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (long id : listSegments(SEGMENT_SUFFIX)) {
+            if (id == activeSegmentId || id > batch.endSegmentId()) {
+                continue;
+            }
+            Path segment = segmentPath(id, SEGMENT_SUFFIX);
+            // The cursor may sit exactly at the end of a finished segment
+            if (id < batch.endSegmentId() || (batch.endRecord() == 0 && batch.endOffset() >= Files.size(segment))) {
+                Files.deleteIfExists(segment);
+                log.info("DLQ segment {} fully replayed and deleted", id);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            if (activeChannel != null) {
+                sealBlock();
+                force();
+                activeChannel.close();
+                activeChannel = null;
+            }
+        } catch (IOException e) {
+            log.error("Failed to close DLQ segment {}", activeSegmentId, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
 
+    private void append(byte[] payload, int failedReplays) throws IOException {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            block.writeInt(payload.length);
+            block.writeInt(failedReplays);
+            block.writeBytes(payload);
+            blockRecords++;
+
+            if (blockRecords >= fsyncEvery || block.size() >= blockSizeBytes) {
+                sealBlock();
+                force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Compress the buffered records into one block and write it to the active segment.
+     * Must be called with the write lock held.
+     */
+    private void sealBlock() throws IOException {
+        if (blockRecords == 0) {
+            return;
+        }
+        int records = blockRecords;
+        int rawLength = block.size();
+        byte[] stored = block.buffer();
+        int storedLength = rawLength;
+        int codec = CODEC_NONE;
+        if (compressionLevel > 0) {
+            int compressedLength = deflate(block.buffer(), rawLength);
+            if (compressedLength < rawLength) {
+                stored = compressBuffer;
+                storedLength = compressedLength;
+                codec = CODEC_DEFLATE;
+            }
+        }
+        block.reset();
+        blockRecords = 0;
+
+        if (writePosition > 0 && writePosition + BLOCK_HEADER_BYTES + storedLength > segmentSizeBytes
+                && !rollSegment()) {
+            droppedRecords.addAndGet(records);
+            log.error("DLQ disk quota of {} bytes exceeded, dropped {} audit records (total dropped: {})",
+                    maxDiskBytes, records, droppedRecords.get());
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+        header.putInt(storedLength)
+                .putInt(crc(stored, storedLength))
+                .putInt(rawLength)
+                .putInt(records)
+                .putInt(codec)
+                .flip();
+        ByteBuffer body = ByteBuffer.wrap(stored, 0, storedLength);
+        long position = writePosition;
+        while (header.hasRemaining()) {
+            position += activeChannel.write(header, position);
+        }
+        while (body.hasRemaining()) {
+            position += activeChannel.write(body, position);
+        }
+        writePosition = position;
+        unsynced = true;
+    }
+
+    private int deflate(byte[] raw, int length) {
+        if (deflater == null) {
+            deflater = new Deflater(compressionLevel);
+        }
+        deflater.reset();
+        deflater.setInput(raw, 0, length);
+        deflater.finish();
+        if (compressBuffer.length < length) {
+            compressBuffer = new byte[length];
+        }
+        int written = 0;
+        while (!deflater.finished() && written < compressBuffer.length) {
+            written += deflater.deflate(compressBuffer, written, compressBuffer.length - written);
+        }
+        // Not smaller than the input: store it raw instead
+        return deflater.finished() ? written : length;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (activeChannel != null) {
+            return;
+        }
+        dlqDir = Paths.get(dlqPath);
+        Files.createDirectories(dlqDir);
+
+        List<Long> segments = listSegments(SEGMENT_SUFFIX);
+        if (segments.isEmpty()) {
+            openSegment(1);
+        } else {
+            long lastId = segments.get(segments.size() - 1);
+            openSegment(lastId);
+            writePosition = scanBlocks(activeChannel, activeChannel.size());
+        }
+        importLegacyFiles();
+    }
+
+    private void openSegment(long segmentId) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(segmentPath(segmentId, SEGMENT_SUFFIX).toFile(), "rw");
+        if (file.length() < segmentSizeBytes) {
+            file.setLength(segmentSizeBytes);
+        }
+        activeChannel = file.getChannel();
+        activeSegmentId = segmentId;
+        writePosition = 0;
+        unsynced = false;
+    }
+
+    /**
+     * Close the full active segment and open the next one, if the disk quota allows.
+     *
+     * @return false if the quota left no room for a new segment
+     */
+    private boolean rollSegment() throws IOException {
+        force();
+        // Give back the unused preallocated tail of the finished segment
+        activeChannel.truncate(writePosition);
+        if (!reserveSegmentSpace()) {
+            return false;
+        }
+        activeChannel.close();
+        openSegment(activeSegmentId + 1);
+        return true;
+    }
+
+    private boolean reserveSegmentSpace() throws IOException {
+        if (maxDiskBytes <= 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (quotaBlocked && now - lastQuotaCheck < QUOTA_RECHECK_MS) {
+            return false;
+        }
+        lastQuotaCheck = now;
+
+        List<Long> segments = new ArrayList<>(listSegments(SEGMENT_SUFFIX));
+        long used = 0;
+        for (long id : segments) {
+            used += Files.size(segmentPath(id, SEGMENT_SUFFIX));
+        }
+        while (used + segmentSizeBytes > maxDiskBytes) {
+            if (quotaPolicy == DlqQuotaPolicy.DROP_OLDEST && segments.size() > 1) {
+                long oldest = segments.remove(0);
+                Path path = segmentPath(oldest, SEGMENT_SUFFIX);
+                used -= Files.size(path);
+                Files.delete(path);
+                log.error("DLQ disk quota of {} bytes exceeded, deleted unreplayed segment {}", maxDiskBytes, oldest);
+                continue;
+            }
+            quotaBlocked = true;
+            return false;
+        }
+        quotaBlocked = false;
+        return true;
+    }
+
+    private void force() throws IOException {
+        activeChannel.force(false);
+        unsynced = false;
+    }
+
+    /**
+     * Read the block at {@code offset}.
+     *
+     * @return null if no header fits before {@code limit}; a block with null {@code raw}
+     * if the header or checksum is invalid (unwritten space, torn write, corruption)
+     */
+    private Block readBlock(FileChannel channel, long offset, long limit, boolean decode) throws IOException {
+        if (offset + BLOCK_HEADER_BYTES > limit) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+        readFully(channel, header, offset);
+        header.flip();
+        int storedLength = header.getInt();
+        int checksum = header.getInt();
+        int rawLength = header.getInt();
+        int records = header.getInt();
+        int codec = header.getInt();
+        long end = offset + BLOCK_HEADER_BYTES + storedLength;
+        if (storedLength <= 0 || end > limit) {
+            return new Block(null, 0, limit);
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(storedLength);
+        readFully(channel, body, offset + BLOCK_HEADER_BYTES);
+        byte[] stored = body.array();
+        if (crc(stored, storedLength) != checksum) {
+            return new Block(null, 0, limit);
+        }
+        if (!decode) {
+            return new Block(stored, records, end);
+        }
+        return new Block(codec == CODEC_DEFLATE ? inflate(stored, rawLength) : stored, records, end);
+    }
+
+    private byte[] inflate(byte[] stored, int rawLength) throws IOException {
+        inflater.reset();
+        inflater.setInput(stored);
+        byte[] raw = new byte[rawLength];
+        try {
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed DLQ block", e);
+        }
+        return raw;
+    }
+
+    /**
+     * Decode records {@code from}..end of the block, at most {@code max} of them.
+     *
+     * @return Index of the first record not consumed
+     */
+    private int decodeRecords(Block source, int from, int max, List<AuditLog> logs, List<Integer> failedReplays,
+                              List<AuditRollup> rollups, List<Integer> rollupFailedReplays) {
+        ByteBuffer raw = ByteBuffer.wrap(source.raw());
+        int index = 0;
+        int taken = 0;
+        while (index < source.records() && raw.remaining() >= 8) {
+            int length = raw.getInt();
+            int failed = raw.getInt();
+            if (index >= from) {
+                if (taken == max) {
+                    return index;
+                }
                 try {
-                    AuditLog auditLog = objectMapper.readValue(line, AuditLog.class);
-                    // Attempt to index to Elasticsearch
-                    // This will be called by the retry mechanism
-                    log.debug("Retrying audit log from DLQ: {}", auditLog.getTraceId());
-                } catch (Exception e) {
-                    log.warn("Failed to parse DLQ line, keeping for retry: {}", line);
-                    failedLines.add(line);
+                    if ((failed & ROLLUP_RECORD) != 0) {
+                        rollups.add(smileMapper.readValue(source.raw(), raw.position(), length, AuditRollup.class));
+                        rollupFailedReplays.add(failed & ~ROLLUP_RECORD);
+                    } else {
+                        logs.add(smileMapper.readValue(source.raw(), raw.position(), length, AuditLog.class));
+                        failedReplays.add(failed);
+                    }
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable DLQ record {} in block", index, e);
                 }
+                taken++;
+            }
+            raw.position(raw.position() + length);
+            index++;
+        }
+        return source.records();
+    }
+
+    /**
+     * An invalid block does not end the scan while valid blocks follow it.
+     *
+     * @return Offset right after the last valid block in the segment
+     */
+    private long scanBlocks(FileChannel channel, long limit) throws IOException {
+        long offset = 0;
+        long end = 0;
+        Block next;
+        while ((next = readBlock(channel, offset, limit, false)) != null) {
+            if (next.raw() != null) {
+                offset = next.end();
+                end = offset;
+                continue;
             }
+            long resync = findNextBlock(channel, offset + 1, limit);
+            if (resync < 0) {
+                break;
+            }
+            log.warn("Corrupt DLQ block at offset {} in segment {}, appending after the valid blocks from offset {}",
+                    offset, activeSegmentId, resync);
+            offset = resync;
+        }
+        return end;
+    }
 
-            // If all lines were processed successfully, delete the file
-            if (failedLines.isEmpty()) {
-                Files.delete(filePath);
-                log.info("DLQ file processed and deleted: {}", filePath);
-            } else {
-                // Rewrite file with only failed lines
-                Files.write(filePath, failedLines);
-                log.info("DLQ file updated with {} failed lines: {}", failedLines.size(), filePath);
+    /**
+     * Scan byte by byte for a plausible header whose block checksum matches.
+     *
+     * @return Offset of the first valid block at or after {@code from}, or -1
+     */
+    private long findNextBlock(FileChannel channel, long from, long limit) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(RESYNC_WINDOW_BYTES);
+        long start = from;
+        while (start + BLOCK_HEADER_BYTES <= limit) {
+            window.clear().limit((int) Math.min(RESYNC_WINDOW_BYTES, limit - start));
+            readFully(channel, window, start);
+            int lastCandidate = window.position() - BLOCK_HEADER_BYTES;
+            if (lastCandidate < 0) {
+                break;
+            }
+            for (int i = 0; i <= lastCandidate; i++) {
+                if (plausibleHeader(window, i, start + i, limit)) {
+                    Block block = readBlock(channel, start + i, limit, false);
+                    if (block.raw() != null) {
+                        return start + i;
+                    }
+                }
             }
+            // Windows overlap so a header across the boundary is still seen
+            start += lastCandidate + 1;
+        }
+        return -1;
+    }
 
+    private static boolean plausibleHeader(ByteBuffer window, int index, long offset, long limit) {
+        int storedLength = window.getInt(index);
+        if (storedLength <= 0 || offset + BLOCK_HEADER_BYTES + storedLength > limit) {
+            return false;
+        }
+        int rawLength = window.getInt(index + 8);
+        int records = window.getInt(index + 12);
+        int codec = window.getInt(index + 16);
+        if (records <= 0) {
+            return false;
+        }
+        // Blocks are only stored deflated when that made them smaller
+        return codec == CODEC_NONE ? rawLength == storedLength : codec == CODEC_DEFLATE && rawLength > storedLength;
+    }
+
+    private void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                break;
+            }
+            position += n;
+        }
+    }
+
+    private long[] loadCheckpoint() throws IOException {
+        Path checkpoint = dlqDir.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return new long[]{0, 0, 0};
+        }
+        String[] parts = Files.readString(checkpoint).trim().split(" ");
+        return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+    }
+
+    private List<Long> listSegments(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dlqDir)) {
+            return files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(suffix))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - suffix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Move JSON-lines {@code .log} files written by earlier versions into the block log.
+     */
+    private void importLegacyFiles() throws IOException {
+        List<Path> legacyFiles;
+        try (Stream<Path> files = Files.list(dlqDir)) {
+            legacyFiles = files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(LEGACY_SUFFIX))
+                    .toList();
+        }
+        for (Path legacyFile : legacyFiles) {
+            try (BufferedReader reader = Files.newBufferedReader(legacyFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        importJson(line.getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+            sealBlock();
+            force();
+            Files.delete(legacyFile);
+            log.info("Imported legacy DLQ file into segment log: {}", legacyFile);
+        }
+    }
+
+    private void importJson(byte[] json) {
+        try {
+            append(smileMapper.writeValueAsBytes(objectMapper.readValue(json, AuditLog.class)), 0);
         } catch (IOException e) {
-            log.error("Error processing DLQ file: {}", filePath, e);
+            log.warn("Skipping unreadable legacy DLQ record", e);
+        }
+    }
+
+    private synchronized void park(byte[] json) throws IOException {
+        writeLock.lock();
+        try {
+            ensureOpen();
+        } finally {
+            writeLock.unlock();
+        }
+        try (FileChannel channel = FileChannel.open(dlqDir.resolve(PARKED_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            channel.force(false);
+        }
+    }
+
+    private Path segmentPath(long segmentId, String suffix) {
+        return dlqDir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentId, suffix));
+    }
+
+    private static int crc(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private record Block(byte[] raw, int records, long end) {
+    }
+
+    /**
+     * Reusable record buffer for the block being filled.
+     */
+    private static final class BlockBuffer extends ByteArrayOutputStream {
+        private BlockBuffer() {
+            super(64 * 1024);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+
+        private void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+    }
+
+    /**
+     * Records read from the DLQ together with the cursor range they cover.
+     * {@code failedReplays} and {@code rollupFailedReplays} hold, per log or rollup,
+     * how often Elasticsearch has rejected it.
+     */
+    public record DlqBatch(List<AuditLog> logs, List<Integer> failedReplays,
+                           List<AuditRollup> rollups, List<Integer> rollupFailedReplays,
+                           long startSegmentId, long startOffset, int startRecord,
+                           long endSegmentId, long endOffset, int endRecord) {
+        public boolean isEmpty() {
+            return logs.isEmpty() && rollups.isEmpty();
+        }
+
+        public boolean advanced() {
+            return startSegmentId != endSegmentId || startOffset != endOffset || startRecord != endRecord;
         }
     }
 }
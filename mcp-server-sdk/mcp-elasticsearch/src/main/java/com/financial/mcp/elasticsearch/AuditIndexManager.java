@@ -0,0 +1,288 @@
+package com.financial.mcp.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Routes audit writes to time-partitioned indices and installs their template.
+ *
+ * <p>In {@link AuditIndexMode#DAILY} mode each log goes to {@code <prefix>-yyyy.MM.dd}
+ * for its UTC timestamp, so replayed DLQ logs land in the day they happened.
+ * In {@link AuditIndexMode#ROLLOVER} mode writes go to the {@code <prefix>-write}
+ * alias and ILM rolls the backing index over. In both modes an ILM delete phase
+ * drops whole indices once they pass the retention age, and {@code <prefix>-all}
+ * is a read alias over all audit indices.
+ *
+ * <p>Success-call rollups go to {@code <prefix>-rollup-yyyy.MM.dd} for the UTC day
+ * their window starts in, whatever the mode, under their own strict mapping, the
+ * same retention and the {@code <prefix>-rollup-all} read alias.
+ *
+ * <p>The aliases do not use the bare {@code <prefix>} name because earlier versions
+ * wrote to a concrete index called {@code mcp-audit}, and Elasticsearch refuses an
+ * alias named like an existing index. If that index exists it is added to the read
+ * alias, so its logs stay searchable until they are reindexed or deleted.
+ *
+ * <p>Setup (component template, index template, ILM policy, bootstrap index) runs
+ * until it succeeds once, so the application starts even if Elasticsearch is down.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditIndexManager {
+    private final ElasticsearchClient client;
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+    private static final long DAY_MS = 86_400_000L;
+    private static final String COMPONENT_TEMPLATE_RESOURCE = "elasticsearch/mcp-audit-component-template.json";
+    private static final String ROLLUP_COMPONENT_TEMPLATE_RESOURCE = "elasticsearch/mcp-audit-rollup-component-template.json";
+    private static final String DAILY_POLICY_RESOURCE = "elasticsearch/mcp-audit-ilm-daily.json";
+    private static final String ROLLOVER_POLICY_RESOURCE = "elasticsearch/mcp-audit-ilm-rollover.json";
+
+    @Value("${mcp.audit.index.mode:DAILY}")
+    AuditIndexMode mode = AuditIndexMode.DAILY;
+
+    @Value("${mcp.audit.index.prefix:mcp-audit}")
+    String prefix = "mcp-audit";
+
+    @Value("${mcp.audit.index.auto-id:false}")
+    boolean autoId;
+
+    @Value("${mcp.audit.index.manage-templates:true}")
+    boolean manageTemplates = true;
+
+    @Value("${mcp.audit.index.retention:90d}")
+    String retention = "90d";
+
+    @Value("${mcp.audit.index.rollover-max-primary-shard-size:50gb}")
+    String rolloverMaxPrimaryShardSize = "50gb";
+
+    @Value("${mcp.audit.index.rollover-max-age:1d}")
+    String rolloverMaxAge = "1d";
+
+    private volatile DayIndex currentDay;
+
+    private volatile boolean setupDone;
+
+    /**
+     * @param timestamp Audit log timestamp (epoch millis)
+     * @return Index or write alias the log must be written to
+     */
+    public String indexFor(long timestamp) {
+        if (mode == AuditIndexMode.ROLLOVER) {
+            return writeAlias();
+        }
+        DayIndex day = currentDay;
+        if (day != null && timestamp >= day.start() && timestamp < day.start() + DAY_MS) {
+            return day.name();
+        }
+        LocalDate date = Instant.ofEpochMilli(timestamp).atZone(ZoneOffset.UTC).toLocalDate();
+        DayIndex computed = new DayIndex(
+                date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli(),
+                prefix + "-" + DAY_FORMAT.format(date)
+        );
+        // Only move the cache forward, so replaying old logs does not thrash it
+        if (day == null || computed.start() > day.start()) {
+            currentDay = computed;
+        }
+        return computed.name();
+    }
+
+    /**
+     * @param windowStart Rollup window start (epoch millis)
+     * @return Daily index the rollup must be written to
+     */
+    public String rollupIndexFor(long windowStart) {
+        LocalDate date = Instant.ofEpochMilli(windowStart).atZone(ZoneOffset.UTC).toLocalDate();
+        return rollupPrefix() + "-" + DAY_FORMAT.format(date);
+    }
+
+    /**
+     * @return Alias over every rollup index, for searches
+     */
+    public String rollupReadAlias() {
+        return rollupPrefix() + "-all";
+    }
+
+    /**
+     * @return Alias over every audit index, for searches
+     */
+    public String readAlias() {
+        return prefix + "-all";
+    }
+
+    /**
+     * @return Alias that rollover-mode writes go to
+     */
+    public String writeAlias() {
+        return prefix + "-write";
+    }
+
+    /**
+     * @return true if documents should be indexed without an explicit id
+     */
+    public boolean isAutoId() {
+        return autoId;
+    }
+
+    /**
+     * @return true if bulk writes must fail instead of auto-creating a concrete
+     * index named like the write alias
+     */
+    public boolean isRequireAlias() {
+        return mode == AuditIndexMode.ROLLOVER;
+    }
+
+    /**
+     * Install templates and ILM policy, alias a legacy {@code <prefix>} index for
+     * reads, and bootstrap the write alias in rollover mode.
+     * Retried on a fixed delay until it succeeds once.
+     */
+    @Scheduled(fixedDelayString = "${mcp.audit.index.setup-retry-ms:60000}")
+    public void ensureSetup() {
+        if (setupDone || !manageTemplates) {
+            return;
+        }
+        try {
+            String policyName = prefix + "-policy";
+            String componentName = prefix + "-mappings";
+
+            client.ilm().putLifecycle(p -> p
+                    .name(policyName)
+                    .withJson(new StringReader(loadPolicy()))
+            );
+            client.cluster().putComponentTemplate(c -> c
+                    .name(componentName)
+                    .withJson(new StringReader(loadResource(COMPONENT_TEMPLATE_RESOURCE)))
+            );
+            client.indices().putIndexTemplate(t -> t
+                    .name(prefix)
+                    .indexPatterns(indexPattern())
+                    .composedOf(componentName)
+                    .template(tpl -> {
+                        tpl.settings(s -> s.lifecycle(l -> {
+                            l.name(policyName);
+                            if (mode == AuditIndexMode.ROLLOVER) {
+                                l.rolloverAlias(writeAlias());
+                            }
+                            return l;
+                        }));
+                        // Read alias so "GET <prefix>-all/_search" spans all indices
+                        tpl.aliases(readAlias(), a -> a);
+                        return tpl;
+                    })
+            );
+
+            installRollupTemplates();
+            aliasLegacyIndex();
+            if (mode == AuditIndexMode.ROLLOVER) {
+                bootstrapWriteIndex();
+            }
+            setupDone = true;
+            log.info("Audit index setup complete (mode: {}, prefix: {}, retention: {})", mode, prefix, retention);
+        } catch (Exception e) {
+            log.warn("Audit index setup failed, will retry", e);
+        }
+    }
+
+    /**
+     * Rollups are always daily, so they get the daily policy even in rollover mode.
+     */
+    private void installRollupTemplates() throws IOException {
+        String policyName = rollupPrefix() + "-policy";
+        String componentName = rollupPrefix() + "-mappings";
+
+        client.ilm().putLifecycle(p -> p
+                .name(policyName)
+                .withJson(new StringReader(loadResource(DAILY_POLICY_RESOURCE).replace("${retention}", retention)))
+        );
+        client.cluster().putComponentTemplate(c -> c
+                .name(componentName)
+                .withJson(new StringReader(loadResource(ROLLUP_COMPONENT_TEMPLATE_RESOURCE)))
+        );
+        client.indices().putIndexTemplate(t -> t
+                .name(rollupPrefix())
+                .indexPatterns(rollupPrefix() + "-2*")
+                .composedOf(componentName)
+                .template(tpl -> tpl
+                        .settings(s -> s.lifecycle(l -> l.name(policyName)))
+                        .aliases(rollupReadAlias(), a -> a))
+        );
+    }
+
+    /**
+     * Earlier versions wrote every log to one concrete {@code <prefix>} index.
+     */
+    private void aliasLegacyIndex() throws IOException {
+        if (!client.indices().exists(e -> e.index(prefix)).value()
+                || client.indices().existsAlias(a -> a.index(prefix).name(readAlias())).value()) {
+            return;
+        }
+        client.indices().putAlias(a -> a.index(prefix).name(readAlias()));
+        log.warn("Legacy audit index {} added to read alias {}; it is not managed by ILM, "
+                + "reindex it into {}-yyyy.MM.dd indices or delete it once past retention", prefix, readAlias(), prefix);
+    }
+
+    private void bootstrapWriteIndex() throws IOException {
+        if (client.indices().existsAlias(a -> a.name(writeAlias())).value()) {
+            return;
+        }
+        try {
+            client.indices().create(c -> c
+                    .index("<" + prefix + "-{now/d}-000001>")
+                    .aliases(writeAlias(), a -> a.isWriteIndex(true))
+            );
+            log.info("Bootstrapped audit write alias {}", writeAlias());
+        } catch (ElasticsearchException e) {
+            // Another node bootstrapped it first
+            if (!"resource_already_exists_exception".equals(e.error().type())) {
+                throw e;
+            }
+        }
+    }
+
+    private String indexPattern() {
+        // Daily: mcp-audit-2024.01.31, rollover: mcp-audit-2024.01.31-000001
+        return prefix + "-2*";
+    }
+
+    private String rollupPrefix() {
+        // Outside the "<prefix>-2*" pattern, so audit templates never apply to rollups
+        return prefix + "-rollup";
+    }
+
+    private String loadPolicy() throws IOException {
+        if (mode == AuditIndexMode.ROLLOVER) {
+            return loadResource(ROLLOVER_POLICY_RESOURCE)
+                    .replace("${max_primary_shard_size}", rolloverMaxPrimaryShardSize)
+                    .replace("${max_age}", rolloverMaxAge)
+                    .replace("${retention}", retention);
+        }
+        return loadResource(DAILY_POLICY_RESOURCE).replace("${retention}", retention);
+    }
+
+    private String loadResource(String name) throws IOException {
+        try (InputStream in = AuditIndexManager.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private record DayIndex(long start, String name) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.financial.mcp.elasticsearch;
+
+/**
+ * How audit logs are partitioned across Elasticsearch indices.
+ */
+public enum AuditIndexMode {
+    /**
+     * One index per UTC day ({@code mcp-audit-yyyy.MM.dd}), picked from the log timestamp.
+     */
+    DAILY,
+
+    /**
+     * Writes go to the {@code mcp-audit-write} alias and ILM rolls the backing
+     * index over by size or age.
+     */
+    ROLLOVER
+}
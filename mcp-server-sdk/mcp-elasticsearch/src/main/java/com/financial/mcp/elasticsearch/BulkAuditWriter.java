@@ -0,0 +1,163 @@
+package com.financial.mcp.elasticsearch;
+
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import com.financial.mcp.core.audit.AuditLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Batched audit writer.
+ * Audit logs are published into a lock-free ring buffer and drained by a single
+ * writer thread that sends _bulk requests. A batch is flushed when it reaches the
+ * current batch size or when its oldest entry has waited for the flush interval.
+ * The batch size adapts to Elasticsearch latency (halved above the target,
+ * grown additively well below it). Rejected documents go to the DLQ individually.
+ * While {@link ElasticsearchHealthMonitor} reports an outage, batches are spilled
+ * to the DLQ without calling Elasticsearch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkAuditWriter {
+    private final AuditBulkIndexer bulkIndexer;
+    private final AuditDlqService auditDlqService;
+    private final ElasticsearchHealthMonitor healthMonitor;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000;
+
+    @Value("${mcp.audit.bulk.buffer-size:65536}")
+    int bufferSize;
+
+    @Value("${mcp.audit.bulk.min-batch-size:50}")
+    int minBatchSize;
+
+    @Value("${mcp.audit.bulk.max-batch-size:2000}")
+    int maxBatchSize;
+
+    @Value("${mcp.audit.bulk.flush-interval-ms:200}")
+    long flushIntervalMs;
+
+    @Value("${mcp.audit.bulk.target-latency-ms:500}")
+    long targetLatencyMs;
+
+    private AuditRingBuffer<AuditLog> ringBuffer;
+    private Thread writerThread;
+    private volatile boolean running;
+    private volatile int batchSize;
+
+    @PostConstruct
+    public void start() {
+        ringBuffer = new AuditRingBuffer<>(bufferSize);
+        batchSize = minBatchSize;
+        running = true;
+        writerThread = new Thread(this::drainLoop, "mcp-audit-bulk-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Bulk audit writer started (buffer: {}, batch: {}-{})",
+                ringBuffer.capacity(), minBatchSize, maxBatchSize);
+    }
+
+    /**
+     * Publish an audit log for batched indexing. Never blocks.
+     *
+     * @param auditLog Audit log to index
+     * @return false if the writer is stopped or the ring buffer is full
+     */
+    public boolean publish(AuditLog auditLog) {
+        return running && ringBuffer.offer(auditLog);
+    }
+
+    public int getBacklog() {
+        return ringBuffer.size();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Stop accepting logs and flush what is already buffered.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<AuditLog> leftover = new ArrayList<>();
+        ringBuffer.drainTo(leftover, Integer.MAX_VALUE);
+        leftover.forEach(auditDlqService::writeToDlq);
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(maxBatchSize);
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        long batchStartedAt = 0;
+
+        while (running || !ringBuffer.isEmpty() || !batch.isEmpty()) {
+            boolean wasEmpty = batch.isEmpty();
+            int drained = ringBuffer.drainTo(batch, batchSize - batch.size());
+            if (wasEmpty && drained > 0) {
+                batchStartedAt = System.nanoTime();
+            }
+
+            boolean full = batch.size() >= batchSize;
+            boolean lingered = !batch.isEmpty() && System.nanoTime() - batchStartedAt >= flushIntervalNanos;
+            if (full || lingered || (!running && !batch.isEmpty())) {
+                flush(batch);
+                batch.clear();
+            } else if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        if (!healthMonitor.isAvailable()) {
+            batch.forEach(auditDlqService::writeToDlq);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Integer> failed = bulkIndexer.index(batch);
+            for (int position : failed) {
+                auditDlqService.writeToDlq(batch.get(position));
+            }
+            if (!failed.isEmpty()) {
+                log.warn("{} of {} audit logs rejected by Elasticsearch, written to DLQ", failed.size(), batch.size());
+            }
+            healthMonitor.recordSuccess();
+            adaptBatchSize(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), batch.size());
+        } catch (IOException | ElasticsearchException e) {
+            healthMonitor.recordFailure();
+            log.warn("Bulk audit request failed, writing {} audit logs to DLQ", batch.size(), e);
+            batch.forEach(auditDlqService::writeToDlq);
+            batchSize = minBatchSize;
+        } catch (RuntimeException e) {
+            log.error("Could not build bulk audit request, writing {} audit logs to DLQ", batch.size(), e);
+            batch.forEach(auditDlqService::writeToDlq);
+        }
+    }
+
+    private void adaptBatchSize(long latencyMs, int sent) {
+        if (latencyMs > targetLatencyMs) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        } else if (latencyMs < targetLatencyMs / 2 && sent >= batchSize) {
+            batchSize = Math.min(maxBatchSize, batchSize + minBatchSize);
+        }
+    }
+}
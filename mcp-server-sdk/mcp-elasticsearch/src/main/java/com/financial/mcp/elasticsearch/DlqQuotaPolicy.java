@@ -0,0 +1,16 @@
+package com.financial.mcp.elasticsearch;
+
+/**
+ * What the audit DLQ does when a new segment would exceed its disk quota.
+ */
+public enum DlqQuotaPolicy {
+    /**
+     * Keep what is already on disk and drop incoming records until replay frees space.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Delete the oldest unreplayed segments to make room for incoming records.
+     */
+    DROP_OLDEST
+}
@@ -1,40 +1,63 @@
 package com.financial.mcp.elasticsearch;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
 import com.financial.mcp.core.audit.AuditLog;
 import com.financial.mcp.core.audit.AuditRepository;
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch.core.IndexRequest;
+import com.financial.mcp.core.audit.AuditRollup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
-import java.io.StringReader;
+import java.io.IOException;
+import java.util.List;
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class ElasticsearchAuditRepository implements AuditRepository {
-    private final ElasticsearchClient client;
-    private final ObjectMapper objectMapper;
+    private final BulkAuditWriter bulkAuditWriter;
     private final AuditDlqService auditDlqService;
-    private static final String INDEX_NAME = "mcp-audit";
+    private final AuditBulkIndexer bulkIndexer;
+    private final ElasticsearchHealthMonitor healthMonitor;
 
     @Override
     public void save(AuditLog auditLog) {
-        try {
-            String logJson = objectMapper.writeValueAsString(auditLog);
-            IndexRequest<Object> request = IndexRequest.of(i -> i
-                    .index(INDEX_NAME)
-                    .id(auditLog.getTraceId())
-                    .withJson(new StringReader(logJson))
-            );
-            client.index(request);
-            log.debug("Audit log indexed to Elasticsearch: {}", auditLog.getTraceId());
-        } catch (Exception e) {
-            log.warn("Failed to index audit log to Elasticsearch, writing to DLQ: {}", auditLog.getTraceId(), e);
+        if (!healthMonitor.isAvailable()) {
+            // Elasticsearch is down: skip the ring buffer and spill right away
+            auditDlqService.writeToDlq(auditLog);
+            return;
+        }
+        if (!bulkAuditWriter.publish(auditLog)) {
+            log.warn("Audit ring buffer full, writing to DLQ: {}", auditLog.getTraceId());
             // Fallback to DLQ
             auditDlqService.writeToDlq(auditLog);
         }
     }
+
+    /**
+     * Index rollups, spilling them to the DLQ like audit logs when Elasticsearch is
+     * down, the bulk request fails or it rejects individual rollups.
+     */
+    @Override
+    public void saveRollups(List<AuditRollup> rollups) {
+        if (!healthMonitor.isAvailable()) {
+            // Elasticsearch is down: do not wait for a timeout on every flush
+            rollups.forEach(auditDlqService::writeToDlq);
+            return;
+        }
+        try {
+            List<Integer> failed = bulkIndexer.indexRollups(rollups);
+            for (int position : failed) {
+                auditDlqService.writeToDlq(rollups.get(position));
+            }
+            if (!failed.isEmpty()) {
+                log.warn("{} of {} audit rollups rejected by Elasticsearch, written to DLQ", failed.size(), rollups.size());
+            }
+            healthMonitor.recordSuccess();
+        } catch (IOException | ElasticsearchException e) {
+            healthMonitor.recordFailure();
+            log.warn("Bulk rollup request failed, writing {} audit rollups to DLQ", rollups.size(), e);
+            rollups.forEach(auditDlqService::writeToDlq);
+        }
+    }
 }
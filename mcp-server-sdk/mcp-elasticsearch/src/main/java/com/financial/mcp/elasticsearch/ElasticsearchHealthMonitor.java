@@ -0,0 +1,100 @@
+package com.financial.mcp.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outage detector for the audit write path.
+ * Consecutive bulk failures switch to {@link ElasticsearchState#OUTAGE}, in which
+ * audit logs are spilled to the DLQ without paying an Elasticsearch timeout each.
+ * While in outage a background ping probes the cluster; once it answers, the
+ * state moves to {@link ElasticsearchState#RECOVERING} and back to
+ * {@link ElasticsearchState#HEALTHY} after enough successful requests.
+ * Any failure while recovering returns to outage.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ElasticsearchHealthMonitor {
+    private final ElasticsearchClient client;
+
+    @Value("${mcp.audit.outage.failure-threshold:3}")
+    int failureThreshold = 3;
+
+    @Value("${mcp.audit.outage.recovery-successes:5}")
+    int recoverySuccesses = 5;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger consecutiveSuccesses = new AtomicInteger();
+    private volatile ElasticsearchState state = ElasticsearchState.HEALTHY;
+
+    public ElasticsearchState getState() {
+        return state;
+    }
+
+    /**
+     * @return false while in outage, i.e. callers should spill instead of calling Elasticsearch
+     */
+    public boolean isAvailable() {
+        return state != ElasticsearchState.OUTAGE;
+    }
+
+    /**
+     * Record a successful request to Elasticsearch.
+     */
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (state == ElasticsearchState.RECOVERING && consecutiveSuccesses.incrementAndGet() >= recoverySuccesses) {
+            transition(ElasticsearchState.RECOVERING, ElasticsearchState.HEALTHY);
+        }
+    }
+
+    /**
+     * Record a request that failed as a whole (connection error, timeout, 5xx).
+     */
+    public void recordFailure() {
+        consecutiveSuccesses.set(0);
+        ElasticsearchState current = state;
+        if (current == ElasticsearchState.RECOVERING
+                || (current == ElasticsearchState.HEALTHY && consecutiveFailures.incrementAndGet() >= failureThreshold)) {
+            transition(current, ElasticsearchState.OUTAGE);
+        }
+    }
+
+    /**
+     * Ping Elasticsearch while in outage.
+     */
+    @Scheduled(fixedDelayString = "${mcp.audit.outage.probe-interval-ms:5000}")
+    public void probe() {
+        if (state != ElasticsearchState.OUTAGE) {
+            return;
+        }
+        try {
+            if (client.ping().value()) {
+                transition(ElasticsearchState.OUTAGE, ElasticsearchState.RECOVERING);
+            }
+        } catch (Exception e) {
+            log.debug("Elasticsearch still unavailable: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void transition(ElasticsearchState from, ElasticsearchState to) {
+        if (state != from) {
+            return;
+        }
+        state = to;
+        consecutiveFailures.set(0);
+        consecutiveSuccesses.set(0);
+        if (to == ElasticsearchState.OUTAGE) {
+            log.warn("Elasticsearch outage detected, spilling audit logs to DLQ");
+        } else {
+            log.info("Elasticsearch audit state: {} -> {}", from, to);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.financial.mcp.elasticsearch;
+
+/**
+ * Availability of Elasticsearch as seen by the audit writers.
+ */
+public enum ElasticsearchState {
+    /**
+     * Bulk requests succeed; audit logs are indexed and the DLQ is replayed at full budget.
+     */
+    HEALTHY,
+
+    /**
+     * Bulk requests keep failing; audit logs go straight to the DLQ without
+     * calling Elasticsearch, and a background ping probes for recovery.
+     */
+    OUTAGE,
+
+    /**
+     * The probe succeeded; live traffic is indexed again and DLQ replay ramps up.
+     */
+    RECOVERING
+}
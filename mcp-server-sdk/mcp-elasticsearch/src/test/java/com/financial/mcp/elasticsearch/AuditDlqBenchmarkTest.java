@@ -0,0 +1,79 @@
+package com.financial.mcp.elasticsearch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.audit.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes per event and replay throughput of the DLQ block log.
+ * Opt-in: run with {@code -Dmcp.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "mcp.benchmark", matches = "true")
+class AuditDlqBenchmarkTest {
+    private static final int EVENTS = 200_000;
+    private static final int REPLAY_BATCH = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void benchmarkWriteAndReplay() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        AuditDlqService service = new AuditDlqService(objectMapper);
+        service.dlqPath = tempDir.toString();
+        // One segment, so the final cursor offset is the number of bytes written
+        service.segmentSizeBytes = 1L << 30;
+
+        long jsonBytes = 0;
+        long writeStart = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            AuditLog auditLog = auditLog(i);
+            service.writeToDlq(auditLog);
+            if (i % 1000 == 0) {
+                jsonBytes += objectMapper.writeValueAsBytes(auditLog).length;
+            }
+        }
+        service.flush();
+        long writeNanos = System.nanoTime() - writeStart;
+
+        long replayStart = System.nanoTime();
+        int replayed = 0;
+        long storedBytes = 0;
+        AuditDlqService.DlqBatch batch;
+        while (!(batch = service.readBatch(REPLAY_BATCH)).isEmpty()) {
+            replayed += batch.logs().size();
+            storedBytes = batch.endOffset();
+            service.acknowledge(batch);
+        }
+        long replayNanos = System.nanoTime() - replayStart;
+        service.close();
+
+        assertEquals(EVENTS, replayed);
+        System.out.printf("DLQ benchmark: %d events%n", EVENTS);
+        System.out.printf("  bytes/event: %.1f stored, %.1f as JSON lines%n",
+                (double) storedBytes / EVENTS, (double) jsonBytes / (EVENTS / 1000) + 1);
+        System.out.printf("  write:  %.0f events/s%n", EVENTS / (writeNanos / 1e9));
+        System.out.printf("  replay: %.0f events/s%n", replayed / (replayNanos / 1e9));
+    }
+
+    private AuditLog auditLog(int i) {
+        return AuditLog.builder()
+                .traceId("trace-" + i)
+                .userId("user-" + (i % 500))
+                .callerId("caller-" + (i % 20))
+                .toolId("ifrs17.loss_projection")
+                .method("tools/call")
+                .paramsHash("n4bQgYhMfWWaL+qgxVrQFaO/TxsrC4Is0V1sFbDwCgg=")
+                .resultCode(i % 50 == 0 ? "TOOL_ERROR" : "SUCCESS")
+                .latencyMs(i % 300)
+                .timestamp(1_700_000_000_000L + i)
+                .dept("RISK")
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.financial.mcp.elasticsearch;
+
+import com.financial.mcp.core.audit.AuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditDlqReplayerTest {
+    @Mock
+    private AuditDlqService auditDlqService;
+
+    @Mock
+    private AuditBulkIndexer bulkIndexer;
+
+    @Mock
+    private BulkAuditWriter bulkAuditWriter;
+
+    @Mock
+    private ElasticsearchHealthMonitor healthMonitor;
+
+    private AuditDlqReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        replayer = new AuditDlqReplayer(auditDlqService, bulkIndexer, bulkAuditWriter, healthMonitor);
+        replayer.replayBatchSize = 10;
+        replayer.maxBatchesPerRun = 4;
+        replayer.yieldBacklog = 1000;
+        when(healthMonitor.isAvailable()).thenReturn(true);
+    }
+
+    @Test
+    void testReplay_LocalDlqErrorDoesNotCountAgainstElasticsearch() throws Exception {
+        when(auditDlqService.readBatch(anyInt())).thenThrow(new IOException("corrupt segment"));
+
+        replayer.replay();
+
+        verify(healthMonitor, never()).recordFailure();
+        verifyNoInteractions(bulkIndexer);
+    }
+
+    @Test
+    void testReplay_BulkFailureCountsAgainstElasticsearch() throws Exception {
+        AuditDlqService.DlqBatch batch = new AuditDlqService.DlqBatch(
+                List.of(AuditLog.builder().traceId("trace-1").build()), List.of(0), List.of(), List.of(),
+                1, 0, 0, 1, 100, 0);
+        when(auditDlqService.readBatch(anyInt())).thenReturn(batch);
+        when(bulkIndexer.index(batch.logs())).thenThrow(new IOException("connection refused"));
+
+        replayer.replay();
+
+        verify(healthMonitor).recordFailure();
+        verify(auditDlqService, never()).acknowledge(any());
+    }
+}
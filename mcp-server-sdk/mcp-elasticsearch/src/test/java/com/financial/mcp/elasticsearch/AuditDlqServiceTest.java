@@ -2,16 +2,19 @@ package com.financial.mcp.elasticsearch;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.financial.mcp.core.audit.AuditLog;
+import com.financial.mcp.core.audit.AuditRollup;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,78 +28,33 @@ class AuditDlqServiceTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        service = new AuditDlqService(objectMapper);
-        // Override DLQ path to temp directory
-        service.dlqPath = tempDir.toString();
+        service = newService();
     }
 
-    @Test
-    void testWriteToDlq_CreatesFileAndWritesLog() throws Exception {
-        AuditLog auditLog = AuditLog.builder()
-                .traceId("trace-123")
-                .userId("user-456")
-                .callerId("caller-789")
-                .toolId("test.tool")
-                .method("test.tool.execute")
-                .paramsHash("hash123")
-                .resultCode("SUCCESS")
-                .latencyMs(100)
-                .timestamp(System.currentTimeMillis())
-                .dept("FINANCE")
-                .build();
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
 
-        service.writeToDlq(auditLog);
+    @Test
+    void testWriteToDlq_CreatesSegmentAndWritesLog() throws Exception {
+        service.writeToDlq(auditLog("trace-123"));
 
-        // Verify file was created
-        String dateStr = new SimpleDateFormat("yyyyMMdd").format(new Date());
-        Path filePath = tempDir.resolve("audit-" + dateStr + ".log");
-        assertTrue(Files.exists(filePath));
+        assertEquals(1, segments().size());
 
-        // Verify content
-        List<String> lines = Files.readAllLines(filePath);
-        assertEquals(1, lines.size());
-        
-        AuditLog readLog = objectMapper.readValue(lines.get(0), AuditLog.class);
-        assertEquals("trace-123", readLog.getTraceId());
-        assertEquals("user-456", readLog.getUserId());
+        AuditDlqService.DlqBatch batch = service.readBatch(10);
+        assertEquals(1, batch.logs().size());
+        assertEquals("trace-123", batch.logs().get(0).getTraceId());
+        assertEquals("user-trace-123", batch.logs().get(0).getUserId());
     }
 
     @Test
-    void testWriteToDlq_AppendToExistingFile() throws Exception {
-        AuditLog log1 = AuditLog.builder()
-                .traceId("trace-1")
-                .userId("user-1")
-                .callerId("caller-1")
-                .toolId("test.tool")
-                .method("test.tool.execute")
-                .paramsHash("hash1")
-                .resultCode("SUCCESS")
-                .latencyMs(100)
-                .timestamp(System.currentTimeMillis())
-                .dept("FINANCE")
-                .build();
+    void testWriteToDlq_AppendToExistingSegment() throws Exception {
+        service.writeToDlq(auditLog("trace-1"));
+        service.writeToDlq(auditLog("trace-2"));
 
-        AuditLog log2 = AuditLog.builder()
-                .traceId("trace-2")
-                .userId("user-2")
-                .callerId("caller-2")
-                .toolId("test.tool")
-                .method("test.tool.execute")
-                .paramsHash("hash2")
-                .resultCode("SUCCESS")
-                .latencyMs(150)
-                .timestamp(System.currentTimeMillis())
-                .dept("FINANCE")
-                .build();
-
-        service.writeToDlq(log1);
-        service.writeToDlq(log2);
-
-        // Verify both logs are in file
-        String dateStr = new SimpleDateFormat("yyyyMMdd").format(new Date());
-        Path filePath = tempDir.resolve("audit-" + dateStr + ".log");
-        List<String> lines = Files.readAllLines(filePath);
-        assertEquals(2, lines.size());
+        assertEquals(1, segments().size());
+        assertEquals(2, service.readBatch(10).logs().size());
     }
 
     @Test
@@ -104,9 +62,241 @@ class AuditDlqServiceTest {
         Path customDlqPath = tempDir.resolve("custom/dlq/path");
         service.dlqPath = customDlqPath.toString();
 
-        AuditLog auditLog = AuditLog.builder()
-                .traceId("trace-123")
-                .userId("user-456")
+        service.writeToDlq(auditLog("trace-123"));
+
+        assertTrue(Files.exists(customDlqPath));
+        try (Stream<Path> files = Files.list(customDlqPath)) {
+            assertEquals(1, files.filter(p -> p.toString().endsWith(".dlq")).count());
+        }
+    }
+
+    @Test
+    void testWriteToDlq_RollsSegmentsWhenFull() throws Exception {
+        service.segmentSizeBytes = 512;
+        service.fsyncEvery = 1;
+
+        for (int i = 0; i < 10; i++) {
+            service.writeToDlq(auditLog("trace-" + i));
+        }
+
+        assertTrue(segments().size() > 1);
+        assertEquals(10, service.readBatch(100).logs().size());
+    }
+
+    @Test
+    void testAcknowledge_AdvancesCheckpointAndDeletesReplayedSegments() throws Exception {
+        service.segmentSizeBytes = 512;
+        service.fsyncEvery = 1;
+        for (int i = 0; i < 10; i++) {
+            service.writeToDlq(auditLog("trace-" + i));
+        }
+        int segmentsBefore = segments().size();
+
+        AuditDlqService.DlqBatch first = service.readBatch(6);
+        assertEquals("trace-0", first.logs().get(0).getTraceId());
+        service.acknowledge(first);
+
+        assertTrue(segments().size() < segmentsBefore);
+
+        // Checkpoint survives a restart
+        service.close();
+        service = newService();
+        service.segmentSizeBytes = 512;
+        service.fsyncEvery = 1;
+
+        AuditDlqService.DlqBatch rest = service.readBatch(100);
+        assertEquals(4, rest.logs().size());
+        assertEquals("trace-6", rest.logs().get(0).getTraceId());
+        service.acknowledge(rest);
+
+        assertTrue(service.readBatch(100).isEmpty());
+    }
+
+    @Test
+    void testAcknowledge_ResumesInsideCompressedBlock() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            service.writeToDlq(auditLog("trace-" + i));
+        }
+
+        AuditDlqService.DlqBatch first = service.readBatch(6);
+        assertEquals(6, first.logs().size());
+        service.acknowledge(first);
+
+        service.close();
+        service = newService();
+
+        AuditDlqService.DlqBatch rest = service.readBatch(100);
+        assertEquals(4, rest.logs().size());
+        assertEquals("trace-6", rest.logs().get(0).getTraceId());
+    }
+
+    @Test
+    void testWriteToDlq_CompressesBlocks() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            service.writeToDlq(auditLog("trace-" + i));
+        }
+        service.close();
+
+        long json = 0;
+        for (int i = 0; i < 100; i++) {
+            json += objectMapper.writeValueAsBytes(auditLog("trace-" + i)).length;
+        }
+        // Segment files are preallocated, so compare the written prefix
+        service = newService();
+        AuditDlqService.DlqBatch batch = service.readBatch(1000);
+        assertEquals(100, batch.logs().size());
+        assertTrue(batch.endOffset() < json / 2, "compressed " + batch.endOffset() + " vs json " + json);
+    }
+
+    @Test
+    void testDiskQuota_DropNewestKeepsExistingRecords() throws Exception {
+        service.segmentSizeBytes = 512;
+        service.fsyncEvery = 1;
+        service.maxDiskBytes = 1024;
+        service.quotaPolicy = DlqQuotaPolicy.DROP_NEWEST;
+
+        for (int i = 0; i < 40; i++) {
+            service.writeToDlq(auditLog("trace-" + i));
+        }
+
+        assertTrue(service.getDroppedRecords() > 0);
+        assertEquals(2, segments().size());
+        List<AuditLog> logs = service.readBatch(100).logs();
+        assertEquals(40 - service.getDroppedRecords(), logs.size());
+        assertEquals("trace-0", logs.get(0).getTraceId());
+    }
+
+    @Test
+    void testDiskQuota_DropOldestKeepsLatestRecords() throws Exception {
+        service.segmentSizeBytes = 512;
+        service.fsyncEvery = 1;
+        service.maxDiskBytes = 1024;
+        service.quotaPolicy = DlqQuotaPolicy.DROP_OLDEST;
+
+        for (int i = 0; i < 40; i++) {
+            service.writeToDlq(auditLog("trace-" + i));
+        }
+
+        assertEquals(0, service.getDroppedRecords());
+        List<AuditLog> logs = service.readBatch(100).logs();
+        assertNotEquals("trace-0", logs.get(0).getTraceId());
+        assertEquals("trace-39", logs.get(logs.size() - 1).getTraceId());
+    }
+
+    @Test
+    void testRestart_ContinuesAppendingAfterLastRecord() throws Exception {
+        service.writeToDlq(auditLog("trace-1"));
+        service.close();
+
+        service = newService();
+        service.writeToDlq(auditLog("trace-2"));
+
+        List<AuditLog> logs = service.readBatch(10).logs();
+        assertEquals(2, logs.size());
+        assertEquals("trace-2", logs.get(1).getTraceId());
+    }
+
+    @Test
+    void testRestart_CorruptBlockDoesNotHideOrOverwriteLaterBlocks() throws Exception {
+        service.fsyncEvery = 1;
+        for (int i = 0; i < 3; i++) {
+            service.writeToDlq(auditLog("trace-" + i));
+        }
+        service.close();
+
+        // Flip a byte inside the first block's data
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer data = ByteBuffer.allocate(1);
+            channel.read(data, 30);
+            data.put(0, (byte) (data.get(0) ^ 0xFF)).rewind();
+            channel.write(data, 30);
+        }
+
+        service = newService();
+        service.fsyncEvery = 1;
+        service.writeToDlq(auditLog("trace-3"));
+
+        List<String> traceIds = service.readBatch(10).logs().stream().map(AuditLog::getTraceId).toList();
+        assertEquals(List.of("trace-1", "trace-2", "trace-3"), traceIds);
+    }
+
+    @Test
+    void testLegacyJsonLinesFiles_AreImported() throws Exception {
+        Path legacy = tempDir.resolve("audit-20240101.log");
+        Files.writeString(legacy, objectMapper.writeValueAsString(auditLog("trace-legacy")) + "\n");
+
+        AuditDlqService.DlqBatch batch = service.readBatch(10);
+
+        assertEquals(1, batch.logs().size());
+        assertEquals("trace-legacy", batch.logs().get(0).getTraceId());
+        assertFalse(Files.exists(legacy));
+    }
+
+    @Test
+    void testRequeue_ParksAfterMaxReplayAttempts() throws Exception {
+        service.maxReplayAttempts = 2;
+        service.writeToDlq(auditLog("trace-rejected"));
+
+        AuditDlqService.DlqBatch first = service.readBatch(10);
+        assertEquals(List.of(0), first.failedReplays());
+        service.requeue(first.logs().get(0), first.failedReplays().get(0) + 1);
+        service.acknowledge(first);
+
+        AuditDlqService.DlqBatch second = service.readBatch(10);
+        assertEquals(List.of(1), second.failedReplays());
+        service.requeue(second.logs().get(0), second.failedReplays().get(0) + 1);
+        service.acknowledge(second);
+
+        assertTrue(service.readBatch(10).isEmpty());
+        assertEquals(1, service.getParkedRecords());
+        List<String> parked = Files.readAllLines(tempDir.resolve("parked.jsonl"));
+        assertEquals(1, parked.size());
+        assertEquals("trace-rejected", objectMapper.readValue(parked.get(0), AuditLog.class).getTraceId());
+    }
+
+    @Test
+    void testWriteToDlq_RollupsReadBackNextToLogs() throws Exception {
+        service.writeToDlq(auditLog("trace-1"));
+        service.writeToDlq(AuditRollup.builder()
+                .rollupId("rollup-1")
+                .toolId("test.tool")
+                .callCount(3)
+                .paramsHashes(List.of("h1", "h2", "h3"))
+                .build());
+        service.close();
+
+        service = newService();
+        AuditDlqService.DlqBatch batch = service.readBatch(10);
+
+        assertEquals(1, batch.logs().size());
+        assertEquals(1, batch.rollups().size());
+        assertEquals("rollup-1", batch.rollups().get(0).getRollupId());
+        assertEquals(List.of("h1", "h2", "h3"), batch.rollups().get(0).getParamsHashes());
+        assertEquals(List.of(0), batch.rollupFailedReplays());
+
+        service.requeue(batch.rollups().get(0), 1);
+        service.acknowledge(batch);
+        assertEquals(List.of(1), service.readBatch(10).rollupFailedReplays());
+    }
+
+    private AuditDlqService newService() {
+        AuditDlqService dlq = new AuditDlqService(objectMapper);
+        // Override DLQ path to temp directory
+        dlq.dlqPath = tempDir.toString();
+        return dlq;
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".dlq")).toList();
+        }
+    }
+
+    private AuditLog auditLog(String traceId) {
+        return AuditLog.builder()
+                .traceId(traceId)
+                .userId("user-" + traceId)
                 .callerId("caller-789")
                 .toolId("test.tool")
                 .method("test.tool.execute")
@@ -116,13 +306,5 @@ class AuditDlqServiceTest {
                 .timestamp(System.currentTimeMillis())
                 .dept("FINANCE")
                 .build();
-
-        service.writeToDlq(auditLog);
-
-        assertTrue(Files.exists(customDlqPath));
-        
-        String dateStr = new SimpleDateFormat("yyyyMMdd").format(new Date());
-        Path filePath = customDlqPath.resolve("audit-" + dateStr + ".log");
-        assertTrue(Files.exists(filePath));
     }
 }
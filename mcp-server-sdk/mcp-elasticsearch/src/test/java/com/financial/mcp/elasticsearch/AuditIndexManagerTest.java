@@ -0,0 +1,59 @@
+package com.financial.mcp.elasticsearch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditIndexManagerTest {
+    private AuditIndexManager indexManager;
+
+    @BeforeEach
+    void setUp() {
+        indexManager = new AuditIndexManager(null);
+    }
+
+    @Test
+    void testIndexFor_DailyIndexFromUtcTimestamp() {
+        long lastMilli = Instant.parse("2024-01-31T23:59:59.999Z").toEpochMilli();
+
+        assertEquals("mcp-audit-2024.01.31", indexManager.indexFor(lastMilli));
+        assertEquals("mcp-audit-2024.02.01", indexManager.indexFor(lastMilli + 1));
+        assertEquals("mcp-audit-2024.01.31", indexManager.indexFor(lastMilli));
+        assertFalse(indexManager.isRequireAlias());
+    }
+
+    @Test
+    void testIndexFor_RolloverWritesToWriteAlias() {
+        indexManager.mode = AuditIndexMode.ROLLOVER;
+
+        assertEquals("mcp-audit-write", indexManager.indexFor(System.currentTimeMillis()));
+        assertTrue(indexManager.isRequireAlias());
+    }
+
+    @Test
+    void testAliases_DoNotCollideWithLegacyIndexOrPattern() {
+        indexManager.prefix = "bank-audit";
+
+        assertEquals("bank-audit-all", indexManager.readAlias());
+        assertEquals("bank-audit-write", indexManager.writeAlias());
+        assertNotEquals("bank-audit", indexManager.readAlias());
+        // Neither alias may match the "<prefix>-2*" template pattern
+        assertFalse(indexManager.readAlias().startsWith("bank-audit-2"));
+        assertFalse(indexManager.writeAlias().startsWith("bank-audit-2"));
+    }
+
+    @Test
+    void testRollupIndexFor_DailyUnderPrefixEvenInRolloverMode() {
+        indexManager.prefix = "bank-audit";
+        indexManager.mode = AuditIndexMode.ROLLOVER;
+        long windowStart = Instant.parse("2024-01-31T23:59:00Z").toEpochMilli();
+
+        assertEquals("bank-audit-rollup-2024.01.31", indexManager.rollupIndexFor(windowStart));
+        assertEquals("bank-audit-rollup-all", indexManager.rollupReadAlias());
+        // Rollups must stay out of the audit log template and read alias
+        assertFalse(indexManager.rollupIndexFor(windowStart).startsWith("bank-audit-2"));
+    }
+}
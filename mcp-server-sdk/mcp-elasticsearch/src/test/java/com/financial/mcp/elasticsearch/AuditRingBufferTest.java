@@ -0,0 +1,74 @@
+package com.financial.mcp.elasticsearch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void testCapacity_RoundsUpToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer<String>(5).capacity());
+        assertEquals(8, new AuditRingBuffer<String>(8).capacity());
+    }
+
+    @Test
+    void testOffer_RejectsWhenFullAndAcceptsAfterDrain() {
+        AuditRingBuffer<String> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer("log-" + i));
+        }
+        assertFalse(buffer.offer("overflow"));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(List.of("log-0", "log-1"), drained);
+
+        assertTrue(buffer.offer("log-4"));
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    void testConcurrentProducers_NoLossOrDuplication() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            for (Integer value : batch) {
+                assertTrue(seen.add(value), "duplicate element " + value);
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package com.financial.mcp.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.transport.endpoints.BooleanResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ElasticsearchHealthMonitorTest {
+    @Mock
+    private ElasticsearchClient client;
+
+    private ElasticsearchHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ElasticsearchHealthMonitor(client);
+        monitor.failureThreshold = 3;
+        monitor.recoverySuccesses = 2;
+    }
+
+    @Test
+    void testRecordFailure_EntersOutageAfterThreshold() {
+        monitor.recordFailure();
+        monitor.recordFailure();
+        assertTrue(monitor.isAvailable());
+
+        monitor.recordFailure();
+
+        assertEquals(ElasticsearchState.OUTAGE, monitor.getState());
+        assertFalse(monitor.isAvailable());
+    }
+
+    @Test
+    void testRecordSuccess_ResetsFailureCount() {
+        monitor.recordFailure();
+        monitor.recordFailure();
+        monitor.recordSuccess();
+        monitor.recordFailure();
+
+        assertEquals(ElasticsearchState.HEALTHY, monitor.getState());
+    }
+
+    @Test
+    void testProbe_RecoversGraduallyAfterPing() throws Exception {
+        enterOutage();
+        when(client.ping()).thenThrow(new IOException("connection refused"));
+        monitor.probe();
+        assertEquals(ElasticsearchState.OUTAGE, monitor.getState());
+
+        reset(client);
+        when(client.ping()).thenReturn(new BooleanResponse(true));
+        monitor.probe();
+        assertEquals(ElasticsearchState.RECOVERING, monitor.getState());
+        assertTrue(monitor.isAvailable());
+
+        monitor.recordSuccess();
+        assertEquals(ElasticsearchState.RECOVERING, monitor.getState());
+        monitor.recordSuccess();
+        assertEquals(ElasticsearchState.HEALTHY, monitor.getState());
+    }
+
+    @Test
+    void testRecordFailure_WhileRecoveringReturnsToOutage() throws Exception {
+        enterOutage();
+        when(client.ping()).thenReturn(new BooleanResponse(true));
+        monitor.probe();
+
+        monitor.recordFailure();
+
+        assertEquals(ElasticsearchState.OUTAGE, monitor.getState());
+    }
+
+    @Test
+    void testProbe_SkippedWhenHealthy() throws Exception {
+        monitor.probe();
+
+        verify(client, never()).ping();
+    }
+
+    private void enterOutage() {
+        for (int i = 0; i < 3; i++) {
+            monitor.recordFailure();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.financial.mcp.postgres.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.List;
+
+@Entity
+@Table(name = "policy_rule")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyRuleEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false)
+    private String toolPattern;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<String> roles;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<String> depts;
+
+    @Column(nullable = false)
+    private String effect;
+
+    @Column(nullable = false)
+    private long createdAt;
+
+    @Column(nullable = false)
+    private long updatedAt;
+}
@@ -10,7 +10,7 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 @Entity
-@Table(name = "tool_registry")
+@Table(name = "tool_registry", uniqueConstraints = @UniqueConstraint(name = "uk_tool_registry_tool_id_version", columnNames = {"tool_id", "version"}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,7 +20,7 @@ public class ToolRegistryEntity {
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String toolId;
 
     @Column(nullable = false)
@@ -39,6 +39,9 @@ public class ToolRegistryEntity {
     @Column(columnDefinition = "text")
     private String description;
 
+    @Column(length = 512)
+    private String restPath;
+
     @Column(nullable = false)
     private long createdAt;
 
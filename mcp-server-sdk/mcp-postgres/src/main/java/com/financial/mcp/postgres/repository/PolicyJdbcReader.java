@@ -0,0 +1,134 @@
+package com.financial.mcp.postgres.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.financial.mcp.core.policy.DataMaskingPolicy;
+import com.financial.mcp.core.policy.ToolPolicy;
+import com.financial.mcp.core.policy.UserPolicyBundle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC read path for policies: prepared statements on JdbcTemplate, rows
+ * mapped directly to domain objects. Lookups are served from the
+ * (user_id, tool_id, version) covering indexes added in V3.
+ *
+ * <p>An unversioned lookup prefers the policy without a version, and otherwise
+ * returns one of the user's version-specific policies for the tool.
+ */
+@Repository
+public class PolicyJdbcReader {
+    private static final String POLICY_COLUMNS =
+            "SELECT user_id, tool_id, version, allowed, data_level, created_at, updated_at FROM tool_policy ";
+    private static final String POLICY = POLICY_COLUMNS
+            + "WHERE user_id = ? AND tool_id = ? ORDER BY version NULLS FIRST LIMIT 1";
+    private static final String POLICY_BY_VERSION = POLICY_COLUMNS
+            + "WHERE user_id = ? AND tool_id = ? AND version = ?";
+
+    private static final String MASKING_COLUMNS =
+            "SELECT user_id, tool_id, version, column_masks, data_level FROM data_masking_policy ";
+    private static final String MASKING = MASKING_COLUMNS
+            + "WHERE user_id = ? AND tool_id = ? ORDER BY version NULLS FIRST LIMIT 1";
+    private static final String MASKING_BY_VERSION = MASKING_COLUMNS
+            + "WHERE user_id = ? AND tool_id = ? AND version = ?";
+
+    /** Both policy tables of one user in a single round trip; kind is 'P' (tool policy) or 'M' (masking). */
+    private static final String USER_POLICIES =
+            "SELECT 'P' AS kind, tool_id, version, allowed, data_level, NULL::text AS column_masks, "
+                    + "created_at, updated_at FROM tool_policy WHERE user_id = ? "
+                    + "UNION ALL "
+                    + "SELECT 'M', tool_id, version, NULL::boolean, data_level, column_masks::text, "
+                    + "created_at, updated_at FROM data_masking_policy WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectReader columnMasksReader;
+
+    private final RowMapper<ToolPolicy> policyMapper = (rs, rowNum) -> ToolPolicy.builder()
+            .userId(rs.getString(1))
+            .toolId(rs.getString(2))
+            .version(rs.getString(3))
+            .allowed(rs.getBoolean(4))
+            .dataLevel(rs.getString(5))
+            .createdAt(rs.getLong(6))
+            .updatedAt(rs.getLong(7))
+            .build();
+
+    private final RowMapper<DataMaskingPolicy> maskingMapper = (rs, rowNum) -> DataMaskingPolicy.builder()
+            .userId(rs.getString(1))
+            .toolId(rs.getString(2))
+            .version(rs.getString(3))
+            .columnMasks(readColumnMasks(rs.getString(4)))
+            .dataLevel(rs.getString(5))
+            .build();
+
+    public PolicyJdbcReader(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.columnMasksReader = objectMapper.readerFor(new TypeReference<Map<String, String>>() {});
+    }
+
+    public ToolPolicy findPolicy(String userId, String toolId) {
+        return first(jdbcTemplate.query(POLICY, policyMapper, userId, toolId));
+    }
+
+    public ToolPolicy findPolicyByVersion(String userId, String toolId, String version) {
+        return first(jdbcTemplate.query(POLICY_BY_VERSION, policyMapper, userId, toolId, version));
+    }
+
+    public DataMaskingPolicy findMaskingPolicy(String userId, String toolId) {
+        return first(jdbcTemplate.query(MASKING, maskingMapper, userId, toolId));
+    }
+
+    public DataMaskingPolicy findMaskingPolicyByVersion(String userId, String toolId, String version) {
+        return first(jdbcTemplate.query(MASKING_BY_VERSION, maskingMapper, userId, toolId, version));
+    }
+
+    public UserPolicyBundle findUserPolicies(String userId) {
+        List<ToolPolicy> policies = new ArrayList<>();
+        List<DataMaskingPolicy> maskingPolicies = new ArrayList<>();
+        jdbcTemplate.query(USER_POLICIES, rs -> {
+            if ("P".equals(rs.getString(1))) {
+                policies.add(ToolPolicy.builder()
+                        .userId(userId)
+                        .toolId(rs.getString(2))
+                        .version(rs.getString(3))
+                        .allowed(rs.getBoolean(4))
+                        .dataLevel(rs.getString(5))
+                        .createdAt(rs.getLong(7))
+                        .updatedAt(rs.getLong(8))
+                        .build());
+            } else {
+                maskingPolicies.add(DataMaskingPolicy.builder()
+                        .userId(userId)
+                        .toolId(rs.getString(2))
+                        .version(rs.getString(3))
+                        .columnMasks(readColumnMasks(rs.getString(6)))
+                        .dataLevel(rs.getString(5))
+                        .build());
+            }
+        }, userId, userId);
+        return UserPolicyBundle.of(userId, policies, maskingPolicies);
+    }
+
+    private static <T> T first(List<T> rows) {
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private Map<String, String> readColumnMasks(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return columnMasksReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Invalid column_masks JSON in data_masking_policy", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.financial.mcp.postgres.repository;
+
+import com.financial.mcp.postgres.entity.PolicyRuleEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PolicyRuleJpaRepository extends JpaRepository<PolicyRuleEntity, String> {
+}
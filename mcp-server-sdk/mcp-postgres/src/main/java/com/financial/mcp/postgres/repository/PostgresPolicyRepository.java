@@ -1,21 +1,41 @@
 package com.financial.mcp.postgres.repository;
 
 import com.financial.mcp.core.policy.DataMaskingPolicy;
+import com.financial.mcp.core.policy.PolicyEffect;
 import com.financial.mcp.core.policy.PolicyRepository;
+import com.financial.mcp.core.policy.PolicyRule;
 import com.financial.mcp.core.policy.ToolPolicy;
+import com.financial.mcp.core.policy.UserPolicyBundle;
 import com.financial.mcp.postgres.entity.DataMaskingPolicyEntity;
+import com.financial.mcp.postgres.entity.PolicyRuleEntity;
 import com.financial.mcp.postgres.entity.ToolPolicyEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
+/**
+ * Policies in Postgres. Writes always use JPA; lookups use JPA or, with
+ * {@code mcp.postgres.read-path=jdbc}, the {@link PolicyJdbcReader}.
+ * A user's whole policy bundle is always read with one JDBC query.
+ */
 @Repository
 @RequiredArgsConstructor
 public class PostgresPolicyRepository implements PolicyRepository {
     private final PolicyJpaRepository policyJpaRepository;
     private final MaskingPolicyJpaRepository maskingJpaRepository;
+    private final PolicyJdbcReader jdbcReader;
+    private final PolicyRuleJpaRepository ruleJpaRepository;
+
+    @Value("${mcp.postgres.read-path:JPA}")
+    PostgresReadPath readPath = PostgresReadPath.JPA;
 
     @Override
     public ToolPolicy findPolicyByUserAndTool(String userId, String toolId) {
+        if (readPath == PostgresReadPath.JDBC) {
+            return jdbcReader.findPolicy(userId, toolId);
+        }
         ToolPolicyEntity entity = policyJpaRepository.findByUserIdAndToolId(userId, toolId);
         if (entity == null) {
             return null;
@@ -25,6 +45,9 @@ public class PostgresPolicyRepository implements PolicyRepository {
 
     @Override
     public ToolPolicy findPolicyByUserToolAndVersion(String userId, String toolId, String version) {
+        if (readPath == PostgresReadPath.JDBC) {
+            return jdbcReader.findPolicyByVersion(userId, toolId, version);
+        }
         ToolPolicyEntity entity = policyJpaRepository.findByUserIdAndToolIdAndVersion(userId, toolId, version);
         if (entity == null) {
             return null;
@@ -34,6 +57,9 @@ public class PostgresPolicyRepository implements PolicyRepository {
 
     @Override
     public DataMaskingPolicy findMaskingPolicy(String userId, String toolId) {
+        if (readPath == PostgresReadPath.JDBC) {
+            return jdbcReader.findMaskingPolicy(userId, toolId);
+        }
         DataMaskingPolicyEntity entity = maskingJpaRepository.findByUserIdAndToolId(userId, toolId);
         if (entity == null) {
             return null;
@@ -43,6 +69,9 @@ public class PostgresPolicyRepository implements PolicyRepository {
 
     @Override
     public DataMaskingPolicy findMaskingPolicyByVersion(String userId, String toolId, String version) {
+        if (readPath == PostgresReadPath.JDBC) {
+            return jdbcReader.findMaskingPolicyByVersion(userId, toolId, version);
+        }
         DataMaskingPolicyEntity entity = maskingJpaRepository.findByUserIdAndToolIdAndVersion(userId, toolId, version);
         if (entity == null) {
             return null;
@@ -50,6 +79,11 @@ public class PostgresPolicyRepository implements PolicyRepository {
         return mapToMaskingPolicy(entity);
     }
 
+    @Override
+    public UserPolicyBundle findUserPolicies(String userId) {
+        return jdbcReader.findUserPolicies(userId);
+    }
+
     @Override
     public void savePolicy(ToolPolicy policy) {
         ToolPolicyEntity entity = ToolPolicyEntity.builder()
@@ -78,6 +112,25 @@ public class PostgresPolicyRepository implements PolicyRepository {
         maskingJpaRepository.save(entity);
     }
 
+    @Override
+    public List<PolicyRule> findAllRules() {
+        return ruleJpaRepository.findAll().stream().map(this::mapToRule).toList();
+    }
+
+    @Override
+    public void saveRule(PolicyRule rule) {
+        PolicyRuleEntity entity = PolicyRuleEntity.builder()
+                .id(rule.getRuleId())
+                .toolPattern(rule.getToolPattern())
+                .roles(rule.getRoles())
+                .depts(rule.getDepts())
+                .effect(rule.getEffect().name())
+                .createdAt(rule.getCreatedAt())
+                .updatedAt(System.currentTimeMillis())
+                .build();
+        ruleJpaRepository.save(entity);
+    }
+
     private ToolPolicy mapToPolicy(ToolPolicyEntity entity) {
         return ToolPolicy.builder()
                 .userId(entity.getUserId())
@@ -99,4 +152,16 @@ public class PostgresPolicyRepository implements PolicyRepository {
                 .dataLevel(entity.getDataLevel())
                 .build();
     }
+
+    private PolicyRule mapToRule(PolicyRuleEntity entity) {
+        return PolicyRule.builder()
+                .ruleId(entity.getId())
+                .toolPattern(entity.getToolPattern())
+                .roles(entity.getRoles())
+                .depts(entity.getDepts())
+                .effect(PolicyEffect.valueOf(entity.getEffect()))
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
 }
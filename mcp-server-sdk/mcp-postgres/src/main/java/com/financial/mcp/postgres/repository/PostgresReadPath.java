@@ -0,0 +1,11 @@
+package com.financial.mcp.postgres.repository;
+
+/**
+ * How the Postgres repositories run lookups ({@code mcp.postgres.read-path}).
+ */
+public enum PostgresReadPath {
+    /** Spring Data JPA derived queries through Hibernate entities. */
+    JPA,
+    /** Prepared statements on JdbcTemplate, rows mapped straight to domain objects. */
+    JDBC
+}
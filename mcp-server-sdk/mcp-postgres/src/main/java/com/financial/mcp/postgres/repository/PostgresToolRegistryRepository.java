@@ -2,26 +2,38 @@ package com.financial.mcp.postgres.repository;
 
 import com.financial.mcp.core.registry.ToolRegistry;
 import com.financial.mcp.core.registry.ToolRegistryRepository;
+import com.financial.mcp.core.registry.ToolVersionIndex;
 import com.financial.mcp.postgres.entity.ToolRegistryEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
+/**
+ * Tool registry in Postgres. Writes always use JPA; lookups use JPA or, with
+ * {@code mcp.postgres.read-path=jdbc}, the {@link ToolRegistryJdbcReader}.
+ */
 @Repository
 @RequiredArgsConstructor
 public class PostgresToolRegistryRepository implements ToolRegistryRepository {
     private final ToolRegistryJpaRepository jpaRepository;
+    private final ToolRegistryJdbcReader jdbcReader;
+
+    @Value("${mcp.postgres.read-path:JPA}")
+    PostgresReadPath readPath = PostgresReadPath.JPA;
 
     @Override
     public ToolRegistry findByToolId(String toolId) {
-        ToolRegistryEntity entity = jpaRepository.findByToolId(toolId);
-        if (entity == null) {
-            return null;
-        }
-        return mapToRegistry(entity);
+        ToolVersionIndex index = findVersionIndex(toolId);
+        return index != null ? index.latest() : null;
     }
 
     @Override
     public ToolRegistry findByToolIdAndVersion(String toolId, String version) {
+        if (readPath == PostgresReadPath.JDBC) {
+            return jdbcReader.findByToolIdAndVersion(toolId, version);
+        }
         ToolRegistryEntity entity = jpaRepository.findByToolIdAndVersion(toolId, version);
         if (entity == null) {
             return null;
@@ -31,13 +43,17 @@ public class PostgresToolRegistryRepository implements ToolRegistryRepository {
 
     @Override
     public void save(ToolRegistry tool) {
+        // Update the existing row for this (tool_id, version) instead of inserting a duplicate
+        ToolRegistryEntity existing = jpaRepository.findByToolIdAndVersion(tool.getToolId(), tool.getVersion());
         ToolRegistryEntity entity = ToolRegistryEntity.builder()
+                .id(existing != null ? existing.getId() : null)
                 .toolId(tool.getToolId())
                 .toolName(tool.getToolName())
                 .version(tool.getVersion())
                 .status(tool.getStatus())
                 .inputSchema(tool.getInputSchema())
                 .description(tool.getDescription())
+                .restPath(tool.getRestPath())
                 .createdAt(tool.getCreatedAt())
                 .updatedAt(System.currentTimeMillis())
                 .build();
@@ -46,10 +62,31 @@ public class PostgresToolRegistryRepository implements ToolRegistryRepository {
 
     @Override
     public void delete(String toolId) {
-        ToolRegistryEntity entity = jpaRepository.findByToolId(toolId);
-        if (entity != null) {
-            jpaRepository.delete(entity);
+        jpaRepository.deleteAll(jpaRepository.findAllByToolId(toolId));
+    }
+
+    @Override
+    public List<ToolRegistry> findVersions(String toolId) {
+        if (readPath == PostgresReadPath.JDBC) {
+            return jdbcReader.findVersions(toolId);
+        }
+        return jpaRepository.findAllByToolId(toolId).stream().map(this::mapToRegistry).toList();
+    }
+
+    @Override
+    public List<ToolRegistry> findAll() {
+        if (readPath == PostgresReadPath.JDBC) {
+            return jdbcReader.findAll();
+        }
+        return jpaRepository.findAll().stream().map(this::mapToRegistry).toList();
+    }
+
+    @Override
+    public List<ToolRegistry> findUpdatedSince(long updatedAt) {
+        if (readPath == PostgresReadPath.JDBC) {
+            return jdbcReader.findUpdatedSince(updatedAt);
         }
+        return jpaRepository.findByUpdatedAtGreaterThan(updatedAt).stream().map(this::mapToRegistry).toList();
     }
 
     private ToolRegistry mapToRegistry(ToolRegistryEntity entity) {
@@ -60,6 +97,7 @@ public class PostgresToolRegistryRepository implements ToolRegistryRepository {
                 .status(entity.getStatus())
                 .inputSchema(entity.getInputSchema())
                 .description(entity.getDescription())
+                .restPath(entity.getRestPath())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
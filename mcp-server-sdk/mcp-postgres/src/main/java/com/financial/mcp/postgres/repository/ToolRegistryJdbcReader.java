@@ -0,0 +1,72 @@
+package com.financial.mcp.postgres.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.registry.ToolRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * JDBC read path for the tool registry: prepared statements on JdbcTemplate,
+ * each row mapped directly to {@link ToolRegistry} without a persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ToolRegistryJdbcReader {
+    private static final String COLUMNS =
+            "SELECT tool_id, tool_name, version, status, input_schema, description, created_at, updated_at, rest_path "
+                    + "FROM tool_registry ";
+    private static final String BY_TOOL_AND_VERSION = COLUMNS + "WHERE tool_id = ? AND version = ?";
+    private static final String BY_TOOL = COLUMNS + "WHERE tool_id = ?";
+    private static final String ALL = COLUMNS;
+    private static final String UPDATED_SINCE = COLUMNS + "WHERE updated_at > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final RowMapper<ToolRegistry> rowMapper = (rs, rowNum) -> ToolRegistry.builder()
+            .toolId(rs.getString(1))
+            .toolName(rs.getString(2))
+            .version(rs.getString(3))
+            .status(rs.getString(4))
+            .inputSchema(readJson(rs.getString(5)))
+            .description(rs.getString(6))
+            .createdAt(rs.getLong(7))
+            .updatedAt(rs.getLong(8))
+            .restPath(rs.getString(9))
+            .build();
+
+    public ToolRegistry findByToolIdAndVersion(String toolId, String version) {
+        List<ToolRegistry> tools = jdbcTemplate.query(BY_TOOL_AND_VERSION, rowMapper, toolId, version);
+        return tools.isEmpty() ? null : tools.get(0);
+    }
+
+    public List<ToolRegistry> findVersions(String toolId) {
+        return jdbcTemplate.query(BY_TOOL, rowMapper, toolId);
+    }
+
+    public List<ToolRegistry> findAll() {
+        return jdbcTemplate.query(ALL, rowMapper);
+    }
+
+    public List<ToolRegistry> findUpdatedSince(long updatedAt) {
+        return jdbcTemplate.query(UPDATED_SINCE, rowMapper, updatedAt);
+    }
+
+    private JsonNode readJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Invalid input_schema JSON in tool_registry", e);
+        }
+    }
+}
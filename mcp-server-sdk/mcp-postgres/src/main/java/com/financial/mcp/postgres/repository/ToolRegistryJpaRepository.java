@@ -4,9 +4,11 @@ import com.financial.mcp.postgres.entity.ToolRegistryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ToolRegistryJpaRepository extends JpaRepository<ToolRegistryEntity, String> {
-    ToolRegistryEntity findByToolId(String toolId);
+    List<ToolRegistryEntity> findAllByToolId(String toolId);
     
     /**
      * Find tool by tool ID and version (composite key).
@@ -16,4 +18,9 @@ public interface ToolRegistryJpaRepository extends JpaRepository<ToolRegistryEnt
      * @return ToolRegistryEntity or null if not found
      */
     ToolRegistryEntity findByToolIdAndVersion(String toolId, String version);
+
+    /**
+     * Tools changed after the given time, for registry snapshot delta polls.
+     */
+    List<ToolRegistryEntity> findByUpdatedAtGreaterThan(long updatedAt);
 }
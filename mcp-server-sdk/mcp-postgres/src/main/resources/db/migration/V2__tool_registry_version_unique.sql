@@ -0,0 +1,28 @@
+-- Allow several versions of a tool: uniqueness moves from tool_id to (tool_id, version).
+-- V1 is the schema from the setup guide; existing databases are baselined at version 1.
+
+DO $$
+DECLARE
+    constraint_name TEXT;
+BEGIN
+    FOR constraint_name IN
+        SELECT c.conname
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+        WHERE c.conrelid = 'tool_registry'::regclass
+          AND c.contype = 'u'
+          AND array_length(c.conkey, 1) = 1
+          AND a.attname = 'tool_id'
+    LOOP
+        EXECUTE format('ALTER TABLE tool_registry DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'tool_registry'::regclass
+          AND conname = 'uk_tool_registry_tool_id_version'
+    ) THEN
+        ALTER TABLE tool_registry
+            ADD CONSTRAINT uk_tool_registry_tool_id_version UNIQUE (tool_id, version);
+    END IF;
+END $$;
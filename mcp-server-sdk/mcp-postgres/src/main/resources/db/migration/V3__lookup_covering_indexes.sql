@@ -0,0 +1,19 @@
+-- Covering indexes for the hot lookups, so policy reads are index-only scans
+-- (requires PostgreSQL 11+ for INCLUDE). column_masks is left out on purpose:
+-- JSONB values can exceed the index tuple size limit.
+
+-- The policy entities are versioned; older setup-guide schemas lack the column
+ALTER TABLE tool_policy ADD COLUMN IF NOT EXISTS version VARCHAR(50);
+ALTER TABLE data_masking_policy ADD COLUMN IF NOT EXISTS version VARCHAR(50);
+
+CREATE INDEX IF NOT EXISTS idx_tool_policy_lookup
+    ON tool_policy (user_id, tool_id, version)
+    INCLUDE (allowed, data_level, created_at, updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_data_masking_policy_lookup
+    ON data_masking_policy (user_id, tool_id, version)
+    INCLUDE (data_level);
+
+-- Registry snapshot delta polls
+CREATE INDEX IF NOT EXISTS idx_tool_registry_updated_at
+    ON tool_registry (updated_at);
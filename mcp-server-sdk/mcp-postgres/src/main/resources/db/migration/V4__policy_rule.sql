@@ -0,0 +1,12 @@
+-- Role/department/tool-pattern authorization rules (see PolicyDecisionEngine).
+-- Per-user rows in tool_policy remain as overrides.
+
+CREATE TABLE IF NOT EXISTS policy_rule (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tool_pattern VARCHAR(255) NOT NULL,
+    roles JSONB,
+    depts JSONB,
+    effect VARCHAR(10) NOT NULL CHECK (effect IN ('ALLOW', 'DENY')),
+    created_at BIGINT NOT NULL,
+    updated_at BIGINT NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Optional REST route template per tool version, e.g. /api/ifrs17/{portfolio}/loss_projection
+-- (see RestRouteTable). NULL keeps the default /api/{tool_id} route.
+
+ALTER TABLE tool_registry ADD COLUMN IF NOT EXISTS rest_path VARCHAR(512);
@@ -0,0 +1,152 @@
+package com.financial.mcp.postgres.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.policy.DataMaskingPolicy;
+import com.financial.mcp.core.policy.ToolPolicy;
+import com.financial.mcp.core.registry.ToolRegistry;
+import com.financial.mcp.postgres.entity.ToolRegistryEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lookup latency of the JPA and JDBC read paths against a real database.
+ * Opt-in: run with {@code -Dmcp.benchmark=true} and {@code spring.datasource.*}
+ * pointing at a Postgres with the MCP schema (migrations up to V4).
+ * Rows are written under a per-run prefix and removed afterwards.
+ */
+@EnabledIfSystemProperty(named = "mcp.benchmark", matches = "true")
+@SpringBootTest(classes = PostgresReadPathBenchmarkTest.BenchmarkApplication.class,
+        properties = {"spring.jpa.hibernate.ddl-auto=validate", "spring.flyway.enabled=false"})
+class PostgresReadPathBenchmarkTest {
+    private static final int USERS = 1_000;
+    private static final int TOOLS = 50;
+    private static final int WARMUP = 5_000;
+    private static final int LOOKUPS = 50_000;
+
+    @Autowired
+    private ToolRegistryJpaRepository toolJpaRepository;
+
+    @Autowired
+    private PolicyJpaRepository policyJpaRepository;
+
+    @Autowired
+    private MaskingPolicyJpaRepository maskingJpaRepository;
+
+    @Autowired
+    private PolicyRuleJpaRepository ruleJpaRepository;
+
+    @Autowired
+    private ToolRegistryJdbcReader toolJdbcReader;
+
+    @Autowired
+    private PolicyJdbcReader policyJdbcReader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String prefix = "bench-" + System.currentTimeMillis() + "-";
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tool_policy WHERE tool_id LIKE ?", prefix + "%");
+        jdbcTemplate.update("DELETE FROM data_masking_policy WHERE tool_id LIKE ?", prefix + "%");
+        jdbcTemplate.update("DELETE FROM tool_registry WHERE tool_id LIKE ?", prefix + "%");
+    }
+
+    @Test
+    void benchmarkReadPaths() throws Exception {
+        PostgresToolRegistryRepository tools = new PostgresToolRegistryRepository(toolJpaRepository, toolJdbcReader);
+        PostgresPolicyRepository policies =
+                new PostgresPolicyRepository(policyJpaRepository, maskingJpaRepository, policyJdbcReader, ruleJpaRepository);
+        seed(tools, policies);
+
+        System.out.printf("Postgres read path benchmark: %d lookups each%n", LOOKUPS);
+        for (PostgresReadPath path : PostgresReadPath.values()) {
+            tools.readPath = path;
+            policies.readPath = path;
+
+            measure(path + " policy", i -> assertNotNull(policies.findPolicyByUserAndTool(user(i), tool(i))));
+            measure(path + " masking", i -> assertNotNull(policies.findMaskingPolicy(user(i), tool(i))));
+            measure(path + " registry", i -> assertNotNull(tools.findByToolIdAndVersion(tool(i), "1.0.0")));
+        }
+    }
+
+    private void seed(PostgresToolRegistryRepository tools, PostgresPolicyRepository policies) throws Exception {
+        for (int t = 0; t < TOOLS; t++) {
+            tools.save(ToolRegistry.builder()
+                    .toolId(prefix + t)
+                    .toolName("Benchmark tool " + t)
+                    .version("1.0.0")
+                    .status("ACTIVE")
+                    .inputSchema(objectMapper.readTree(
+                            "{\"type\":\"object\",\"properties\":{\"portfolio_id\":{\"type\":\"string\"}}}"))
+                    .createdAt(System.currentTimeMillis())
+                    .build());
+        }
+        for (int u = 0; u < USERS; u++) {
+            policies.savePolicy(ToolPolicy.builder()
+                    .userId(user(u))
+                    .toolId(tool(u))
+                    .allowed(true)
+                    .dataLevel("INTERNAL")
+                    .createdAt(System.currentTimeMillis())
+                    .build());
+            policies.saveMaskingPolicy(DataMaskingPolicy.builder()
+                    .userId(user(u))
+                    .toolId(tool(u))
+                    .columnMasks(Map.of("account_no", "PARTIAL", "ssn", "REDACT"))
+                    .dataLevel("INTERNAL")
+                    .build());
+        }
+    }
+
+    private void measure(String label, IntConsumer lookup) {
+        for (int i = 0; i < WARMUP; i++) {
+            lookup.accept(i * 7919);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookup.accept(i * 7919);
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("  %-14s %8.1f us/op %10.0f ops/s%n", label, nanos / 1e3 / LOOKUPS, LOOKUPS / (nanos / 1e9));
+    }
+
+    private String user(int i) {
+        return prefix + "user-" + Math.floorMod(i, USERS);
+    }
+
+    private String tool(int i) {
+        return prefix + Math.floorMod(i, USERS) % TOOLS;
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @ComponentScan(basePackageClasses = PostgresReadPath.class)
+    @EntityScan(basePackageClasses = ToolRegistryEntity.class)
+    @EnableJpaRepositories(basePackageClasses = PostgresReadPath.class)
+    static class BenchmarkApplication {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.financial.mcp.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.killswitch.SnapshotKillSwitchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * Redis infrastructure shared by the MCP Redis repositories.
+ */
+@Configuration
+public class McpRedisConfiguration {
+
+    /**
+     * String keys (so keys can be matched by pattern) and plain JSON values.
+     * Used for the invalidation channels; cached entries go through
+     * {@link #mcpRedisBytesTemplate}.
+     */
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       ObjectMapper objectMapper) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(StringRedisSerializer.UTF_8);
+        template.setHashKeySerializer(StringRedisSerializer.UTF_8);
+        Jackson2JsonRedisSerializer<Object> valueSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
+        return template;
+    }
+
+    /**
+     * String keys and raw byte values, which the repositories encode and decode
+     * themselves with a typed {@link RedisJsonCodec} per cached type.
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> mcpRedisBytesTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(StringRedisSerializer.UTF_8);
+        template.setHashKeySerializer(StringRedisSerializer.UTF_8);
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    /**
+     * Non-blocking (Lettuce reactive) counterpart of {@link #mcpRedisBytesTemplate},
+     * used to prefetch cache entries on the reactive transport's event loop.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> mcpReactiveRedisBytesTemplate(
+            ReactiveRedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(StringRedisSerializer.UTF_8)
+                .value(RedisSerializer.byteArray())
+                .hashKey(StringRedisSerializer.UTF_8)
+                .hashValue(RedisSerializer.byteArray())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    /**
+     * Listener container for cache invalidation channels.
+     */
+    @Bean
+    public RedisMessageListenerContainer mcpRedisListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * In-memory kill switch state over {@link RedisKillSwitchRepository}, on by
+     * default. Declared here rather than in the auto-configuration so that it
+     * does not depend on the order in which the Redis repository is registered.
+     */
+    @Bean(initMethod = "load")
+    @Primary
+    @ConditionalOnProperty(name = "mcp.killswitch.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+    public SnapshotKillSwitchRepository snapshotKillSwitchRepository(
+            RedisKillSwitchRepository source,
+            @Value("${mcp.killswitch.snapshot.max-staleness-ms:30000}") long maxStalenessMs) {
+        return new SnapshotKillSwitchRepository(source, maxStalenessMs);
+    }
+}
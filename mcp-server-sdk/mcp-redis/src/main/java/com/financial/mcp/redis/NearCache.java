@@ -0,0 +1,284 @@
+package com.financial.mcp.redis;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-process (L1) cache in front of Redis.
+ *
+ * <p>Loads are guarded by invalidation stamps: a loader that started before an
+ * invalidation of its key (or of everything) does not publish its result, so a
+ * value read from Redis or the database just before a concurrent save cannot be
+ * cached after that save's invalidation. Stamps are kept per hash stripe, so an
+ * unrelated invalidation may occasionally skip caching a load, never the reverse.
+ *
+ * <p>Misses can optionally be cached too (negative caching), in a separate map
+ * with its own size bound and a shorter TTL, so a flood of unknown keys neither
+ * reaches the loader every time nor evicts real entries.
+ *
+ * <p>Concurrent misses on one key are loaded once (single flight): the first
+ * caller runs the loader and the others wait for its result, unless an
+ * invalidation happened since that load started.
+ *
+ * <p>With {@link #withEarlyRefresh} enabled, a hit may trigger a background
+ * reload before the entry expires (probabilistic early expiration, "XFetch"):
+ * an entry that took {@code delta} ms to load is refreshed once
+ * {@code now - delta * beta * ln(random) >= expiresAt}, so hot keys are
+ * refreshed ahead of their TTL while cold keys simply expire.
+ *
+ * <p>A value read elsewhere (e.g. from Redis without blocking) can be offered with
+ * {@link #putIfUnchanged}, guarded by the same stamps taken with {@link #stamp}
+ * before the read.
+ *
+ * <p>Cached values are shared between callers and must be treated as read-only.
+ * Entries also expire after a TTL as a safety net for missed invalidation messages.
+ */
+public class NearCache<K, V> {
+    private static final int STRIPES = 1024;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Long> misses = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLongArray stripeStamps = new AtomicLongArray(STRIPES);
+    private final AtomicLong globalStamp = new AtomicLong();
+    private final int maxSize;
+    private final long ttlMillis;
+    private final int maxMisses;
+    private final long missTtlMillis;
+    private double earlyRefreshBeta;
+    private Executor refreshExecutor;
+
+    public NearCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, 0, 0);
+    }
+
+    /**
+     * @param maxMisses Maximum number of cached misses (0 disables negative caching)
+     * @param missTtlMillis How long a miss is remembered
+     */
+    public NearCache(int maxSize, long ttlMillis, int maxMisses, long missTtlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.maxMisses = maxMisses;
+        this.missTtlMillis = missTtlMillis;
+    }
+
+    /**
+     * Refresh hot entries in the background ahead of their TTL.
+     *
+     * @param beta Eagerness of the early refresh (1.0 is the usual choice, 0 disables it)
+     * @param executor Runs the refreshes; a rejected refresh is skipped
+     */
+    public NearCache<K, V> withEarlyRefresh(double beta, Executor executor) {
+        this.earlyRefreshBeta = beta;
+        this.refreshExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Return the cached value, or load and cache it.
+     * Null results are returned and, if negative caching is enabled, remembered as misses.
+     */
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (entry != null && entry.expiresAt() > now) {
+            if (refreshEarly(entry, now)) {
+                refreshInBackground(key, loader);
+            }
+            return entry.value();
+        }
+        Long missExpiresAt = misses.get(key);
+        if (missExpiresAt != null && missExpiresAt > now) {
+            return null;
+        }
+        return loadOnce(key, loader);
+    }
+
+    private V loadOnce(K key, Function<K, V> loader) {
+        int stripe = stripe(key);
+        long global = globalStamp.get();
+        long local = stripeStamps.get(stripe);
+        Flight<V> flight = new Flight<>(new CompletableFuture<>(), global, local);
+        Flight<V> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            if (running.global() == global && running.local() == local) {
+                return running.await();
+            }
+            // That load started before an invalidation, so its result may be stale
+            return load(key, loader, stripe, global, local);
+        }
+        try {
+            V value = load(key, loader, stripe, global, local);
+            flight.result().complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return true if a live entry is cached for the key
+     */
+    public boolean contains(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && entry.expiresAt() > System.currentTimeMillis();
+    }
+
+    /**
+     * Invalidation stamps to pass to {@link #putIfUnchanged}; take them before reading the value.
+     */
+    public Stamp stamp(K key) {
+        return new Stamp(globalStamp.get(), stripeStamps.get(stripe(key)));
+    }
+
+    /**
+     * Cache a value read outside {@link #get}, unless the key was invalidated since {@code stamp}.
+     *
+     * @param startedNanos When the read started, the entry's load time for early refresh
+     */
+    public void putIfUnchanged(K key, V value, Stamp stamp, long startedNanos) {
+        store(key, value, stripe(key), stamp.global(), stamp.local(), startedNanos);
+    }
+
+    private V load(K key, Function<K, V> loader, int stripe, long global, long local) {
+        long started = System.nanoTime();
+        V value = loader.apply(key);
+        if (value == null) {
+            long now = System.currentTimeMillis();
+            entries.remove(key);
+            if (maxMisses > 0) {
+                evictIfFull(misses, maxMisses);
+                misses.put(key, now + missTtlMillis);
+                if (globalStamp.get() != global || stripeStamps.get(stripe) != local) {
+                    misses.remove(key);
+                }
+            }
+            return null;
+        }
+        store(key, value, stripe, global, local, started);
+        return value;
+    }
+
+    private void store(K key, V value, int stripe, long global, long local, long startedNanos) {
+        misses.remove(key);
+        evictIfFull(entries, maxSize);
+        long deltaMillis = (System.nanoTime() - startedNanos) / 1_000_000;
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis, deltaMillis));
+        // An invalidation raced with the load: drop what we just cached
+        if (globalStamp.get() != global || stripeStamps.get(stripe) != local) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidate(K key) {
+        stripeStamps.incrementAndGet(stripe(key));
+        entries.remove(key);
+        misses.remove(key);
+    }
+
+    /**
+     * Invalidate every key matching the predicate (e.g. all versions of one tool).
+     */
+    public void invalidateIf(Predicate<K> predicate) {
+        globalStamp.incrementAndGet();
+        entries.keySet().removeIf(predicate);
+        misses.keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        globalStamp.incrementAndGet();
+        entries.clear();
+        misses.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean refreshEarly(Entry<V> entry, long now) {
+        if (earlyRefreshBeta <= 0 || refreshExecutor == null) {
+            return false;
+        }
+        double gap = -Math.max(entry.deltaMillis(), 1) * earlyRefreshBeta
+                * Math.log(ThreadLocalRandom.current().nextDouble());
+        return now + gap >= entry.expiresAt();
+    }
+
+    private void refreshInBackground(K key, Function<K, V> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    loadOnce(key, loader);
+                } catch (RuntimeException e) {
+                    // The entry is served until it expires and then loaded on demand
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private static <K> void evictIfFull(ConcurrentHashMap<K, ?> map, int limit) {
+        if (map.size() < limit) {
+            return;
+        }
+        Iterator<K> keys = map.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private int stripe(K key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * Invalidation stamps seen before a read.
+     */
+    public record Stamp(long global, long local) {
+    }
+
+    private record Entry<V>(V value, long expiresAt, long deltaMillis) {
+    }
+
+    /**
+     * A load in progress, with the invalidation stamps it started under.
+     */
+    private record Flight<V>(CompletableFuture<V> result, long global, long local) {
+        V await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
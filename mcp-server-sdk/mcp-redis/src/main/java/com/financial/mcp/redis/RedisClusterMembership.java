@@ -0,0 +1,66 @@
+package com.financial.mcp.redis;
+
+import com.financial.mcp.core.killswitch.ClusterMembership;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Live node count from a heartbeat sorted set ({@value #NODES_KEY}, member =
+ * node id, score = last heartbeat). Each heartbeat refreshes this node, drops
+ * nodes silent for longer than {@code mcp.cluster.node-timeout-ms} and reads the
+ * remaining count. If Redis cannot be reached the last count is kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisClusterMembership implements ClusterMembership {
+    static final String NODES_KEY = "mcp:nodes";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${mcp.cluster.node-timeout-ms:5000}")
+    long nodeTimeoutMs = 5000;
+
+    private volatile int activeNodes = 1;
+
+    @PostConstruct
+    public void init() {
+        heartbeat();
+    }
+
+    @PreDestroy
+    public void leave() {
+        try {
+            redisTemplate.opsForZSet().remove(NODES_KEY, nodeId);
+        } catch (Exception e) {
+            log.debug("Failed to remove node {} from {}, it times out instead", nodeId, NODES_KEY, e);
+        }
+    }
+
+    @Override
+    public int activeNodes() {
+        return activeNodes;
+    }
+
+    @Scheduled(fixedDelayString = "${mcp.cluster.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now);
+            redisTemplate.opsForZSet().removeRangeByScore(NODES_KEY, 0, now - nodeTimeoutMs);
+            Long count = redisTemplate.opsForZSet().zCard(NODES_KEY);
+            activeNodes = count != null && count > 0 ? count.intValue() : 1;
+        } catch (Exception e) {
+            log.warn("Cluster heartbeat failed, keeping node count {}", activeNodes, e);
+        }
+    }
+}
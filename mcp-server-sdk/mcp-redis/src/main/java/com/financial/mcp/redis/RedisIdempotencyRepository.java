@@ -52,6 +52,11 @@ public class RedisIdempotencyRepository implements IdempotencyRepository {
         );
     }
 
+    @Override
+    public void delete(String txId) {
+        redisTemplate.delete(KEY_PREFIX + txId);
+    }
+
     @Override
     public IdempotencyState getState(String txId) {
         String key = KEY_PREFIX + txId;
@@ -0,0 +1,59 @@
+package com.financial.mcp.redis;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * JSON encoding of one cached type, with its {@link ObjectReader} and
+ * {@link ObjectWriter} resolved once.
+ *
+ * <p>Values are decoded straight from the Redis bytes into the target type,
+ * instead of into a generic map that is then converted a second time. Null
+ * fields are not written and unknown fields are ignored on read, so entries
+ * written by an older or newer node still decode. The JSON layout is otherwise
+ * the one the generic serializer wrote, so existing entries stay readable.
+ */
+public final class RedisJsonCodec<T> {
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    private RedisJsonCodec(ObjectReader reader, ObjectWriter writer) {
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    public static <T> RedisJsonCodec<T> of(ObjectMapper objectMapper, Class<T> type) {
+        ObjectMapper compact = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return new RedisJsonCodec<>(compact.readerFor(type), compact.writerFor(type));
+    }
+
+    public byte[] encode(T value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * @return the decoded value, or null for null bytes
+     */
+    public T decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return reader.readValue(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read " + reader.getValueType().getRawClass().getSimpleName(), e);
+        }
+    }
+}
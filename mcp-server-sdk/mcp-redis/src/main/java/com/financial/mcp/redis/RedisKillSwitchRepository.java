@@ -1,48 +1,89 @@
 package com.financial.mcp.redis;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.killswitch.KillSwitchChangedEvent;
+import com.financial.mcp.core.killswitch.KillSwitchMode;
 import com.financial.mcp.core.killswitch.KillSwitchRepository;
+import com.financial.mcp.core.killswitch.KillSwitchScope;
 import com.financial.mcp.core.killswitch.KillSwitchStatus;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kill switches as one Redis key each. Every write is announced on
+ * {@value #CHANGE_CHANNEL} and republished on each node as a
+ * {@link KillSwitchChangedEvent}, which in-memory snapshots reload on.
+ */
+@Slf4j
 @Repository
 @RequiredArgsConstructor
-public class RedisKillSwitchRepository implements KillSwitchRepository {
-    private final RedisTemplate<String, Object> redisTemplate;
+public class RedisKillSwitchRepository implements KillSwitchRepository, MessageListener {
+    private final RedisTemplate<String, byte[]> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ApplicationEventPublisher eventPublisher;
+    private static final String KEY_PREFIX = "kill_switch:";
     private static final String TOOL_STATUS_PREFIX = "kill_switch:tool:";
     private static final String TOOL_VERSION_STATUS_PREFIX = "kill_switch:tool_version:";
+    private static final String DEPT_STATUS_PREFIX = "kill_switch:dept:";
+    private static final String CALLER_STATUS_PREFIX = "kill_switch:caller:";
     private static final String GLOBAL_STATUS_KEY = "kill_switch:global";
+    static final String CHANGE_CHANNEL = "kill_switch:changed";
+
+    private RedisJsonCodec<KillSwitchStatus> codec;
+
+    @PostConstruct
+    public void init() {
+        codec = RedisJsonCodec.of(objectMapper, KillSwitchStatus.class);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+    }
 
     @Override
     public KillSwitchStatus getToolStatus(String toolId) {
         String key = TOOL_STATUS_PREFIX + toolId;
-        Object cached = redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            return objectMapper.convertValue(cached, KillSwitchStatus.class);
-        }
-        return null;
+        return codec.decode(redisTemplate.opsForValue().get(key));
     }
 
     @Override
     public KillSwitchStatus getToolVersionStatus(String toolId, String version) {
         String key = TOOL_VERSION_STATUS_PREFIX + toolId + ":" + version;
-        Object cached = redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            return objectMapper.convertValue(cached, KillSwitchStatus.class);
-        }
-        return null;
+        return codec.decode(redisTemplate.opsForValue().get(key));
     }
 
     @Override
     public KillSwitchStatus getGlobalStatus() {
-        Object cached = redisTemplate.opsForValue().get(GLOBAL_STATUS_KEY);
-        if (cached != null) {
-            return objectMapper.convertValue(cached, KillSwitchStatus.class);
-        }
-        return null;
+        return codec.decode(redisTemplate.opsForValue().get(GLOBAL_STATUS_KEY));
+    }
+
+    @Override
+    public KillSwitchStatus getDeptStatus(String dept) {
+        return codec.decode(redisTemplate.opsForValue().get(DEPT_STATUS_PREFIX + dept));
+    }
+
+    @Override
+    public KillSwitchStatus getCallerStatus(String callerId) {
+        return codec.decode(redisTemplate.opsForValue().get(CALLER_STATUS_PREFIX + callerId));
+    }
+
+    @Override
+    public void saveStatus(KillSwitchStatus status) {
+        write(key(status), status);
     }
 
     @Override
@@ -50,11 +91,14 @@ public class RedisKillSwitchRepository implements KillSwitchRepository {
         String key = TOOL_STATUS_PREFIX + toolId;
         KillSwitchStatus status = KillSwitchStatus.builder()
                 .targetId(toolId)
+                .scope(KillSwitchScope.TOOL)
+                .toolId(toolId)
                 .disabled(disabled)
+                .mode(disabled ? KillSwitchMode.DISABLE : null)
                 .reason(reason)
                 .disabledAt(System.currentTimeMillis())
                 .build();
-        redisTemplate.opsForValue().set(key, status);
+        write(key, status);
     }
 
     @Override
@@ -62,21 +106,116 @@ public class RedisKillSwitchRepository implements KillSwitchRepository {
         String key = TOOL_VERSION_STATUS_PREFIX + toolId + ":" + version;
         KillSwitchStatus status = KillSwitchStatus.builder()
                 .targetId(toolId + ":" + version)
+                .scope(KillSwitchScope.TOOL_VERSION)
+                .toolId(toolId)
+                .version(version)
                 .disabled(disabled)
+                .mode(disabled ? KillSwitchMode.DISABLE : null)
                 .reason(reason)
                 .disabledAt(System.currentTimeMillis())
                 .build();
-        redisTemplate.opsForValue().set(key, status);
+        write(key, status);
     }
 
     @Override
     public void setGlobalStatus(boolean disabled, String reason) {
         KillSwitchStatus status = KillSwitchStatus.builder()
                 .targetId("GLOBAL")
+                .scope(KillSwitchScope.GLOBAL)
                 .disabled(disabled)
+                .mode(disabled ? KillSwitchMode.DISABLE : null)
                 .reason(reason)
                 .disabledAt(System.currentTimeMillis())
                 .build();
-        redisTemplate.opsForValue().set(GLOBAL_STATUS_KEY, status);
+        write(GLOBAL_STATUS_KEY, status);
+    }
+
+    /**
+     * SCAN for every kill switch key, then one MGET. Entries written before
+     * statuses carried their scope get it from the key.
+     */
+    @Override
+    public List<KillSwitchStatus> findAll() {
+        List<String> keys = scanKeys();
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<byte[]> values = redisTemplate.opsForValue().multiGet(keys);
+        List<KillSwitchStatus> statuses = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] value = values != null ? values.get(i) : null;
+            if (value == null) {
+                continue;
+            }
+            try {
+                KillSwitchStatus status = codec.decode(value);
+                if (status.getScope() == null) {
+                    scopeFromKey(keys.get(i), status);
+                }
+                statuses.add(status);
+            } catch (SerializationException e) {
+                log.warn("Skipping unreadable kill switch {}", keys.get(i), e);
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Change message from any node (including this one).
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        eventPublisher.publishEvent(new KillSwitchChangedEvent(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+
+    private static String key(KillSwitchStatus status) {
+        if (status.getScope() == null) {
+            throw new IllegalArgumentException("Kill switch scope is required");
+        }
+        return switch (status.getScope()) {
+            case GLOBAL -> GLOBAL_STATUS_KEY;
+            case TOOL -> TOOL_STATUS_PREFIX + status.getToolId();
+            case TOOL_VERSION -> TOOL_VERSION_STATUS_PREFIX + status.getToolId() + ":" + status.getVersion();
+            case DEPT -> DEPT_STATUS_PREFIX + status.getTargetId();
+            case CALLER -> CALLER_STATUS_PREFIX + status.getTargetId();
+        };
+    }
+
+    private void write(String key, KillSwitchStatus status) {
+        redisTemplate.opsForValue().set(key, codec.encode(status));
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, key.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.warn("Failed to publish kill switch change {}, other nodes pick it up on resync", key, e);
+        }
+    }
+
+    private List<String> scanKeys() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(100).build();
+        List<String> keys = new ArrayList<>();
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                cursor.forEachRemaining(key -> keys.add(new String(key, StandardCharsets.UTF_8)));
+            }
+            return null;
+        });
+        return keys;
+    }
+
+    private static void scopeFromKey(String key, KillSwitchStatus status) {
+        if (key.equals(GLOBAL_STATUS_KEY)) {
+            status.setScope(KillSwitchScope.GLOBAL);
+        } else if (key.startsWith(TOOL_VERSION_STATUS_PREFIX)) {
+            String target = key.substring(TOOL_VERSION_STATUS_PREFIX.length());
+            int separator = target.lastIndexOf(':');
+            if (separator > 0) {
+                status.setScope(KillSwitchScope.TOOL_VERSION);
+                status.setToolId(target.substring(0, separator));
+                status.setVersion(target.substring(separator + 1));
+            }
+        } else if (key.startsWith(TOOL_STATUS_PREFIX)) {
+            status.setScope(KillSwitchScope.TOOL);
+            status.setToolId(key.substring(TOOL_STATUS_PREFIX.length()));
+        }
     }
 }
@@ -0,0 +1,251 @@
+package com.financial.mcp.redis;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps expiring Redis cache entries from sending every node to the database at once.
+ *
+ * <ul>
+ *   <li>A node that misses Redis takes a short lock ({@code SET lock:{key} NX PX})
+ *       before loading from the database. Nodes that find the lock taken wait
+ *       up to {@code mcp.cache.load-lock.wait-ms} for the entry to appear and only
+ *       then load it themselves, so a lost lock holder never blocks a lookup for long.</li>
+ *   <li>{@link #refreshEarly} decides, from the entry's remaining TTL and the usual
+ *       database load time, whether a hit should be reloaded ahead of expiry (XFetch).</li>
+ *   <li>A save leaves a short-lived tombstone ({@code stale:{key}}) holding a fresh
+ *       token. Loaders read the tombstone together with the entry and store their
+ *       result with a compare-and-set script that only writes while the tombstone is
+ *       unchanged, so a value read from the database before a concurrent save is never
+ *       cached after it. The tombstone must outlive the slowest database load, which is
+ *       why it defaults to twice the lock lease.</li>
+ *   <li>The near caches run their early refreshes on {@link #refreshExecutor()}.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisLoadGuard {
+    private static final String LOCK_PREFIX = "lock:";
+    private static final long POLL_INTERVAL_MS = 10;
+    private static final RedisScript<Long> UNLOCK = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final String TOMBSTONE_PREFIX = "stale:";
+    private static final byte[] NO_TOMBSTONE = new byte[0];
+    private static final String TOMBSTONE_CHECK =
+            "local t = redis.call('get', KEYS[2]) if (t or '') ~= ARGV[1] then return 0 end ";
+    private static final RedisScript<Long> SET_IF_UNCHANGED = RedisScript.of(
+            TOMBSTONE_CHECK + "redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1",
+            Long.class);
+    private static final RedisScript<Long> PUT_HASH_IF_UNCHANGED = RedisScript.of(
+            TOMBSTONE_CHECK + "redis.call('hset', KEYS[1], unpack(ARGV, 3)) "
+                    + "redis.call('pexpire', KEYS[1], ARGV[2]) return 1",
+            Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+
+    @Value("${mcp.cache.load-lock.lease-ms:5000}")
+    long lockLeaseMs = 5000;
+
+    @Value("${mcp.cache.load-lock.wait-ms:200}")
+    long lockWaitMs = 200;
+
+    @Value("${mcp.cache.tombstone-ms:10000}")
+    long tombstoneMs = 10000;
+
+    @Value("${mcp.cache.early-refresh.beta:1.0}")
+    double earlyRefreshBeta = 1.0;
+
+    @Value("${mcp.cache.early-refresh.threads:2}")
+    int refreshThreads = 2;
+
+    private ThreadPoolExecutor refreshExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        refreshExecutor = new ThreadPoolExecutor(
+                refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mcp-cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // A dropped refresh only means the entry expires normally
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public Executor refreshExecutor() {
+        return refreshExecutor;
+    }
+
+    public double earlyRefreshBeta() {
+        return earlyRefreshBeta;
+    }
+
+    /**
+     * @return a token to pass to {@link #unlock}, or null if another node holds the lock
+     */
+    public String tryLock(String key) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(
+                LOCK_PREFIX + key, token.getBytes(StandardCharsets.UTF_8), lockLeaseMs, TimeUnit.MILLISECONDS);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    /**
+     * Release the lock if this caller still holds it; a null token is ignored.
+     */
+    public void unlock(String key, String token) {
+        if (token == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(UNLOCK, List.of(LOCK_PREFIX + key), token.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.warn("Failed to release cache load lock for {}, it expires after {} ms", key, lockLeaseMs, e);
+        }
+    }
+
+    /**
+     * @return Key of the tombstone to read alongside {@code key} before a database load
+     */
+    public byte[] tombstoneKey(String key) {
+        return (TOMBSTONE_PREFIX + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tombstone the keys after their database rows changed, so loads already in
+     * flight cannot cache what they read. Call before evicting the keys.
+     */
+    public void markChanged(Collection<String> keys) {
+        byte[] token = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.stringCommands().pSetEx(tombstoneKey(key), tombstoneMs, token);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * SET {@code key} unless it was tombstoned since {@code seenTombstone} was read.
+     *
+     * @param seenTombstone Tombstone value read before the database load (null if none)
+     * @return false if a concurrent save made the value stale
+     */
+    public boolean setIfUnchanged(String key, byte[] seenTombstone, byte[] value, long ttlMillis) {
+        Long stored = redisTemplate.execute(SET_IF_UNCHANGED, List.of(key, TOMBSTONE_PREFIX + key),
+                token(seenTombstone), value, millis(ttlMillis));
+        return Long.valueOf(1).equals(stored);
+    }
+
+    /**
+     * HSET the fields and PEXPIRE {@code key} unless it was tombstoned since
+     * {@code seenTombstone} was read.
+     *
+     * @return false if a concurrent save made the value stale
+     */
+    public boolean putHashIfUnchanged(String key, byte[] seenTombstone, Map<String, byte[]> fields, long ttlMillis) {
+        List<byte[]> args = new ArrayList<>(2 + fields.size() * 2);
+        args.add(token(seenTombstone));
+        args.add(millis(ttlMillis));
+        fields.forEach((field, value) -> {
+            args.add(field.getBytes(StandardCharsets.UTF_8));
+            args.add(value);
+        });
+        Long stored = redisTemplate.execute(PUT_HASH_IF_UNCHANGED, List.of(key, TOMBSTONE_PREFIX + key),
+                args.toArray());
+        return Long.valueOf(1).equals(stored);
+    }
+
+    /**
+     * Poll for the entry another node is loading.
+     *
+     * @return the entry, or null if it did not appear within the wait time
+     */
+    public <T> T awaitLoaded(Supplier<T> cached) {
+        long deadline = System.currentTimeMillis() + lockWaitMs;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            T value = cached.get();
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * XFetch: refresh once {@code -delta * beta * ln(random) >= remaining TTL}.
+     *
+     * @param ttlMillis Remaining TTL from PTTL (negative when the key has none)
+     * @param loadMillis Typical time to load the entry from the database
+     */
+    public boolean refreshEarly(Long ttlMillis, long loadMillis) {
+        if (ttlMillis == null || ttlMillis < 0 || earlyRefreshBeta <= 0) {
+            return false;
+        }
+        double gap = -Math.max(loadMillis, 1) * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= ttlMillis;
+    }
+
+    private static byte[] token(byte[] seenTombstone) {
+        return seenTombstone != null ? seenTombstone : NO_TOMBSTONE;
+    }
+
+    private static byte[] millis(long ttlMillis) {
+        return Long.toString(ttlMillis).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Moving average of one repository's database load time, the XFetch delta.
+     */
+    public static final class LoadTime {
+        private volatile double averageMillis;
+
+        public void record(long startedNanos) {
+            double sample = (System.nanoTime() - startedNanos) / 1e6;
+            double average = averageMillis;
+            averageMillis = average == 0 ? sample : average + (sample - average) / 8;
+        }
+
+        public long millis() {
+            return Math.round(averageMillis);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.financial.mcp.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Value stored in Redis for a key that is known to have no database row,
+ * so repeated lookups of unknown ids do not fall through to the database.
+ * Written with a short TTL and removed when the entry is saved.
+ * The bytes are the JSON string the generic serializer used to write.
+ */
+final class RedisNullMarker {
+    static final byte[] VALUE = "\"__mcp_null__\"".getBytes(StandardCharsets.UTF_8);
+
+    private RedisNullMarker() {
+    }
+
+    static boolean isNull(byte[] cached) {
+        return Arrays.equals(VALUE, cached);
+    }
+}
@@ -3,98 +3,280 @@ package com.financial.mcp.redis;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.financial.mcp.core.policy.DataMaskingPolicy;
 import com.financial.mcp.core.policy.PolicyRepository;
+import com.financial.mcp.core.policy.PolicyRule;
 import com.financial.mcp.core.policy.ToolPolicy;
+import com.financial.mcp.core.policy.UserPolicyBundle;
+import com.financial.mcp.core.rpc.DispatchPrefetcher;
+import com.financial.mcp.core.rpc.JsonRpcRequest;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Policy cache in front of the database, per user rather than per tool.
+ *
+ * <p>The first lookup for a user loads all of that user's tool and masking
+ * policies in one database query ({@link PolicyRepository#findUserPolicies}),
+ * stores them in one Redis hash ({@code policy:user:{userId}}) and keeps the
+ * resulting {@link UserPolicyBundle} in an in-process near cache, so the rest of
+ * the session's checks are local map lookups. Users without any policy are
+ * cached as an empty hash with the short negative-cache TTL.
+ *
+ * <p>Saving a policy deletes the user's hash and publishes the user id on
+ * {@value #INVALIDATION_CHANNEL} so every node drops its L1 bundle.
+ * Redis misses and early refreshes load from the database under a {@link RedisLoadGuard} lock,
+ * and their result is only written back if no save tombstoned the user meanwhile.
+ *
+ * <p>On the reactive transport, {@link #prefetch} reads the caller's hash with the
+ * non-blocking Lettuce client before the call reaches a worker, so a Redis hit never
+ * blocks; only Redis misses load from the database on the worker.
+ */
+@Slf4j
 @Repository
 @RequiredArgsConstructor
-public class RedisPolicyRepository implements PolicyRepository {
+public class RedisPolicyRepository implements PolicyRepository, MessageListener, DispatchPrefetcher {
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, byte[]> cacheTemplate;
+    private final ReactiveRedisTemplate<String, byte[]> reactiveCacheTemplate;
     private final ObjectMapper objectMapper;
     private final PolicyRepository fallbackRepository;
-    private static final String POLICY_PREFIX = "policy:";
-    private static final String MASKING_PREFIX = "masking:";
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RedisLoadGuard loadGuard;
+    private final RedisLoadGuard.LoadTime databaseLoadTime = new RedisLoadGuard.LoadTime();
+    private static final String USER_PREFIX = "policy:user:";
+    private static final String LOADED_FIELD = "_loaded";
+    private static final String POLICY_FIELD_PREFIX = "p:";
+    private static final String MASKING_FIELD_PREFIX = "m:";
+    private static final byte[] LOADED_VALUE = {'1'};
     private static final long CACHE_TTL_MINUTES = 30;
+    static final String INVALIDATION_CHANNEL = "policy:invalidate";
+
+    @Value("${mcp.policy.negative-cache.ttl-seconds:30}")
+    long negativeCacheTtlSeconds = 30;
+
+    @Value("${mcp.policy.near-cache.max-size:10000}")
+    int nearCacheMaxSize = 10000;
+
+    @Value("${mcp.policy.near-cache.ttl-ms:300000}")
+    long nearCacheTtlMs = 300000;
+
+    private NearCache<String, UserPolicyBundle> nearCache;
+    private RedisJsonCodec<ToolPolicy> policyCodec;
+    private RedisJsonCodec<DataMaskingPolicy> maskingCodec;
+
+    @PostConstruct
+    public void init() {
+        policyCodec = RedisJsonCodec.of(objectMapper, ToolPolicy.class);
+        maskingCodec = RedisJsonCodec.of(objectMapper, DataMaskingPolicy.class);
+        nearCache = new NearCache<String, UserPolicyBundle>(nearCacheMaxSize, nearCacheTtlMs)
+                .withEarlyRefresh(loadGuard.earlyRefreshBeta(), loadGuard.refreshExecutor());
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
 
     @Override
     public ToolPolicy findPolicyByUserAndTool(String userId, String toolId) {
-        String key = POLICY_PREFIX + userId + ":" + toolId;
-        
-        Object cached = redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            return objectMapper.convertValue(cached, ToolPolicy.class);
-        }
-
-        ToolPolicy policy = fallbackRepository.findPolicyByUserAndTool(userId, toolId);
-        if (policy != null) {
-            redisTemplate.opsForValue().set(key, policy, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
-        }
-        return policy;
+        return findUserPolicies(userId).findPolicy(toolId);
     }
 
     @Override
     public ToolPolicy findPolicyByUserToolAndVersion(String userId, String toolId, String version) {
-        String key = POLICY_PREFIX + userId + ":" + toolId + ":" + version;
-        
-        Object cached = redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            return objectMapper.convertValue(cached, ToolPolicy.class);
-        }
-
-        ToolPolicy policy = fallbackRepository.findPolicyByUserToolAndVersion(userId, toolId, version);
-        if (policy != null) {
-            redisTemplate.opsForValue().set(key, policy, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
-        }
-        return policy;
+        return findUserPolicies(userId).findPolicy(toolId, version);
     }
 
     @Override
     public DataMaskingPolicy findMaskingPolicy(String userId, String toolId) {
-        String key = MASKING_PREFIX + userId + ":" + toolId;
-        
-        Object cached = redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            return objectMapper.convertValue(cached, DataMaskingPolicy.class);
-        }
-
-        DataMaskingPolicy policy = fallbackRepository.findMaskingPolicy(userId, toolId);
-        if (policy != null) {
-            redisTemplate.opsForValue().set(key, policy, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
-        }
-        return policy;
+        return findUserPolicies(userId).findMaskingPolicy(toolId);
     }
 
     @Override
     public DataMaskingPolicy findMaskingPolicyByVersion(String userId, String toolId, String version) {
-        String key = MASKING_PREFIX + userId + ":" + toolId + ":" + version;
-        
-        Object cached = redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            return objectMapper.convertValue(cached, DataMaskingPolicy.class);
-        }
+        return findUserPolicies(userId).findMaskingPolicy(toolId, version);
+    }
 
-        DataMaskingPolicy policy = fallbackRepository.findMaskingPolicyByVersion(userId, toolId, version);
-        if (policy != null) {
-            redisTemplate.opsForValue().set(key, policy, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
-        }
-        return policy;
+    @Override
+    public UserPolicyBundle findUserPolicies(String userId) {
+        return nearCache.get(userId, this::load);
     }
 
     @Override
     public void savePolicy(ToolPolicy policy) {
         fallbackRepository.savePolicy(policy);
-        String key = POLICY_PREFIX + policy.getUserId() + ":" + policy.getToolId();
-        redisTemplate.opsForValue().set(key, policy, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
+        evict(policy.getUserId());
     }
 
     @Override
     public void saveMaskingPolicy(DataMaskingPolicy policy) {
         fallbackRepository.saveMaskingPolicy(policy);
-        String key = MASKING_PREFIX + policy.getUserId() + ":" + policy.getToolId();
-        redisTemplate.opsForValue().set(key, policy, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
+        evict(policy.getUserId());
+    }
+
+    /**
+     * Rules are held compiled in memory by the decision engine, so they are not cached here.
+     */
+    @Override
+    public List<PolicyRule> findAllRules() {
+        return fallbackRepository.findAllRules();
+    }
+
+    @Override
+    public void saveRule(PolicyRule rule) {
+        fallbackRepository.saveRule(rule);
+    }
+
+    /**
+     * Load the caller's policy bundle from Redis into the near cache without blocking.
+     */
+    @Override
+    public CompletionStage<Void> prefetch(JsonRpcRequest request) {
+        String userId = request.getMeta() != null ? request.getMeta().getUserId() : null;
+        if (userId == null || nearCache.contains(userId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        NearCache.Stamp stamp = nearCache.stamp(userId);
+        long started = System.nanoTime();
+        return reactiveCacheTemplate.<String, byte[]>opsForHash().entries(USER_PREFIX + userId)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .doOnNext(hash -> {
+                    UserPolicyBundle bundle = decode(userId, hash);
+                    if (bundle != null) {
+                        nearCache.putIfUnchanged(userId, bundle, stamp, started);
+                    }
+                })
+                .then()
+                .toFuture();
+    }
+
+    /**
+     * Invalidation message from any node (including this one).
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object userId = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (userId != null) {
+            nearCache.invalidate(userId.toString());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private UserPolicyBundle load(String userId) {
+        String key = USER_PREFIX + userId;
+        // Hash, remaining TTL and save tombstone in one round trip
+        List<Object> cached = cacheTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+            connection.hashCommands().hGetAll(rawKey);
+            connection.keyCommands().pTtl(rawKey);
+            connection.stringCommands().get(loadGuard.tombstoneKey(key));
+            return null;
+        });
+        UserPolicyBundle hit = decode(userId, (Map<String, byte[]>) cached.get(0));
+        if (hit != null && !loadGuard.refreshEarly((Long) cached.get(1), databaseLoadTime.millis())) {
+            return hit;
+        }
+
+        String lockToken = loadGuard.tryLock(key);
+        if (lockToken == null) {
+            // Another node is loading this user: serve what we have, or wait for its result
+            if (hit != null) {
+                return hit;
+            }
+            UserPolicyBundle loaded = loadGuard.awaitLoaded(
+                    () -> decode(userId, cacheTemplate.<String, byte[]>opsForHash().entries(key)));
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        try {
+            long started = System.nanoTime();
+            UserPolicyBundle bundle = fallbackRepository.findUserPolicies(userId);
+            databaseLoadTime.record(started);
+            store(key, (byte[]) cached.get(2), bundle);
+            return bundle;
+        } finally {
+            loadGuard.unlock(key, lockToken);
+        }
+    }
+
+    /**
+     * @return the cached bundle, or null if the hash is missing or unreadable
+     */
+    private UserPolicyBundle decode(String userId, Map<String, byte[]> hash) {
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+        try {
+            return fromHash(userId, hash);
+        } catch (SerializationException e) {
+            log.warn("Unreadable policy cache entry for {}, reloading from database", userId, e);
+            return null;
+        }
+    }
+
+    private UserPolicyBundle fromHash(String userId, Map<String, byte[]> hash) {
+        List<ToolPolicy> policies = new ArrayList<>();
+        List<DataMaskingPolicy> maskingPolicies = new ArrayList<>();
+        hash.forEach((field, value) -> {
+            if (field.startsWith(POLICY_FIELD_PREFIX)) {
+                policies.add(policyCodec.decode(value));
+            } else if (field.startsWith(MASKING_FIELD_PREFIX)) {
+                maskingPolicies.add(maskingCodec.decode(value));
+            }
+        });
+        return UserPolicyBundle.of(userId, policies, maskingPolicies);
+    }
+
+    /**
+     * Write the hash and its TTL in one script, so a hash never outlives its TTL,
+     * unless a save tombstoned the user since {@code tombstone} was read.
+     */
+    private void store(String key, byte[] tombstone, UserPolicyBundle bundle) {
+        Map<String, byte[]> fields = new HashMap<>();
+        fields.put(LOADED_FIELD, LOADED_VALUE);
+        for (ToolPolicy policy : bundle.getPolicies()) {
+            fields.put(field(POLICY_FIELD_PREFIX, policy.getToolId(), policy.getVersion()), policyCodec.encode(policy));
+        }
+        for (DataMaskingPolicy policy : bundle.getMaskingPolicies()) {
+            fields.put(field(MASKING_FIELD_PREFIX, policy.getToolId(), policy.getVersion()), maskingCodec.encode(policy));
+        }
+        long ttlMillis = bundle.isEmpty()
+                ? TimeUnit.SECONDS.toMillis(negativeCacheTtlSeconds)
+                : TimeUnit.MINUTES.toMillis(CACHE_TTL_MINUTES);
+        if (!loadGuard.putHashIfUnchanged(key, tombstone, fields, ttlMillis)) {
+            log.debug("Policies of {} changed during the database load, not caching them", key);
+        }
+    }
+
+    private void evict(String userId) {
+        loadGuard.markChanged(List.of(USER_PREFIX + userId));
+        redisTemplate.delete(USER_PREFIX + userId);
+        // Drop the local bundle right away; the message reaches the other nodes
+        nearCache.invalidate(userId);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, userId);
+        } catch (Exception e) {
+            log.warn("Failed to publish policy invalidation for {}, other nodes rely on L1 TTL", userId, e);
+        }
+    }
+
+    private static String field(String prefix, String toolId, String version) {
+        return version != null ? prefix + toolId + ":" + version : prefix + toolId;
     }
 }
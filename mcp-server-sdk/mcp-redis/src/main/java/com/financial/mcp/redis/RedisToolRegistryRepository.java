@@ -2,69 +2,315 @@ package com.financial.mcp.redis;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.financial.mcp.core.registry.ToolRegistry;
+import com.financial.mcp.core.registry.ToolRegistryChangedEvent;
 import com.financial.mcp.core.registry.ToolRegistryRepository;
+import com.financial.mcp.core.registry.ToolVersionIndex;
+import com.financial.mcp.core.rpc.DispatchPrefetcher;
+import com.financial.mcp.core.rpc.JsonRpcDispatcher;
+import com.financial.mcp.core.rpc.JsonRpcRequest;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Tool registry cache: in-process near cache (L1) in front of Redis (L2) in front
+ * of the database. {@link #save} and {@link #delete} evict the Redis keys and
+ * publish the tool id on {@value #INVALIDATION_CHANNEL} so every node drops its
+ * L1 entries for that tool.
+ * Unknown tools are cached as misses (bounded in L1, short-TTL null marker in
+ * Redis) and cleared by the same invalidation when the tool is created.
+ * Invalidation messages are also republished as remote {@link ToolRegistryChangedEvent}s,
+ * and local ones (from a registry snapshot) are evicted and announced like a save.
+ * Redis misses and early refreshes load from the database under a {@link RedisLoadGuard} lock,
+ * and their result is only written back if no save tombstoned the key meanwhile.
+ * On the reactive transport, {@link #prefetch} reads the called tool's entry with the
+ * non-blocking Lettuce client before the call reaches a worker.
+ */
+@Slf4j
 @Repository
 @RequiredArgsConstructor
-public class RedisToolRegistryRepository implements ToolRegistryRepository {
+public class RedisToolRegistryRepository implements ToolRegistryRepository, MessageListener, DispatchPrefetcher {
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, byte[]> cacheTemplate;
+    private final ReactiveRedisTemplate<String, byte[]> reactiveCacheTemplate;
     private final ObjectMapper objectMapper;
     private final ToolRegistryRepository fallbackRepository;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RedisLoadGuard loadGuard;
     private static final String CACHE_KEY_PREFIX = "tools:";
     private static final long CACHE_TTL_MINUTES = 60;
+    static final String INVALIDATION_CHANNEL = "tools:invalidate";
+
+    @Value("${mcp.registry.near-cache.max-size:10000}")
+    int nearCacheMaxSize = 10000;
+
+    @Value("${mcp.registry.near-cache.ttl-ms:300000}")
+    long nearCacheTtlMs = 300000;
+
+    @Value("${mcp.registry.negative-cache.max-size:10000}")
+    int negativeCacheMaxSize = 10000;
+
+    @Value("${mcp.registry.negative-cache.ttl-seconds:30}")
+    long negativeCacheTtlSeconds = 30;
+
+    private NearCache<ToolKey, ToolRegistry> nearCache;
+    private NearCache<String, ToolVersionIndex> versionIndexCache;
+    private RedisJsonCodec<ToolRegistry> codec;
+    private final RedisLoadGuard.LoadTime databaseLoadTime = new RedisLoadGuard.LoadTime();
+
+    @PostConstruct
+    public void init() {
+        codec = RedisJsonCodec.of(objectMapper, ToolRegistry.class);
+        nearCache = new NearCache<ToolKey, ToolRegistry>(nearCacheMaxSize, nearCacheTtlMs,
+                negativeCacheMaxSize, TimeUnit.SECONDS.toMillis(negativeCacheTtlSeconds))
+                .withEarlyRefresh(loadGuard.earlyRefreshBeta(), loadGuard.refreshExecutor());
+        versionIndexCache = new NearCache<>(nearCacheMaxSize, nearCacheTtlMs,
+                negativeCacheMaxSize, TimeUnit.SECONDS.toMillis(negativeCacheTtlSeconds));
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
 
     @Override
     public ToolRegistry findByToolId(String toolId) {
-        String cacheKey = CACHE_KEY_PREFIX + toolId;
-        
-        // Try Redis first
-        Object cached = redisTemplate.opsForValue().get(cacheKey);
-        if (cached != null) {
-            return objectMapper.convertValue(cached, ToolRegistry.class);
-        }
-
-        // Fallback to database
-        ToolRegistry tool = fallbackRepository.findByToolId(toolId);
-        if (tool != null) {
-            redisTemplate.opsForValue().set(cacheKey, tool, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
-        }
-        return tool;
+        return nearCache.get(new ToolKey(toolId, null), key -> load(CACHE_KEY_PREFIX + toolId,
+                () -> fallbackRepository.findByToolId(toolId)));
     }
 
     @Override
     public ToolRegistry findByToolIdAndVersion(String toolId, String version) {
-        String cacheKey = CACHE_KEY_PREFIX + toolId + ":" + version;
-        
-        // Try Redis first
-        Object cached = redisTemplate.opsForValue().get(cacheKey);
-        if (cached != null) {
-            return objectMapper.convertValue(cached, ToolRegistry.class);
-        }
+        return nearCache.get(new ToolKey(toolId, version), key -> load(CACHE_KEY_PREFIX + toolId + ":" + version,
+                () -> fallbackRepository.findByToolIdAndVersion(toolId, version)));
+    }
 
-        // Fallback to database
-        ToolRegistry tool = fallbackRepository.findByToolIdAndVersion(toolId, version);
-        if (tool != null) {
-            redisTemplate.opsForValue().set(cacheKey, tool, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
-        }
-        return tool;
+    /**
+     * Version indexes are only kept in L1, loaded from the database once per tool
+     * and dropped by the same invalidation as the tool entries.
+     */
+    @Override
+    public ToolVersionIndex findVersionIndex(String toolId) {
+        return versionIndexCache.get(toolId, fallbackRepository::findVersionIndex);
+    }
+
+    @Override
+    public List<ToolRegistry> findVersions(String toolId) {
+        ToolVersionIndex index = findVersionIndex(toolId);
+        return index != null ? index.versions() : List.of();
     }
 
     @Override
     public void save(ToolRegistry tool) {
         fallbackRepository.save(tool);
-        String cacheKey = CACHE_KEY_PREFIX + tool.getToolId();
-        redisTemplate.opsForValue().set(cacheKey, tool, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
+        evict(List.of(
+                CACHE_KEY_PREFIX + tool.getToolId(),
+                CACHE_KEY_PREFIX + tool.getToolId() + ":" + tool.getVersion()
+        ));
+        publishInvalidation(tool.getToolId());
     }
 
     @Override
     public void delete(String toolId) {
         fallbackRepository.delete(toolId);
+        evictAll(toolId);
+        publishInvalidation(toolId);
+    }
+
+    /**
+     * Full listings are not cached; they are only used to build snapshots.
+     */
+    @Override
+    public List<ToolRegistry> findAll() {
+        return fallbackRepository.findAll();
+    }
+
+    @Override
+    public List<ToolRegistry> findUpdatedSince(long updatedAt) {
+        return fallbackRepository.findUpdatedSince(updatedAt);
+    }
+
+    /**
+     * Load the called tool's entry from Redis into the near cache without blocking.
+     * Versioned calls resolve through the version index and are left to the worker.
+     */
+    @Override
+    public CompletionStage<Void> prefetch(JsonRpcRequest request) {
+        String toolId;
+        try {
+            if (JsonRpcDispatcher.versionOf(request) != null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            toolId = JsonRpcDispatcher.toolIdOf(request);
+        } catch (IllegalArgumentException e) {
+            // The dispatcher rejects the method itself
+            return CompletableFuture.completedFuture(null);
+        }
+        ToolKey key = new ToolKey(toolId, null);
+        if (nearCache.contains(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        NearCache.Stamp stamp = nearCache.stamp(key);
+        long started = System.nanoTime();
         String cacheKey = CACHE_KEY_PREFIX + toolId;
-        redisTemplate.delete(cacheKey);
+        return reactiveCacheTemplate.opsForValue().get(cacheKey)
+                .doOnNext(cached -> {
+                    Cached hit = decode(cacheKey, cached);
+                    if (hit != null && hit.tool() != null) {
+                        nearCache.putIfUnchanged(key, hit.tool(), stamp, started);
+                    }
+                })
+                .then()
+                .toFuture();
+    }
+
+    /**
+     * Change written by this node without going through {@link #save}/{@link #delete}.
+     */
+    @EventListener
+    public void onRegistryChanged(ToolRegistryChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        evictAll(event.toolId());
+        publishInvalidation(event.toolId());
+    }
+
+    /**
+     * Invalidation message from any node (including this one).
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object toolId = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (toolId != null) {
+            invalidateLocal(toolId.toString());
+            eventPublisher.publishEvent(new ToolRegistryChangedEvent(toolId.toString(), true));
+        }
+    }
+
+    private ToolRegistry load(String cacheKey, Supplier<ToolRegistry> database) {
+        // Try Redis first, reading the remaining TTL and the save tombstone in the same round trip
+        List<Object> cached = cacheTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] key = cacheKey.getBytes(StandardCharsets.UTF_8);
+            connection.stringCommands().get(key);
+            connection.keyCommands().pTtl(key);
+            connection.stringCommands().get(loadGuard.tombstoneKey(cacheKey));
+            return null;
+        });
+        Cached hit = decode(cacheKey, (byte[]) cached.get(0));
+        if (hit != null && !loadGuard.refreshEarly((Long) cached.get(1), databaseLoadTime.millis())) {
+            return hit.tool();
+        }
+
+        String lockToken = loadGuard.tryLock(cacheKey);
+        if (lockToken == null) {
+            // Another node is loading this key: serve what we have, or wait for its result
+            if (hit != null) {
+                return hit.tool();
+            }
+            Cached loaded = loadGuard.awaitLoaded(() -> decode(cacheKey, cacheTemplate.opsForValue().get(cacheKey)));
+            if (loaded != null) {
+                return loaded.tool();
+            }
+        }
+        try {
+            return loadFromDatabase(cacheKey, (byte[]) cached.get(2), database);
+        } finally {
+            loadGuard.unlock(cacheKey, lockToken);
+        }
+    }
+
+    /**
+     * @return the cache entry (holding null for a known miss), or null if there is no readable entry
+     */
+    private Cached decode(String cacheKey, byte[] cached) {
+        if (cached == null) {
+            return null;
+        }
+        if (RedisNullMarker.isNull(cached)) {
+            return new Cached(null);
+        }
+        try {
+            return new Cached(codec.decode(cached));
+        } catch (SerializationException e) {
+            log.warn("Unreadable registry cache entry {}, reloading from database", cacheKey, e);
+            return null;
+        }
+    }
+
+    private ToolRegistry loadFromDatabase(String cacheKey, byte[] tombstone, Supplier<ToolRegistry> database) {
+        long started = System.nanoTime();
+        ToolRegistry tool = database.get();
+        databaseLoadTime.record(started);
+        boolean stored = tool != null
+                ? loadGuard.setIfUnchanged(cacheKey, tombstone, codec.encode(tool), TimeUnit.MINUTES.toMillis(CACHE_TTL_MINUTES))
+                : loadGuard.setIfUnchanged(cacheKey, tombstone, RedisNullMarker.VALUE, TimeUnit.SECONDS.toMillis(negativeCacheTtlSeconds));
+        if (!stored) {
+            log.debug("Registry entry {} changed during the database load, not caching it", cacheKey);
+        }
+        return tool;
+    }
+
+    private void publishInvalidation(String toolId) {
+        // Drop local entries right away; the message reaches the other nodes
+        invalidateLocal(toolId);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, toolId);
+        } catch (Exception e) {
+            log.warn("Failed to publish registry invalidation for {}, other nodes rely on L1 TTL", toolId, e);
+        }
+    }
+
+    private void invalidateLocal(String toolId) {
+        nearCache.invalidateIf(key -> key.toolId().equals(toolId));
+        versionIndexCache.invalidate(toolId);
+    }
+
+    private void evictAll(String toolId) {
+        List<String> keys = versionKeys(toolId);
+        keys.add(CACHE_KEY_PREFIX + toolId);
+        evict(keys);
+    }
+
+    private void evict(List<String> keys) {
+        loadGuard.markChanged(keys);
+        redisTemplate.delete(keys);
+    }
+
+    private List<String> versionKeys(String toolId) {
+        ScanOptions options = ScanOptions.scanOptions().match(CACHE_KEY_PREFIX + toolId + ":*").count(100).build();
+        List<String> keys = new ArrayList<>();
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                cursor.forEachRemaining(key -> keys.add(new String(key, StandardCharsets.UTF_8)));
+            }
+            return null;
+        });
+        return keys;
+    }
+
+    private record ToolKey(String toolId, String version) {
+    }
+
+    private record Cached(ToolRegistry tool) {
     }
 }
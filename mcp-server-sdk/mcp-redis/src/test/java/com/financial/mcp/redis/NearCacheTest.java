@@ -0,0 +1,182 @@
+package com.financial.mcp.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearCacheTest {
+
+    @Test
+    void testGet_LoadsOnceThenServesFromMemory() {
+        NearCache<String, String> cache = new NearCache<>(100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v", cache.get("k", key -> { loads.incrementAndGet(); return "v"; }));
+        assertEquals("v", cache.get("k", key -> { loads.incrementAndGet(); return "other"; }));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_NullIsNotCached() {
+        NearCache<String, String> cache = new NearCache<>(100, 60_000);
+
+        assertNull(cache.get("k", key -> null));
+        assertEquals("v", cache.get("k", key -> "v"));
+    }
+
+    @Test
+    void testGet_LoadRacingWithInvalidationIsNotCached() {
+        NearCache<String, String> cache = new NearCache<>(100, 60_000);
+
+        // The value was read before a save, whose invalidation lands mid-load
+        String loaded = cache.get("k", key -> {
+            cache.invalidate("k");
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertEquals("fresh", cache.get("k", key -> "fresh"));
+    }
+
+    @Test
+    void testPutIfUnchanged_DroppedAfterInvalidation() {
+        NearCache<String, String> cache = new NearCache<>(100, 60_000);
+
+        NearCache.Stamp stale = cache.stamp("k");
+        cache.invalidate("k");
+        cache.putIfUnchanged("k", "stale", stale, System.nanoTime());
+        assertFalse(cache.contains("k"));
+
+        cache.putIfUnchanged("k", "fresh", cache.stamp("k"), System.nanoTime());
+        assertTrue(cache.contains("k"));
+        assertEquals("fresh", cache.get("k", key -> "loaded"));
+    }
+
+    @Test
+    void testInvalidateIf_RemovesMatchingKeys() {
+        NearCache<String, String> cache = new NearCache<>(100, 60_000);
+        cache.get("tool-a:v1", key -> "a1");
+        cache.get("tool-a:v2", key -> "a2");
+        cache.get("tool-b:v1", key -> "b1");
+
+        cache.invalidateIf(key -> key.startsWith("tool-a:"));
+
+        assertEquals(1, cache.size());
+        assertEquals("a3", cache.get("tool-a:v1", key -> "a3"));
+    }
+
+    @Test
+    void testGet_ExpiredEntryIsReloaded() throws Exception {
+        NearCache<String, String> cache = new NearCache<>(100, 1);
+        cache.get("k", key -> "old");
+        Thread.sleep(5);
+
+        assertEquals("new", cache.get("k", key -> "new"));
+    }
+
+    @Test
+    void testGet_SizeIsBounded() {
+        NearCache<Integer, Integer> cache = new NearCache<>(10, 60_000);
+        for (int i = 0; i < 100; i++) {
+            cache.get(i, key -> key);
+        }
+
+        assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    void testGet_MissesAreCachedWhenEnabled() {
+        NearCache<String, String> cache = new NearCache<>(100, 60_000, 100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get("unknown", key -> { loads.incrementAndGet(); return null; }));
+        assertNull(cache.get("unknown", key -> { loads.incrementAndGet(); return "created"; }));
+        assertEquals(1, loads.get());
+
+        // Created later: the invalidation clears the cached miss
+        cache.invalidate("unknown");
+        assertEquals("created", cache.get("unknown", key -> "created"));
+    }
+
+    @Test
+    void testGet_CachedMissesAreBoundedSeparately() {
+        NearCache<String, String> cache = new NearCache<>(100, 60_000, 10, 60_000);
+        cache.get("known", key -> "v");
+        for (int i = 0; i < 1000; i++) {
+            cache.get("random-" + i, key -> null);
+        }
+
+        assertEquals("v", cache.get("known", key -> "reloaded"));
+    }
+
+    @Test
+    void testGet_ConcurrentMissesLoadOnce() throws Exception {
+        NearCache<String, String> cache = new NearCache<>(100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<String> leader = executor.submit(() -> cache.get("k", key -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "v";
+            }));
+            loading.await();
+            Future<?>[] followers = new Future<?>[7];
+            for (int i = 0; i < followers.length; i++) {
+                followers[i] = executor.submit(() -> cache.get("k", key -> {
+                    loads.incrementAndGet();
+                    return "other";
+                }));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("v", leader.get(5, TimeUnit.SECONDS));
+            for (Future<?> follower : followers) {
+                assertEquals("v", follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGet_EarlyRefreshReloadsInBackground() throws Exception {
+        // A huge beta puts every hit inside the early-refresh window
+        NearCache<String, String> cache = new NearCache<String, String>(100, 60_000)
+                .withEarlyRefresh(1e12, Runnable::run);
+        cache.get("k", key -> "old");
+
+        assertEquals("old", cache.get("k", key -> "new"));
+        assertEquals("new", cache.get("k", key -> "newer"));
+    }
+
+    @Test
+    void testGet_EarlyRefreshDisabledByDefault() {
+        NearCache<String, String> cache = new NearCache<>(100, 60_000);
+        cache.get("k", key -> "old");
+
+        assertEquals("old", cache.get("k", key -> "new"));
+        assertEquals("old", cache.get("k", key -> "newer"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
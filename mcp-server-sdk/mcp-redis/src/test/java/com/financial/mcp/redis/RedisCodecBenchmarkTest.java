@@ -0,0 +1,126 @@
+package com.financial.mcp.redis;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.killswitch.KillSwitchStatus;
+import com.financial.mcp.core.policy.DataMaskingPolicy;
+import com.financial.mcp.core.policy.ToolPolicy;
+import com.financial.mcp.core.registry.ToolRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Redis memory per key and decode cost per cache hit, for the generic
+ * {@code Object} serializer plus {@code convertValue} and for {@link RedisJsonCodec}.
+ * Opt-in: run with {@code -Dmcp.benchmark=true} against a scratch Redis
+ * ({@code -Dmcp.benchmark.redis-host}, {@code -Dmcp.benchmark.redis-port},
+ * default localhost:6379). Keys are written under a per-run prefix and removed afterwards.
+ */
+@EnabledIfSystemProperty(named = "mcp.benchmark", matches = "true")
+class RedisCodecBenchmarkTest {
+    private static final int WARMUP = 20_000;
+    private static final int DECODES = 200_000;
+
+    // Unknown properties ignored, as in the Spring Boot ObjectMapper
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Jackson2JsonRedisSerializer<Object> generic = new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+    private final String prefix = "bench-" + System.currentTimeMillis() + ":";
+    private LettuceConnectionFactory connectionFactory;
+    private RedisConnection connection;
+
+    @BeforeEach
+    void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("mcp.benchmark.redis-host", "localhost"),
+                Integer.getInteger("mcp.benchmark.redis-port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connection = connectionFactory.getConnection();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (byte[] key : connection.keyCommands().keys(bytes(prefix + "*"))) {
+            connection.keyCommands().del(key);
+        }
+        connection.close();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void benchmarkCodecs() throws Exception {
+        System.out.printf("Redis codec benchmark: %d decodes each%n", DECODES);
+        compare("ToolRegistry", ToolRegistry.class, ToolRegistry.builder()
+                .toolId("ifrs17.loss_projection")
+                .toolName("Loss projection")
+                .version("1.2.0")
+                .status("ACTIVE")
+                .inputSchema(objectMapper.readTree(
+                        "{\"type\":\"object\",\"properties\":{\"portfolio_id\":{\"type\":\"string\"}}}"))
+                .createdAt(System.currentTimeMillis())
+                .build());
+        compare("ToolPolicy", ToolPolicy.class, ToolPolicy.builder()
+                .userId("user-1")
+                .toolId("ifrs17.loss_projection")
+                .allowed(true)
+                .dataLevel("INTERNAL")
+                .createdAt(System.currentTimeMillis())
+                .build());
+        compare("DataMaskingPolicy", DataMaskingPolicy.class, DataMaskingPolicy.builder()
+                .userId("user-1")
+                .toolId("ifrs17.loss_projection")
+                .columnMasks(Map.of("account_no", "PARTIAL", "ssn", "REDACT"))
+                .dataLevel("CONFIDENTIAL")
+                .build());
+        compare("KillSwitchStatus", KillSwitchStatus.class, KillSwitchStatus.builder()
+                .targetId("ifrs17.loss_projection")
+                .disabled(true)
+                .reason("incident")
+                .disabledAt(System.currentTimeMillis())
+                .build());
+    }
+
+    private <T> void compare(String label, Class<T> type, T value) {
+        RedisJsonCodec<T> codec = RedisJsonCodec.of(objectMapper, type);
+        byte[] genericBytes = generic.serialize(value);
+        byte[] typedBytes = codec.encode(value);
+        assertEquals(value, objectMapper.convertValue(generic.deserialize(genericBytes), type));
+        assertEquals(value, codec.decode(typedBytes));
+
+        System.out.printf("  %s%n", label);
+        report("generic", genericBytes, () -> objectMapper.convertValue(generic.deserialize(genericBytes), type));
+        report("typed", typedBytes, () -> codec.decode(typedBytes));
+    }
+
+    private void report(String label, byte[] payload, Runnable decode) {
+        byte[] key = bytes(prefix + label + ":" + System.nanoTime());
+        connection.stringCommands().set(key, payload);
+        Object memory = connection.execute("MEMORY", bytes("USAGE"), key);
+
+        for (int i = 0; i < WARMUP; i++) {
+            decode.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < DECODES; i++) {
+            decode.run();
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("    %-8s %5d value bytes %6s bytes/key %8.2f us/decode%n",
+                label, payload.length, memory, nanos / 1e3 / DECODES);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package com.financial.mcp.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.killswitch.KillSwitchStatus;
+import com.financial.mcp.core.policy.DataMaskingPolicy;
+import com.financial.mcp.core.registry.ToolRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisJsonCodecTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testRoundTrip_OmitsNullFields() throws Exception {
+        RedisJsonCodec<ToolRegistry> codec = RedisJsonCodec.of(objectMapper, ToolRegistry.class);
+        ToolRegistry tool = ToolRegistry.builder()
+                .toolId("ifrs17.loss_projection")
+                .version("1.0.0")
+                .status("ACTIVE")
+                .inputSchema(objectMapper.readTree("{\"type\":\"object\"}"))
+                .createdAt(1000L)
+                .build();
+
+        byte[] bytes = codec.encode(tool);
+
+        assertFalse(new String(bytes, StandardCharsets.UTF_8).contains("description"));
+        assertEquals(tool, codec.decode(bytes));
+    }
+
+    @Test
+    void testDecode_ReadsEntriesWrittenByGenericSerializer() {
+        Jackson2JsonRedisSerializer<Object> generic = new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+        DataMaskingPolicy policy = DataMaskingPolicy.builder()
+                .userId("user1")
+                .toolId("loss_projection")
+                .columnMasks(Map.of("account_no", "PARTIAL"))
+                .dataLevel("CONFIDENTIAL")
+                .build();
+
+        DataMaskingPolicy decoded = RedisJsonCodec.of(objectMapper, DataMaskingPolicy.class)
+                .decode(generic.serialize(policy));
+
+        assertEquals(policy, decoded);
+    }
+
+    @Test
+    void testDecode_IgnoresUnknownFieldsAndRejectsGarbage() {
+        RedisJsonCodec<KillSwitchStatus> codec = RedisJsonCodec.of(objectMapper, KillSwitchStatus.class);
+
+        KillSwitchStatus status = codec.decode(
+                "{\"targetId\":\"GLOBAL\",\"disabled\":true,\"mode\":\"OFF\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(status.isDisabled());
+        assertNull(codec.decode(null));
+        assertThrows(SerializationException.class, () -> codec.decode(new byte[] {'{'}));
+    }
+
+    @Test
+    void testNullMarker_MatchesGenericSerializerBytes() {
+        Jackson2JsonRedisSerializer<Object> generic = new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+
+        assertTrue(RedisNullMarker.isNull(generic.serialize("__mcp_null__")));
+        assertFalse(RedisNullMarker.isNull(null));
+    }
+}
@@ -1,9 +1,11 @@
 package com.financial.mcp.rest.controller;
 
+import com.financial.mcp.core.meta.McpRequestContext;
 import com.financial.mcp.core.rpc.JsonRpcDispatcher;
 import com.financial.mcp.core.rpc.JsonRpcRequest;
 import com.financial.mcp.core.rpc.JsonRpcResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/mcp/rpc")
 @RequiredArgsConstructor
 public class JsonRpcController {
@@ -19,6 +22,8 @@ public class JsonRpcController {
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<JsonRpcResponse> handleJsonRpc(@RequestBody JsonRpcRequest request) {
+        // The verified token, not the request body, decides who is calling
+        McpRequestContext.applyTo(request.getMeta());
         JsonRpcResponse response = dispatcher.dispatch(request);
         return ResponseEntity.ok(response);
     }
@@ -1,33 +1,67 @@
 package com.financial.mcp.rest.controller;
 
+import com.financial.mcp.core.error.McpErrorCode;
 import com.financial.mcp.core.rpc.JsonRpcDispatcher;
 import com.financial.mcp.core.rpc.JsonRpcRequest;
 import com.financial.mcp.core.rpc.JsonRpcResponse;
 import com.financial.mcp.rest.converter.RestToJsonRpcConverter;
+import com.financial.mcp.rest.route.MethodRoute;
+import com.financial.mcp.rest.route.RestRouteTable;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class RestAdapterController {
     private final RestToJsonRpcConverter converter;
     private final JsonRpcDispatcher dispatcher;
+    private final RestRouteTable routeTable;
 
+    /**
+     * Resolves the tool from the path via {@link RestRouteTable}; path variables of
+     * the matched template are bound into the body's params.
+     */
     @PostMapping("/**")
     public ResponseEntity<Object> handleRestCall(
-            @RequestBody Object params,
+            @RequestBody(required = false) Object params,
             HttpServletRequest request) {
-        
-        String path = request.getRequestURI().replace("/api/", "");
-        String toolId = path.replace("/", ".");
 
-        JsonRpcRequest jsonRpcRequest = converter.convertToJsonRpc(toolId, params, request);
+        String path = request.getRequestURI();
+        int from = request.getContextPath().length();
+        MethodRoute route = routeTable.match(path, from);
+        String method = route != null ? route.method(path, from) : null;
+        if (method == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(JsonRpcResponse.error(
+                    null, McpErrorCode.TOOL_NOT_FOUND, "No tool route for " + path.substring(from), false));
+        }
+
+        if (route.hasParams()) {
+            if (params == null) {
+                params = new LinkedHashMap<String, Object>();
+            }
+            if (!(params instanceof Map)) {
+                return ResponseEntity.badRequest().body(JsonRpcResponse.error(
+                        null, McpErrorCode.INVALID_PARAMS, "Request body must be a JSON object for " + route.getTemplate(), false));
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> paramMap = (Map<String, Object>) params;
+            route.bindParams(path, from, paramMap);
+        }
+
+        JsonRpcRequest jsonRpcRequest = converter.convertRouteToJsonRpc(
+                method, route.getToolId(), route.version(path, from), params, request::getHeader);
         JsonRpcResponse response = dispatcher.dispatch(jsonRpcRequest);
 
         if (response.getError() != null) {
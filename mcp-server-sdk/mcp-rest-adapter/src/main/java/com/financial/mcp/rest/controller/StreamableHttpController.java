@@ -0,0 +1,310 @@
+package com.financial.mcp.rest.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.core.meta.McpRequestContext;
+import com.financial.mcp.rest.streamable.McpProtocolHandler;
+import com.financial.mcp.rest.streamable.McpSession;
+import com.financial.mcp.rest.streamable.McpSessionStore;
+import com.financial.mcp.rest.streamable.McpSessionStream;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * MCP Streamable HTTP endpoint ({@code /mcp}).
+ *
+ * <p>{@code initialize} opens a session and returns its {@code Mcp-Session-Id};
+ * later POSTs carry that header. The requests of a POST run concurrently on the
+ * {@code mcp-call} pool. A client that accepts {@code text/event-stream} gets one
+ * SSE event per response as each call completes, so a batch of calls shares one
+ * stream; otherwise the responses are returned as JSON once all are done. GET
+ * opens the session's stream for server notifications (tools/list_changed) and
+ * DELETE ends the session.
+ *
+ * <p>Every response is written through a {@link ResponseBodyEmitter} so that the
+ * request thread is released while calls run.
+ *
+ * <p>The pool has {@code call-threads} threads and a queue of
+ * {@code call-queue-capacity} calls. A POST none of whose calls fits is answered
+ * with 503 and {@code Retry-After}; a call of a batch that does not fit gets a
+ * JSON-RPC error in its place while the others run.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/mcp")
+@RequiredArgsConstructor
+public class StreamableHttpController {
+    private final McpProtocolHandler protocolHandler;
+    private final McpSessionStore sessionStore;
+
+    @Value("${mcp.streamable.call-threads:64}")
+    int callThreads = 64;
+
+    @Value("${mcp.streamable.call-queue-capacity:1000}")
+    int callQueueCapacity = 1000;
+
+    @Value("${mcp.streamable.call-timeout-ms:300000}")
+    long callTimeoutMs = 300_000;
+
+    @Value("${mcp.streamable.busy-retry-after-seconds:1}")
+    long busyRetryAfterSeconds = 1;
+
+    private ThreadPoolExecutor callExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        callExecutor = new ThreadPoolExecutor(
+                callThreads, callThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(callQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mcp-call-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdown();
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> handlePost(
+            @RequestBody JsonNode body,
+            @RequestHeader(value = McpProtocolHandler.SESSION_HEADER, required = false) String sessionId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletRequest request) {
+
+        List<JsonNode> messages = McpProtocolHandler.messages(body);
+        if (messages.isEmpty()) {
+            return json(HttpStatus.BAD_REQUEST, null, protocolHandler.error(null, McpProtocolHandler.INVALID_REQUEST, "Empty batch"));
+        }
+        AuthenticatedPrincipal principal = McpRequestContext.currentPrincipal();
+
+        if (messages.stream().anyMatch(McpProtocolHandler::isInitialize)) {
+            if (messages.size() > 1) {
+                return json(HttpStatus.BAD_REQUEST, null, protocolHandler.error(
+                        null, McpProtocolHandler.INVALID_REQUEST, "initialize must be sent alone"));
+            }
+            McpSession session;
+            try {
+                session = sessionStore.create(principal, request.getHeader("X-Client-Id"),
+                        request.getHeader("X-User-Id"), request.getHeader("X-Dept"));
+            } catch (IllegalStateException e) {
+                return json(HttpStatus.SERVICE_UNAVAILABLE, null, protocolHandler.error(
+                        messages.get(0).get("id"), McpProtocolHandler.INTERNAL_ERROR, e.getMessage()));
+            }
+            return json(HttpStatus.OK, session.getId(), protocolHandler.handle(session, principal, messages.get(0)));
+        }
+
+        if (sessionId == null) {
+            return json(HttpStatus.BAD_REQUEST, null, protocolHandler.error(
+                    null, McpProtocolHandler.INVALID_REQUEST, "Missing " + McpProtocolHandler.SESSION_HEADER + " header"));
+        }
+        McpSession session = sessionStore.find(sessionId, principal);
+        if (session == null) {
+            return json(HttpStatus.NOT_FOUND, null, protocolHandler.error(
+                    null, McpProtocolHandler.INVALID_REQUEST, "Unknown session"));
+        }
+
+        // Notifications and client responses are cheap and answered with 202 alone
+        List<JsonNode> requests = messages.stream().filter(McpProtocolHandler::isRequest).toList();
+        messages.stream()
+                .filter(message -> !McpProtocolHandler.isRequest(message))
+                .forEach(message -> protocolHandler.handle(session, principal, message));
+        if (requests.isEmpty()) {
+            return ResponseEntity.accepted().build();
+        }
+
+        if (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+            SseEmitter emitter = new SseEmitter(callTimeoutMs);
+            if (!submit(session, principal, requests, streamTo(emitter, session, requests.size()))) {
+                return busy(session.getId());
+            }
+            return ResponseEntity.ok()
+                    .header(McpProtocolHandler.SESSION_HEADER, session.getId())
+                    .body(emitter);
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(callTimeoutMs);
+        if (!submit(session, principal, requests, collectTo(emitter, requests.size(), body.isArray()))) {
+            return busy(session.getId());
+        }
+        return ResponseEntity.ok()
+                .header(McpProtocolHandler.SESSION_HEADER, session.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(emitter);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> openStream(
+            @RequestHeader(value = McpProtocolHandler.SESSION_HEADER, required = false) String sessionId) {
+        McpSession session = sessionStore.find(sessionId, McpRequestContext.currentPrincipal());
+        if (session == null) {
+            return ResponseEntity.status(sessionId == null ? HttpStatus.BAD_REQUEST : HttpStatus.NOT_FOUND).build();
+        }
+
+        // Open until the client disconnects or the session ends
+        SseEmitter emitter = new SseEmitter(0L);
+        SseSessionStream stream = new SseSessionStream(emitter);
+        emitter.onCompletion(() -> session.streamClosed(stream));
+        emitter.onTimeout(() -> session.streamClosed(stream));
+        emitter.onError(e -> session.streamClosed(stream));
+        session.openStream(stream);
+        return ResponseEntity.ok()
+                .header(McpProtocolHandler.SESSION_HEADER, session.getId())
+                .body(emitter);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> closeSession(
+            @RequestHeader(value = McpProtocolHandler.SESSION_HEADER, required = false) String sessionId) {
+        if (sessionStore.find(sessionId, McpRequestContext.currentPrincipal()) == null) {
+            return ResponseEntity.status(sessionId == null ? HttpStatus.BAD_REQUEST : HttpStatus.NOT_FOUND).build();
+        }
+        sessionStore.remove(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Run each request on the call pool and hand its response (null if the handler
+     * threw) to {@code deliver} with the request's index.
+     *
+     * @return false if the pool was full before any call started
+     */
+    private boolean submit(McpSession session, AuthenticatedPrincipal principal, List<JsonNode> requests,
+                           BiConsumer<Integer, JsonNode> deliver) {
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            JsonNode message = requests.get(i);
+            try {
+                callExecutor.execute(() -> {
+                    JsonNode response = null;
+                    try {
+                        response = protocolHandler.handle(session, principal, message);
+                    } finally {
+                        deliver.accept(index, response);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (index == 0) {
+                    return false;
+                }
+                deliver.accept(index, protocolHandler.error(message.get("id"), McpProtocolHandler.INTERNAL_ERROR,
+                        "Server busy, retry later"));
+            }
+        }
+        return true;
+    }
+
+    private BiConsumer<Integer, JsonNode> streamTo(SseEmitter emitter, McpSession session, int count) {
+        AtomicInteger pending = new AtomicInteger(count);
+        return (index, response) -> {
+            try {
+                if (response != null) {
+                    emitter.send(SseEmitter.event().data(response, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("MCP client of session {} went away before a response", session.getId());
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    emitter.complete();
+                }
+            }
+        };
+    }
+
+    private BiConsumer<Integer, JsonNode> collectTo(ResponseBodyEmitter emitter, int count, boolean batch) {
+        JsonNode[] responses = new JsonNode[count];
+        AtomicInteger pending = new AtomicInteger(count);
+        return (index, response) -> {
+            responses[index] = response;
+            if (pending.decrementAndGet() == 0) {
+                send(emitter, batch ? JsonNodeFactory.instance.arrayNode().addAll(Arrays.asList(responses)) : responses[0]);
+            }
+        };
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> busy(String sessionId) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        send(emitter, protocolHandler.error(null, McpProtocolHandler.INTERNAL_ERROR, "Server busy, retry later"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(McpProtocolHandler.SESSION_HEADER, sessionId)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(busyRetryAfterSeconds))
+                .body(emitter);
+    }
+
+    private static ResponseEntity<ResponseBodyEmitter> json(HttpStatus status, String sessionId, JsonNode body) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        send(emitter, body);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+        if (sessionId != null) {
+            response.header(McpProtocolHandler.SESSION_HEADER, sessionId);
+        }
+        return response.body(emitter);
+    }
+
+    private static void send(ResponseBodyEmitter emitter, JsonNode body) {
+        try {
+            emitter.send(body, MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("MCP client went away before the response was written");
+        }
+    }
+
+    private static final class SseSessionStream implements McpSessionStream {
+        private final SseEmitter emitter;
+
+        private SseSessionStream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public boolean send(JsonNode message) {
+            try {
+                emitter.send(SseEmitter.event().data(message, MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
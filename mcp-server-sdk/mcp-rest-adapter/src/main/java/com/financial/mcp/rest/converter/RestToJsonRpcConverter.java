@@ -1,22 +1,53 @@
 package com.financial.mcp.rest.converter;
 
 import com.financial.mcp.core.meta.McpMeta;
+import com.financial.mcp.core.meta.McpRequestContext;
 import com.financial.mcp.core.rpc.JsonRpcRequest;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 @Component
 @RequiredArgsConstructor
 public class RestToJsonRpcConverter {
 
+    /**
+     * Identity comes from the verified principal in {@link McpRequestContext};
+     * the X-User-Id and X-Dept headers are only used when there is none.
+     */
     public JsonRpcRequest convertToJsonRpc(String toolId, Object params, HttpServletRequest httpRequest) {
-        String userId = extractUserId(httpRequest);
-        String callerId = extractCallerId(httpRequest);
-        String traceId = extractTraceId(httpRequest);
-        String dept = extractDept(httpRequest);
+        return convertRouteToJsonRpc("api." + toolId, toolId, null, params, httpRequest::getHeader);
+    }
+
+    /**
+     * @param method JSON-RPC method already resolved from the path, see {@link com.financial.mcp.rest.route.MethodRoute}
+     */
+    public JsonRpcRequest convertMethodToJsonRpc(String method, Object params, HttpServletRequest httpRequest) {
+        return convertMethodToJsonRpc(method, params, httpRequest::getHeader);
+    }
+
+    /**
+     * @param headers Request header lookup, for transports without a servlet request
+     */
+    public JsonRpcRequest convertMethodToJsonRpc(String method, Object params, UnaryOperator<String> headers) {
+        return convertRouteToJsonRpc(method, null, null, params, headers);
+    }
+
+    /**
+     * Request for a matched REST route. The tool and version go to the dispatcher as
+     * resolved by the route; {@code method} is only recorded.
+     *
+     * @param version Version selector from the path, or null
+     */
+    public JsonRpcRequest convertRouteToJsonRpc(String method, String toolId, String version, Object params,
+                                                UnaryOperator<String> headers) {
+        String userId = extractUserId(headers);
+        String callerId = extractCallerId(headers);
+        String traceId = extractTraceId(headers);
+        String dept = extractDept(headers);
 
         McpMeta meta = McpMeta.builder()
                 .userId(userId)
@@ -24,35 +55,33 @@ public class RestToJsonRpcConverter {
                 .traceId(traceId)
                 .dept(dept)
                 .build();
+        McpRequestContext.applyTo(meta);
 
         return JsonRpcRequest.builder()
                 .jsonrpc("2.0")
-                .method("api." + toolId)
+                .method(method)
                 .params(params)
                 .id(UUID.randomUUID().toString())
                 .meta(meta)
+                .toolId(toolId)
+                .toolVersion(version)
                 .build();
     }
 
-    private String extractUserId(HttpServletRequest request) {
-        String auth = request.getHeader("Authorization");
-        if (auth != null && auth.startsWith("Bearer ")) {
-            // In production, extract from JWT token
-            return "user_from_jwt";
-        }
-        return request.getHeader("X-User-Id");
+    private String extractUserId(UnaryOperator<String> headers) {
+        return headers.apply("X-User-Id");
     }
 
-    private String extractCallerId(HttpServletRequest request) {
-        return request.getHeader("X-Client-Id");
+    private String extractCallerId(UnaryOperator<String> headers) {
+        return headers.apply("X-Client-Id");
     }
 
-    private String extractTraceId(HttpServletRequest request) {
-        String traceId = request.getHeader("X-Trace-Id");
+    private String extractTraceId(UnaryOperator<String> headers) {
+        String traceId = headers.apply("X-Trace-Id");
         return traceId != null ? traceId : UUID.randomUUID().toString();
     }
 
-    private String extractDept(HttpServletRequest request) {
-        return request.getHeader("X-Dept");
+    private String extractDept(UnaryOperator<String> headers) {
+        return headers.apply("X-Dept");
     }
 }
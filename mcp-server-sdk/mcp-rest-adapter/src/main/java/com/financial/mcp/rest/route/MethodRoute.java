@@ -0,0 +1,150 @@
+package com.financial.mcp.rest.route;
+
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A REST route template compiled for one tool, with its JSON-RPC method name
+ * computed up front. The method name is for audit; calls carry the tool ID and
+ * {@link #version version} themselves, since a dotted tool ID cannot be parsed
+ * back out of the method.
+ *
+ * <p>Templates are absolute paths of literal and {@code {name}} segments, e.g.
+ * {@code /api/ifrs17/{portfolio}/loss_projection}. A {@code {version}} segment
+ * selects the tool version ({@code v1}, {@code v1.2.3}, {@code latest}); any
+ * other variable is bound into the call's params.
+ */
+public final class MethodRoute {
+    public static final String VERSION_VARIABLE = "version";
+    private static final Pattern VERSION_SELECTOR = Pattern.compile("v\\d+(\\.\\d+)*|latest");
+    private static final String NAMESPACE = "api.";
+
+    private final String toolId;
+    private final String template;
+    private final String[] segments;
+    private final String[] variables; // variable name per segment, null for literals
+    private final int versionSegment;
+    private final boolean hasParams;
+    private final String method;
+
+    private MethodRoute(String toolId, String template, String[] segments, String[] variables) {
+        this.toolId = toolId;
+        this.template = template;
+        this.segments = segments;
+        this.variables = variables;
+        int version = -1;
+        boolean params = false;
+        for (int i = 0; i < variables.length; i++) {
+            if (VERSION_VARIABLE.equals(variables[i])) {
+                version = i;
+            } else if (variables[i] != null) {
+                params = true;
+            }
+        }
+        this.versionSegment = version;
+        this.hasParams = params;
+        this.method = NAMESPACE + toolId;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the template is not an absolute path of
+     *                                  non-empty literal or {@code {name}} segments
+     */
+    public static MethodRoute of(String toolId, String template) {
+        if (template == null || !template.startsWith("/") || template.length() == 1) {
+            throw new IllegalArgumentException("REST path must be an absolute path: " + template);
+        }
+        List<String> segments = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        for (String segment : template.substring(1).split("/", -1)) {
+            if (segment.isEmpty()) {
+                throw new IllegalArgumentException("REST path has an empty segment: " + template);
+            }
+            boolean variable = segment.length() > 2 && segment.startsWith("{") && segment.endsWith("}");
+            if (!variable && (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0)) {
+                throw new IllegalArgumentException("REST path variable must be a whole segment: " + template);
+            }
+            String name = variable ? segment.substring(1, segment.length() - 1) : null;
+            if (name != null && variables.contains(name)) {
+                throw new IllegalArgumentException("REST path repeats variable {" + name + "}: " + template);
+            }
+            segments.add(segment);
+            variables.add(name);
+        }
+        return new MethodRoute(toolId, template, segments.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    public String getToolId() {
+        return toolId;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    String literal(int segment) {
+        return variables[segment] == null ? segments[segment] : null;
+    }
+
+    public boolean hasParams() {
+        return hasParams;
+    }
+
+    /**
+     * JSON-RPC method for a path this route matched. Unversioned routes return the
+     * precomputed name; a {@code {version}} segment yields {@code api.<selector>.<toolId>}.
+     *
+     * @param from Index in {@code path} where the route starts (after any context path)
+     * @return the method, or null if the version segment is not a version selector
+     */
+    public String method(String path, int from) {
+        if (versionSegment < 0) {
+            return method;
+        }
+        String selector = segmentValue(path, from, versionSegment);
+        return VERSION_SELECTOR.matcher(selector).matches() ? NAMESPACE + selector + "." + toolId : null;
+    }
+
+    /**
+     * Version selector of a path this route matched, or null for an unversioned route.
+     * Only valid when {@link #method} returned a method for the path.
+     */
+    public String version(String path, int from) {
+        return versionSegment < 0 ? null : segmentValue(path, from, versionSegment);
+    }
+
+    /**
+     * Put the path's variable segments (URL-decoded) into {@code params}, overriding
+     * body fields of the same name.
+     */
+    public void bindParams(String path, int from, Map<String, Object> params) {
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i] != null && i != versionSegment) {
+                params.put(variables[i], UriUtils.decode(segmentValue(path, from, i), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static String segmentValue(String path, int from, int index) {
+        int start = from + 1;
+        for (int i = 0; i < index; i++) {
+            start = path.indexOf('/', start) + 1;
+        }
+        int end = path.indexOf('/', start);
+        return path.substring(start, end < 0 ? path.length() : end);
+    }
+
+    @Override
+    public String toString() {
+        return template + " -> " + toolId;
+    }
+}
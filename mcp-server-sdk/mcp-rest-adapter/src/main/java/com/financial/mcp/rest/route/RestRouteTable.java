@@ -0,0 +1,118 @@
+package com.financial.mcp.rest.route;
+
+import com.financial.mcp.core.registry.ToolRegistry;
+import com.financial.mcp.core.registry.ToolRegistryChangedEvent;
+import com.financial.mcp.core.registry.ToolRegistryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST routes of every registered tool, compiled into a {@link RestRouteTrie}.
+ *
+ * <p>Each tool gets the default routes {@code /api/<toolId>},
+ * {@code /api/{version}/<toolId>} and {@code /api/<toolId>/{version}}, with the dots of
+ * the tool ID as path separators, plus its {@link ToolRegistry#getRestPath() restPath}
+ * template if it has one. The trie is rebuilt on a {@link ToolRegistryChangedEvent}
+ * and periodically, since a remote change can reach this table before the registry
+ * snapshot has reloaded; each rebuild is published with a single volatile write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RestRouteTable {
+    static final String PREFIX = "/api/";
+
+    private final ToolRegistryRepository toolRegistryRepository;
+
+    private volatile RestRouteTrie trie = RestRouteTrie.empty();
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * @param path Request URI
+     * @param from Index of the route's leading slash, i.e. the context path length
+     * @return the matching route, or null
+     */
+    public MethodRoute match(String path, int from) {
+        return trie.match(path, from);
+    }
+
+    @EventListener
+    public void onRegistryChanged(ToolRegistryChangedEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${mcp.rest.routes.refresh-interval-ms:30000}",
+            initialDelayString = "${mcp.rest.routes.refresh-interval-ms:30000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    void rebuild() {
+        List<ToolRegistry> tools;
+        try {
+            tools = toolRegistryRepository.findAll();
+        } catch (Exception e) {
+            log.warn("Failed to load tools for REST routes, keeping {} current routes", trie.size(), e);
+            return;
+        }
+        List<MethodRoute> conflicts = new ArrayList<>();
+        RestRouteTrie rebuilt = RestRouteTrie.of(routesFor(tools), conflicts);
+        for (MethodRoute conflict : conflicts) {
+            log.warn("REST route {} conflicts with an existing route and is ignored", conflict);
+        }
+        trie = rebuilt;
+        log.debug("Compiled {} REST routes", rebuilt.size());
+    }
+
+    /**
+     * Custom templates come first so that they win over default routes.
+     */
+    static List<MethodRoute> routesFor(List<ToolRegistry> tools) {
+        List<MethodRoute> custom = new ArrayList<>();
+        Set<String> toolIds = new LinkedHashSet<>();
+        Set<String> customPaths = new HashSet<>();
+        for (ToolRegistry tool : tools) {
+            toolIds.add(tool.getToolId());
+            String restPath = tool.getRestPath();
+            // Versions of one tool usually share their template
+            if (restPath == null || restPath.isBlank() || !customPaths.add(tool.getToolId() + " " + restPath)) {
+                continue;
+            }
+            if (!restPath.startsWith(PREFIX)) {
+                log.warn("Ignoring REST path {} of tool {}: must start with {}", restPath, tool.getToolId(), PREFIX);
+                continue;
+            }
+            try {
+                custom.add(MethodRoute.of(tool.getToolId(), restPath));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring REST path of tool {}: {}", tool.getToolId(), e.getMessage());
+            }
+        }
+        List<MethodRoute> routes = new ArrayList<>(custom);
+        for (String toolId : toolIds) {
+            String toolPath = toolId.replace('.', '/');
+            try {
+                routes.add(MethodRoute.of(toolId, PREFIX + toolPath));
+                routes.add(MethodRoute.of(toolId, PREFIX + "{" + MethodRoute.VERSION_VARIABLE + "}/" + toolPath));
+                routes.add(MethodRoute.of(toolId, PREFIX + toolPath + "/{" + MethodRoute.VERSION_VARIABLE + "}"));
+            } catch (IllegalArgumentException e) {
+                log.warn("Tool ID {} cannot be routed over REST: {}", toolId, e.getMessage());
+            }
+        }
+        return routes;
+    }
+}
@@ -0,0 +1,136 @@
+package com.financial.mcp.rest.route;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable segment trie over {@link MethodRoute} templates.
+ *
+ * <p>Matching walks the request path in place: each segment is compared to the
+ * node's literal children by a hash computed over the path's characters and then
+ * {@link String#regionMatches}, so no substrings are created. A literal child is
+ * preferred over a variable one, falling back to the variable on a dead end.
+ * A trailing slash is ignored; an empty segment ({@code //}) never matches.
+ */
+public final class RestRouteTrie {
+    private final Node root;
+    private final int size;
+
+    private RestRouteTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static RestRouteTrie empty() {
+        return new RestRouteTrie(new Node(), 0);
+    }
+
+    /**
+     * Routes whose template is already taken (ignoring variable names) are skipped
+     * and returned in {@code conflicts}, if given.
+     */
+    public static RestRouteTrie of(List<MethodRoute> routes, List<MethodRoute> conflicts) {
+        Node root = new Node();
+        int size = 0;
+        for (MethodRoute route : routes) {
+            Node node = root;
+            for (int i = 0; i < route.segmentCount(); i++) {
+                String literal = route.literal(i);
+                node = (literal != null) ? node.literalChild(literal) : node.variableChild();
+            }
+            if (node.route != null) {
+                if (conflicts != null) {
+                    conflicts.add(route);
+                }
+                continue;
+            }
+            node.route = route;
+            size++;
+        }
+        return new RestRouteTrie(root, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param from Index in {@code path} of the route's leading slash, e.g. the context path length
+     * @return the matching route, or null
+     */
+    public MethodRoute match(String path, int from) {
+        if (from >= path.length() || path.charAt(from) != '/') {
+            return null;
+        }
+        return match(root, path, from + 1);
+    }
+
+    private static MethodRoute match(Node node, String path, int start) {
+        int length = path.length();
+        if (start >= length) {
+            return node.route;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        if (end == start) {
+            return null;
+        }
+        Node literal = node.findLiteral(path, start, end);
+        if (literal != null) {
+            MethodRoute route = match(literal, path, end + 1);
+            if (route != null) {
+                return route;
+            }
+        }
+        return (node.variable != null) ? match(node.variable, path, end + 1) : null;
+    }
+
+    private static final class Node {
+        private String[] literals = new String[0];
+        private int[] hashes = new int[0];
+        private Node[] children = new Node[0];
+        private Node variable;
+        private MethodRoute route;
+
+        private Node literalChild(String literal) {
+            for (int i = 0; i < literals.length; i++) {
+                if (literals[i].equals(literal)) {
+                    return children[i];
+                }
+            }
+            int n = literals.length;
+            literals = Arrays.copyOf(literals, n + 1);
+            hashes = Arrays.copyOf(hashes, n + 1);
+            children = Arrays.copyOf(children, n + 1);
+            literals[n] = literal;
+            hashes[n] = literal.hashCode();
+            children[n] = new Node();
+            return children[n];
+        }
+
+        private Node variableChild() {
+            if (variable == null) {
+                variable = new Node();
+            }
+            return variable;
+        }
+
+        private Node findLiteral(String path, int start, int end) {
+            // Same formula as String.hashCode, over the segment's characters
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            int segmentLength = end - start;
+            for (int i = 0; i < hashes.length; i++) {
+                if (hashes[i] == hash && literals[i].length() == segmentLength
+                        && path.regionMatches(start, literals[i], 0, segmentLength)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.financial.mcp.rest.streamable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.financial.mcp.core.error.McpErrorCode;
+import com.financial.mcp.core.error.McpException;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.core.meta.McpMeta;
+import com.financial.mcp.core.meta.McpRequestContext;
+import com.financial.mcp.core.policy.PolicyService;
+import com.financial.mcp.core.registry.ToolRegistry;
+import com.financial.mcp.core.registry.ToolRegistryRepository;
+import com.financial.mcp.core.registry.ToolVersionIndex;
+import com.financial.mcp.core.rpc.JsonRpcDispatcher;
+import com.financial.mcp.core.rpc.JsonRpcError;
+import com.financial.mcp.core.rpc.JsonRpcRequest;
+import com.financial.mcp.core.rpc.JsonRpcResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * MCP methods of the Streamable HTTP transport, independent of the web stack.
+ *
+ * <p>Supports {@code initialize}, {@code ping}, {@code tools/list} and
+ * {@code tools/call}. A tool call becomes a {@link JsonRpcRequest} for the listed
+ * tool ID (recorded as method {@code mcp.<toolId>}) and goes through
+ * {@link JsonRpcDispatcher} like any other call, so kill switches, policy, schema
+ * validation, masking and audit all apply. Its meta comes from the request's
+ * principal and the session; the transaction ID is the session ID plus the
+ * request ID, which MCP clients must not reuse within a session.
+ *
+ * <p>Tool failures are reported as a result with {@code isError: true}; only an
+ * unknown tool or malformed call is a JSON-RPC error, as the MCP spec asks.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class McpProtocolHandler {
+    public static final String SESSION_HEADER = "Mcp-Session-Id";
+    static final List<String> PROTOCOL_VERSIONS = List.of("2025-06-18", "2025-03-26");
+    static final String TOOL_NAMESPACE = "mcp.";
+
+    public static final int INVALID_REQUEST = -32600;
+    public static final int METHOD_NOT_FOUND = -32601;
+    public static final int INVALID_PARAMS = -32602;
+    public static final int INTERNAL_ERROR = -32603;
+
+    private final JsonRpcDispatcher dispatcher;
+    private final ToolRegistryRepository toolRegistryRepository;
+    private final PolicyService policyService;
+    private final McpSessionStore sessionStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${mcp.streamable.tools-cache-ttl-ms:30000}")
+    long toolsCacheTtlMs = 30_000;
+
+    @Value("${spring.application.name:mcp-spoke}")
+    String serverName = "mcp-spoke";
+
+    /**
+     * Messages of a POST body: a single message or a batch.
+     */
+    public static List<JsonNode> messages(JsonNode body) {
+        if (body == null) {
+            return List.of();
+        }
+        if (!body.isArray()) {
+            return List.of(body);
+        }
+        List<JsonNode> messages = new ArrayList<>(body.size());
+        body.forEach(messages::add);
+        return messages;
+    }
+
+    /**
+     * A message that expects a response, as opposed to a notification or a client's response.
+     */
+    public static boolean isRequest(JsonNode message) {
+        return message.hasNonNull("id") && !message.has("result") && !message.has("error");
+    }
+
+    public static boolean isInitialize(JsonNode message) {
+        return "initialize".equals(message.path("method").asText(null));
+    }
+
+    /**
+     * Handle one client message with {@code principal} as {@link McpRequestContext}.
+     *
+     * @param principal Verified principal of the HTTP request carrying the message,
+     *                  which {@link McpSession#accepts} has matched to the session
+     * @return the response, or null for notifications and client responses
+     */
+    public JsonNode handle(McpSession session, AuthenticatedPrincipal principal, JsonNode message) {
+        boolean request = isRequest(message);
+        JsonNode id = request ? message.get("id") : NullNode.getInstance();
+        if (!message.isObject() || !message.hasNonNull("method")) {
+            return request ? error(id, INVALID_REQUEST, "Invalid request") : null;
+        }
+        String method = message.get("method").asText();
+        JsonNode params = message.path("params");
+
+        AuthenticatedPrincipal previous = McpRequestContext.currentPrincipal();
+        McpRequestContext.setPrincipal(principal);
+        try {
+            JsonNode response = switch (method) {
+                case "initialize" -> result(id, initialize(session, params));
+                case "ping" -> result(id, objectMapper.createObjectNode());
+                case "tools/list" -> result(id, objectMapper.createObjectNode().set("tools", tools(session, principal)));
+                case "tools/call" -> callTool(session, id, params);
+                default -> error(id, METHOD_NOT_FOUND, "Method not found: " + method);
+            };
+            return request ? response : null;
+        } catch (Exception e) {
+            log.error("MCP {} failed in session {}", method, session.getId(), e);
+            return request ? error(id, INTERNAL_ERROR, "Internal error") : null;
+        } finally {
+            if (previous != null) {
+                McpRequestContext.setPrincipal(previous);
+            } else {
+                McpRequestContext.clear();
+            }
+        }
+    }
+
+    public ObjectNode error(JsonNode id, int code, String message) {
+        ObjectNode response = envelope(id);
+        response.putObject("error").put("code", code).put("message", message);
+        return response;
+    }
+
+    private ObjectNode result(JsonNode id, JsonNode result) {
+        ObjectNode response = envelope(id);
+        response.set("result", result);
+        return response;
+    }
+
+    private ObjectNode envelope(JsonNode id) {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", id != null ? id : NullNode.getInstance());
+        return response;
+    }
+
+    private JsonNode initialize(McpSession session, JsonNode params) {
+        String requested = params.path("protocolVersion").asText(null);
+        String version = PROTOCOL_VERSIONS.contains(requested) ? requested : PROTOCOL_VERSIONS.get(0);
+        session.setProtocolVersion(version);
+        if (session.getCallerId() == null) {
+            session.setCallerId(params.path("clientInfo").path("name").asText("mcp-client"));
+        }
+
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("protocolVersion", version);
+        result.putObject("capabilities").putObject("tools").put("listChanged", true);
+        ObjectNode serverInfo = result.putObject("serverInfo");
+        serverInfo.put("name", serverName);
+        String serverVersion = getClass().getPackage().getImplementationVersion();
+        serverInfo.put("version", serverVersion != null ? serverVersion : "unknown");
+        return result;
+    }
+
+    /**
+     * Latest active version of every tool the session's caller is allowed to call.
+     */
+    private JsonNode tools(McpSession session, AuthenticatedPrincipal principal) {
+        long generation = sessionStore.toolsGeneration();
+        JsonNode cached = session.cachedTools(principal, generation, toolsCacheTtlMs);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<String, List<ToolRegistry>> versionsByTool = new TreeMap<>();
+        for (ToolRegistry tool : toolRegistryRepository.findAll()) {
+            versionsByTool.computeIfAbsent(tool.getToolId(), toolId -> new ArrayList<>()).add(tool);
+        }
+        McpMeta meta = meta(session, null);
+        ArrayNode tools = objectMapper.createArrayNode();
+        versionsByTool.forEach((toolId, versions) -> {
+            ToolVersionIndex index = ToolVersionIndex.of(toolId, versions);
+            ToolRegistry tool = index != null ? index.latest() : null;
+            if (tool != null && tool.isActive() && isAllowed(meta, toolId)) {
+                tools.add(toolDefinition(tool));
+            }
+        });
+        session.cacheTools(principal, generation, tools);
+        return tools;
+    }
+
+    private boolean isAllowed(McpMeta meta, String toolId) {
+        try {
+            policyService.validatePolicy(meta, toolId);
+            return true;
+        } catch (McpException e) {
+            return false;
+        }
+    }
+
+    private ObjectNode toolDefinition(ToolRegistry tool) {
+        ObjectNode definition = objectMapper.createObjectNode();
+        definition.put("name", tool.getToolId());
+        if (tool.getToolName() != null) {
+            definition.put("title", tool.getToolName());
+        }
+        if (tool.getDescription() != null) {
+            definition.put("description", tool.getDescription());
+        }
+        if (tool.getInputSchema() != null) {
+            definition.set("inputSchema", tool.getInputSchema());
+        } else {
+            definition.putObject("inputSchema").put("type", "object");
+        }
+        return definition;
+    }
+
+    private JsonNode callTool(McpSession session, JsonNode id, JsonNode params) {
+        String name = params.path("name").asText(null);
+        if (name == null || name.isBlank()) {
+            return error(id, INVALID_PARAMS, "Tool name is required");
+        }
+        JsonNode arguments = params.get("arguments");
+        if (arguments != null && !arguments.isNull() && !arguments.isObject()) {
+            return error(id, INVALID_PARAMS, "Tool arguments must be an object");
+        }
+        Object toolParams = (arguments == null || arguments.isNull())
+                ? new LinkedHashMap<String, Object>()
+                : objectMapper.convertValue(arguments, Map.class);
+
+        JsonRpcRequest request = JsonRpcRequest.builder()
+                .jsonrpc("2.0")
+                .method(TOOL_NAMESPACE + name)
+                .params(toolParams)
+                .id(id.asText())
+                .meta(meta(session, session.getId() + ":" + id.asText()))
+                .toolId(name)
+                .build();
+        JsonRpcResponse response = dispatcher.dispatch(request);
+
+        JsonRpcError error = response.getError();
+        if (error == null) {
+            return result(id, toolResult(objectMapper.valueToTree(response.getResult()), false));
+        }
+        if (McpErrorCode.TOOL_NOT_FOUND.equals(error.getCode())) {
+            return error(id, INVALID_PARAMS, "Unknown tool: " + name);
+        }
+        return result(id, toolResult(objectMapper.valueToTree(error), true));
+    }
+
+    private ObjectNode toolResult(JsonNode value, boolean isError) {
+        ObjectNode result = objectMapper.createObjectNode();
+        String text;
+        if (isError) {
+            text = value.path("code").asText() + ": " + value.path("message").asText();
+        } else {
+            text = value.isTextual() ? value.asText() : value.toString();
+        }
+        result.putArray("content").addObject().put("type", "text").put("text", text);
+        if (value.isObject()) {
+            result.set("structuredContent", value);
+        }
+        result.put("isError", isError);
+        return result;
+    }
+
+    /**
+     * Meta for a call in the session: identity headers captured at initialize,
+     * overwritten by the request's principal if it has one.
+     */
+    private McpMeta meta(McpSession session, String txId) {
+        McpMeta meta = McpMeta.builder()
+                .userId(session.getFallbackUserId())
+                .dept(session.getFallbackDept())
+                .callerId(session.getCallerId())
+                .traceId(UUID.randomUUID().toString())
+                .txId(txId)
+                .build();
+        McpRequestContext.applyTo(meta);
+        return meta;
+    }
+}
@@ -0,0 +1,124 @@
+package com.financial.mcp.rest.streamable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State of one MCP Streamable HTTP session, shared by every request that
+ * carries its {@code Mcp-Session-Id}.
+ *
+ * <p>The principal that opened the session at {@code initialize} pins its user
+ * and issuer: later requests must come from the same user, but run with their
+ * own verified principal, so a re-issued token with other roles or another
+ * department takes effect at once. The policy-filtered {@code tools/list}
+ * result is cached per principal until the tool registry changes or it reaches
+ * its maximum age.
+ */
+@Getter
+public class McpSession {
+    private final String id;
+    private final long createdAt;
+    private final String fallbackUserId; // identity headers, used only without a verified principal
+    private final String fallbackDept;
+
+    private volatile String callerId;
+    private final AuthenticatedPrincipal principal;
+    private volatile long lastAccessAt;
+    private volatile String protocolVersion;
+    @Getter(AccessLevel.NONE)
+    private volatile ToolList toolList;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<McpSessionStream> stream = new AtomicReference<>();
+
+    public McpSession(String id, AuthenticatedPrincipal principal, String callerId,
+                      String fallbackUserId, String fallbackDept) {
+        this.id = id;
+        this.principal = principal;
+        this.callerId = callerId;
+        this.fallbackUserId = fallbackUserId;
+        this.fallbackDept = fallbackDept;
+        this.createdAt = System.currentTimeMillis();
+        this.lastAccessAt = createdAt;
+    }
+
+    /**
+     * Whether a request authenticated as {@code caller} may use this session. A
+     * session opened with a token only accepts tokens of the same user and issuer.
+     */
+    public boolean accepts(AuthenticatedPrincipal caller) {
+        if (principal == null) {
+            return caller == null;
+        }
+        return caller != null && Objects.equals(principal.userId(), caller.userId())
+                && Objects.equals(principal.issuer(), caller.issuer());
+    }
+
+    void touch() {
+        lastAccessAt = System.currentTimeMillis();
+    }
+
+    void setCallerId(String callerId) {
+        this.callerId = callerId;
+    }
+
+    void setProtocolVersion(String protocolVersion) {
+        this.protocolVersion = protocolVersion;
+    }
+
+    /**
+     * @return the cached tools/list result if it was built for {@code caller} and this
+     *         registry generation no more than {@code maxAgeMs} ago, else null
+     */
+    JsonNode cachedTools(AuthenticatedPrincipal caller, long generation, long maxAgeMs) {
+        ToolList cached = toolList;
+        return cached != null && cached.generation() == generation && Objects.equals(cached.caller(), caller)
+                && System.currentTimeMillis() - cached.builtAt() < maxAgeMs ? cached.tools() : null;
+    }
+
+    void cacheTools(AuthenticatedPrincipal caller, long generation, JsonNode tools) {
+        toolList = new ToolList(caller, generation, System.currentTimeMillis(), tools);
+    }
+
+    /**
+     * Attach the server-to-client stream (GET), closing the one it replaces.
+     */
+    public void openStream(McpSessionStream newStream) {
+        McpSessionStream previous = stream.getAndSet(newStream);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Detach {@code closed} if it is still the session's stream.
+     */
+    public void streamClosed(McpSessionStream closed) {
+        stream.compareAndSet(closed, null);
+    }
+
+    /**
+     * Send a server-initiated message on the GET stream, if one is open.
+     */
+    void notify(JsonNode message) {
+        McpSessionStream current = stream.get();
+        if (current != null && !current.send(message)) {
+            streamClosed(current);
+        }
+    }
+
+    void close() {
+        McpSessionStream current = stream.getAndSet(null);
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private record ToolList(AuthenticatedPrincipal caller, long generation, long builtAt, JsonNode tools) {
+    }
+}
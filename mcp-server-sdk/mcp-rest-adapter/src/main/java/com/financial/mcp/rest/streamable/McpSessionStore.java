@@ -0,0 +1,112 @@
+package com.financial.mcp.rest.streamable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.core.registry.ToolRegistryChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory MCP sessions of this node.
+ *
+ * <p>Sessions are not shared between nodes: a load balancer in front of several
+ * spokes must route by the {@code Mcp-Session-Id} header, and a client whose
+ * session is unknown (after a restart or idle eviction) gets 404 and initializes
+ * again, as the Streamable HTTP transport specifies.
+ */
+@Slf4j
+@Component
+public class McpSessionStore {
+    private static final JsonNode TOOLS_LIST_CHANGED = listChangedNotification();
+
+    private final ConcurrentHashMap<String, McpSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong toolsGeneration = new AtomicLong();
+
+    @Value("${mcp.streamable.max-sessions:10000}")
+    int maxSessions = 10_000;
+
+    @Value("${mcp.streamable.session-idle-timeout-ms:1800000}")
+    long idleTimeoutMs = 1_800_000;
+
+    /**
+     * @throws IllegalStateException if the node already holds {@code mcp.streamable.max-sessions} sessions
+     */
+    public McpSession create(AuthenticatedPrincipal principal, String callerId, String userId, String dept) {
+        if (sessions.size() >= maxSessions) {
+            throw new IllegalStateException("Too many MCP sessions");
+        }
+        McpSession session = new McpSession(UUID.randomUUID().toString(), principal, callerId, userId, dept);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * @return the session, or null if it is unknown or was opened by another caller
+     */
+    public McpSession find(String sessionId, AuthenticatedPrincipal caller) {
+        McpSession session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session == null || !session.accepts(caller)) {
+            return null;
+        }
+        session.touch();
+        return session;
+    }
+
+    public boolean remove(String sessionId) {
+        McpSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        return true;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Bumped on every registry change; cached tool lists of older generations are rebuilt.
+     */
+    long toolsGeneration() {
+        return toolsGeneration.get();
+    }
+
+    @EventListener
+    public void onRegistryChanged(ToolRegistryChangedEvent event) {
+        toolsGeneration.incrementAndGet();
+        sessions.values().forEach(session -> session.notify(TOOLS_LIST_CHANGED));
+    }
+
+    @Scheduled(fixedDelayString = "${mcp.streamable.eviction-interval-ms:60000}",
+            initialDelayString = "${mcp.streamable.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        int evicted = 0;
+        for (McpSession session : sessions.values()) {
+            if (session.getLastAccessAt() < cutoff && sessions.remove(session.getId(), session)) {
+                session.close();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle MCP sessions", evicted);
+        }
+    }
+
+    private static JsonNode listChangedNotification() {
+        ObjectNode notification = JsonNodeFactory.instance.objectNode();
+        notification.put("jsonrpc", "2.0");
+        notification.put("method", "notifications/tools/list_changed");
+        return notification;
+    }
+}
@@ -0,0 +1,15 @@
+package com.financial.mcp.rest.streamable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Server-to-client SSE stream of a session, implemented by each web transport.
+ */
+public interface McpSessionStream {
+    /**
+     * @return false if the client is gone and the stream should be dropped
+     */
+    boolean send(JsonNode message);
+
+    void close();
+}
@@ -0,0 +1,75 @@
+package com.financial.mcp.rest.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.rest.streamable.McpProtocolHandler;
+import com.financial.mcp.rest.streamable.McpSession;
+import com.financial.mcp.rest.streamable.McpSessionStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamableHttpControllerTest {
+    @Mock
+    private McpProtocolHandler protocolHandler;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final McpSessionStore sessionStore = new McpSessionStore();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private StreamableHttpController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new StreamableHttpController(protocolHandler, sessionStore);
+        controller.callThreads = 1;
+        controller.callQueueCapacity = 1;
+        controller.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        controller.shutdown();
+    }
+
+    @Test
+    void testPost_FullCallPoolAnswers503() throws Exception {
+        McpSession session = sessionStore.create(null, "claude-desktop", "alice", "RISK");
+        when(protocolHandler.handle(eq(session), isNull(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return objectMapper.createObjectNode();
+        });
+        when(protocolHandler.error(isNull(), eq(McpProtocolHandler.INTERNAL_ERROR), anyString()))
+                .thenReturn(objectMapper.createObjectNode());
+
+        // One call running and one queued fill the pool
+        assertEquals(HttpStatus.OK, post(session, 1).getStatusCode());
+        assertEquals(HttpStatus.OK, post(session, 2).getStatusCode());
+        ResponseEntity<ResponseBodyEmitter> rejected = post(session, 3);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(protocolHandler, never()).handle(eq(session), isNull(), argThat(message -> message.get("id").asInt() == 3));
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> post(McpSession session, int id) throws Exception {
+        JsonNode body = objectMapper.readTree(
+                "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"tools/call\",\"params\":{\"name\":\"loss_projection\"}}");
+        return controller.handlePost(body, session.getId(), null, null);
+    }
+}
@@ -0,0 +1,133 @@
+package com.financial.mcp.rest.route;
+
+import com.financial.mcp.core.registry.ToolRegistry;
+import com.financial.mcp.core.rpc.JsonRpcDispatcher;
+import com.financial.mcp.core.rpc.JsonRpcRequest;
+import com.financial.mcp.rest.converter.RestToJsonRpcConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestRouteTrieTest {
+    private RestRouteTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = RestRouteTrie.of(RestRouteTable.routesFor(List.of(
+                tool("loss_projection", "/api/ifrs17/{portfolio}/loss_projection"),
+                tool("ifrs17.summary", null),
+                tool("ifrs17.admin.loss_projection", null))), null);
+    }
+
+    @Test
+    void testMatch_DefaultRoute() {
+        MethodRoute route = trie.match("/api/loss_projection", 0);
+
+        assertNotNull(route);
+        assertEquals("api.loss_projection", route.method("/api/loss_projection", 0));
+        assertEquals("api.ifrs17.summary", trie.match("/api/ifrs17/summary", 0).method("/api/ifrs17/summary", 0));
+    }
+
+    @Test
+    void testMatch_VersionSegment() {
+        String path = "/api/v1.2.0/loss_projection";
+
+        assertEquals("api.v1.2.0.loss_projection", trie.match(path, 0).method(path, 0));
+        assertEquals("api.latest.loss_projection",
+                trie.match("/api/loss_projection/latest", 0).method("/api/loss_projection/latest", 0));
+        assertNull(trie.match("/api/loss_projection/beta", 0).method("/api/loss_projection/beta", 0));
+    }
+
+    @Test
+    void testConvert_DottedToolIdReachesDispatcherIntact() {
+        RestToJsonRpcConverter converter = new RestToJsonRpcConverter();
+        String path = "/api/v1/ifrs17/admin/loss_projection";
+        MethodRoute route = trie.match(path, 0);
+
+        JsonRpcRequest versioned = converter.convertRouteToJsonRpc(
+                route.method(path, 0), route.getToolId(), route.version(path, 0), null, header -> null);
+        assertEquals("ifrs17.admin.loss_projection", JsonRpcDispatcher.toolIdOf(versioned));
+        assertEquals("v1", JsonRpcDispatcher.versionOf(versioned));
+
+        String unversionedPath = "/api/ifrs17/summary";
+        MethodRoute unversioned = trie.match(unversionedPath, 0);
+        JsonRpcRequest request = converter.convertRouteToJsonRpc(unversioned.method(unversionedPath, 0),
+                unversioned.getToolId(), unversioned.version(unversionedPath, 0), null, header -> null);
+        assertEquals("ifrs17.summary", JsonRpcDispatcher.toolIdOf(request));
+        assertNull(JsonRpcDispatcher.versionOf(request));
+        // The method string alone would resolve to the wrong tool
+        assertNotEquals("ifrs17.summary", JsonRpcDispatcher.extractToolId(request.getMethod()));
+    }
+
+    @Test
+    void testMatch_LiteralPreferredOverVariable() {
+        assertEquals("ifrs17.admin.loss_projection", trie.match("/api/ifrs17/admin/loss_projection", 0).getToolId());
+        assertEquals("loss_projection", trie.match("/api/ifrs17/other/loss_projection", 0).getToolId());
+    }
+
+    @Test
+    void testMatch_BindsDecodedPathVariables() {
+        String path = "/api/ifrs17/life%20insurance/loss_projection";
+        Map<String, Object> params = new HashMap<>();
+        params.put("portfolio", "from-body");
+
+        MethodRoute route = trie.match(path, 0);
+        route.bindParams(path, 0, params);
+
+        assertEquals("api.loss_projection", route.method(path, 0));
+        assertEquals("life insurance", params.get("portfolio"));
+    }
+
+    @Test
+    void testMatch_StartsAfterContextPath() {
+        String path = "/x/api/ifrs17/P1/loss_projection";
+        Map<String, Object> params = new HashMap<>();
+
+        MethodRoute route = trie.match(path, "/x".length());
+        route.bindParams(path, "/x".length(), params);
+
+        assertEquals("loss_projection", route.getToolId());
+        assertEquals("P1", params.get("portfolio"));
+        assertNull(trie.match(path, 0));
+    }
+
+    @Test
+    void testMatch_TrailingSlashToleratedEmptySegmentRejected() {
+        assertNotNull(trie.match("/api/loss_projection/", 0));
+        assertNull(trie.match("/api//loss_projection", 0));
+        assertNull(trie.match("/api/unknown", 0));
+        assertNull(trie.match("/api", 0));
+    }
+
+    @Test
+    void testOf_ConflictingTemplateKeepsFirstRoute() {
+        List<MethodRoute> conflicts = new ArrayList<>();
+
+        RestRouteTrie conflicting = RestRouteTrie.of(List.of(
+                MethodRoute.of("first", "/api/{a}/run"),
+                MethodRoute.of("second", "/api/{b}/run")), conflicts);
+
+        assertEquals("first", conflicting.match("/api/x/run", 0).getToolId());
+        assertEquals(1, conflicts.size());
+    }
+
+    @Test
+    void testMethodRoute_RejectsPartialVariable() {
+        assertThrows(IllegalArgumentException.class, () -> MethodRoute.of("t", "/api/p-{id}"));
+        assertThrows(IllegalArgumentException.class, () -> MethodRoute.of("t", "/api//t"));
+    }
+
+    private static ToolRegistry tool(String toolId, String restPath) {
+        return ToolRegistry.builder()
+                .toolId(toolId)
+                .version("1.0.0")
+                .restPath(restPath)
+                .build();
+    }
+}
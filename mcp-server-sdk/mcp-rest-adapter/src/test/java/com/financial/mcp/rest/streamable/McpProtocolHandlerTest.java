@@ -0,0 +1,194 @@
+package com.financial.mcp.rest.streamable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.error.McpErrorCode;
+import com.financial.mcp.core.error.McpException;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.core.meta.McpMeta;
+import com.financial.mcp.core.policy.PolicyService;
+import com.financial.mcp.core.registry.ToolRegistry;
+import com.financial.mcp.core.registry.ToolRegistryChangedEvent;
+import com.financial.mcp.core.registry.ToolRegistryRepository;
+import com.financial.mcp.core.rpc.JsonRpcDispatcher;
+import com.financial.mcp.core.rpc.JsonRpcRequest;
+import com.financial.mcp.core.rpc.JsonRpcResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class McpProtocolHandlerTest {
+    private static final AuthenticatedPrincipal ALICE =
+            new AuthenticatedPrincipal("alice", "RISK", List.of("ANALYST"), "https://idp", 1_000L);
+
+    @Mock
+    private JsonRpcDispatcher dispatcher;
+
+    @Mock
+    private ToolRegistryRepository toolRegistryRepository;
+
+    @Mock
+    private PolicyService policyService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private McpSessionStore sessionStore;
+    private McpProtocolHandler handler;
+    private McpSession session;
+
+    @BeforeEach
+    void setUp() {
+        sessionStore = new McpSessionStore();
+        handler = new McpProtocolHandler(dispatcher, toolRegistryRepository, policyService, sessionStore, objectMapper);
+        session = sessionStore.create(ALICE, "claude-desktop", null, null);
+    }
+
+    @Test
+    void testInitialize_NegotiatesProtocolVersion() throws Exception {
+        JsonNode supported = handler.handle(session, ALICE, message(1, "initialize", "{\"protocolVersion\":\"2025-03-26\"}"));
+        JsonNode unknown = handler.handle(session, ALICE, message(2, "initialize", "{\"protocolVersion\":\"1999-01-01\"}"));
+
+        assertEquals("2025-03-26", supported.at("/result/protocolVersion").asText());
+        assertEquals("2025-06-18", unknown.at("/result/protocolVersion").asText());
+        assertTrue(unknown.at("/result/capabilities/tools/listChanged").asBoolean());
+    }
+
+    @Test
+    void testNotification_HasNoResponse() throws Exception {
+        JsonNode notification = objectMapper.readTree("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}");
+
+        assertNull(handler.handle(session, ALICE, notification));
+    }
+
+    @Test
+    void testToolsList_FiltersByPolicyAndCachesPerSession() throws Exception {
+        when(toolRegistryRepository.findAll()).thenReturn(List.of(
+                tool("ifrs17.loss_projection", "1.0.0", "ACTIVE"),
+                tool("ifrs17.loss_projection", "2.0.0", "ACTIVE"),
+                tool("payments.refund", "1.0.0", "ACTIVE"),
+                tool("legacy.report", "1.0.0", "DISABLED")));
+        doAnswer(invocation -> {
+            if ("payments.refund".equals(invocation.getArgument(1))) {
+                throw new McpException(McpErrorCode.POLICY_DENIED, "denied");
+            }
+            return null;
+        }).when(policyService).validatePolicy(any(McpMeta.class), anyString());
+
+        JsonNode first = handler.handle(session, ALICE, message(1, "tools/list", "{}"));
+        JsonNode second = handler.handle(session, ALICE, message(2, "tools/list", "{}"));
+
+        JsonNode tools = first.at("/result/tools");
+        assertEquals(1, tools.size());
+        assertEquals("ifrs17.loss_projection", tools.get(0).get("name").asText());
+        assertEquals(tools, second.at("/result/tools"));
+        verify(toolRegistryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testToolsList_RebuiltAfterRegistryChange() throws Exception {
+        when(toolRegistryRepository.findAll()).thenReturn(List.of(tool("ifrs17.loss_projection", "1.0.0", "ACTIVE")));
+
+        handler.handle(session, ALICE, message(1, "tools/list", "{}"));
+        sessionStore.onRegistryChanged(new ToolRegistryChangedEvent("ifrs17.loss_projection", false));
+        handler.handle(session, ALICE, message(2, "tools/list", "{}"));
+
+        verify(toolRegistryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testToolsCall_DispatchesWithSessionMeta() throws Exception {
+        when(dispatcher.dispatch(any())).thenReturn(JsonRpcResponse.success("7", Map.of("loss", 42)));
+
+        JsonNode response = handler.handle(session, ALICE, message(7, "tools/call",
+                "{\"name\":\"ifrs17.loss_projection\",\"arguments\":{\"portfolio\":\"P1\"}}"));
+
+        ArgumentCaptor<JsonRpcRequest> captor = ArgumentCaptor.forClass(JsonRpcRequest.class);
+        verify(dispatcher).dispatch(captor.capture());
+        JsonRpcRequest request = captor.getValue();
+        assertEquals("mcp.ifrs17.loss_projection", request.getMethod());
+        // The dotted ID as listed, not the "ifrs17" the method string parses to
+        assertEquals("ifrs17.loss_projection", JsonRpcDispatcher.toolIdOf(request));
+        assertNull(JsonRpcDispatcher.versionOf(request));
+        assertEquals("alice", request.getMeta().getUserId());
+        assertEquals("RISK", request.getMeta().getDept());
+        assertEquals("claude-desktop", request.getMeta().getCallerId());
+        assertEquals(session.getId() + ":7", request.getMeta().getTxId());
+
+        assertFalse(response.at("/result/isError").asBoolean());
+        assertEquals(42, response.at("/result/structuredContent/loss").asInt());
+    }
+
+    @Test
+    void testToolsCall_ToolErrorIsResultWithIsError() throws Exception {
+        when(dispatcher.dispatch(any())).thenReturn(
+                JsonRpcResponse.error("8", McpErrorCode.POLICY_DENIED, "Access denied", false));
+
+        JsonNode response = handler.handle(session, ALICE, message(8, "tools/call", "{\"name\":\"payments.refund\"}"));
+
+        assertNull(response.get("error"));
+        assertTrue(response.at("/result/isError").asBoolean());
+        assertEquals("POLICY_DENIED: Access denied", response.at("/result/content/0/text").asText());
+    }
+
+    @Test
+    void testToolsCall_UnknownToolIsInvalidParams() throws Exception {
+        when(dispatcher.dispatch(any())).thenReturn(
+                JsonRpcResponse.error("9", McpErrorCode.TOOL_NOT_FOUND, "Tool not found", false));
+
+        JsonNode response = handler.handle(session, ALICE, message(9, "tools/call", "{\"name\":\"nope.tool\"}"));
+
+        assertEquals(McpProtocolHandler.INVALID_PARAMS, response.at("/error/code").asInt());
+    }
+
+    @Test
+    void testUnknownMethod_IsMethodNotFound() throws Exception {
+        JsonNode response = handler.handle(session, ALICE, message(3, "resources/list", "{}"));
+
+        assertEquals(McpProtocolHandler.METHOD_NOT_FOUND, response.at("/error/code").asInt());
+    }
+
+    @Test
+    void testFind_RejectsOtherUserAndAcceptsRefreshedToken() {
+        AuthenticatedPrincipal bob = new AuthenticatedPrincipal("bob", "RISK", List.of(), "https://idp", 5_000L);
+        AuthenticatedPrincipal refreshed = new AuthenticatedPrincipal("alice", "RISK", List.of("ANALYST"), "https://idp", 5_000L);
+
+        assertNull(sessionStore.find(session.getId(), bob));
+        assertNull(sessionStore.find(session.getId(), null));
+        assertSame(session, sessionStore.find(session.getId(), refreshed));
+    }
+
+    @Test
+    void testToolsCall_UsesRequestPrincipalNotSessionOpener() throws Exception {
+        // Re-issued with another department and no later expiry than the token that opened the session
+        AuthenticatedPrincipal moved = new AuthenticatedPrincipal("alice", "AUDIT", List.of(), "https://idp", 500L);
+        when(dispatcher.dispatch(any())).thenReturn(JsonRpcResponse.success("4", Map.of()));
+
+        assertSame(session, sessionStore.find(session.getId(), moved));
+        handler.handle(session, moved, message(4, "tools/call", "{\"name\":\"ifrs17.loss_projection\"}"));
+
+        ArgumentCaptor<JsonRpcRequest> captor = ArgumentCaptor.forClass(JsonRpcRequest.class);
+        verify(dispatcher).dispatch(captor.capture());
+        assertEquals("AUDIT", captor.getValue().getMeta().getDept());
+        assertEquals(List.of(), captor.getValue().getMeta().getRoles());
+    }
+
+    private JsonNode message(int id, String method, String params) throws Exception {
+        return objectMapper.readTree(
+                "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"" + method + "\",\"params\":" + params + "}");
+    }
+
+    private static ToolRegistry tool(String toolId, String version, String status) {
+        return ToolRegistry.builder().toolId(toolId).version(version).status(status).build();
+    }
+}
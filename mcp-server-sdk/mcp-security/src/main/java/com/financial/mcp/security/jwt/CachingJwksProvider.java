@@ -0,0 +1,144 @@
+package com.financial.mcp.security.jwt;
+
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JWKS-backed {@link JwksProvider} that keeps the key set and one verifier per key
+ * in memory.
+ *
+ * <ul>
+ *   <li>The key set is loaded at startup and refreshed in the background every
+ *       {@code mcp.security.jwks.refresh-interval-ms}. A failed refresh keeps the
+ *       previous keys.</li>
+ *   <li>An unknown {@code kid} (the issuer rotated keys since the last refresh)
+ *       triggers an immediate refetch, at most once per
+ *       {@code mcp.security.jwks.min-refetch-interval-ms}, so tokens with made-up
+ *       key IDs cannot hammer the issuer.</li>
+ *   <li>{@code mcp.security.jwks.uri} is an http(s) URL, a {@code file:} URI or a
+ *       plain file path; the file forms are meant for tests and air-gapped setups.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mcp.security.jwks.uri")
+public class CachingJwksProvider implements JwksProvider {
+    private static final int MAX_JWKS_BYTES = 512 * 1024;
+
+    @Value("${mcp.security.jwks.uri}")
+    String jwksUri;
+
+    @Value("${mcp.security.jwks.connect-timeout-ms:2000}")
+    int connectTimeoutMs = 2000;
+
+    @Value("${mcp.security.jwks.read-timeout-ms:2000}")
+    int readTimeoutMs = 2000;
+
+    @Value("${mcp.security.jwks.min-refetch-interval-ms:30000}")
+    long minRefetchIntervalMs = 30_000;
+
+    private volatile Map<String, Key> keys = Collections.emptyMap();
+    private long lastFetchAt;
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Reload the key set. Verifiers of keys that did not change are kept.
+     */
+    @Scheduled(initialDelayString = "${mcp.security.jwks.refresh-interval-ms:300000}",
+            fixedDelayString = "${mcp.security.jwks.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        lastFetchAt = System.currentTimeMillis();
+        try {
+            Map<String, Key> previous = keys;
+            Map<String, Key> loaded = new HashMap<>();
+            for (JWK jwk : fetch().getKeys()) {
+                if (!(jwk instanceof RSAKey rsaKey)
+                        || (rsaKey.getKeyUse() != null && !KeyUse.SIGNATURE.equals(rsaKey.getKeyUse()))) {
+                    continue;
+                }
+                RSAPublicKey publicKey = rsaKey.toRSAPublicKey();
+                Key existing = previous.get(rsaKey.getKeyID());
+                loaded.put(rsaKey.getKeyID(), (existing != null && existing.publicKey().equals(publicKey))
+                        ? existing
+                        : new Key(publicKey, new RSASSAVerifier(publicKey)));
+            }
+            keys = Collections.unmodifiableMap(loaded);
+            log.debug("Loaded {} signing keys from {}", loaded.size(), jwksUri);
+        } catch (Exception e) {
+            log.warn("Failed to load JWKS from {}, keeping {} cached keys", jwksUri, keys.size(), e);
+        }
+    }
+
+    @Override
+    public RSAPublicKey getPublicKey(String keyId) throws Exception {
+        return resolve(keyId).publicKey();
+    }
+
+    @Override
+    public JWSVerifier getVerifier(String keyId) throws Exception {
+        return resolve(keyId).verifier();
+    }
+
+    private Key resolve(String keyId) {
+        Key key = find(keyId);
+        if (key == null) {
+            refetchUnknownKey();
+            key = find(keyId);
+        }
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Tokens without a {@code kid} are accepted only while the set holds a single key.
+     */
+    private Key find(String keyId) {
+        Map<String, Key> current = keys;
+        Key key = current.get(keyId);
+        if (key == null && keyId == null && current.size() == 1) {
+            key = current.values().iterator().next();
+        }
+        return key;
+    }
+
+    private synchronized void refetchUnknownKey() {
+        if (System.currentTimeMillis() - lastFetchAt < minRefetchIntervalMs) {
+            return;
+        }
+        refresh();
+    }
+
+    private JWKSet fetch() throws Exception {
+        if (jwksUri.startsWith("http://") || jwksUri.startsWith("https://")) {
+            return JWKSet.load(URI.create(jwksUri).toURL(), connectTimeoutMs, readTimeoutMs, MAX_JWKS_BYTES);
+        }
+        Path path = jwksUri.startsWith("file:") ? Path.of(URI.create(jwksUri)) : Path.of(jwksUri);
+        return JWKSet.load(path.toFile());
+    }
+
+    private record Key(RSAPublicKey publicKey, JWSVerifier verifier) {
+    }
+}
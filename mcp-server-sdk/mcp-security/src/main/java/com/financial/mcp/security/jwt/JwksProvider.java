@@ -1,7 +1,18 @@
 package com.financial.mcp.security.jwt;
 
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+
 import java.security.interfaces.RSAPublicKey;
 
 public interface JwksProvider {
     RSAPublicKey getPublicKey(String keyId) throws Exception;
+
+    /**
+     * Verifier for the key. Implementations that cache keys should also cache
+     * their verifiers; by default a new one is built per call.
+     */
+    default JWSVerifier getVerifier(String keyId) throws Exception {
+        return new RSASSAVerifier(getPublicKey(keyId));
+    }
 }
@@ -0,0 +1,66 @@
+package com.financial.mcp.security.jwt;
+
+import com.financial.mcp.core.error.McpErrorCode;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.core.meta.McpRequestContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Verifies the bearer token once per request with {@link JwtTokenValidator} and
+ * publishes the caller as an {@link AuthenticatedPrincipal} in
+ * {@link McpRequestContext} (and as the Spring Security authentication, with
+ * {@code ROLE_} authorities). Requests without a bearer token pass through
+ * unauthenticated; an invalid token is rejected with 401 UNAUTHORIZED.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+
+    private final JwtTokenValidator tokenValidator;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader("Authorization");
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AuthenticatedPrincipal principal;
+        try {
+            principal = tokenValidator.validateToken(authorization.substring(BEARER.length())).toPrincipal();
+        } catch (Exception e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            SecurityContextHolder.clearContext();
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"code\":\"" + McpErrorCode.UNAUTHORIZED
+                    + "\",\"message\":\"Invalid or expired token\",\"retryable\":false}");
+            return;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null,
+                principal.roles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList()));
+        McpRequestContext.setPrincipal(principal);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            McpRequestContext.clear();
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.financial.mcp.security.jwt;
 
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
 import com.nimbusds.jwt.SignedJWT;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
 
 import java.text.ParseException;
+import java.time.Instant;
 import java.util.List;
 
 @Data
@@ -30,4 +34,22 @@ public class JwtClaims {
                 .exp(claims.getExpirationTime().getTime())
                 .build();
     }
+
+    /**
+     * Same claims from a token Spring's resource server has already verified.
+     */
+    public static JwtClaims fromJwt(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return JwtClaims.builder()
+                .sub(jwt.getSubject())
+                .iss(jwt.getClaimAsString(JwtClaimNames.ISS))
+                .roles(jwt.getClaimAsStringList("roles"))
+                .dept(jwt.getClaimAsString("dept"))
+                .exp(expiresAt != null ? expiresAt.toEpochMilli() : 0)
+                .build();
+    }
+
+    public AuthenticatedPrincipal toPrincipal() {
+        return new AuthenticatedPrincipal(sub, dept, roles, iss, exp);
+    }
 }
@@ -0,0 +1,26 @@
+package com.financial.mcp.security.jwt;
+
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Authenticates a token verified by Spring's resource server as an
+ * {@link AuthenticatedPrincipal} with {@code ROLE_} authorities, read from the
+ * same claims as {@link JwtClaims}. Used when no {@link JwtTokenValidator} is
+ * configured, so the caller's identity still comes from the token and never
+ * from the X-User-Id / X-Dept headers.
+ */
+public class JwtPrincipalConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        AuthenticatedPrincipal principal = JwtClaims.fromJwt(jwt).toPrincipal();
+        return new UsernamePasswordAuthenticationToken(
+                principal, null,
+                principal.roles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList());
+    }
+}
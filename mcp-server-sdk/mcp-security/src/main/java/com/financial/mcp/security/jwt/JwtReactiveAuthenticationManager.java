@@ -0,0 +1,43 @@
+package com.financial.mcp.security.jwt;
+
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}: verifies the bearer
+ * token with {@link JwtTokenValidator} and authenticates the caller as an
+ * {@link AuthenticatedPrincipal} with {@code ROLE_} authorities.
+ *
+ * <p>Verification may fetch the JWKS over HTTP, so it runs on the bounded
+ * elastic scheduler rather than the event loop.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+    private final JwtTokenValidator tokenValidator;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> tokenValidator.validateToken(bearer.getToken()).toPrincipal())
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(e -> {
+                    log.debug("Rejected bearer token: {}", e.getMessage());
+                    return new BadCredentialsException("Invalid or expired token", e);
+                })
+                .map(principal -> new UsernamePasswordAuthenticationToken(
+                        principal, null,
+                        principal.roles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList()));
+    }
+}
@@ -1,26 +1,37 @@
 package com.financial.mcp.security.jwt;
 
 import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.SignedJWT;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.security.interfaces.RSAPublicKey;
-import java.text.ParseException;
-
+/**
+ * Verifies bearer tokens against the keys of {@link CachingJwksProvider}. Registered
+ * under the same {@code mcp.security.jwks.uri} condition as the provider; without it
+ * the security configs fall back to Spring's resource server decoder.
+ */
 @Component
+@ConditionalOnProperty(name = "mcp.security.jwks.uri")
 @RequiredArgsConstructor
 public class JwtTokenValidator {
     private final JwksProvider jwksProvider;
+    private final VerifiedTokenCache tokenCache;
 
+    /**
+     * Verify the token's signature and expiry. A token verified before is served
+     * from {@link VerifiedTokenCache} until it expires.
+     */
     public JwtClaims validateToken(String token) throws Exception {
+        JwtClaims cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
         SignedJWT signedJWT = SignedJWT.parse(token);
         
         String keyId = signedJWT.getHeader().getKeyID();
-        RSAPublicKey publicKey = jwksProvider.getPublicKey(keyId);
-        
-        JWSVerifier verifier = new RSASSAVerifier(publicKey);
+        JWSVerifier verifier = jwksProvider.getVerifier(keyId);
         if (!signedJWT.verify(verifier)) {
             throw new IllegalArgumentException("Invalid JWT signature");
         }
@@ -29,6 +40,8 @@ public class JwtTokenValidator {
             throw new IllegalArgumentException("JWT token expired");
         }
 
-        return JwtClaims.fromJWT(signedJWT);
+        JwtClaims claims = JwtClaims.fromJWT(signedJWT);
+        tokenCache.put(token, claims);
+        return claims;
     }
 }
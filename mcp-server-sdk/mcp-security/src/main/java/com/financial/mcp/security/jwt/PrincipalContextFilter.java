@@ -0,0 +1,39 @@
+package com.financial.mcp.security.jwt;
+
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.core.meta.McpRequestContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Publishes the {@link AuthenticatedPrincipal} that Spring's resource server
+ * authenticated (see {@link JwtPrincipalConverter}) in {@link McpRequestContext}
+ * for the rest of the request, as {@link JwtAuthenticationFilter} does for its own
+ * tokens.
+ */
+public class PrincipalContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedPrincipal principal)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        McpRequestContext.setPrincipal(principal);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            McpRequestContext.clear();
+        }
+    }
+}
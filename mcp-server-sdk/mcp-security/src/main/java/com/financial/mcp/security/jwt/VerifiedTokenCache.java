@@ -0,0 +1,99 @@
+package com.financial.mcp.security.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of already verified tokens, so an agent reusing one token for
+ * hours pays for the RSA signature check once.
+ *
+ * <p>Entries are keyed by the token's SHA-256, never the token itself, and live
+ * until the token's {@code exp} or {@code mcp.security.token-cache.max-ttl-ms},
+ * whichever comes first. The TTL cap bounds how long a token signed with a key
+ * the issuer has since withdrawn keeps being accepted. Cached claims are shared
+ * between requests and must be treated as read-only.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${mcp.security.token-cache.max-size:10000}")
+    int maxSize = 10_000;
+
+    @Value("${mcp.security.token-cache.max-ttl-ms:300000}")
+    long maxTtlMs = 300_000;
+
+    /**
+     * @return the claims the token was verified with, or null if it is not cached or has expired
+     */
+    public JwtClaims get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAt()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    /**
+     * Cache a token whose signature and expiry have just been verified.
+     */
+    public void put(String token, JwtClaims claims) {
+        if (maxSize <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(claims.getExp(), now + maxTtlMs);
+        if (expiresAt <= now) {
+            return;
+        }
+        evictIfFull();
+        entries.put(digest(token), new Entry(claims, expiresAt));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        Iterator<String> keys = entries.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private record Entry(JwtClaims claims, long expiresAt) {
+    }
+}
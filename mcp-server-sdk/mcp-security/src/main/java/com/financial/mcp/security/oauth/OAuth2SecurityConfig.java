@@ -1,33 +1,62 @@
 package com.financial.mcp.security.oauth;
 
+import com.financial.mcp.security.jwt.JwtAuthenticationFilter;
+import com.financial.mcp.security.jwt.JwtPrincipalConverter;
+import com.financial.mcp.security.jwt.JwtTokenValidator;
+import com.financial.mcp.security.jwt.PrincipalContextFilter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * Production OAuth2 Security Configuration
  * Enables JWT validation.
+ * With a {@link JwtTokenValidator} (i.e. {@code mcp.security.jwks.uri} is set) tokens are
+ * verified by {@link JwtAuthenticationFilter}, which also publishes the caller to
+ * {@code McpRequestContext}; otherwise Spring's resource server decoder is used and
+ * {@link JwtPrincipalConverter} with {@link PrincipalContextFilter} publish the caller
+ * from the token's claims. Either way identity headers never override the token.
  */
 @Configuration
 @EnableWebSecurity
 @ConditionalOnProperty(name = "mcp.security.dev-mode", havingValue = "false", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class OAuth2SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ObjectProvider<JwtTokenValidator> tokenValidator)
+            throws Exception {
         http
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers("/mcp/rpc", "/api/**").authenticated()
+                        .requestMatchers("/mcp", "/mcp/rpc", "/api/**").authenticated()
                         .requestMatchers("/actuator/health", "/actuator/metrics").permitAll()
                         .anyRequest().authenticated()
-                )
-                .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.decoder(null)) // Configure JWT decoder in application.yml
                 );
 
+        JwtTokenValidator validator = tokenValidator.getIfAvailable();
+        if (validator != null) {
+            http
+                    .csrf(csrf -> csrf.disable())
+                    .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .addFilterBefore(new JwtAuthenticationFilter(validator), UsernamePasswordAuthenticationFilter.class);
+        } else {
+            http
+                    .oauth2ResourceServer(oauth2 -> oauth2
+                            .jwt(jwt -> jwt
+                                    .decoder(null) // Configure JWT decoder in application.yml
+                                    .jwtAuthenticationConverter(new JwtPrincipalConverter()))
+                    )
+                    .addFilterAfter(new PrincipalContextFilter(), BearerTokenAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 }
@@ -0,0 +1,30 @@
+package com.financial.mcp.security.oauth;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * Development OAuth2 Security Configuration for the reactive (WebFlux) transport
+ * Bypasses JWT validation and permits all requests.
+ * DO NOT use in production!
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnProperty(name = "mcp.security.dev-mode", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDevOAuth2SecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain devReactiveFilterChain(ServerHttpSecurity http) {
+        return http
+                .authorizeExchange(exchange -> exchange.anyExchange().permitAll())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.financial.mcp.security.oauth;
+
+import com.financial.mcp.security.jwt.JwtPrincipalConverter;
+import com.financial.mcp.security.jwt.JwtReactiveAuthenticationManager;
+import com.financial.mcp.security.jwt.JwtTokenValidator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * Production OAuth2 Security Configuration for the reactive (WebFlux) transport.
+ * Same rules as {@link OAuth2SecurityConfig}: with a {@link JwtTokenValidator}
+ * (i.e. {@code mcp.security.jwks.uri} is set) tokens are verified by
+ * {@link JwtReactiveAuthenticationManager}, otherwise by Spring's resource server
+ * decoder with {@link JwtPrincipalConverter}. Either way the caller is an
+ * {@code AuthenticatedPrincipal}, read from the reactive security context by the
+ * WebFlux adapter.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnProperty(name = "mcp.security.dev-mode", havingValue = "false", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveOAuth2SecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain reactiveFilterChain(ServerHttpSecurity http,
+                                                      ObjectProvider<JwtTokenValidator> tokenValidator) {
+        http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/mcp", "/mcp/rpc", "/api/**").authenticated()
+                        .pathMatchers("/actuator/health", "/actuator/metrics").permitAll()
+                        .anyExchange().authenticated()
+                );
+
+        JwtTokenValidator validator = tokenValidator.getIfAvailable();
+        if (validator != null) {
+            http.oauth2ResourceServer(oauth2 -> oauth2
+                    .jwt(jwt -> jwt.authenticationManager(new JwtReactiveAuthenticationManager(validator))));
+        } else {
+            http.oauth2ResourceServer(oauth2 -> oauth2
+                    .jwt(jwt -> jwt.jwtAuthenticationConverter(
+                            new ReactiveJwtAuthenticationConverterAdapter(new JwtPrincipalConverter()))));
+        }
+
+        return http.build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.financial.mcp.security.jwt;
+
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtPrincipalConverterTest {
+
+    @Test
+    void testConvert_PrincipalFromTokenClaims() {
+        Instant expiresAt = Instant.parse("2030-01-01T00:00:00Z");
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user1")
+                .issuer("https://idp")
+                .claim("roles", List.of("ANALYST"))
+                .claim("dept", "RISK")
+                .issuedAt(expiresAt.minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+
+        AbstractAuthenticationToken authentication = new JwtPrincipalConverter().convert(jwt);
+
+        assertEquals(new AuthenticatedPrincipal("user1", "RISK", List.of("ANALYST"), "https://idp",
+                expiresAt.toEpochMilli()), authentication.getPrincipal());
+        assertEquals("ROLE_ANALYST", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+}
@@ -0,0 +1,142 @@
+package com.financial.mcp.security.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenValidatorTest {
+    @TempDir
+    Path tempDir;
+
+    private Path jwksFile;
+    private RSAKey key1;
+    private CachingJwksProvider jwksProvider;
+    private VerifiedTokenCache tokenCache;
+    private JwtTokenValidator validator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        key1 = new RSAKeyGenerator(2048).keyID("key-1").generate();
+        jwksFile = tempDir.resolve("jwks.json");
+        writeJwks(key1);
+
+        jwksProvider = new CachingJwksProvider();
+        jwksProvider.jwksUri = jwksFile.toUri().toString();
+        jwksProvider.minRefetchIntervalMs = 0;
+        jwksProvider.init();
+        tokenCache = new VerifiedTokenCache();
+        validator = new JwtTokenValidator(jwksProvider, tokenCache);
+    }
+
+    @Test
+    void testValidateToken_VerifiesAgainstLocalJwks() throws Exception {
+        JwtClaims claims = validator.validateToken(token(key1, 60_000));
+
+        assertEquals("user1", claims.getSub());
+        assertEquals("RISK", claims.getDept());
+        assertEquals(List.of("USER"), claims.getRoles());
+    }
+
+    @Test
+    void testValidateToken_RepeatedTokenServedFromCache() throws Exception {
+        String token = token(key1, 60_000);
+        JwtClaims first = validator.validateToken(token);
+
+        assertSame(first, validator.validateToken(token));
+        assertSame(first, tokenCache.get(token));
+    }
+
+    @Test
+    void testValidateToken_ForgedSignatureRejected() throws Exception {
+        RSAKey impostor = new RSAKeyGenerator(2048).keyID("key-1").generate();
+
+        assertThrows(IllegalArgumentException.class, () -> validator.validateToken(token(impostor, 60_000)));
+    }
+
+    @Test
+    void testValidateToken_ExpiredTokenRejectedAndNotCached() throws Exception {
+        String token = token(key1, -1_000);
+
+        assertThrows(IllegalArgumentException.class, () -> validator.validateToken(token));
+        assertNull(tokenCache.get(token));
+    }
+
+    @Test
+    void testCache_EntryLivesNoLongerThanMaxTtl() throws Exception {
+        tokenCache.maxTtlMs = 0;
+        String token = token(key1, 60_000);
+
+        validator.validateToken(token);
+
+        assertNull(tokenCache.get(token));
+    }
+
+    @Test
+    void testUnknownKid_RefetchesRotatedKeySet() throws Exception {
+        RSAKey key2 = new RSAKeyGenerator(2048).keyID("key-2").generate();
+        writeJwks(key1, key2);
+
+        JwtClaims claims = validator.validateToken(token(key2, 60_000));
+
+        assertEquals("user1", claims.getSub());
+    }
+
+    @Test
+    void testUnknownKid_RefetchIsRateLimited() throws Exception {
+        jwksProvider.minRefetchIntervalMs = 60_000;
+        assertThrows(IllegalArgumentException.class, () -> jwksProvider.getVerifier("key-2"));
+
+        RSAKey key2 = new RSAKeyGenerator(2048).keyID("key-2").generate();
+        writeJwks(key1, key2);
+
+        assertThrows(IllegalArgumentException.class, () -> jwksProvider.getVerifier("key-2"));
+        jwksProvider.refresh();
+        assertNotNull(jwksProvider.getVerifier("key-2"));
+    }
+
+    @Test
+    void testRefresh_KeepsVerifierOfUnchangedKey() throws Exception {
+        var verifier = jwksProvider.getVerifier("key-1");
+
+        jwksProvider.refresh();
+
+        assertSame(verifier, jwksProvider.getVerifier("key-1"));
+    }
+
+    private void writeJwks(RSAKey... keys) throws Exception {
+        List<JWK> publicKeys = Arrays.stream(keys)
+                .<JWK>map(RSAKey::toPublicJWK)
+                .toList();
+        Files.writeString(jwksFile, new JWKSet(publicKeys).toString());
+    }
+
+    private String token(RSAKey key, long expiresInMs) throws Exception {
+        JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
+                .subject("user1")
+                .issuer("http://localhost:8080")
+                .expirationTime(new Date(System.currentTimeMillis() + expiresInMs))
+                .claim("roles", List.of("USER"))
+                .claim("dept", "RISK")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claimsSet);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,38 @@
+plugins {
+    java
+    id("org.springframework.boot") apply false
+    id("io.spring.dependency-management")
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencyManagement {
+    imports {
+        mavenBom("org.springframework.boot:spring-boot-dependencies:3.2.0")
+    }
+}
+
+dependencies {
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor("org.projectlombok:lombok")
+    
+    implementation(project(":mcp-core"))
+    implementation(project(":mcp-rest-adapter")) {
+        // Boot prefers Tomcat over Netty for a reactive server when both are present
+        exclude(group = "org.springframework.boot", module = "spring-boot-starter-tomcat")
+    }
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.security:spring-security-core")
+    implementation("com.fasterxml.jackson.core:jackson-databind")
+    
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.projectreactor:reactor-test")
+    testImplementation("org.junit.jupiter:junit-jupiter")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
@@ -0,0 +1,79 @@
+// Load test for the MCP RPC transports.
+//
+// Run the same script against the servlet adapter and the WebFlux adapter with
+// identical tools, data and hardware, then compare the k6 summaries:
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> rpc-load.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> -e MODE=batch rpc-load.js
+//
+// Environment:
+//   BASE_URL   server root (default http://localhost:8080)
+//   TOKEN      bearer token; omit when mcp.security.dev-mode=true
+//   METHOD     JSON-RPC method (default api.loss_projection)
+//   PARAMS     JSON params (default {"portfolio_value":1000000})
+//   MODE       single | batch (default single); batch is WebFlux only
+//   BATCH_SIZE requests per batch (default 10)
+//   VUS        peak virtual users (default 200)
+//   DURATION   time at peak (default 2m)
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const METHOD = __ENV.METHOD || 'api.loss_projection';
+const PARAMS = JSON.parse(__ENV.PARAMS || '{"portfolio_value":1000000}');
+const MODE = __ENV.MODE || 'single';
+const BATCH_SIZE = parseInt(__ENV.BATCH_SIZE || '10', 10);
+const VUS = parseInt(__ENV.VUS || '200', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+const callDuration = new Trend('mcp_call_duration', true);
+
+export const options = {
+    stages: [
+        { duration: '30s', target: VUS },
+        { duration: DURATION, target: VUS },
+        { duration: '15s', target: 0 },
+    ],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+function headers() {
+    const h = { 'Content-Type': 'application/json', 'X-Client-Id': 'k6-load-test' };
+    if (__ENV.TOKEN) {
+        h.Authorization = `Bearer ${__ENV.TOKEN}`;
+    }
+    return h;
+}
+
+function rpcRequest(id) {
+    return {
+        jsonrpc: '2.0',
+        method: METHOD,
+        params: PARAMS,
+        id: id,
+        meta: { user_id: 'k6', caller_id: 'k6-load-test', trace_id: id, tx_id: id, dept: 'RISK' },
+    };
+}
+
+function id() {
+    return `${__VU}-${__ITER}-${Math.random().toString(16).slice(2)}`;
+}
+
+export default function () {
+    let res;
+    if (MODE === 'batch') {
+        const batch = [];
+        for (let i = 0; i < BATCH_SIZE; i++) {
+            batch.push(rpcRequest(id()));
+        }
+        res = http.post(`${BASE_URL}/mcp/rpc`, JSON.stringify(batch), { headers: headers() });
+    } else {
+        res = http.post(`${BASE_URL}/mcp/rpc`, JSON.stringify(rpcRequest(id())), { headers: headers() });
+    }
+    callDuration.add(res.timings.duration);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,100 @@
+package com.financial.mcp.webflux.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.policy.PolicyService;
+import com.financial.mcp.core.registry.ToolRegistryRepository;
+import com.financial.mcp.core.rpc.DispatchPrefetcher;
+import com.financial.mcp.core.rpc.JsonRpcDispatcher;
+import com.financial.mcp.rest.converter.RestToJsonRpcConverter;
+import com.financial.mcp.rest.route.RestRouteTable;
+import com.financial.mcp.rest.streamable.McpProtocolHandler;
+import com.financial.mcp.rest.streamable.McpSessionStore;
+import com.financial.mcp.webflux.controller.ReactiveJsonRpcController;
+import com.financial.mcp.webflux.controller.ReactiveRestAdapterController;
+import com.financial.mcp.webflux.controller.ReactiveStreamableHttpController;
+import com.financial.mcp.webflux.rpc.ReactiveJsonRpcDispatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive (WebFlux on Netty) transport for {@code /mcp/rpc}, {@code /api/**} and {@code /mcp}.
+ *
+ * <p>Active only in a reactive web application. The servlet controllers of
+ * mcp-rest-adapter are conditional on a servlet application, so exactly one
+ * transport serves the endpoints.
+ *
+ * <p>Select this transport with {@code spring.main.web-application-type=reactive}
+ * (mcp-rest-adapter keeps Spring MVC on the classpath, so Boot would otherwise pick
+ * a servlet application). The application must also exclude
+ * {@code spring-boot-starter-tomcat}: Boot prefers Tomcat over Netty for a reactive
+ * server when both are present, and would run this transport on Tomcat's servlet
+ * adapter. See the module README.
+ */
+@AutoConfiguration(afterName = "com.financial.mcp.autoconfigure.McpServerAutoConfiguration")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({ReactiveJsonRpcController.class, ReactiveRestAdapterController.class, ReactiveStreamableHttpController.class})
+public class McpWebFluxAutoConfiguration {
+
+    /**
+     * Workers that run the blocking dispatch pipeline; the event loop never does.
+     * Sizes of 0 use Reactor's bounded elastic defaults (10 threads per CPU, 100000 queued tasks).
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean(name = "mcpDispatchScheduler")
+    public Scheduler mcpDispatchScheduler(
+            @Value("${mcp.webflux.dispatch.max-threads:0}") int maxThreads,
+            @Value("${mcp.webflux.dispatch.queue-capacity:0}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(
+                maxThreads > 0 ? maxThreads : Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                queueCapacity > 0 ? queueCapacity : Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                "mcp-dispatch");
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveJsonRpcDispatcher reactiveJsonRpcDispatcher(
+            JsonRpcDispatcher dispatcher,
+            @Qualifier("mcpDispatchScheduler") Scheduler scheduler,
+            @Value("${mcp.webflux.batch.max-concurrency:16}") int maxConcurrency,
+            ObjectProvider<DispatchPrefetcher> prefetchers) {
+        return new ReactiveJsonRpcDispatcher(dispatcher, scheduler, maxConcurrency,
+                prefetchers.orderedStream().toList());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RestRouteTable restRouteTable(ToolRegistryRepository toolRegistryRepository) {
+        return new RestRouteTable(toolRegistryRepository);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RestToJsonRpcConverter restToJsonRpcConverter() {
+        return new RestToJsonRpcConverter();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public McpSessionStore mcpSessionStore() {
+        return new McpSessionStore();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public McpProtocolHandler mcpProtocolHandler(
+            JsonRpcDispatcher dispatcher,
+            ToolRegistryRepository toolRegistryRepository,
+            PolicyService policyService,
+            McpSessionStore sessionStore,
+            ObjectMapper objectMapper) {
+        return new McpProtocolHandler(dispatcher, toolRegistryRepository, policyService, sessionStore, objectMapper);
+    }
+}
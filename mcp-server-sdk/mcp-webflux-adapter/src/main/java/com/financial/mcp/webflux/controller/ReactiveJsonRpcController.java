@@ -0,0 +1,87 @@
+package com.financial.mcp.webflux.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.mcp.core.error.McpErrorCode;
+import com.financial.mcp.core.rpc.JsonRpcRequest;
+import com.financial.mcp.core.rpc.JsonRpcResponse;
+import com.financial.mcp.webflux.rpc.ReactiveJsonRpcDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON-RPC endpoint on the reactive transport.
+ *
+ * <p>{@code application/json} takes a single request or a batch (JSON array) and
+ * answers with a response or an array of responses in request order.
+ * {@code application/x-ndjson} takes one request per line and streams each
+ * response line as soon as its call completes.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/mcp/rpc")
+@RequiredArgsConstructor
+public class ReactiveJsonRpcController {
+    private final ReactiveJsonRpcDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Object> handleJsonRpc(@RequestBody JsonNode body) {
+        if (!body.isArray()) {
+            JsonRpcRequest request = readRequest(body);
+            return request != null
+                    ? dispatcher.dispatch(request).cast(Object.class)
+                    : Mono.just(invalidRequest(body));
+        }
+        if (body.isEmpty()) {
+            return Mono.just(JsonRpcResponse.error(null, McpErrorCode.INVALID_PARAMS, "Empty batch", false));
+        }
+
+        // A malformed element gets its own error response and does not fail the batch
+        List<JsonRpcResponse> invalid = new ArrayList<>(body.size());
+        List<JsonRpcRequest> requests = new ArrayList<>(body.size());
+        for (JsonNode element : body) {
+            JsonRpcRequest request = readRequest(element);
+            requests.add(request);
+            invalid.add(request == null ? invalidRequest(element) : null);
+        }
+        return Flux.range(0, requests.size())
+                .flatMapSequential(i -> requests.get(i) != null
+                        ? dispatcher.dispatch(requests.get(i))
+                        : Mono.just(invalid.get(i)), dispatcher.getMaxConcurrency())
+                .collectList()
+                .cast(Object.class);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<JsonRpcResponse> handleJsonRpcStream(@RequestBody Flux<JsonRpcRequest> requests) {
+        return dispatcher.dispatchStream(requests);
+    }
+
+    private JsonRpcRequest readRequest(JsonNode node) {
+        if (!node.isObject()) {
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(node, JsonRpcRequest.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static JsonRpcResponse invalidRequest(JsonNode node) {
+        JsonNode id = node.get("id");
+        return JsonRpcResponse.error(id != null && id.isValueNode() ? id.asText() : null,
+                McpErrorCode.INVALID_PARAMS, "Invalid JSON-RPC request", false);
+    }
+}
@@ -0,0 +1,71 @@
+package com.financial.mcp.webflux.controller;
+
+import com.financial.mcp.core.error.McpErrorCode;
+import com.financial.mcp.core.rpc.JsonRpcRequest;
+import com.financial.mcp.core.rpc.JsonRpcResponse;
+import com.financial.mcp.rest.converter.RestToJsonRpcConverter;
+import com.financial.mcp.rest.route.MethodRoute;
+import com.financial.mcp.rest.route.RestRouteTable;
+import com.financial.mcp.webflux.rpc.ReactiveJsonRpcDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST adapter on the reactive transport; same routes and responses as the
+ * servlet {@code RestAdapterController}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ReactiveRestAdapterController {
+    private final RestToJsonRpcConverter converter;
+    private final ReactiveJsonRpcDispatcher dispatcher;
+    private final RestRouteTable routeTable;
+
+    @PostMapping("/**")
+    public Mono<ResponseEntity<Object>> handleRestCall(
+            @RequestBody(required = false) Object params,
+            ServerHttpRequest request) {
+
+        String path = request.getPath().value();
+        int from = request.getPath().contextPath().value().length();
+        MethodRoute route = routeTable.match(path, from);
+        String method = route != null ? route.method(path, from) : null;
+        if (method == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(JsonRpcResponse.error(
+                    null, McpErrorCode.TOOL_NOT_FOUND, "No tool route for " + path.substring(from), false)));
+        }
+
+        if (route.hasParams()) {
+            if (params == null) {
+                params = new LinkedHashMap<String, Object>();
+            }
+            if (!(params instanceof Map)) {
+                return Mono.just(ResponseEntity.badRequest().body(JsonRpcResponse.error(
+                        null, McpErrorCode.INVALID_PARAMS, "Request body must be a JSON object for " + route.getTemplate(), false)));
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> paramMap = (Map<String, Object>) params;
+            route.bindParams(path, from, paramMap);
+        }
+
+        JsonRpcRequest jsonRpcRequest = converter.convertRouteToJsonRpc(
+                method, route.getToolId(), route.version(path, from), params, request.getHeaders()::getFirst);
+        return dispatcher.dispatch(jsonRpcRequest)
+                .<ResponseEntity<Object>>map(response -> response.getError() != null
+                        ? ResponseEntity.badRequest().body(response)
+                        : ResponseEntity.ok(response.getResult()));
+    }
+}
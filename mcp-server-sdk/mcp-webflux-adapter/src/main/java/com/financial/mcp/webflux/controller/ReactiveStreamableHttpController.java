@@ -0,0 +1,181 @@
+package com.financial.mcp.webflux.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.rest.streamable.McpProtocolHandler;
+import com.financial.mcp.rest.streamable.McpSession;
+import com.financial.mcp.rest.streamable.McpSessionStore;
+import com.financial.mcp.rest.streamable.McpSessionStream;
+import com.financial.mcp.webflux.rpc.ReactiveJsonRpcDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MCP Streamable HTTP endpoint ({@code /mcp}) on the reactive transport.
+ *
+ * <p>Same protocol and sessions as the servlet endpoint. Each request of a POST
+ * runs on the dispatch scheduler; with {@code text/event-stream} the responses
+ * are streamed as they complete, otherwise they are returned as JSON in request
+ * order.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/mcp")
+@RequiredArgsConstructor
+public class ReactiveStreamableHttpController {
+    private final McpProtocolHandler protocolHandler;
+    private final McpSessionStore sessionStore;
+    private final ReactiveJsonRpcDispatcher dispatcher;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> handlePost(
+            @RequestBody JsonNode body,
+            @RequestHeader(value = McpProtocolHandler.SESSION_HEADER, required = false) String sessionId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader HttpHeaders headers) {
+        return caller().map(principal -> post(body, sessionId, accept, headers, principal.orElse(null)));
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Object>> openStream(
+            @RequestHeader(value = McpProtocolHandler.SESSION_HEADER, required = false) String sessionId) {
+        return caller().map(principal -> {
+            McpSession session = sessionStore.find(sessionId, principal.orElse(null));
+            if (session == null) {
+                return ResponseEntity.status(sessionId == null ? HttpStatus.BAD_REQUEST : HttpStatus.NOT_FOUND).build();
+            }
+
+            // Open until the client disconnects or the session ends
+            SinkSessionStream stream = new SinkSessionStream();
+            Flux<ServerSentEvent<JsonNode>> events = stream.sink.asFlux()
+                    .map(message -> ServerSentEvent.builder(message).build())
+                    .doFinally(signal -> session.streamClosed(stream));
+            session.openStream(stream);
+            return ResponseEntity.ok()
+                    .header(McpProtocolHandler.SESSION_HEADER, session.getId())
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(events);
+        });
+    }
+
+    @DeleteMapping
+    public Mono<ResponseEntity<Void>> closeSession(
+            @RequestHeader(value = McpProtocolHandler.SESSION_HEADER, required = false) String sessionId) {
+        return caller().map(principal -> {
+            if (sessionStore.find(sessionId, principal.orElse(null)) == null) {
+                return ResponseEntity.status(sessionId == null ? HttpStatus.BAD_REQUEST : HttpStatus.NOT_FOUND).build();
+            }
+            sessionStore.remove(sessionId);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    private ResponseEntity<Object> post(JsonNode body, String sessionId, String accept,
+                                        HttpHeaders headers, AuthenticatedPrincipal principal) {
+        List<JsonNode> messages = McpProtocolHandler.messages(body);
+        if (messages.isEmpty()) {
+            return json(HttpStatus.BAD_REQUEST, protocolHandler.error(null, McpProtocolHandler.INVALID_REQUEST, "Empty batch"));
+        }
+
+        if (messages.stream().anyMatch(McpProtocolHandler::isInitialize)) {
+            if (messages.size() > 1) {
+                return json(HttpStatus.BAD_REQUEST, protocolHandler.error(
+                        null, McpProtocolHandler.INVALID_REQUEST, "initialize must be sent alone"));
+            }
+            McpSession session;
+            try {
+                session = sessionStore.create(principal, headers.getFirst("X-Client-Id"),
+                        headers.getFirst("X-User-Id"), headers.getFirst("X-Dept"));
+            } catch (IllegalStateException e) {
+                return json(HttpStatus.SERVICE_UNAVAILABLE, protocolHandler.error(
+                        messages.get(0).get("id"), McpProtocolHandler.INTERNAL_ERROR, e.getMessage()));
+            }
+            return ResponseEntity.ok()
+                    .header(McpProtocolHandler.SESSION_HEADER, session.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(protocolHandler.handle(session, principal, messages.get(0)));
+        }
+
+        if (sessionId == null) {
+            return json(HttpStatus.BAD_REQUEST, protocolHandler.error(
+                    null, McpProtocolHandler.INVALID_REQUEST, "Missing " + McpProtocolHandler.SESSION_HEADER + " header"));
+        }
+        McpSession session = sessionStore.find(sessionId, principal);
+        if (session == null) {
+            return json(HttpStatus.NOT_FOUND, protocolHandler.error(
+                    null, McpProtocolHandler.INVALID_REQUEST, "Unknown session"));
+        }
+
+        // Notifications and client responses are cheap and answered with 202 alone
+        List<JsonNode> requests = messages.stream().filter(McpProtocolHandler::isRequest).toList();
+        messages.stream()
+                .filter(message -> !McpProtocolHandler.isRequest(message))
+                .forEach(message -> protocolHandler.handle(session, principal, message));
+        if (requests.isEmpty()) {
+            return ResponseEntity.accepted().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(McpProtocolHandler.SESSION_HEADER, session.getId());
+        if (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+            return response.contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(Flux.fromIterable(requests)
+                            .flatMap(message -> call(session, principal, message), dispatcher.getMaxConcurrency())
+                            .map(result -> ServerSentEvent.builder(result).build()));
+        }
+        Flux<JsonNode> results = Flux.fromIterable(requests)
+                .flatMapSequential(message -> call(session, principal, message), dispatcher.getMaxConcurrency());
+        return response.contentType(MediaType.APPLICATION_JSON)
+                .body(body.isArray()
+                        ? results.collectList().map(list -> JsonNodeFactory.instance.arrayNode().addAll(list))
+                        : results.next());
+    }
+
+    private Mono<JsonNode> call(McpSession session, AuthenticatedPrincipal principal, JsonNode message) {
+        return Mono.fromCallable(() -> protocolHandler.handle(session, principal, message))
+                .subscribeOn(dispatcher.getScheduler());
+    }
+
+    private static Mono<Optional<AuthenticatedPrincipal>> caller() {
+        return ReactiveJsonRpcDispatcher.currentPrincipal()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private static ResponseEntity<Object> json(HttpStatus status, JsonNode body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static final class SinkSessionStream implements McpSessionStream {
+        private final Sinks.Many<JsonNode> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+        @Override
+        public synchronized boolean send(JsonNode message) {
+            return sink.tryEmitNext(message).isSuccess();
+        }
+
+        @Override
+        public synchronized void close() {
+            sink.tryEmitComplete();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.financial.mcp.webflux.rpc;
+
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.core.meta.McpRequestContext;
+import com.financial.mcp.core.rpc.DispatchPrefetcher;
+import com.financial.mcp.core.rpc.JsonRpcDispatcher;
+import com.financial.mcp.core.rpc.JsonRpcRequest;
+import com.financial.mcp.core.rpc.JsonRpcResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+/**
+ * Runs {@link JsonRpcDispatcher} off the event loop.
+ *
+ * <p>The dispatch pipeline blocks (idempotency marks in Redis, tool handlers),
+ * so each call runs on {@code scheduler}, a bounded pool, while Netty threads
+ * only parse and write. The caller's {@link AuthenticatedPrincipal} travels in
+ * the reactive security context and is set as {@link McpRequestContext} on the
+ * worker thread for the duration of the call, so policy and audit see the same
+ * identity as on the servlet transport.
+ *
+ * <p>Before a call leaves the event loop, every {@link DispatchPrefetcher} (the
+ * Redis policy and registry repositories) reads what the call will look up with
+ * the non-blocking Lettuce client into the in-process caches, so the worker only
+ * blocks on Redis for entries that were not there. A failed prefetch is ignored.
+ */
+public class ReactiveJsonRpcDispatcher {
+    private final JsonRpcDispatcher dispatcher;
+    private final Scheduler scheduler;
+    private final int maxConcurrency;
+    private final List<DispatchPrefetcher> prefetchers;
+
+    /**
+     * @param maxConcurrency Calls of one batch or stream in flight at a time
+     */
+    public ReactiveJsonRpcDispatcher(JsonRpcDispatcher dispatcher, Scheduler scheduler, int maxConcurrency,
+                                     List<DispatchPrefetcher> prefetchers) {
+        this.dispatcher = dispatcher;
+        this.scheduler = scheduler;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetchers = prefetchers;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public Mono<JsonRpcResponse> dispatch(JsonRpcRequest request) {
+        return currentPrincipal()
+                .flatMap(principal -> call(request, principal))
+                .switchIfEmpty(Mono.defer(() -> call(request, null)));
+    }
+
+    /**
+     * Responses as soon as each call completes; callers correlate them by id.
+     */
+    public Flux<JsonRpcResponse> dispatchStream(Flux<JsonRpcRequest> requests) {
+        return requests.flatMap(this::dispatch, maxConcurrency);
+    }
+
+    private Mono<JsonRpcResponse> call(JsonRpcRequest request, AuthenticatedPrincipal principal) {
+        return prefetch(request, principal).then(Mono.fromCallable(() -> {
+            McpRequestContext.setPrincipal(principal);
+            try {
+                // The verified token, not the request body, decides who is calling
+                McpRequestContext.applyTo(request.getMeta());
+                return dispatcher.dispatch(request);
+            } finally {
+                McpRequestContext.clear();
+            }
+        }).subscribeOn(scheduler));
+    }
+
+    private Mono<Void> prefetch(JsonRpcRequest request, AuthenticatedPrincipal principal) {
+        if (prefetchers.isEmpty()) {
+            return Mono.empty();
+        }
+        // Prefetch for the verified caller, as the worker will look it up
+        McpRequestContext.setPrincipal(principal);
+        try {
+            McpRequestContext.applyTo(request.getMeta());
+        } finally {
+            McpRequestContext.clear();
+        }
+        return Flux.fromIterable(prefetchers)
+                .flatMap(prefetcher -> Mono.fromCompletionStage(() -> prefetcher.prefetch(request))
+                        .onErrorResume(e -> Mono.empty()))
+                .then();
+    }
+
+    /**
+     * The verified caller of the current request, empty if it is anonymous.
+     */
+    public static Mono<AuthenticatedPrincipal> currentPrincipal() {
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(SecurityContext::getAuthentication)
+                .mapNotNull(Authentication::getPrincipal)
+                .filter(AuthenticatedPrincipal.class::isInstance)
+                .cast(AuthenticatedPrincipal.class);
+    }
+}
@@ -0,0 +1,136 @@
+package com.financial.mcp.webflux.rpc;
+
+import com.financial.mcp.core.meta.AuthenticatedPrincipal;
+import com.financial.mcp.core.meta.McpMeta;
+import com.financial.mcp.core.meta.McpRequestContext;
+import com.financial.mcp.core.rpc.DispatchPrefetcher;
+import com.financial.mcp.core.rpc.JsonRpcDispatcher;
+import com.financial.mcp.core.rpc.JsonRpcRequest;
+import com.financial.mcp.core.rpc.JsonRpcResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveJsonRpcDispatcherTest {
+    @Mock
+    private JsonRpcDispatcher dispatcher;
+
+    @Mock
+    private DispatchPrefetcher prefetcher;
+
+    private Scheduler scheduler;
+    private ReactiveJsonRpcDispatcher reactiveDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Schedulers.newBoundedElastic(4, 100, "test-dispatch");
+        reactiveDispatcher = new ReactiveJsonRpcDispatcher(dispatcher, scheduler, 4, List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void testDispatch_PrincipalFromSecurityContextAppliedOnWorker() {
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal("user1", "RISK", List.of("ANALYST"), "issuer", 0);
+        JsonRpcRequest request = request("1", McpMeta.builder().userId("someone_else").build());
+        when(dispatcher.dispatch(request)).thenAnswer(invocation -> {
+            assertSame(principal, McpRequestContext.currentPrincipal());
+            assertTrue(Thread.currentThread().getName().startsWith("test-dispatch"));
+            return JsonRpcResponse.success("1", "ok");
+        });
+
+        StepVerifier.create(reactiveDispatcher.dispatch(request)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                                new UsernamePasswordAuthenticationToken(principal, null, List.of()))))
+                .assertNext(response -> assertEquals("ok", response.getResult()))
+                .verifyComplete();
+
+        assertEquals("user1", request.getMeta().getUserId());
+    }
+
+    @Test
+    void testDispatch_WithoutPrincipalLeavesMetaAndContextEmpty() {
+        JsonRpcRequest request = request("1", McpMeta.builder().userId("user1").build());
+        when(dispatcher.dispatch(request)).thenAnswer(invocation -> {
+            assertNull(McpRequestContext.currentPrincipal());
+            return JsonRpcResponse.success("1", "ok");
+        });
+
+        StepVerifier.create(reactiveDispatcher.dispatch(request))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals("user1", request.getMeta().getUserId());
+    }
+
+    @Test
+    void testDispatch_PrefetchesForCallerBeforeWorkerAndIgnoresFailures() {
+        reactiveDispatcher = new ReactiveJsonRpcDispatcher(dispatcher, scheduler, 4, List.of(prefetcher));
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal("user1", "RISK", List.of(), "issuer", 0);
+        JsonRpcRequest request = request("1", McpMeta.builder().userId("someone_else").build());
+        when(prefetcher.prefetch(request)).thenAnswer(invocation -> {
+            assertEquals("user1", request.getMeta().getUserId());
+            return CompletableFuture.failedFuture(new IllegalStateException("redis down"));
+        });
+        when(dispatcher.dispatch(request)).thenReturn(JsonRpcResponse.success("1", "ok"));
+
+        StepVerifier.create(reactiveDispatcher.dispatch(request)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                                new UsernamePasswordAuthenticationToken(principal, null, List.of()))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        InOrder order = inOrder(prefetcher, dispatcher);
+        order.verify(prefetcher).prefetch(request);
+        order.verify(dispatcher).dispatch(request);
+    }
+
+    @Test
+    void testDispatchStream_AnswersEveryRequest() {
+        when(dispatcher.dispatch(any())).thenAnswer(invocation -> {
+            JsonRpcRequest request = invocation.getArgument(0);
+            return JsonRpcResponse.success(request.getId(), request.getId());
+        });
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        StepVerifier.create(reactiveDispatcher.dispatchStream(Flux.range(0, 20)
+                        .map(i -> request(String.valueOf(i), McpMeta.builder().build()))))
+                .thenConsumeWhile(response -> ids.add(response.getId()))
+                .verifyComplete();
+
+        assertEquals(20, ids.size());
+        verify(dispatcher, times(20)).dispatch(any());
+    }
+
+    private static JsonRpcRequest request(String id, McpMeta meta) {
+        return JsonRpcRequest.builder()
+                .jsonrpc("2.0")
+                .method("api.loss_projection")
+                .id(id)
+                .meta(meta)
+                .build();
+    }
+}
@@ -3,6 +3,7 @@ rootProject.name = "mcp-server-sdk"
 include(
     "mcp-core",
     "mcp-rest-adapter",
+    "mcp-webflux-adapter",
     "mcp-security",
     "mcp-redis",
     "mcp-postgres",